@@ -0,0 +1,55 @@
+package com.butschmajor.testutils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * This class provide access to the number of bytes allocated by the current thread, as counted by the JVM.
+ */
+final class AllocationCounter {
+
+	private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private AllocationCounter() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * @return true if the JVM counts the bytes allocated per thread.
+	 */
+	static boolean isSupported() {
+		return THREADS != null && THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+	}
+
+	/**
+	 * @return the total number of bytes allocated by the current thread.
+	 * @throws IllegalStateException
+	 * 		if the JVM does not count the bytes allocated per thread.
+	 */
+	static long allocatedBytes() {
+		if(!isSupported()) {
+			throw new IllegalStateException("The JVM does not count the bytes allocated per thread");
+		}
+		return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * @return the minimal number of bytes allocated by reading the counter itself.
+	 */
+	static long readingCost() {
+		long min = Long.MAX_VALUE;
+		for(int i = 0; i < 16; i++) {
+			final long before = allocatedBytes();
+			min = Math.min(min, allocatedBytes() - before);
+		}
+		return min;
+	}
+
+	private static com.sun.management.ThreadMXBean threads() {
+		final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		return threads instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) threads : null;
+	}
+}
@@ -0,0 +1,16 @@
+package com.butschmajor.testutils;
+
+/**
+ * Adapts the checks to AssertJ. This class is only loaded if AssertJ is selected, see {@link FailureReporters}.
+ */
+final class AssertJFailureReporter implements FailureReporter {
+
+	@Override
+	public AssertionError createFailure(final String message, final Throwable cause) {
+		final AssertionError failure = org.assertj.core.internal.Failures.instance().failure(message);
+		if(cause != null) {
+			failure.initCause(cause);
+		}
+		return failure;
+	}
+}
@@ -0,0 +1,30 @@
+package com.butschmajor.testutils;
+
+/**
+ * Receives the outcome of every single check of {@link ContractTesters} and {@link UtilityClassTester}, e.g. the
+ * reflexivity of {@code equals} or the instantiation probe of a utility class.
+ * <p>
+ * Listeners are registered with {@link CheckListeners#register(CheckListener)} or as service provider in
+ * {@code META-INF/services/com.butschmajor.testutils.CheckListener}. They are called on the thread running the check,
+ * possibly by many threads concurrently, so implementations have to be thread-safe and should return quickly.
+ *
+ * @see CheckStatistics
+ * @see JfrCheckListener
+ */
+@FunctionalInterface
+public interface CheckListener {
+
+	/**
+	 * Called after a check completed.
+	 *
+	 * @param check
+	 * 		the name of the check, e.g. {@code equals.symmetric}, not null.
+	 * @param type
+	 * 		the class of the checked instance or the checked utility class, not null.
+	 * @param durationNanos
+	 * 		the duration of the check in nanoseconds.
+	 * @param passed
+	 * 		true if the check passed, false if it failed or threw an exception.
+	 */
+	void checkCompleted(String check, Class<?> type, long durationNanos, boolean passed);
+}
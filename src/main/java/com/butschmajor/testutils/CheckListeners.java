@@ -0,0 +1,189 @@
+package com.butschmajor.testutils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.ServiceLoader;
+
+/**
+ * This class provide methods to register {@link CheckListener}s and to notify them about completed checks.
+ * <p>
+ * The registered listeners are kept in a copy-on-write array. Without any registered listener a check reads this array
+ * once before and once after it runs, neither reads the clock nor allocates any objects.
+ * <p>
+ * When this class is initialized, it registers the listeners provided by the {@link ServiceLoader} and the listeners
+ * enabled by system properties:
+ * <ul>
+ * <li>{@value #STATISTICS_PROPERTY} names a file, to which the {@link CheckStatistics} of all checks are written as
+ * JSON when the JVM shuts down</li>
+ * <li>{@value #EVENTS_PROPERTY} set to {@code true} registers the {@link JfrCheckListener}</li>
+ * </ul>
+ */
+public final class CheckListeners {
+
+	/**
+	 * The system property naming the file the statistics of all checks are written to when the JVM shuts down.
+	 */
+	public static final String STATISTICS_PROPERTY = "com.butschmajor.testutils.checkStatistics";
+
+	/**
+	 * The system property enabling the JFR events of all checks.
+	 */
+	public static final String EVENTS_PROPERTY = "com.butschmajor.testutils.checkEvents";
+
+	/**
+	 * Start of a check which is not timed, since no listener was registered when it started.
+	 */
+	private static final long NOT_TIMED = Long.MIN_VALUE;
+
+	private static final CheckListener[] NONE = new CheckListener[0];
+
+	private static final Object LOCK = new Object();
+
+	private static volatile CheckListener[] listeners = NONE;
+
+	/**
+	 * The name of the innermost check which failed on the current thread, read by {@link FailureCollector}.
+	 */
+	private static final ThreadLocal<String> FAILED_CHECK = new ThreadLocal<>();
+
+	static {
+		for(final CheckListener listener : ServiceLoader.load(CheckListener.class, CheckListeners.class.getClassLoader())) {
+			register(listener);
+		}
+		registerConfigured();
+	}
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private CheckListeners() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Registers a listener. A listener registered more than once is notified more than once.
+	 *
+	 * @param listener
+	 * 		the listener to register, not null.
+	 */
+	public static void register(final CheckListener listener) {
+		Objects.requireNonNull(listener, "The parameter 'listener' must not be null!");
+
+		synchronized(LOCK) {
+			final CheckListener[] registered = Arrays.copyOf(listeners, listeners.length + 1);
+			registered[registered.length - 1] = listener;
+			listeners = registered;
+		}
+	}
+
+	/**
+	 * Unregisters a listener once.
+	 *
+	 * @param listener
+	 * 		the listener to unregister, not null.
+	 * @return true if the listener was registered.
+	 */
+	public static boolean unregister(final CheckListener listener) {
+		Objects.requireNonNull(listener, "The parameter 'listener' must not be null!");
+
+		synchronized(LOCK) {
+			final List<CheckListener> registered = new ArrayList<>(Arrays.asList(listeners));
+			final boolean removed = registered.remove(listener);
+			listeners = registered.isEmpty() ? NONE : registered.toArray(NONE);
+			return removed;
+		}
+	}
+
+	/**
+	 * Unregisters all listeners, including the listeners registered by the service loader and by system properties.
+	 */
+	public static void clear() {
+		synchronized(LOCK) {
+			listeners = NONE;
+		}
+	}
+
+	/**
+	 * @return a copy of the registered listeners, never null.
+	 */
+	public static List<CheckListener> getListeners() {
+		return new ArrayList<>(Arrays.asList(listeners));
+	}
+
+	/**
+	 * Marks the start of a check.
+	 *
+	 * @return the value to pass to {@link #completed(String, Class, long, boolean)}.
+	 */
+	static long start() {
+		return listeners.length == 0 ? NOT_TIMED : System.nanoTime();
+	}
+
+	/**
+	 * Notifies the registered listeners about a completed check. Checks started without any registered listener are
+	 * ignored.
+	 *
+	 * @param check
+	 * 		the name of the check, not null.
+	 * @param type
+	 * 		the class of the checked instance or the checked utility class, not null.
+	 * @param start
+	 * 		the value returned by {@link #start()} when the check started.
+	 * @param passed
+	 * 		true if the check passed.
+	 */
+	static void completed(final String check, final Class<?> type, final long start, final boolean passed) {
+		if(!passed && FAILED_CHECK.get() == null) {
+			FAILED_CHECK.set(check);
+		}
+		if(start == NOT_TIMED) {
+			return;
+		}
+		final long durationNanos = System.nanoTime() - start;
+		for(final CheckListener listener : listeners) {
+			listener.checkCompleted(check, type, durationNanos, passed);
+		}
+	}
+
+	/**
+	 * @return the name of the innermost check which failed on the current thread since
+	 * {@link #clearFailedCheck()}, or null.
+	 */
+	static String failedCheck() {
+		return FAILED_CHECK.get();
+	}
+
+	/**
+	 * Forgets the check which failed on the current thread.
+	 */
+	static void clearFailedCheck() {
+		FAILED_CHECK.remove();
+	}
+
+	private static void registerConfigured() {
+		final String statisticsFile = System.getProperty(STATISTICS_PROPERTY);
+		if(statisticsFile != null && !statisticsFile.isEmpty()) {
+			final CheckStatistics statistics = new CheckStatistics();
+			register(statistics);
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					statistics.writeJson(Paths.get(statisticsFile));
+				} catch(final IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}, "check-statistics"));
+		}
+		if(Boolean.getBoolean(EVENTS_PROPERTY)) {
+			try {
+				register(new JfrCheckListener());
+			} catch(final LinkageError e) {
+				// The JFR module is not available in this runtime
+			}
+		}
+	}
+}
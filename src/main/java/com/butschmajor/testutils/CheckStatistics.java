@@ -0,0 +1,170 @@
+package com.butschmajor.testutils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link CheckListener} aggregating the number, the failures and the durations of the checks by check name and by
+ * checked class.
+ * <p>
+ * The counters are striped {@link LongAdder}s, so threads running checks concurrently do not contend on a single
+ * counter. The aggregated values are read without stopping the checks, a report created while checks are running is
+ * not a consistent snapshot.
+ */
+public final class CheckStatistics implements CheckListener {
+
+	private final ConcurrentMap<String, Counters> checks = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Counters> types = new ConcurrentHashMap<>();
+
+	@Override
+	public void checkCompleted(final String check, final Class<?> type, final long durationNanos, final boolean passed) {
+		checks.computeIfAbsent(check, name -> new Counters()).add(durationNanos, passed);
+		types.computeIfAbsent(type.getName(), name -> new Counters()).add(durationNanos, passed);
+	}
+
+	/**
+	 * @param check
+	 * 		the name of the check, not null.
+	 * @return the number of completed checks of the given name.
+	 */
+	public long getCount(final String check) {
+		return counters(check).count.sum();
+	}
+
+	/**
+	 * @param check
+	 * 		the name of the check, not null.
+	 * @return the number of failed checks of the given name.
+	 */
+	public long getFailures(final String check) {
+		return counters(check).failures.sum();
+	}
+
+	/**
+	 * @param check
+	 * 		the name of the check, not null.
+	 * @return the total duration of the checks of the given name in nanoseconds.
+	 */
+	public long getTotalNanos(final String check) {
+		return counters(check).totalNanos.sum();
+	}
+
+	/**
+	 * @param check
+	 * 		the name of the check, not null.
+	 * @return the maximum duration of a check of the given name in nanoseconds, 0 if no such check completed.
+	 */
+	public long getMaxNanos(final String check) {
+		return counters(check).maxNanos.get();
+	}
+
+	/**
+	 * Resets all counters.
+	 */
+	public void reset() {
+		checks.clear();
+		types.clear();
+	}
+
+	/**
+	 * Creates a report of the checks, ordered by name, and of the checked classes, ordered by descending total duration.
+	 *
+	 * @return the report as JSON object, never null.
+	 */
+	public String toJson() {
+		final StringBuilder builder = new StringBuilder("{\n  \"checks\": {");
+		appendCounters(builder, checks, Map.Entry.comparingByKey());
+		builder.append("\n  },\n  \"types\": {");
+		appendCounters(builder, types, Comparator.comparingLong(
+				(final Map.Entry<String, Counters> entry) -> entry.getValue().totalNanos.sum()).reversed()
+				.thenComparing(Map.Entry.comparingByKey()));
+		return builder.append("\n  }\n}\n").toString();
+	}
+
+	/**
+	 * Writes the report created by {@link #toJson()} to a file.
+	 *
+	 * @param file
+	 * 		the file to write, not null.
+	 * @throws IOException
+	 * 		if the file cannot be written.
+	 */
+	public void writeJson(final Path file) throws IOException {
+		Objects.requireNonNull(file, "The parameter 'file' must not be null!");
+
+		final Path parent = file.toAbsolutePath().getParent();
+		if(parent != null) {
+			Files.createDirectories(parent);
+		}
+		Files.write(file, toJson().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private Counters counters(final String check) {
+		Objects.requireNonNull(check, "The parameter 'check' must not be null!");
+		return checks.getOrDefault(check, Counters.EMPTY);
+	}
+
+	private static void appendCounters(final StringBuilder builder, final Map<String, Counters> counters,
+			final Comparator<Map.Entry<String, Counters>> order) {
+		final List<Map.Entry<String, Counters>> sorted = counters.entrySet().stream().sorted(order)
+				.collect(Collectors.toList());
+		String separator = "\n";
+		for(final Map.Entry<String, Counters> entry : sorted) {
+			final Counters value = entry.getValue();
+			builder.append(separator).append("    ").append(quote(entry.getKey())) //
+					.append(": { \"count\": ").append(value.count.sum()) //
+					.append(", \"failures\": ").append(value.failures.sum()) //
+					.append(", \"totalNanos\": ").append(value.totalNanos.sum()) //
+					.append(", \"maxNanos\": ").append(value.maxNanos.get()).append(" }");
+			separator = ",\n";
+		}
+	}
+
+	private static String quote(final String value) {
+		final StringBuilder builder = new StringBuilder(value.length() + 2).append('"');
+		for(int i = 0; i < value.length(); i++) {
+			final char character = value.charAt(i);
+			if(character == '"' || character == '\\') {
+				builder.append('\\').append(character);
+			} else if(character < 0x20) {
+				builder.append(String.format("\\u%04x", (int) character));
+			} else {
+				builder.append(character);
+			}
+		}
+		return builder.append('"').toString();
+	}
+
+	/**
+	 * The counters of a check or a checked class.
+	 */
+	private static final class Counters {
+
+		private static final Counters EMPTY = new Counters();
+
+		private final LongAdder count = new LongAdder();
+		private final LongAdder failures = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+		private void add(final long durationNanos, final boolean passed) {
+			count.increment();
+			if(!passed) {
+				failures.increment();
+			}
+			totalNanos.add(durationNanos);
+			maxNanos.accumulate(durationNanos);
+		}
+	}
+}
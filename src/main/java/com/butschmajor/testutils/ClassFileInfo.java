@@ -0,0 +1,376 @@
+package com.butschmajor.testutils;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The access flags, constructors and methods of a class read directly from its class file, without loading the class.
+ *
+ * @see <a href="https://docs.oracle.com/javase/specs/jvms/se11/html/jvms-4.html">The class file format</a>
+ */
+final class ClassFileInfo {
+
+	static final int ACC_PUBLIC = 0x0001;
+	static final int ACC_PRIVATE = 0x0002;
+	static final int ACC_STATIC = 0x0008;
+	static final int ACC_FINAL = 0x0010;
+	static final int ACC_INTERFACE = 0x0200;
+	static final int ACC_SYNTHETIC = 0x1000;
+	static final int ACC_ENUM = 0x4000;
+	static final int ACC_MODULE = 0x8000;
+
+	static final String CONSTRUCTOR_NAME = "<init>";
+
+	private static final int MAGIC = 0xCAFEBABE;
+
+	private static final int CONSTANT_UTF8 = 1;
+	private static final int CONSTANT_INTEGER = 3;
+	private static final int CONSTANT_FLOAT = 4;
+	private static final int CONSTANT_LONG = 5;
+	private static final int CONSTANT_DOUBLE = 6;
+	private static final int CONSTANT_CLASS = 7;
+	private static final int CONSTANT_STRING = 8;
+	private static final int CONSTANT_FIELD_REF = 9;
+	private static final int CONSTANT_METHOD_REF = 10;
+	private static final int CONSTANT_INTERFACE_METHOD_REF = 11;
+	private static final int CONSTANT_NAME_AND_TYPE = 12;
+	private static final int CONSTANT_METHOD_HANDLE = 15;
+	private static final int CONSTANT_METHOD_TYPE = 16;
+	private static final int CONSTANT_DYNAMIC = 17;
+	private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+	private static final int CONSTANT_MODULE = 19;
+	private static final int CONSTANT_PACKAGE = 20;
+
+	/**
+	 * A class type in a descriptor or generic signature, e.g. {@code Ljava/util/List<Ljava/lang/String;>;}.
+	 */
+	private static final Pattern DESCRIPTOR_CLASS = Pattern.compile("L([^;<>()\\[\\s]+)[;<]");
+
+	private final String className;
+	private final int accessFlags;
+	private final List<MethodInfo> methods;
+
+	private ClassFileInfo(final String className, final int accessFlags, final List<MethodInfo> methods) {
+		this.className = className;
+		this.accessFlags = accessFlags;
+		this.methods = Collections.unmodifiableList(methods);
+	}
+
+	/**
+	 * Reads the class file in the given buffer. Only the constant pool entries referenced by the class name and the methods
+	 * are decoded.
+	 *
+	 * @param buffer
+	 * 		the content of a class file from its position to its limit, not null.
+	 * @return the information read from the class file, never null.
+	 * @throws IllegalArgumentException
+	 * 		if the buffer does not contain a valid class file.
+	 */
+	static ClassFileInfo parse(final ByteBuffer buffer) {
+		Objects.requireNonNull(buffer, "The parameter 'buffer' must not be null!");
+
+		final ByteBuffer in = buffer.slice();
+		try {
+			if(in.getInt() != MAGIC) {
+				throw new IllegalArgumentException("The buffer does not contain a class file");
+			}
+			in.getShort(); // minor version
+			in.getShort(); // major version
+
+			final int[] offsets = readConstantPool(in);
+
+			final int accessFlags = Short.toUnsignedInt(in.getShort());
+			final int thisClass = Short.toUnsignedInt(in.getShort());
+			final String className = utf8(in, offsets, Short.toUnsignedInt(in.getShort(offsets[thisClass] + 1)))
+					.replace('/', '.');
+
+			in.getShort(); // super class
+			skip(in, 2 * Short.toUnsignedInt(in.getShort())); // interfaces
+			skipMembers(in);
+
+			final int methodCount = Short.toUnsignedInt(in.getShort());
+			final List<MethodInfo> methods = new ArrayList<>(methodCount);
+			for(int i = 0; i < methodCount; i++) {
+				final int methodAccessFlags = Short.toUnsignedInt(in.getShort());
+				final String name = utf8(in, offsets, Short.toUnsignedInt(in.getShort()));
+				final String descriptor = utf8(in, offsets, Short.toUnsignedInt(in.getShort()));
+				skipAttributes(in);
+				methods.add(new MethodInfo(name, descriptor, methodAccessFlags));
+			}
+
+			return new ClassFileInfo(className, accessFlags, methods);
+		} catch(final BufferUnderflowException | IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("The class file is truncated", e);
+		}
+	}
+
+	/**
+	 * Reads the internal names of the classes referenced by the class file in the given buffer, i.e. the class constants
+	 * and the class types of all descriptors and generic signatures. Names found in other strings of the constant pool are
+	 * included as well, so the result may contain names of classes which do not exist.
+	 *
+	 * @param buffer
+	 * 		the content of a class file from its position to its limit, not null.
+	 * @return the internal names of the referenced classes, e.g. {@code java/lang/String}, never null.
+	 * @throws IllegalArgumentException
+	 * 		if the buffer does not contain a valid class file.
+	 */
+	static Set<String> referencedClasses(final ByteBuffer buffer) {
+		Objects.requireNonNull(buffer, "The parameter 'buffer' must not be null!");
+
+		final ByteBuffer in = buffer.slice();
+		try {
+			if(in.getInt() != MAGIC) {
+				throw new IllegalArgumentException("The buffer does not contain a class file");
+			}
+			in.getShort(); // minor version
+			in.getShort(); // major version
+
+			final int[] offsets = readConstantPool(in);
+			final Set<String> classes = new LinkedHashSet<>();
+			for(int i = 1; i < offsets.length; i++) {
+				if(offsets[i] == 0) {
+					continue;
+				}
+				final int tag = in.get(offsets[i]);
+				if(tag == CONSTANT_CLASS) {
+					final String name = utf8(in, offsets, Short.toUnsignedInt(in.getShort(offsets[i] + 1)));
+					if(name.startsWith("[")) {
+						addDescriptorClasses(name, classes);
+					} else {
+						classes.add(name);
+					}
+				} else if(tag == CONSTANT_UTF8) {
+					addDescriptorClasses(utf8(in, offsets, i), classes);
+				}
+			}
+			return classes;
+		} catch(final BufferUnderflowException | IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("The class file is truncated", e);
+		}
+	}
+
+	/**
+	 * Reads the constant pool.
+	 *
+	 * @param in
+	 * 		the buffer positioned at the constant pool count, not null.
+	 * @return the offsets of all constant pool entries, 0 for the unusable entries following long and double constants.
+	 */
+	private static int[] readConstantPool(final ByteBuffer in) {
+		final int constantPoolCount = Short.toUnsignedInt(in.getShort());
+		final int[] offsets = new int[constantPoolCount];
+		for(int i = 1; i < constantPoolCount; i++) {
+			offsets[i] = in.position();
+			final int tag = in.get();
+			switch(tag) {
+				case CONSTANT_UTF8:
+					skip(in, Short.toUnsignedInt(in.getShort()));
+					break;
+				case CONSTANT_CLASS:
+				case CONSTANT_STRING:
+				case CONSTANT_METHOD_TYPE:
+				case CONSTANT_MODULE:
+				case CONSTANT_PACKAGE:
+					skip(in, 2);
+					break;
+				case CONSTANT_METHOD_HANDLE:
+					skip(in, 3);
+					break;
+				case CONSTANT_INTEGER:
+				case CONSTANT_FLOAT:
+				case CONSTANT_FIELD_REF:
+				case CONSTANT_METHOD_REF:
+				case CONSTANT_INTERFACE_METHOD_REF:
+				case CONSTANT_NAME_AND_TYPE:
+				case CONSTANT_DYNAMIC:
+				case CONSTANT_INVOKE_DYNAMIC:
+					skip(in, 4);
+					break;
+				case CONSTANT_LONG:
+				case CONSTANT_DOUBLE:
+					skip(in, 8);
+					i++;
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+			}
+		}
+		return offsets;
+	}
+
+	/**
+	 * Adds the class types of a field descriptor, method descriptor or generic signature.
+	 *
+	 * @param descriptor
+	 * 		the descriptor or signature, not null.
+	 * @param classes
+	 * 		the internal names of the classes to add to, not null.
+	 */
+	private static void addDescriptorClasses(final String descriptor, final Set<String> classes) {
+		final Matcher matcher = DESCRIPTOR_CLASS.matcher(descriptor);
+		while(matcher.find()) {
+			classes.add(matcher.group(1));
+		}
+	}
+
+	/**
+	 * Skips the fields of the class file.
+	 *
+	 * @param in
+	 * 		the buffer positioned at the field count, not null.
+	 */
+	private static void skipMembers(final ByteBuffer in) {
+		final int count = Short.toUnsignedInt(in.getShort());
+		for(int i = 0; i < count; i++) {
+			skip(in, 6);
+			skipAttributes(in);
+		}
+	}
+
+	/**
+	 * Skips the attributes of a field or method.
+	 *
+	 * @param in
+	 * 		the buffer positioned at the attribute count, not null.
+	 */
+	private static void skipAttributes(final ByteBuffer in) {
+		final int count = Short.toUnsignedInt(in.getShort());
+		for(int i = 0; i < count; i++) {
+			in.getShort();
+			skip(in, in.getInt());
+		}
+	}
+
+	/**
+	 * Advances the position of the buffer.
+	 *
+	 * @param in
+	 * 		the buffer to advance, not null.
+	 * @param length
+	 * 		the number of bytes to skip.
+	 */
+	private static void skip(final ByteBuffer in, final int length) {
+		in.position(in.position() + length);
+	}
+
+	/**
+	 * Decodes a modified UTF-8 constant pool entry.
+	 *
+	 * @param in
+	 * 		the buffer containing the class file, not null.
+	 * @param offsets
+	 * 		the offsets of all constant pool entries, not null.
+	 * @param index
+	 * 		the constant pool index of the entry.
+	 * @return the decoded string, never null.
+	 */
+	private static String utf8(final ByteBuffer in, final int[] offsets, final int index) {
+		final int offset = offsets[index];
+		if(in.get(offset) != CONSTANT_UTF8) {
+			throw new IllegalArgumentException("The constant pool entry " + index + " is not an UTF-8 entry");
+		}
+
+		final int length = Short.toUnsignedInt(in.getShort(offset + 1));
+		final StringBuilder result = new StringBuilder(length);
+		int position = offset + 3;
+		final int end = position + length;
+		while(position < end) {
+			final int b = in.get(position++) & 0xFF;
+			if(b < 0x80) {
+				result.append((char) b);
+			} else if((b & 0xE0) == 0xC0) {
+				result.append((char) (((b & 0x1F) << 6) | (in.get(position++) & 0x3F)));
+			} else {
+				final int b2 = in.get(position++) & 0x3F;
+				final int b3 = in.get(position++) & 0x3F;
+				result.append((char) (((b & 0x0F) << 12) | (b2 << 6) | b3));
+			}
+		}
+		return result.toString();
+	}
+
+	/**
+	 * @return the fully qualified binary name of the class, never null.
+	 */
+	String getClassName() {
+		return className;
+	}
+
+	/**
+	 * @return the access flags of the class.
+	 */
+	int getAccessFlags() {
+		return accessFlags;
+	}
+
+	/**
+	 * @return the methods, constructors and static initializer declared by the class, never null.
+	 */
+	List<MethodInfo> getMethods() {
+		return methods;
+	}
+
+	/**
+	 * @param flag
+	 * 		the access flag to test.
+	 * @return true if the class has the given access flag.
+	 */
+	boolean is(final int flag) {
+		return (accessFlags & flag) != 0;
+	}
+
+	/**
+	 * A method, constructor or static initializer declared in a class file.
+	 */
+	static final class MethodInfo {
+
+		private final String name;
+		private final String descriptor;
+		private final int accessFlags;
+
+		MethodInfo(final String name, final String descriptor, final int accessFlags) {
+			this.name = name;
+			this.descriptor = descriptor;
+			this.accessFlags = accessFlags;
+		}
+
+		/**
+		 * @return the name of the method, never null.
+		 */
+		String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the descriptor of the method, never null.
+		 */
+		String getDescriptor() {
+			return descriptor;
+		}
+
+		/**
+		 * @param flag
+		 * 		the access flag to test.
+		 * @return true if the method has the given access flag.
+		 */
+		boolean is(final int flag) {
+			return (accessFlags & flag) != 0;
+		}
+
+		/**
+		 * @return true if the method is a constructor.
+		 */
+		boolean isConstructor() {
+			return CONSTRUCTOR_NAME.equals(name);
+		}
+	}
+}
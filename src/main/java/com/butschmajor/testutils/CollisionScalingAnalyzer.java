@@ -0,0 +1,231 @@
+package com.butschmajor.testutils;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.butschmajor.testutils.Failures.fail;
+
+/**
+ * This class provide methods to measure how the cost of looking up instances sharing one hash code in {@code HashMap}
+ * and {@code ConcurrentHashMap} scales with their number.
+ * <p>
+ * Both maps convert a bin of colliding keys into a tree. The tree orders keys with equal hash codes by
+ * {@code compareTo}, but only if the class of the keys implements {@code Comparable} of itself. Otherwise a lookup has
+ * to search both subtrees and degrades to a linear scan of the bin.
+ */
+final class CollisionScalingAnalyzer {
+
+	/**
+	 * Smallest measured number of colliding instances.
+	 */
+	private static final int MIN_SIZE = 64;
+
+	/**
+	 * Minimal number of colliding instances, giving four measured sizes.
+	 */
+	private static final int MIN_INSTANCES = MIN_SIZE << 3;
+
+	/**
+	 * Largest measured number of colliding instances.
+	 */
+	private static final int MAX_SIZE = 1 << 13;
+
+	/**
+	 * Maximum number of evenly spaced instances looked up per pass, which keeps a linear scaling measurable in a second.
+	 */
+	private static final int SAMPLED_LOOKUPS = 256;
+
+	/**
+	 * Minimal duration of a measured round, reached by repeating the pass over the sampled instances.
+	 */
+	private static final long ROUND_NANOS = 2_000_000;
+
+	/**
+	 * Number of lookups in the smallest maps before the measurement, so the lookups are compiled by the JIT compiler.
+	 */
+	private static final int WARMUP_LOOKUPS = 100_000;
+
+	/**
+	 * Number of rounds before the measurement of every size.
+	 */
+	private static final int WARMUP_ROUNDS = 2;
+
+	/**
+	 * Number of measured rounds, the fastest one is reported.
+	 */
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private CollisionScalingAnalyzer() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Measures the lookup cost of growing subsets of the colliding instances, doubling from {@value #MIN_SIZE} up to at
+	 * most 8192 instances.
+	 *
+	 * @param collidingInstances
+	 * 		the distinct instances sharing one hash code, not null, without null elements and at least
+	 * 		{@value #MIN_INSTANCES} instances.
+	 * @return the report, never null.
+	 */
+	static CollisionScalingReport analyze(final Collection<?> collidingInstances) {
+		Objects.requireNonNull(collidingInstances, "The parameter 'collidingInstances' must not be null!");
+		if(collidingInstances.size() < MIN_INSTANCES) {
+			throw new IllegalArgumentException(
+					"The parameter 'collidingInstances' must contain at least " + MIN_INSTANCES + " instances!");
+		}
+
+		final Object[] instances = collidingInstances.toArray();
+		final Object first = Objects.requireNonNull(instances[0],
+				"The parameter 'collidingInstances' must not contain null!");
+		for(final Object instance : instances) {
+			Objects.requireNonNull(instance, "The parameter 'collidingInstances' must not contain null!");
+			if(instance.hashCode() != first.hashCode()) {
+				throw new IllegalArgumentException("The instances of the parameter 'collidingInstances' must share the "
+						+ "same hash code, but <" + first + "> and <" + instance + "> do not!");
+			}
+		}
+
+		final List<Integer> sizes = new ArrayList<>();
+		for(int size = MIN_SIZE; size <= Math.min(instances.length, MAX_SIZE); size <<= 1) {
+			sizes.add(size);
+		}
+
+		warmUp(new HashMap<>(), instances);
+		warmUp(new ConcurrentHashMap<>(), instances);
+
+		final int[] measuredSizes = new int[sizes.size()];
+		final double[] hashMapNanos = new double[sizes.size()];
+		final double[] concurrentHashMapNanos = new double[sizes.size()];
+		for(int i = 0; i < measuredSizes.length; i++) {
+			final int size = sizes.get(i);
+			measuredSizes[i] = size;
+			hashMapNanos[i] = measure(new HashMap<>(), instances, size);
+			concurrentHashMapNanos[i] = measure(new ConcurrentHashMap<>(), instances, size);
+		}
+		return new CollisionScalingReport(first.getClass().getName(), isComparable(first.getClass()), measuredSizes,
+				hashMapNanos, concurrentHashMapNanos);
+	}
+
+	/**
+	 * @param report
+	 * 		the report to verify, not null.
+	 * @param maxSlope
+	 * 		the maximum slope of the lookup cost on a log-log scale.
+	 * @return the descriptions of all violations, never null.
+	 */
+	static List<String> violations(final CollisionScalingReport report, final double maxSlope) {
+		final List<String> violations = new ArrayList<>();
+		if(report.getHashMapSlope() > maxSlope) {
+			violations.add(String.format(Locale.ROOT, "  lookups in HashMap scale with slope %.3f, at most %.3f is allowed",
+					report.getHashMapSlope(), maxSlope));
+		}
+		if(report.getConcurrentHashMapSlope() > maxSlope) {
+			violations.add(String.format(Locale.ROOT,
+					"  lookups in ConcurrentHashMap scale with slope %.3f, at most %.3f is allowed",
+					report.getConcurrentHashMapSlope(), maxSlope));
+		}
+		if(!violations.isEmpty() && !report.isComparable()) {
+			violations.add(String.format(
+					"  the class <%s> does not implement Comparable<%s>, so colliding keys cannot be ordered in the tree",
+					report.getClassName(), report.getClassName()));
+		}
+		return violations;
+	}
+
+	/**
+	 * Looks up the smallest number of instances repeatedly, so the measurement of the smallest size is not distorted by
+	 * the interpreter.
+	 */
+	private static void warmUp(final Map<Object, Object> map, final Object[] instances) {
+		fill(map, instances, MIN_SIZE);
+		lookUp(map, instances, MIN_SIZE, MIN_SIZE, 1, WARMUP_LOOKUPS / MIN_SIZE);
+	}
+
+	/**
+	 * @return the cost of a single lookup in nanoseconds of the fastest round.
+	 */
+	private static double measure(final Map<Object, Object> map, final Object[] instances, final int size) {
+		fill(map, instances, size);
+
+		final int lookups = Math.min(size, SAMPLED_LOOKUPS);
+		final int stride = size / lookups;
+		final long passNanos = lookUp(map, instances, size, lookups, stride, 1);
+		final int repetitions = (int) Math.max(1, Math.min(ROUND_NANOS / Math.max(1, passNanos), Integer.MAX_VALUE));
+
+		long fastest = Long.MAX_VALUE;
+		for(int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+			final long elapsed = lookUp(map, instances, size, lookups, stride, repetitions);
+			if(round >= WARMUP_ROUNDS) {
+				fastest = Math.min(fastest, elapsed);
+			}
+		}
+		return (double) fastest / ((long) repetitions * lookups);
+	}
+
+	/**
+	 * Puts the first {@code size} instances into the map.
+	 */
+	private static void fill(final Map<Object, Object> map, final Object[] instances, final int size) {
+		for(int i = 0; i < size; i++) {
+			map.put(instances[i], instances[i]);
+		}
+		if(map.size() != size) {
+			throw new IllegalArgumentException(
+					"The instances of the parameter 'collidingInstances' must be distinct, but only " + map.size()
+							+ " of the first " + size + " instances are!");
+		}
+	}
+
+	/**
+	 * Looks up every {@code stride}-th of the first {@code size} instances {@code repetitions} times.
+	 *
+	 * @return the elapsed time in nanoseconds.
+	 */
+	private static long lookUp(final Map<Object, Object> map, final Object[] instances, final int size,
+			final int lookups, final int stride, final int repetitions) {
+		final long start = System.nanoTime();
+		for(int repetition = 0; repetition < repetitions; repetition++) {
+			for(int i = 0; i < lookups; i++) {
+				final Object instance = instances[i * stride];
+				if(map.get(instance) != instance) {
+					fail("The %s of %d colliding instances should find x=<%s>, but found <%s>.",
+							map.getClass().getSimpleName(), size, instance, map.get(instance));
+				}
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Mirrors {@code HashMap.comparableClassFor}: a class qualifies if it is {@code String} or if it directly implements
+	 * {@code Comparable} of itself.
+	 */
+	private static boolean isComparable(final Class<?> type) {
+		if(type == String.class) {
+			return true;
+		}
+		for(final Type implemented : type.getGenericInterfaces()) {
+			if(implemented instanceof ParameterizedType) {
+				final ParameterizedType parameterized = (ParameterizedType) implemented;
+				if(parameterized.getRawType() == Comparable.class
+						&& parameterized.getActualTypeArguments().length == 1
+						&& parameterized.getActualTypeArguments()[0] == type) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+}
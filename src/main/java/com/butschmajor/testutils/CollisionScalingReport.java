@@ -0,0 +1,104 @@
+package com.butschmajor.testutils;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The cost of looking up colliding instances in {@code HashMap} and {@code ConcurrentHashMap} for a growing number of
+ * instances sharing one hash code.
+ * <p>
+ * The scaling is summarized by the slope of the logarithm of the lookup cost over the logarithm of the number of
+ * instances. If the colliding instances are ordered by {@code compareTo} in the treeified bin, the lookup cost grows
+ * logarithmically and the slope is about 0.2. If they cannot be ordered, every lookup searches the whole bin and the slope
+ * is about 1.
+ *
+ * @see HashQualityTester#analyzeCollisionScaling(java.util.Collection)
+ */
+public final class CollisionScalingReport {
+
+	private final String className;
+	private final boolean comparable;
+	private final int[] sizes;
+	private final double[] hashMapNanos;
+	private final double[] concurrentHashMapNanos;
+
+	CollisionScalingReport(final String className, final boolean comparable, final int[] sizes,
+			final double[] hashMapNanos, final double[] concurrentHashMapNanos) {
+		Objects.requireNonNull(className, "The parameter 'className' must not be null!");
+		Objects.requireNonNull(sizes, "The parameter 'sizes' must not be null!");
+		Objects.requireNonNull(hashMapNanos, "The parameter 'hashMapNanos' must not be null!");
+		Objects.requireNonNull(concurrentHashMapNanos, "The parameter 'concurrentHashMapNanos' must not be null!");
+
+		this.className = className;
+		this.comparable = comparable;
+		this.sizes = sizes.clone();
+		this.hashMapNanos = hashMapNanos.clone();
+		this.concurrentHashMapNanos = concurrentHashMapNanos.clone();
+	}
+
+	/**
+	 * @return the binary name of the class of the colliding instances, never null.
+	 */
+	public String getClassName() {
+		return className;
+	}
+
+	/**
+	 * @return true if the class of the instances implements {@code Comparable} of itself, which {@code HashMap} requires
+	 * to order colliding keys by {@code compareTo}.
+	 */
+	public boolean isComparable() {
+		return comparable;
+	}
+
+	/**
+	 * @return the measured numbers of colliding instances in ascending order, never null.
+	 */
+	public int[] getSizes() {
+		return sizes.clone();
+	}
+
+	/**
+	 * @return the cost of a single lookup in a {@code HashMap} in nanoseconds for every measured size, never null.
+	 */
+	public double[] getHashMapNanos() {
+		return hashMapNanos.clone();
+	}
+
+	/**
+	 * @return the cost of a single lookup in a {@code ConcurrentHashMap} in nanoseconds for every measured size, never
+	 * null.
+	 */
+	public double[] getConcurrentHashMapNanos() {
+		return concurrentHashMapNanos.clone();
+	}
+
+	/**
+	 * @return the slope of the lookup cost in a {@code HashMap} over the number of instances on a log-log scale.
+	 */
+	public double getHashMapSlope() {
+		return LogLogRegression.slope(sizes, hashMapNanos);
+	}
+
+	/**
+	 * @return the slope of the lookup cost in a {@code ConcurrentHashMap} over the number of instances on a log-log
+	 * scale.
+	 */
+	public double getConcurrentHashMapSlope() {
+		return LogLogRegression.slope(sizes, concurrentHashMapNanos);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(String.format(Locale.ROOT,
+				"%s (comparable: %s): slope %.3f in HashMap, %.3f in ConcurrentHashMap", className, comparable,
+				getHashMapSlope(), getConcurrentHashMapSlope()));
+		for(int i = 0; i < sizes.length; i++) {
+			builder.append(System.lineSeparator()).append(String.format(Locale.ROOT,
+					"  %6d colliding instances: %10.1f ns per lookup in HashMap, %10.1f ns in ConcurrentHashMap",
+					sizes[i], hashMapNanos[i], concurrentHashMapNanos[i]));
+		}
+		return builder.toString();
+	}
+}
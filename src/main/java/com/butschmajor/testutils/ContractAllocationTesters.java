@@ -0,0 +1,84 @@
+package com.butschmajor.testutils;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.butschmajor.testutils.Failures.fail;
+
+/**
+ * This class provide methods to test that {@code equals}, {@code hashCode} and {@code compareTo} do not allocate.
+ * <p>
+ * The calls are warmed up first, so that allocations the JIT compiler eliminates by escape analysis are not counted.
+ * The allocated bytes are read from the per-thread counter of the JVM before and after a loop of calls and amortized
+ * over the number of calls.
+ */
+final class ContractAllocationTesters {
+
+	/**
+	 * Number of calls before the measurement.
+	 */
+	static final int WARMUP_CALLS = 100_000;
+
+	/**
+	 * Number of measured calls.
+	 */
+	static final int MEASURED_CALLS = 100_000;
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private ContractAllocationTesters() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Ensures that every call allocates at most the budgeted number of bytes on average.
+	 *
+	 * @param calls
+	 * 		the measured calls by the name of the called method, not null.
+	 * @param maxBytesPerCall
+	 * 		the maximum number of bytes a call may allocate on average, not negative.
+	 */
+	static void assertAllocation(final Map<String, ContractCalls.Call> calls, final double maxBytesPerCall) {
+		Objects.requireNonNull(calls, "The parameter 'calls' must not be null!");
+		if(!(maxBytesPerCall >= 0)) {
+			throw new IllegalArgumentException("The parameter 'maxBytesPerCall' must not be negative!");
+		}
+
+		final Map<String, Double> exceeding = new LinkedHashMap<>();
+		for(final Map.Entry<String, ContractCalls.Call> call : calls.entrySet()) {
+			final double bytesPerCall = measure(call.getValue());
+			if(bytesPerCall > maxBytesPerCall) {
+				exceeding.put(call.getKey(), bytesPerCall);
+			}
+		}
+
+		if(!exceeding.isEmpty()) {
+			final StringBuilder builder = new StringBuilder();
+			exceeding.forEach((method, bytesPerCall) -> builder.append(System.lineSeparator())
+					.append(String.format(Locale.ROOT, "  %s allocated %.1f bytes per call", method, bytesPerCall)));
+			fail("The following methods should allocate at most %s bytes per call after %d warm-up calls:%s",
+					maxBytesPerCall, WARMUP_CALLS, builder);
+		}
+	}
+
+	/**
+	 * Measures the bytes allocated by the calls.
+	 *
+	 * @param call
+	 * 		the measured calls, not null.
+	 * @return the average number of bytes allocated per call.
+	 */
+	static double measure(final ContractCalls.Call call) {
+		final int index = ContractCalls.run(call, WARMUP_CALLS, 0);
+
+		final long readingCost = AllocationCounter.readingCost();
+		final long before = AllocationCounter.allocatedBytes();
+		ContractCalls.run(call, MEASURED_CALLS, index);
+		final long allocated = AllocationCounter.allocatedBytes() - before - readingCost;
+
+		return Math.max(0, allocated) / (double) MEASURED_CALLS;
+	}
+}
@@ -0,0 +1,345 @@
+package com.butschmajor.testutils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+import static com.butschmajor.testutils.Failures.fail;
+
+/**
+ * This class provide methods to test the {@code equals} and {@code hashCode} contract on an arbitrary number of equal and
+ * unequal instances.
+ * <p>
+ * The instances are partitioned by their hash code. Since equal instances must have equal hash codes, reflexivity,
+ * symmetry and transitivity only need to be verified exhaustively inside a bucket of instances sharing the same hash
+ * code. The agreement of {@code equals} and {@code hashCode} across buckets, i.e. that no two instances with different
+ * hash codes are equal, is verified on all pairs of up to {@value #EXHAUSTIVE_CROSS_BUCKET_LIMIT} instances. Larger sets
+ * are verified on a deterministic sample of instance pairs: every instance is compared with a number of randomly drawn
+ * instances, so a single equal pair with different hash codes among {@code n} instances is found with a probability of
+ * about {@code 2 * samples / n} only. All buckets are verified in parallel on the common fork-join pool.
+ */
+final class ContractBulkTesters {
+
+	/**
+	 * Default number of instances of other hash buckets every instance is compared with if not all pairs are compared.
+	 */
+	static final int CROSS_BUCKET_SAMPLES = 8;
+
+	/**
+	 * Maximum number of instances of which all pairs of instances with different hash codes are compared.
+	 */
+	static final int EXHAUSTIVE_CROSS_BUCKET_LIMIT = 4_096;
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private ContractBulkTesters() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Ensures that the methods {@code equals} and {@code hashCode} of all instances comply with the contract.
+	 *
+	 * @param instances
+	 * 		the equal and unequal instances to test, not null and without null elements.
+	 */
+	static <T> void assertContractEqualsAndHashCode(final Collection<? extends T> instances) {
+		verifyContractEqualsAndHashCode(instances, CROSS_BUCKET_SAMPLES, null);
+	}
+
+	/**
+	 * Ensures that the methods {@code equals} and {@code hashCode} of all instances comply with the contract, comparing
+	 * every instance with the given number of instances of other buckets if there are too many instances to compare all
+	 * pairs.
+	 *
+	 * @param instances
+	 * 		the equal and unequal instances to test, not null and without null elements.
+	 * @param crossBucketSamples
+	 * 		the number of instances of other buckets every instance is compared with, positive.
+	 */
+	static <T> void assertContractEqualsAndHashCode(final Collection<? extends T> instances,
+			final int crossBucketSamples) {
+		verifyContractEqualsAndHashCode(instances, crossBucketSamples, null);
+	}
+
+	/**
+	 * Verifies that the methods {@code equals} and {@code hashCode} of all instances comply with the contract and adds the
+	 * failures to a collector instead of failing. Every instance, every hash bucket and every sample of other buckets is
+	 * verified on its own, so a single broken instance does not hide the failures of the others.
+	 *
+	 * @param instances
+	 * 		the equal and unequal instances to test, not null and without null elements.
+	 * @param collector
+	 * 		the collector to add the failures to, or null to fail on the first failure.
+	 */
+	static <T> void verifyContractEqualsAndHashCode(final Collection<? extends T> instances,
+			final FailureCollector collector) {
+		verifyContractEqualsAndHashCode(instances, CROSS_BUCKET_SAMPLES, collector);
+	}
+
+	/**
+	 * Verifies that the methods {@code equals} and {@code hashCode} of all instances comply with the contract like
+	 * {@link #verifyContractEqualsAndHashCode(Collection, FailureCollector)}, comparing every instance with the given
+	 * number of instances of other buckets if there are too many instances to compare all pairs.
+	 *
+	 * @param instances
+	 * 		the equal and unequal instances to test, not null and without null elements.
+	 * @param crossBucketSamples
+	 * 		the number of instances of other buckets every instance is compared with, positive.
+	 * @param collector
+	 * 		the collector to add the failures to, or null to fail on the first failure.
+	 */
+	private static <T> void verifyContractEqualsAndHashCode(final Collection<? extends T> instances,
+			final int crossBucketSamples, final FailureCollector collector) {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+		if(crossBucketSamples <= 0) {
+			throw new IllegalArgumentException("The parameter 'crossBucketSamples' must be positive!");
+		}
+
+		final Object[] values = instances.toArray();
+		for(final Object value : values) {
+			Objects.requireNonNull(value, "The parameter 'instances' must not contain null!");
+		}
+
+		final int[] hashes = new int[values.length];
+		ParallelChecks.forEach(values.length, i -> {
+			final Object x = values[i];
+			if(collector == null) {
+				assertInstance(x);
+			} else {
+				collector.verify(x.getClass(), () -> assertInstance(x));
+			}
+			hashes[i] = x.hashCode();
+		});
+
+		final int[] order = sortByHash(hashes);
+		final int[] bucketStarts = bucketStarts(hashes, order);
+
+		ParallelChecks.forEach(bucketStarts.length - 1, b -> {
+			if(collector == null) {
+				assertBucket(values, order, bucketStarts[b], bucketStarts[b + 1]);
+			} else {
+				collector.verify(values[order[bucketStarts[b]]].getClass(),
+						() -> assertBucket(values, order, bucketStarts[b], bucketStarts[b + 1]));
+			}
+		});
+		if(bucketStarts.length > 2) {
+			final boolean exhaustive = values.length <= EXHAUSTIVE_CROSS_BUCKET_LIMIT
+					|| crossBucketSamples >= values.length - 1;
+			ParallelChecks.forEach(values.length, i -> {
+				final Runnable check = exhaustive ? () -> assertCrossBucketPairs(values, hashes, i)
+						: () -> assertCrossBucketSample(values, hashes, i, crossBucketSamples);
+				if(collector == null) {
+					check.run();
+				} else {
+					collector.verify(values[i].getClass(), check);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Ensures that {@code equals} is reflexive and not equal to null and that {@code hashCode} is consistent.
+	 *
+	 * @param x
+	 * 		the instance to test, not null.
+	 */
+	private static void assertInstance(final Object x) {
+		ContractEqualsTesters.assertEqualsIsReflexive(x);
+		ContractEqualsTesters.assertEqualsNonNullity(x);
+		ContractHashCodeTesters.assertHashCodeConsistency(x);
+	}
+
+	/**
+	 * Sorts the indices of the given hash codes by hash code.
+	 *
+	 * @param hashes
+	 * 		the hash codes of the instances, not null.
+	 * @return the indices of the instances ordered by hash code, never null.
+	 */
+	private static int[] sortByHash(final int[] hashes) {
+		final long[] keys = new long[hashes.length];
+		for(int i = 0; i < hashes.length; i++) {
+			keys[i] = ((long) hashes[i] << 32) | i;
+		}
+		Arrays.parallelSort(keys);
+
+		final int[] order = new int[hashes.length];
+		for(int i = 0; i < keys.length; i++) {
+			order[i] = (int) keys[i];
+		}
+		return order;
+	}
+
+	/**
+	 * Computes the start positions of the hash buckets in the given order.
+	 *
+	 * @param hashes
+	 * 		the hash codes of the instances, not null.
+	 * @param order
+	 * 		the indices of the instances ordered by hash code, not null.
+	 * @return the start positions of all buckets followed by the number of instances, never null.
+	 */
+	private static int[] bucketStarts(final int[] hashes, final int[] order) {
+		final int[] starts = new int[order.length + 1];
+		int buckets = 0;
+		for(int i = 0; i < order.length; i++) {
+			if(i == 0 || hashes[order[i]] != hashes[order[i - 1]]) {
+				starts[buckets++] = i;
+			}
+		}
+		starts[buckets++] = order.length;
+		return Arrays.copyOf(starts, buckets);
+	}
+
+	/**
+	 * Ensures that {@code equals} is symmetric and transitive for all instances of a bucket.
+	 * <p>
+	 * Every instance is assigned to the equivalence class of the first preceding instance it is equal to. The relation is an
+	 * equivalence relation if and only if two instances are equal exactly when they belong to the same class, which allows
+	 * to verify transitivity with a single pass over all pairs.
+	 *
+	 * @param values
+	 * 		all instances, not null.
+	 * @param order
+	 * 		the indices of the instances ordered by hash code, not null.
+	 * @param from
+	 * 		the first position of the bucket in the order, inclusive.
+	 * @param to
+	 * 		the last position of the bucket in the order, exclusive.
+	 */
+	private static void assertBucket(final Object[] values, final int[] order, final int from, final int to) {
+		final int size = to - from;
+		if(size < 2) {
+			return;
+		}
+
+		final int[] classes = new int[size];
+		for(int i = 0; i < size; i++) {
+			final Object x = values[order[from + i]];
+			int first = -1;
+			int equivalenceClass = i;
+
+			for(int j = 0; j < i; j++) {
+				final Object y = values[order[from + j]];
+				final boolean equal = x.equals(y);
+				if(equal != y.equals(x)) {
+					assertInContext(x, y, null, () -> ContractEqualsTesters.assertEqualsIsSymmetric(x, y));
+				}
+
+				if(first < 0) {
+					if(equal) {
+						first = j;
+						equivalenceClass = classes[j];
+					}
+					continue;
+				}
+
+				// 'x' is equal to 'w', the pair of 'y' and 'w' has already been verified
+				final Object w = values[order[from + first]];
+				final boolean sameClass = classes[j] == equivalenceClass;
+				if(equal && !sameClass) {
+					assertInContext(y, x, w, () -> ContractEqualsTesters.assertEqualsIsTransitive(y, x, w));
+				} else if(!equal && sameClass) {
+					assertInContext(y, w, x, () -> ContractEqualsTesters.assertEqualsIsTransitive(y, w, x));
+				}
+			}
+
+			for(int j = 0; j < first; j++) {
+				if(classes[j] == equivalenceClass) {
+					final Object y = values[order[from + j]];
+					final Object w = values[order[from + first]];
+					assertInContext(y, w, x, () -> ContractEqualsTesters.assertEqualsIsTransitive(y, w, x));
+				}
+			}
+			classes[i] = equivalenceClass;
+		}
+	}
+
+	/**
+	 * Ensures that the instance at the given index agrees on {@code equals} and {@code hashCode} with all following
+	 * instances from other buckets.
+	 *
+	 * @param values
+	 * 		all instances, not null.
+	 * @param hashes
+	 * 		the hash codes of the instances, not null.
+	 * @param index
+	 * 		the index of the instance to compare with the following instances.
+	 */
+	private static void assertCrossBucketPairs(final Object[] values, final int[] hashes, final int index) {
+		for(int other = index + 1; other < values.length; other++) {
+			if(hashes[other] != hashes[index]) {
+				assertCrossBucketPair(values[index], values[other]);
+			}
+		}
+	}
+
+	/**
+	 * Ensures that the instance at the given index agrees on {@code equals} and {@code hashCode} with a sample of instances
+	 * from other buckets.
+	 *
+	 * @param values
+	 * 		all instances, not null.
+	 * @param hashes
+	 * 		the hash codes of the instances, not null.
+	 * @param index
+	 * 		the index of the instance to compare with the sample.
+	 * @param samples
+	 * 		the number of instances to draw, positive.
+	 */
+	private static void assertCrossBucketSample(final Object[] values, final int[] hashes, final int index,
+			final int samples) {
+		final SplittableRandom random = new SplittableRandom(index);
+
+		for(int k = 0; k < samples; k++) {
+			final int other = random.nextInt(values.length);
+			if(hashes[other] != hashes[index]) {
+				assertCrossBucketPair(values[index], values[other]);
+			}
+		}
+	}
+
+	/**
+	 * Ensures that two instances with different hash codes are not equal.
+	 *
+	 * @param x
+	 * 		the first instance, not null.
+	 * @param y
+	 * 		the second instance, not null.
+	 */
+	private static void assertCrossBucketPair(final Object x, final Object y) {
+		final boolean equal = x.equals(y);
+		if(equal != y.equals(x)) {
+			assertInContext(x, y, null, () -> ContractEqualsTesters.assertEqualsIsSymmetric(x, y));
+		}
+		if(equal) {
+			assertInContext(x, y, null, () -> ContractHashCodeTesters.assertHashCodeEquality(x, y));
+		}
+	}
+
+	/**
+	 * Runs a per-pair check that is known to fail and adds the offending instances to its error message.
+	 *
+	 * @param x
+	 * 		the first offending instance, not null.
+	 * @param y
+	 * 		the second offending instance, not null.
+	 * @param z
+	 * 		the third offending instance, may be null.
+	 * @param check
+	 * 		the check to run, not null.
+	 */
+	private static void assertInContext(final Object x, final Object y, final Object z, final Runnable check) {
+		try {
+			check.run();
+		} catch(final AssertionError e) {
+			final String instances = z == null ? String.format("x=<%s>, y=<%s>", x, y)
+					: String.format("x=<%s>, y=<%s>, z=<%s>", x, y, z);
+			fail(e.getMessage() + " Offending instances: " + instances, e);
+		}
+		fail(String.format("The check of x=<%s> and y=<%s> passed when repeated. "
+				+ "The results of equals and hashCode are not deterministic.", x, y));
+	}
+}
@@ -0,0 +1,104 @@
+package com.butschmajor.testutils;
+
+import java.util.Objects;
+
+/**
+ * This class provide the calls of {@code equals}, {@code hashCode} and {@code compareTo} exercised by the contract
+ * checks, for measuring their cost in a loop.
+ * <p>
+ * The calls cycle through the instances 'x', 'y' and 'z'. Their results are folded into a volatile field, so the JIT
+ * compiler cannot eliminate the measured calls as dead code.
+ */
+final class ContractCalls {
+
+	/**
+	 * Number of distinct calls a loop cycles through.
+	 */
+	static final int CALLS = 3;
+
+	/**
+	 * Receives the folded results of the measured calls.
+	 */
+	@SuppressWarnings("unused")
+	private static volatile long sink;
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private ContractCalls() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * A measured call.
+	 */
+	@FunctionalInterface
+	interface Call {
+
+		/**
+		 * @param index
+		 * 		the index of the call in the cycle, between 0 and {@link #CALLS} - 1.
+		 * @return the result of the call.
+		 */
+		int call(int index);
+	}
+
+	/**
+	 * @return the calls x.hashCode(), y.hashCode() and z.hashCode().
+	 */
+	static <T> Call hashCodeCalls(final T x, final T y, final T z) {
+		final Object[] instances = instances(x, y, z);
+		return index -> instances[index].hashCode();
+	}
+
+	/**
+	 * @return the calls x.equals(y), y.equals(z) and z.equals(x).
+	 */
+	static <T> Call equalsCalls(final T x, final T y, final T z) {
+		final Object[] instances = instances(x, y, z);
+		return index -> instances[index].equals(instances[next(index)]) ? 1 : 0;
+	}
+
+	/**
+	 * @return the calls x.compareTo(y), y.compareTo(z) and z.compareTo(x).
+	 */
+	@SuppressWarnings("unchecked")
+	static <T extends Comparable<T>> Call compareToCalls(final T x, final T y, final T z) {
+		final Object[] instances = instances(x, y, z);
+		return index -> ((T) instances[index]).compareTo((T) instances[next(index)]);
+	}
+
+	/**
+	 * Runs the given number of calls, continuing the cycle at the given index.
+	 *
+	 * @param call
+	 * 		the call to run, not null.
+	 * @param count
+	 * 		the number of calls, not negative.
+	 * @param index
+	 * 		the index of the first call in the cycle.
+	 * @return the index following the last call in the cycle.
+	 */
+	static int run(final Call call, final int count, final int index) {
+		int next = index;
+		long results = 0;
+		for(int i = 0; i < count; i++) {
+			results = 31 * results + call.call(next);
+			next = next(next);
+		}
+		sink = results;
+		return next;
+	}
+
+	private static int next(final int index) {
+		return index == CALLS - 1 ? 0 : index + 1;
+	}
+
+	private static Object[] instances(final Object x, final Object y, final Object z) {
+		Objects.requireNonNull(x, "The parameter 'x' must not be null!");
+		Objects.requireNonNull(y, "The parameter 'y' must not be null!");
+		Objects.requireNonNull(z, "The parameter 'z' must not be null!");
+
+		return new Object[] { x, y, z };
+	}
+}
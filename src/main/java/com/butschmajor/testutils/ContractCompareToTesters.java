@@ -1,16 +1,95 @@
 package com.butschmajor.testutils;
 
+import java.util.Comparator;
 import java.util.Objects;
 
-import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.catchThrowable;
-import static org.assertj.core.api.AssertionsForClassTypes.within;
+import static com.butschmajor.testutils.Failures.fail;
 
 /**
- * This class provide methods to test the contract of {@code compareTo}.
+ * This class provide methods to test the contract of {@code compareTo} and of arbitrary comparators.
+ * <p>
+ * The {@code is*} methods check a property of an arbitrary comparator without allocating any objects. The {@code assert*}
+ * methods are thin wrappers which only create an assertion error if the check fails.
  */
 final class ContractCompareToTesters {
 
+	/**
+	 * Checks that sgn(compare(x, y)) == -sgn(compare(y, x)).
+	 *
+	 * @param x
+	 * 		the first instance 'x' to check, not null.
+	 * @param y
+	 * 		the second instance 'y' to check, not null.
+	 * @param comparator
+	 * 		the comparator to check, not null.
+	 * @return true if the comparison of 'x' and 'y' can be reversed.
+	 */
+	static <T> boolean isComparisonReversal(T x, T y, Comparator<? super T> comparator) {
+		return Integer.signum(comparator.compare(x, y)) == -Integer.signum(comparator.compare(y, x));
+	}
+
+	/**
+	 * Checks that compare(x, y) == 0 has the same boolean value as x.equals(y).
+	 *
+	 * @param x
+	 * 		the first instance 'x' to check, not null.
+	 * @param y
+	 * 		the second instance 'y' to check, not null.
+	 * @param comparator
+	 * 		the comparator to check, not null.
+	 * @return true if the comparison of 'x' and 'y' is consistent with equals.
+	 */
+	static <T> boolean isConsistentWithEquals(T x, T y, Comparator<? super T> comparator) {
+		return (comparator.compare(x, y) == 0) == x.equals(y);
+	}
+
+	/**
+	 * Checks that compare(x, y) == 0 implies that sgn(compare(x, z)) == sgn(compare(y, z)).
+	 *
+	 * @param x
+	 * 		the first instance 'x' to check, not null.
+	 * @param y
+	 * 		the second instance 'y' to check, not null.
+	 * @param z
+	 * 		the third instance 'z' to check, not null.
+	 * @param comparator
+	 * 		the comparator to check, not null.
+	 * @return true if the comparison of 'x', 'y' and 'z' is consistent.
+	 */
+	static <T> boolean isConsistent(T x, T y, T z, Comparator<? super T> comparator) {
+		return comparator.compare(x, y) != 0
+				|| Integer.signum(comparator.compare(x, z)) == Integer.signum(comparator.compare(y, z));
+	}
+
+	/**
+	 * Checks that the comparator is transitive for 'x', 'y' and 'z': compare(x, y) >= 0 and compare(y, z) >= 0 implies
+	 * compare(x, z) >= 0, where compare(x, z) must be zero if and only if both other comparisons are zero. The same applies
+	 * for <= 0.
+	 *
+	 * @param x
+	 * 		the first instance 'x' to check, not null.
+	 * @param y
+	 * 		the second instance 'y' to check, not null.
+	 * @param z
+	 * 		the third instance 'z' to check, not null.
+	 * @param comparator
+	 * 		the comparator to check, not null.
+	 * @return true if the comparison of 'x', 'y' and 'z' is transitive.
+	 */
+	static <T> boolean isTransitive(T x, T y, T z, Comparator<? super T> comparator) {
+		final int xy = Integer.signum(comparator.compare(x, y));
+		final int yz = Integer.signum(comparator.compare(y, z));
+		final int xz = Integer.signum(comparator.compare(x, z));
+
+		if(xy >= 0 && yz >= 0) {
+			return xy + yz == 0 ? xz == 0 : xz > 0;
+		}
+		if(xy <= 0 && yz <= 0) {
+			return xy + yz == 0 ? xz == 0 : xz < 0;
+		}
+		return true;
+	}
+
 	/**
 	 * Ensure sgn(x.compareTo(y)) == -sgn(y.compareTo(x)) for all x and y. This implies that x.compareTo(y) must throw an
 	 * exception if y.compareTo(x) throws an exception.
@@ -22,14 +101,37 @@ final class ContractCompareToTesters {
 	 * 		the second instance 'y' to test, not null.
 	 */
 	static <T extends Comparable<T>> void assertComparisonReversal(T x, T y) {
+		assertComparisonReversal(x, y, Comparator.<T>naturalOrder());
+	}
+
+	/**
+	 * Ensure sgn(compare(x, y)) == -sgn(compare(y, x)) for all x and y.
+	 *
+	 * @param x
+	 * 		the first instance 'x' to test, not null.
+	 * @param y
+	 * 		the second instance 'y' to test, not null.
+	 * @param comparator
+	 * 		the comparator to test, not null.
+	 */
+	static <T> void assertComparisonReversal(T x, T y, Comparator<? super T> comparator) {
 		Objects.requireNonNull(x, "The parameter 'x' must not be null!");
 		Objects.requireNonNull(y, "The parameter 'y' must not be null!");
+		Objects.requireNonNull(comparator, "The parameter 'comparator' must not be null!");
+
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final String errorMessage = "Comparison reversal should apply: sgn(compare(o1, o2)) == -sgn(compare(o2, o1)).";
 
-		final String errorMessage = "Comparison reversal should apply: sgn(o1.compareTo(o2)) == -sgn(o2.compareTo(o1)).";
-		final double res1 = Math.signum(x.compareTo(y));
-		final double res2 = -Math.signum(y.compareTo(x));
+			if(!isComparisonReversal(x, y, comparator)) {
+				fail(errorMessage);
+			}
 
-		assertThat(res1).overridingErrorMessage(errorMessage).isCloseTo(res2, within(0.01));
+			passed = true;
+		} finally {
+			CheckListeners.completed("compareTo.comparisonReversal", x.getClass(), start, passed);
+		}
 	}
 
 	/**
@@ -42,23 +144,51 @@ final class ContractCompareToTesters {
 	 * 		the second instance 'y' to test consistency with equals, not null.
 	 */
 	static <T extends Comparable<T>> void assertConsistencyWithEqual(T x, T y) {
+		assertConsistencyWithEqual(x, y, Comparator.<T>naturalOrder());
+	}
+
+	/**
+	 * The comparator should be consistent with equals if and only if compare(x, y) == 0 has the same boolean value as
+	 * x.equals(y) for every x and y. Unlike {@code compareTo} a comparator is not required to be consistent with equals.
+	 *
+	 * @param x
+	 * 		the first instance 'x' to test consistency with equals, not null.
+	 * @param y
+	 * 		the second instance 'y' to test consistency with equals, not null.
+	 * @param comparator
+	 * 		the comparator to test, not null.
+	 */
+	static <T> void assertConsistencyWithEqual(T x, T y, Comparator<? super T> comparator) {
 		Objects.requireNonNull(x, "The parameter 'x' must not be null!");
 		Objects.requireNonNull(y, "The parameter 'y' must not be null!");
+		Objects.requireNonNull(comparator, "The parameter 'comparator' must not be null!");
+
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final String errorMessage1 = "x and y should be equal. Before testing comparison. ";
+			final boolean res1 = x.equals(y);
 
-		final String errorMessage1 = "x and y should be equal. Before testing comparison. ";
-		final boolean res1 = x.equals(y);
+			if(!res1) {
+				fail(errorMessage1);
+			}
 
-		assertThat(res1).overridingErrorMessage(errorMessage1).isTrue();
+			final String errorMessage2 = "Since x and y are equals, compare(x, y) should return zero!";
+			final int res2 = comparator.compare(x, y);
 
-		final String errorMessage2 = "Since x and y are equals, x.compareTo(y) should return zero!";
-		final int res2 = x.compareTo(y);
-		final int expectedRes2 = 0;
+			if(res2 != 0) {
+				fail(errorMessage2);
+			}
 
-		assertThat(res2).overridingErrorMessage(errorMessage2).isEqualTo(expectedRes2);
+			passed = true;
+		} finally {
+			CheckListeners.completed("compareTo.consistencyWithEquals", x.getClass(), start, passed);
+		}
 	}
 
 	/**
-	 * x.compareTo(null) should throw a NullPointerException
+	 * x.compareTo(null) should throw a NullPointerException. Unlike the other checks this one allocates, since the expected
+	 * exception is created by {@code compareTo}.
 	 *
 	 * @param x
 	 * 		the instance 'x' to test, not null.
@@ -66,18 +196,31 @@ final class ContractCompareToTesters {
 	static <T extends Comparable<T>> void assertNullPointerException(T x) {
 		Objects.requireNonNull(x, "The parameter 'x' must not be null!");
 
-		final String errorMessage = "x.compareTo(null) should throw a NullPointerException";
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final String errorMessage = "x.compareTo(null) should throw a NullPointerException";
+
+			Throwable thrown = null;
+			try {
+				x.compareTo(null);
+			} catch(final Throwable t) {
+				thrown = t;
+			}
 
-		final Throwable thrown = catchThrowable(() -> {
-			x.compareTo(null);
-		});
+			if(!(thrown instanceof NullPointerException)) {
+				fail(errorMessage, thrown);
+			}
 
-		assertThat(thrown).overridingErrorMessage(errorMessage) //
-				.isInstanceOf(NullPointerException.class);
+			passed = true;
+		} finally {
+			CheckListeners.completed("compareTo.nullPointerException", x.getClass(), start, passed);
+		}
 	}
 
 	/**
-	 * Transitivity means x.compareTo(y)>0 && y.compareTo(z)>0 implies that x.compareTo(z) is also >0.
+	 * Transitivity means x.compareTo(y)>0 && y.compareTo(z)>0 implies that x.compareTo(z) is also >0, see
+	 * {@link #isTransitive(Object, Object, Object, Comparator)}.
 	 *
 	 * @param x
 	 * 		the first instance 'x' to test it is transitive, not null.
@@ -87,15 +230,41 @@ final class ContractCompareToTesters {
 	 * 		the third instance 'z' to test it is transitive, not null.
 	 */
 	static <T extends Comparable<T>> void assertTransitivity(T x, T y, T z) {
+		assertTransitivity(x, y, z, Comparator.<T>naturalOrder());
+	}
+
+	/**
+	 * Transitivity means compare(x, y)>0 && compare(y, z)>0 implies that compare(x, z) is also >0, see
+	 * {@link #isTransitive(Object, Object, Object, Comparator)}.
+	 *
+	 * @param x
+	 * 		the first instance 'x' to test it is transitive, not null.
+	 * @param y
+	 * 		the second instance 'y' to test it is transitive, not null.
+	 * @param z
+	 * 		the third instance 'z' to test it is transitive, not null.
+	 * @param comparator
+	 * 		the comparator to test, not null.
+	 */
+	static <T> void assertTransitivity(T x, T y, T z, Comparator<? super T> comparator) {
 		Objects.requireNonNull(x, "The parameter 'x' must not be null!");
 		Objects.requireNonNull(y, "The parameter 'y' must not be null!");
 		Objects.requireNonNull(z, "The parameter 'z' must not be null!");
+		Objects.requireNonNull(comparator, "The parameter 'comparator' must not be null!");
 
-		final int res1 = x.compareTo(y);
-		final int res2 = y.compareTo(z);
-		final int res3 = x.compareTo(z);
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			if(!isTransitive(x, y, z, comparator)) {
+				fail("Transitivity should apply, but sgn(compare(x, y)) was %d, sgn(compare(y, z)) was %d and sgn(compare(x, z)) was %d.",
+						Integer.signum(comparator.compare(x, y)), Integer.signum(comparator.compare(y, z)),
+						Integer.signum(comparator.compare(x, z)));
+			}
 
-		assertThat(res1).isEqualTo(res2).isEqualTo(res3);
+			passed = true;
+		} finally {
+			CheckListeners.completed("compareTo.transitivity", x.getClass(), start, passed);
+		}
 	}
 
 	/**
@@ -109,14 +278,39 @@ final class ContractCompareToTesters {
 	 * 		the third instance 'z' to test consistency, not null.
 	 */
 	static <T extends Comparable<T>> void assertConsistency(T x, T y, T z) {
+		assertConsistency(x, y, z, Comparator.<T>naturalOrder());
+	}
+
+	/**
+	 * Ensure that compare(x, y) == 0. This implies that sgn(compare(x, z)) == sgn(compare(y, z)), for all z.
+	 *
+	 * @param x
+	 * 		the first instance 'x' to test consistency, not null.
+	 * @param y
+	 * 		the second instance 'y' to test consistency, not null.
+	 * @param z
+	 * 		the third instance 'z' to test consistency, not null.
+	 * @param comparator
+	 * 		the comparator to test, not null.
+	 */
+	static <T> void assertConsistency(T x, T y, T z, Comparator<? super T> comparator) {
 		Objects.requireNonNull(x, "The parameter 'x' must not be null!");
 		Objects.requireNonNull(y, "The parameter 'y' must not be null!");
 		Objects.requireNonNull(z, "The parameter 'z' must not be null!");
+		Objects.requireNonNull(comparator, "The parameter 'comparator' must not be null!");
+
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final boolean res = (comparator.compare(x, y) == 0) && isConsistent(x, y, z, comparator);
 
-		final boolean res = (x.compareTo(y) == 0) && (Math.signum(x.compareTo(z)) == Math.signum(y.compareTo(z)));
+			if(!res) {
+				fail("x.compareTo(y) == 0 implies that sgn(x.compareTo(z)) == sgn(y.compareTo(z)) for all z");
+			}
 
-		assertThat(res).isTrue();
+			passed = true;
+		} finally {
+			CheckListeners.completed("compareTo.consistency", x.getClass(), start, passed);
+		}
 	}
 }
-
-
@@ -2,13 +2,81 @@ package com.butschmajor.testutils;
 
 import java.util.Objects;
 
-import static org.assertj.core.api.Assertions.assertThat;
+import static com.butschmajor.testutils.Failures.fail;
 
 /**
  * This class provide methods to test the {@code equals} contract.
+ * <p>
+ * The {@code is*} methods check a property without allocating any objects. The {@code assert*} methods are thin wrappers
+ * which only create an assertion error if the check fails.
  */
 final class ContractEqualsTesters {
 
+	/**
+	 * Checks that 'x', 'y' and 'z' are equal.
+	 *
+	 * @param x
+	 * 		the instance 'x' to check, not null.
+	 * @param y
+	 * 		the second instance 'y' to check, not null.
+	 * @param z
+	 * 		the third instance 'z' to check, not null.
+	 * @return true if x.equals(y) and y.equals(z).
+	 */
+	static <T> boolean areParametersEqual(T x, T y, T z) {
+		return x.equals(y) && y.equals(z);
+	}
+
+	/**
+	 * Checks that x.equals(x) returns true.
+	 *
+	 * @param x
+	 * 		the instance 'x' to check, not null.
+	 * @return true if 'x' is equal to itself.
+	 */
+	static <T> boolean isEqualsReflexive(T x) {
+		return x.equals(x);
+	}
+
+	/**
+	 * Checks that x.equals(y) returns true if and only if y.equals(x) returns true.
+	 *
+	 * @param x
+	 * 		the first instance 'x' to check, not null.
+	 * @param y
+	 * 		the second instance 'y' to check, not null.
+	 * @return true if {@code equals} is symmetric for 'x' and 'y'.
+	 */
+	static <T> boolean isEqualsSymmetric(T x, T y) {
+		return x.equals(y) == y.equals(x);
+	}
+
+	/**
+	 * Checks that x.equals(z) returns true if x.equals(y) and y.equals(z) return true.
+	 *
+	 * @param x
+	 * 		the first instance 'x' to check, not null.
+	 * @param y
+	 * 		the second instance 'y' to check, not null.
+	 * @param z
+	 * 		the third instance 'z' to check, not null.
+	 * @return true if {@code equals} is transitive for 'x', 'y' and 'z'.
+	 */
+	static <T> boolean isEqualsTransitive(T x, T y, T z) {
+		return !(x.equals(y) && y.equals(z)) || x.equals(z);
+	}
+
+	/**
+	 * Checks that x.equals(null) returns false.
+	 *
+	 * @param x
+	 * 		the instance 'x' to check, not null.
+	 * @return true if 'x' is not equal to null.
+	 */
+	static <T> boolean isEqualsNonNull(T x) {
+		return !x.equals(null);
+	}
+
 	/**
 	 * Ensures that 'x', 'y' and 'z' are equal.
 	 *
@@ -24,13 +92,25 @@ final class ContractEqualsTesters {
 		Objects.requireNonNull(y, "The parameter 'y' must not be null!");
 		Objects.requireNonNull(z, "The parameter 'z' must not be null!");
 
-		final String errorMessage1 = "The parameters 'x' and 'y' must be equal!";
-		final boolean res1 = x.equals(y);
-		final String errorMessage2 = "The parameters 'y' and 'z' must be equal!";
-		final boolean res2 = y.equals(z);
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final String errorMessage1 = "The parameters 'x' and 'y' must be equal!";
+			final boolean res1 = x.equals(y);
+			final String errorMessage2 = "The parameters 'y' and 'z' must be equal!";
+			final boolean res2 = y.equals(z);
+
+			if(!res1) {
+				fail(errorMessage1);
+			}
+			if(!res2) {
+				fail(errorMessage2);
+			}
 
-		assertThat(res1).overridingErrorMessage(errorMessage1).isTrue();
-		assertThat(res2).overridingErrorMessage(errorMessage2).isTrue();
+			passed = true;
+		} finally {
+			CheckListeners.completed("equals.parameters", x.getClass(), start, passed);
+		}
 	}
 
 	/**
@@ -42,10 +122,19 @@ final class ContractEqualsTesters {
 	static <T> void assertEqualsIsReflexive(T x) {
 		Objects.requireNonNull(x, "The parameter 'x' must not be null!");
 
-		final String errorMessage = "Object 'x' should be reflexibly equal to itself.";
-		final boolean res = x.equals(x);
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final String errorMessage = "Object 'x' should be reflexibly equal to itself.";
 
-		assertThat(res).overridingErrorMessage(errorMessage).isTrue();
+			if(!isEqualsReflexive(x)) {
+				fail(errorMessage);
+			}
+
+			passed = true;
+		} finally {
+			CheckListeners.completed("equals.reflexive", x.getClass(), start, passed);
+		}
 	}
 
 	/**
@@ -60,11 +149,19 @@ final class ContractEqualsTesters {
 		Objects.requireNonNull(x, "The parameter 'x' must not be null!");
 		Objects.requireNonNull(y, "The parameter 'y' must not be null!");
 
-		final String errorMessage = "x and y should be symetrically equal to each other.";
-		final boolean res1 = x.equals(y);
-		final boolean res2 = y.equals(x);
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final String errorMessage = "x and y should be symetrically equal to each other.";
+
+			if(!isEqualsSymmetric(x, y)) {
+				fail(errorMessage);
+			}
 
-		assertThat(res1).overridingErrorMessage(errorMessage).isEqualTo(res2);
+			passed = true;
+		} finally {
+			CheckListeners.completed("equals.symmetric", x.getClass(), start, passed);
+		}
 	}
 
 	/**
@@ -83,16 +180,30 @@ final class ContractEqualsTesters {
 		Objects.requireNonNull(y, "The parameter 'y' must not be null!");
 		Objects.requireNonNull(z, "The parameter 'z' must not be null!");
 
-		final String errorMessage1 = "x should transitively be equal to y.";
-		final String errorMessage2 = "y should transitively be equal to z.";
-		final String errorMessage3 = "x should transitively be equal to z.";
-		final boolean res1 = x.equals(y);
-		final boolean res2 = y.equals(z);
-		final boolean res3 = x.equals(z);
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final String errorMessage1 = "x should transitively be equal to y.";
+			final String errorMessage2 = "y should transitively be equal to z.";
+			final String errorMessage3 = "x should transitively be equal to z.";
+			final boolean res1 = x.equals(y);
+			final boolean res2 = y.equals(z);
+			final boolean res3 = x.equals(z);
+
+			if(!res1) {
+				fail(errorMessage1);
+			}
+			if(!res2) {
+				fail(errorMessage2);
+			}
+			if(!res3) {
+				fail(errorMessage3);
+			}
 
-		assertThat(res1).overridingErrorMessage(errorMessage1).isTrue();
-		assertThat(res2).overridingErrorMessage(errorMessage2).isTrue();
-		assertThat(res3).overridingErrorMessage(errorMessage3).isTrue();
+			passed = true;
+		} finally {
+			CheckListeners.completed("equals.transitive", x.getClass(), start, passed);
+		}
 	}
 
 	/**
@@ -104,10 +215,19 @@ final class ContractEqualsTesters {
 	static <T> void assertEqualsNonNullity(T x) {
 		Objects.requireNonNull(x, "The parameter 'x' must not be null!");
 
-		final String errorMessage = "x should not be equals to null!";
-		final boolean res = x.equals(null);
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final String errorMessage = "x should not be equals to null!";
 
-		assertThat(res).overridingErrorMessage(errorMessage).isFalse();
+			if(!isEqualsNonNull(x)) {
+				fail(errorMessage);
+			}
+
+			passed = true;
+		} finally {
+			CheckListeners.completed("equals.nonNullity", x.getClass(), start, passed);
+		}
 	}
 
 	/**
@@ -121,9 +241,19 @@ final class ContractEqualsTesters {
 	static <T> void assertEqualsIsDifferent(T x, T y) {
 		Objects.requireNonNull(x, "The parameter 'x' must not be null!");
 
-		final String errorMessage = "x should not be equals to y.";
-		final boolean res = x.equals(y);
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final String errorMessage = "x should not be equals to y.";
+			final boolean res = x.equals(y);
+
+			if(res) {
+				fail(errorMessage);
+			}
 
-		assertThat(res).overridingErrorMessage(errorMessage).isFalse();
+			passed = true;
+		} finally {
+			CheckListeners.completed("equals.different", x.getClass(), start, passed);
+		}
 	}
 }
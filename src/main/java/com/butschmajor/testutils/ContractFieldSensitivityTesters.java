@@ -0,0 +1,441 @@
+package com.butschmajor.testutils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.butschmajor.testutils.Failures.fail;
+
+/**
+ * This class provide methods to test that {@code equals} and {@code hashCode} take every field of an instance into
+ * account.
+ * <p>
+ * The instance is copied field by field and each field of the copy is changed in turn. The accessors of the fields are
+ * {@link MethodHandle}s created once per class and cached in a {@link ClassValue}, so repeated checks neither look up
+ * nor reflect on the fields again. Instances of classes are allocated without calling a constructor; records are
+ * created by their canonical constructor.
+ */
+final class ContractFieldSensitivityTesters {
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	/**
+	 * {@code sun.misc.Unsafe#allocateInstance(Class)}, or null if it is not accessible.
+	 */
+	private static final MethodHandle ALLOCATE_INSTANCE = allocateInstance();
+
+	private static final ClassValue<ClassAccessors> ACCESSORS = new ClassValue<ClassAccessors>() {
+		@Override
+		protected ClassAccessors computeValue(final Class<?> type) {
+			return accessors(type);
+		}
+	};
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private ContractFieldSensitivityTesters() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Ensures that changing any field of a copy of the instance makes it unequal to the instance and, optionally, changes
+	 * its hash code. Static, transient and synthetic fields are not changed, transient fields are reset in every copy.
+	 *
+	 * @param x
+	 * 		the instance to test, not null.
+	 * @param hashCodeSensitive
+	 * 		true if the hash code must change as well.
+	 * @param ignoredFields
+	 * 		the names of further fields which are not changed, not null.
+	 * @return the report, never null.
+	 */
+	static FieldSensitivityReport assertFieldSensitivity(final Object x, final boolean hashCodeSensitive,
+			final String... ignoredFields) {
+		Objects.requireNonNull(x, "The parameter 'x' must not be null!");
+		Objects.requireNonNull(ignoredFields, "The parameter 'ignoredFields' must not be null!");
+
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final FieldSensitivityReport report = analyze(x, new HashSet<>(Arrays.asList(ignoredFields)));
+			if(!report.getEqualsInsensitiveFields().isEmpty()) {
+				fail("x and its copy should not be equal after changing a field, but x.equals(copy) was true after "
+						+ "changing %s for x=<%s>.",
+						report.getEqualsInsensitiveFields(), x);
+			}
+			if(hashCodeSensitive && !report.getHashCodeInsensitiveFields().isEmpty()) {
+				fail("x.hashCode() and copy.hashCode() should differ after changing a field, but were the same after "
+						+ "changing %s for x=<%s>.",
+						report.getHashCodeInsensitiveFields(), x);
+			}
+
+			passed = true;
+			return report;
+		} finally {
+			CheckListeners.completed(hashCodeSensitive ? "hashCode.fieldSensitivity" : "equals.fieldSensitivity",
+					x.getClass(), start, passed);
+		}
+	}
+
+	/**
+	 * Changes every field of a copy of the instance in turn and records whether {@code equals} and {@code hashCode}
+	 * noticed the change.
+	 *
+	 * @param x
+	 * 		the instance to test, not null.
+	 * @param ignoredFields
+	 * 		the names of the fields which are not changed, not null.
+	 * @return the report, never null.
+	 */
+	static FieldSensitivityReport analyze(final Object x, final Set<String> ignoredFields) {
+		final ClassAccessors accessors = ACCESSORS.get(x.getClass());
+		final List<FieldAccessor> fields = accessors.getFields();
+		final Object[] values = new Object[fields.size()];
+		for(int i = 0; i < values.length; i++) {
+			values[i] = fields.get(i).isTransient() ? fields.get(i).getDefaultValue() : fields.get(i).get(x);
+		}
+
+		final Object copy = accessors.create(values);
+		if(!x.equals(copy) || !copy.equals(x) || x.hashCode() != copy.hashCode()) {
+			fail("A field by field copy of x should be equal to x and have the same hash code, but x.equals(copy) was "
+					+ "%s, copy.equals(x) was %s and the hash codes were %d and %d for x=<%s>.",
+					x.equals(copy), copy.equals(x), x.hashCode(), copy.hashCode(), x);
+		}
+
+		final List<String> verified = new ArrayList<>();
+		final List<String> equalsInsensitive = new ArrayList<>();
+		final List<String> hashCodeInsensitive = new ArrayList<>();
+		final List<String> skipped = new ArrayList<>();
+		for(int i = 0; i < values.length; i++) {
+			final FieldAccessor field = fields.get(i);
+			if(field.isTransient() || field.isSynthetic() || ignoredFields.contains(field.getName())) {
+				continue;
+			}
+			final Object[] changes = changes(field.getType(), values[i]);
+			if(changes.length == 0) {
+				skipped.add(field.getName());
+				continue;
+			}
+
+			boolean equal = false;
+			boolean sameHashCode = true;
+			try {
+				for(int change = 0; change < changes.length; change++) {
+					final Object[] changed = values.clone();
+					changed[i] = changes[change];
+					final Object changedCopy = accessors.create(changed);
+					if(change == 0) {
+						equal = x.equals(changedCopy) || changedCopy.equals(x);
+					}
+					sameHashCode &= x.hashCode() == changedCopy.hashCode();
+				}
+			} catch(final RuntimeException e) {
+				skipped.add(field.getName());
+				continue;
+			}
+
+			verified.add(field.getName());
+			if(equal) {
+				equalsInsensitive.add(field.getName());
+			}
+			if(sameHashCode) {
+				hashCodeInsensitive.add(field.getName());
+			}
+		}
+		return new FieldSensitivityReport(x.getClass().getName(), verified, equalsInsensitive, hashCodeInsensitive,
+				skipped);
+	}
+
+	/**
+	 * @param type
+	 * 		the declared type of a field, not null.
+	 * @param value
+	 * 		the current value of the field, may be null.
+	 * @return up to two values of the type different from the current value, empty if no different value is known.
+	 */
+	static Object[] changes(final Class<?> type, final Object value) {
+		if(type == boolean.class || type == Boolean.class) {
+			return new Object[] { value == null || !(Boolean) value };
+		} else if(type == byte.class || type == Byte.class) {
+			final byte v = value == null ? 0 : (Byte) value;
+			return new Object[] { (byte) (v + 1), (byte) ~v };
+		} else if(type == short.class || type == Short.class) {
+			final short v = value == null ? 0 : (Short) value;
+			return new Object[] { (short) (v + 1), (short) ~v };
+		} else if(type == char.class || type == Character.class) {
+			final char v = value == null ? 0 : (Character) value;
+			return new Object[] { (char) (v + 1), (char) ~v };
+		} else if(type == int.class || type == Integer.class) {
+			final int v = value == null ? 0 : (Integer) value;
+			return new Object[] { v + 1, ~v };
+		} else if(type == long.class || type == Long.class) {
+			final long v = value == null ? 0 : (Long) value;
+			return new Object[] { v + 1, ~v };
+		} else if(type == float.class || type == Float.class) {
+			final float v = value == null || Float.isNaN((Float) value) ? 0 : (Float) value;
+			return new Object[] { v + 1 != v ? v + 1 : Math.nextUp(v), -v - 1 };
+		} else if(type == double.class || type == Double.class) {
+			final double v = value == null || Double.isNaN((Double) value) ? 0 : (Double) value;
+			return new Object[] { v + 1 != v ? v + 1 : Math.nextUp(v), -v - 1 };
+		} else if(type == String.class || type == CharSequence.class) {
+			return value == null ? new Object[] { "x", "y" } : new Object[] { value + "x", "y" + value };
+		} else if(type.isEnum()) {
+			final List<Object> constants = new ArrayList<>();
+			for(final Object constant : type.getEnumConstants()) {
+				if(constant != value && constants.size() < 2) {
+					constants.add(constant);
+				}
+			}
+			return constants.toArray();
+		} else if(type.isArray()) {
+			return new Object[] { changeArray(type, value) };
+		}
+		return value == null ? new Object[0] : new Object[] { null };
+	}
+
+	private static Object changeArray(final Class<?> type, final Object value) {
+		final Class<?> componentType = type.getComponentType();
+		if(value == null) {
+			return Array.newInstance(componentType, 1);
+		}
+		final int length = Array.getLength(value);
+		if(length > 0) {
+			final Object[] elementChanges = changes(componentType, Array.get(value, 0));
+			if(elementChanges.length > 0 && (elementChanges[0] != null || !componentType.isPrimitive())) {
+				final Object changed = Array.newInstance(componentType, length);
+				System.arraycopy(value, 0, changed, 0, length);
+				Array.set(changed, 0, elementChanges[0]);
+				return changed;
+			}
+		}
+		final Object longer = Array.newInstance(componentType, length + 1);
+		System.arraycopy(value, 0, longer, 0, length);
+		return longer;
+	}
+
+	private static ClassAccessors accessors(final Class<?> type) {
+		if(type.isArray() || type.isPrimitive() || type.isInterface()) {
+			throw new IllegalArgumentException("The class <" + type.getName() + "> has no fields to change");
+		}
+		final MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			final Object[] recordComponents = recordComponents(type);
+			if(recordComponents != null) {
+				return recordAccessors(type, recordComponents, lookup);
+			}
+
+			final List<FieldAccessor> fields = new ArrayList<>();
+			for(Class<?> declaring = type; declaring != null && declaring != Object.class; declaring = declaring
+					.getSuperclass()) {
+				for(final Field field : declaring.getDeclaredFields()) {
+					final int modifiers = field.getModifiers();
+					if(Modifier.isStatic(modifiers)) {
+						continue;
+					}
+					field.setAccessible(true);
+					final String name = declaring == type ? field.getName()
+							: declaring.getSimpleName() + "." + field.getName();
+					fields.add(new FieldAccessor(name, field.getType(),
+							lookup.unreflectGetter(field).asType(GETTER_TYPE),
+							lookup.unreflectSetter(field).asType(SETTER_TYPE), Modifier.isTransient(modifiers),
+							field.isSynthetic()));
+				}
+			}
+			return new ClassAccessors(fields, allocator(type, lookup), null);
+		} catch(final ReflectiveOperationException | RuntimeException e) {
+			throw new IllegalArgumentException("The fields of the class <" + type.getName() + "> cannot be accessed", e);
+		}
+	}
+
+	private static ClassAccessors recordAccessors(final Class<?> type, final Object[] recordComponents,
+			final MethodHandles.Lookup lookup) throws ReflectiveOperationException {
+		final List<FieldAccessor> fields = new ArrayList<>();
+		final Class<?>[] parameterTypes = new Class<?>[recordComponents.length];
+		for(int i = 0; i < recordComponents.length; i++) {
+			final Class<?> componentClass = recordComponents[i].getClass();
+			final String name = (String) componentClass.getMethod("getName").invoke(recordComponents[i]);
+			parameterTypes[i] = (Class<?>) componentClass.getMethod("getType").invoke(recordComponents[i]);
+			final Method accessor = (Method) componentClass.getMethod("getAccessor").invoke(recordComponents[i]);
+			accessor.setAccessible(true);
+			fields.add(new FieldAccessor(name, parameterTypes[i], lookup.unreflect(accessor).asType(GETTER_TYPE), null,
+					false, false));
+		}
+		final Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+		constructor.setAccessible(true);
+		final MethodHandle canonical = lookup.unreflectConstructor(constructor)
+				.asType(MethodType.genericMethodType(parameterTypes.length))
+				.asSpreader(Object[].class, parameterTypes.length);
+		return new ClassAccessors(fields, null, canonical);
+	}
+
+	/**
+	 * @return the record components of the class, or null if the class is no record or the JVM does not support records.
+	 */
+	private static Object[] recordComponents(final Class<?> type) throws ReflectiveOperationException {
+		final Method isRecord;
+		try {
+			isRecord = Class.class.getMethod("isRecord");
+		} catch(final NoSuchMethodException e) {
+			return null;
+		}
+		if(!(Boolean) isRecord.invoke(type)) {
+			return null;
+		}
+		return (Object[]) Class.class.getMethod("getRecordComponents").invoke(type);
+	}
+
+	/**
+	 * @return a method handle allocating an instance of the class without calling a constructor, or calling the
+	 * constructor without parameters if instances cannot be allocated otherwise.
+	 */
+	private static MethodHandle allocator(final Class<?> type, final MethodHandles.Lookup lookup)
+			throws ReflectiveOperationException {
+		if(Modifier.isAbstract(type.getModifiers())) {
+			throw new IllegalArgumentException("The class <" + type.getName() + "> is abstract");
+		}
+		if(ALLOCATE_INSTANCE != null) {
+			return ALLOCATE_INSTANCE.bindTo(type).asType(MethodType.methodType(Object.class));
+		}
+		final Constructor<?> constructor = type.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		return lookup.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+	}
+
+	private static MethodHandle allocateInstance() {
+		try {
+			final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			return MethodHandles.lookup()
+					.findVirtual(unsafeClass, "allocateInstance", MethodType.methodType(Object.class, Class.class))
+					.bindTo(theUnsafe.get(null));
+		} catch(final ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * The accessors of all instance fields of a class, including the inherited ones, or of all components of a record.
+	 */
+	private static final class ClassAccessors {
+
+		private final List<FieldAccessor> fields;
+		private final MethodHandle allocator;
+		private final MethodHandle canonicalConstructor;
+
+		ClassAccessors(final List<FieldAccessor> fields, final MethodHandle allocator,
+				final MethodHandle canonicalConstructor) {
+			this.fields = Collections.unmodifiableList(fields);
+			this.allocator = allocator;
+			this.canonicalConstructor = canonicalConstructor;
+		}
+
+		List<FieldAccessor> getFields() {
+			return fields;
+		}
+
+		/**
+		 * @param values
+		 * 		the values of all fields in the order of {@link #getFields()}, not null.
+		 * @return a new instance with the given field values, never null.
+		 */
+		Object create(final Object[] values) {
+			try {
+				if(canonicalConstructor != null) {
+					return (Object) canonicalConstructor.invokeExact(values);
+				}
+				final Object instance = (Object) allocator.invokeExact();
+				for(int i = 0; i < values.length; i++) {
+					fields.get(i).set(instance, values[i]);
+				}
+				return instance;
+			} catch(final RuntimeException | Error e) {
+				throw e;
+			} catch(final Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	/**
+	 * The accessors of a single field or record component.
+	 */
+	private static final class FieldAccessor {
+
+		private final String name;
+		private final Class<?> type;
+		private final MethodHandle getter;
+		private final MethodHandle setter;
+		private final boolean transientField;
+		private final boolean synthetic;
+
+		FieldAccessor(final String name, final Class<?> type, final MethodHandle getter, final MethodHandle setter,
+				final boolean transientField, final boolean synthetic) {
+			this.name = name;
+			this.type = type;
+			this.getter = getter;
+			this.setter = setter;
+			this.transientField = transientField;
+			this.synthetic = synthetic;
+		}
+
+		String getName() {
+			return name;
+		}
+
+		Class<?> getType() {
+			return type;
+		}
+
+		/**
+		 * @return true if the field is transient. Transient fields usually cache derived values, so they are neither
+		 * changed nor copied, but reset to their default value in every copy.
+		 */
+		boolean isTransient() {
+			return transientField;
+		}
+
+		/**
+		 * @return true if the field is synthetic, like the reference to the enclosing instance, which is copied but not
+		 * changed.
+		 */
+		boolean isSynthetic() {
+			return synthetic;
+		}
+
+		/**
+		 * @return the default value of the type of the field, null for reference types.
+		 */
+		Object getDefaultValue() {
+			return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+		}
+
+		Object get(final Object instance) {
+			try {
+				return (Object) getter.invokeExact(instance);
+			} catch(final RuntimeException | Error e) {
+				throw e;
+			} catch(final Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		void set(final Object instance, final Object value) throws Throwable {
+			setter.invokeExact(instance, value);
+		}
+	}
+}
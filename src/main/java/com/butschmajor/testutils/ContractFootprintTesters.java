@@ -0,0 +1,199 @@
+package com.butschmajor.testutils;
+
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.butschmajor.testutils.Failures.fail;
+
+/**
+ * This class provide methods to measure the memory footprint of an instance and to test it against a budget.
+ * <p>
+ * The retained size is the sum of the shallow sizes of all objects reachable from the instance, each counted once.
+ * Classes, class loaders, threads and enum constants are shared by all instances and therefore neither counted nor
+ * followed. The bytes of every reachable object are attributed to the first field of the instance it is reached through.
+ */
+final class ContractFootprintTesters {
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private ContractFootprintTesters() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Ensures that the footprint of the instance complies with the budget.
+	 *
+	 * @param sample
+	 * 		the instance to measure, not null.
+	 * @param budget
+	 * 		the footprint budget, not null.
+	 * @return the measured footprint, never null.
+	 */
+	static FootprintReport assertFootprint(final Object sample, final FootprintBudget budget) {
+		Objects.requireNonNull(sample, "The parameter 'sample' must not be null!");
+		Objects.requireNonNull(budget, "The parameter 'budget' must not be null!");
+
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final FootprintReport report = measure(sample);
+
+			final List<String> violations = new ArrayList<>();
+			if(report.getRetainedBytes() > budget.getMaxRetainedBytes()) {
+				violations.add(String.format(Locale.ROOT, "  retained size is %d bytes, at most %d bytes are allowed",
+						report.getRetainedBytes(), budget.getMaxRetainedBytes()));
+			}
+			if(report.getShallowBytes() > budget.getMaxShallowBytes()) {
+				violations.add(String.format(Locale.ROOT, "  shallow size is %d bytes, at most %d bytes are allowed",
+						report.getShallowBytes(), budget.getMaxShallowBytes()));
+			}
+			if(report.getPaddingBytes() > budget.getMaxPaddingBytes()) {
+				violations.add(String.format(Locale.ROOT, "  padding is %d bytes, at most %d bytes are allowed",
+						report.getPaddingBytes(), budget.getMaxPaddingBytes()));
+			}
+			if(!violations.isEmpty()) {
+				fail("The footprint of <%s> exceeds its budget:%n%s%n%s", sample.getClass().getName(),
+						String.join(System.lineSeparator(), violations), report);
+			}
+
+			passed = true;
+			return report;
+		} finally {
+			CheckListeners.completed("footprint", sample.getClass(), start, passed);
+		}
+	}
+
+	/**
+	 * Measures the shallow and the retained size of the instance and the contribution of each of its fields.
+	 *
+	 * @param sample
+	 * 		the instance to measure, not null.
+	 * @return the measured footprint, never null.
+	 */
+	static FootprintReport measure(final Object sample) {
+		Objects.requireNonNull(sample, "The parameter 'sample' must not be null!");
+
+		final Class<?> type = sample.getClass();
+		final GraphWalker walker = new GraphWalker();
+		final long shallowBytes = walker.visit(sample);
+		final List<FootprintReport.FieldFootprint> fields = new ArrayList<>();
+		final long headerBytes;
+		final long paddingBytes;
+
+		if(type.isArray()) {
+			final int length = Array.getLength(sample);
+			headerBytes = ObjectLayout.ARRAY_HEADER_SIZE;
+			paddingBytes = shallowBytes - headerBytes - (long) length * ObjectLayout.size(type.getComponentType());
+			if(!type.getComponentType().isPrimitive()) {
+				for(final Object element : (Object[]) sample) {
+					walker.walk(element);
+				}
+			}
+		} else {
+			long used = ObjectLayout.HEADER_SIZE;
+			for(final ObjectLayout.FieldSlot slot : ObjectLayout.layoutOf(type).getFields()) {
+				final long retainedBytes = slot.isReference() ? walker.walk(ObjectLayout.read(sample, slot)) : 0;
+				fields.add(new FootprintReport.FieldFootprint(
+						slot.getField().getDeclaringClass().getSimpleName() + "." + slot.getField().getName(),
+						slot.getField().getType().getSimpleName(), slot.getOffset(), slot.getSize(), retainedBytes));
+				used += slot.getSize();
+			}
+			headerBytes = ObjectLayout.HEADER_SIZE;
+			paddingBytes = shallowBytes - used;
+		}
+
+		final FootprintReport.Source source;
+		if(ObjectLayout.isInstrumented()) {
+			source = FootprintReport.Source.INSTRUMENTATION;
+		} else if(ObjectLayout.hasFieldOffsets()) {
+			source = FootprintReport.Source.FIELD_OFFSETS;
+		} else {
+			source = FootprintReport.Source.ESTIMATE;
+		}
+		return new FootprintReport(type.getName(), shallowBytes, headerBytes, Math.max(0, paddingBytes),
+				walker.getTotalBytes(), walker.getObjects(), fields, source);
+	}
+
+	/**
+	 * Visits every reachable object once, without recursion.
+	 */
+	private static final class GraphWalker {
+
+		private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		private final ArrayDeque<Object> pending = new ArrayDeque<>();
+		private long totalBytes;
+
+		/**
+		 * @param root
+		 * 		the object to start from, may be null.
+		 * @return the number of bytes of the objects reachable from the root which have not been visited before.
+		 */
+		long walk(final Object root) {
+			long bytes = 0;
+			if(root != null) {
+				pending.push(root);
+			}
+			while(!pending.isEmpty()) {
+				final Object instance = pending.pop();
+				if(isShared(instance) || visited.contains(instance)) {
+					continue;
+				}
+				bytes += visit(instance);
+
+				final Class<?> type = instance.getClass();
+				if(type.isArray()) {
+					if(!type.getComponentType().isPrimitive()) {
+						for(final Object element : (Object[]) instance) {
+							if(element != null) {
+								pending.push(element);
+							}
+						}
+					}
+				} else {
+					for(final ObjectLayout.FieldSlot slot : ObjectLayout.layoutOf(type).getFields()) {
+						if(slot.isReference()) {
+							final Object value = ObjectLayout.read(instance, slot);
+							if(value != null) {
+								pending.push(value);
+							}
+						}
+					}
+				}
+			}
+			return bytes;
+		}
+
+		/**
+		 * Marks the object as visited without following its references.
+		 *
+		 * @return the shallow size of the object.
+		 */
+		long visit(final Object instance) {
+			visited.add(instance);
+			final long bytes = ObjectLayout.shallowSize(instance);
+			totalBytes += bytes;
+			return bytes;
+		}
+
+		long getTotalBytes() {
+			return totalBytes;
+		}
+
+		int getObjects() {
+			return visited.size();
+		}
+
+		private static boolean isShared(final Object instance) {
+			return instance instanceof Class || instance instanceof ClassLoader || instance instanceof Thread
+					|| instance instanceof Enum;
+		}
+	}
+}
@@ -0,0 +1,683 @@
+package com.butschmajor.testutils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import static com.butschmajor.testutils.Failures.fail;
+
+/**
+ * Property based verification of the contract of {@code equals}, {@code hashCode} and optionally {@code compareTo}, or of
+ * the contract of a comparator alone.
+ * <p>
+ * Every generated triple consists of three arbitrary instances 'x', 'y' and 'z'. Two equal copies of 'x' are created in
+ * addition to verify the properties of equal instances. The triples are verified in parallel, every worker thread uses
+ * its own random number generator and claims chunks of triples from a lock-free counter. If a triple violates the
+ * contract, it is shrunk to a minimal triple with the optional shrinker before the failure is reported.
+ *
+ * <pre>
+ * ContractFuzzer.forEqualsHashCodeCompareTo(random -&gt; new Money(random.nextLong()), money -&gt; new Money(money.amount))
+ * 		.triples(10_000_000)
+ * 		.shrinker(money -&gt; Stream.of(new Money(money.amount / 2)))
+ * 		.assertContract();
+ * </pre>
+ * <p>
+ * {@link #assertSortRobustness(int, int)} additionally sorts large arrays of generated instances with the sorts of the
+ * JDK, which reveals comparators that only violate their contract on rare combinations of instances.
+ *
+ * <pre>
+ * ContractFuzzer.forComparator(Order::arbitrary, comparing(Order::customer).thenComparing(Order::total))
+ * 		.assertSortRobustness(100_000, 64);
+ * </pre>
+ *
+ * @param <T>
+ * 		the type of the instances to verify.
+ */
+public final class ContractFuzzer<T> {
+
+	/**
+	 * Number of triples a worker claims at once. All triples of a chunk are generated from the same seed, so that a
+	 * failure can be reproduced independently of the scheduling of the worker threads.
+	 */
+	private static final int CHUNK_SIZE = 1024;
+
+	private final Function<SplittableRandom, ? extends T> arbitrary;
+	private final UnaryOperator<T> equalCopy;
+	private final Comparator<? super T> comparator;
+	private final boolean equalsChecks;
+
+	private long triples = 100_000;
+	private long seed = ThreadLocalRandom.current().nextLong();
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	private Function<? super T, ? extends Stream<? extends T>> shrinker = value -> Stream.empty();
+	private int maxShrinkSteps = 1_000;
+
+	private ContractFuzzer(final Function<SplittableRandom, ? extends T> arbitrary, final UnaryOperator<T> equalCopy,
+			final Comparator<? super T> comparator, final boolean equalsChecks) {
+		this.arbitrary = Objects.requireNonNull(arbitrary, "The parameter 'arbitrary' must not be null!");
+		this.equalCopy = Objects.requireNonNull(equalCopy, "The parameter 'equalCopy' must not be null!");
+		this.comparator = comparator;
+		this.equalsChecks = equalsChecks;
+	}
+
+	/**
+	 * Creates a fuzzer verifying the methods {@code equals} and {@code hashCode}.
+	 *
+	 * @param arbitrary
+	 * 		generates an arbitrary instance with the given random number generator, not null.
+	 * @param equalCopy
+	 * 		creates a new instance equal to the given instance, not null.
+	 * @return the fuzzer, never null.
+	 */
+	public static <T> ContractFuzzer<T> forEqualsAndHashCode(final Function<SplittableRandom, ? extends T> arbitrary,
+			final UnaryOperator<T> equalCopy) {
+		return new ContractFuzzer<>(arbitrary, equalCopy, null, true);
+	}
+
+	/**
+	 * Creates a fuzzer verifying the methods {@code equals}, {@code hashCode} and {@code compareTo}.
+	 *
+	 * @param arbitrary
+	 * 		generates an arbitrary instance with the given random number generator, not null.
+	 * @param equalCopy
+	 * 		creates a new instance equal to the given instance, not null.
+	 * @return the fuzzer, never null.
+	 */
+	public static <T extends Comparable<T>> ContractFuzzer<T> forEqualsHashCodeCompareTo(
+			final Function<SplittableRandom, ? extends T> arbitrary, final UnaryOperator<T> equalCopy) {
+		return new ContractFuzzer<>(arbitrary, equalCopy, Comparator.<T>naturalOrder(), true);
+	}
+
+	/**
+	 * Creates a fuzzer verifying a comparator. The comparator is not required to be consistent with {@code equals}, the
+	 * methods {@code equals} and {@code hashCode} of the instances are not verified.
+	 *
+	 * @param arbitrary
+	 * 		generates an arbitrary instance with the given random number generator, not null.
+	 * @param comparator
+	 * 		the comparator to verify, not null.
+	 * @return the fuzzer, never null.
+	 */
+	public static <T> ContractFuzzer<T> forComparator(final Function<SplittableRandom, ? extends T> arbitrary,
+			final Comparator<? super T> comparator) {
+		Objects.requireNonNull(comparator, "The parameter 'comparator' must not be null!");
+		return new ContractFuzzer<>(arbitrary, UnaryOperator.identity(), comparator, false);
+	}
+
+	/**
+	 * @param triples
+	 * 		the number of random triples to verify, positive. The default is 100,000.
+	 * @return this fuzzer, never null.
+	 */
+	public ContractFuzzer<T> triples(final long triples) {
+		if(triples <= 0) {
+			throw new IllegalArgumentException("The parameter 'triples' must be positive!");
+		}
+		this.triples = triples;
+		return this;
+	}
+
+	/**
+	 * @param seed
+	 * 		the seed of the random number generators. The default is a random seed, which is reported on failure.
+	 * @return this fuzzer, never null.
+	 */
+	public ContractFuzzer<T> seed(final long seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 * @param parallelism
+	 * 		the number of worker threads, positive. The default is the number of available processors.
+	 * @return this fuzzer, never null.
+	 */
+	public ContractFuzzer<T> parallelism(final int parallelism) {
+		if(parallelism <= 0) {
+			throw new IllegalArgumentException("The parameter 'parallelism' must be positive!");
+		}
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	/**
+	 * @param shrinker
+	 * 		supplies "smaller" candidates for an instance of a failing triple, not null. The default supplies no candidates.
+	 * @return this fuzzer, never null.
+	 */
+	public ContractFuzzer<T> shrinker(final Function<? super T, ? extends Stream<? extends T>> shrinker) {
+		this.shrinker = Objects.requireNonNull(shrinker, "The parameter 'shrinker' must not be null!");
+		return this;
+	}
+
+	/**
+	 * @param maxShrinkSteps
+	 * 		the maximum number of accepted shrink steps, not negative. The default is 1,000.
+	 * @return this fuzzer, never null.
+	 */
+	public ContractFuzzer<T> maxShrinkSteps(final int maxShrinkSteps) {
+		if(maxShrinkSteps < 0) {
+			throw new IllegalArgumentException("The parameter 'maxShrinkSteps' must not be negative!");
+		}
+		this.maxShrinkSteps = maxShrinkSteps;
+		return this;
+	}
+
+	/**
+	 * Verifies the configured number of random triples.
+	 */
+	public void assertContract() {
+		final long chunks = (triples + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		final AtomicLong nextChunk = new AtomicLong();
+		final AtomicReference<Failure<T>> failure = new AtomicReference<>();
+		final AtomicReference<Throwable> error = new AtomicReference<>();
+
+		runWorkers("contract-fuzzer-", (int) Math.min(parallelism, chunks), error, () -> {
+			for(long chunk = nextChunk.getAndIncrement(); chunk < chunks && failure.get() == null
+					&& error.get() == null; chunk = nextChunk.getAndIncrement()) {
+				verifyChunk(chunk, Math.min(CHUNK_SIZE, triples - chunk * CHUNK_SIZE), failure);
+			}
+		});
+
+		ParallelChecks.rethrow(error.get());
+		if(failure.get() != null) {
+			reportFailure(shrink(failure.get()));
+		}
+	}
+
+	/**
+	 * Verifies that the JDK sorts agree on the order of the generated instances. In every round an array of generated
+	 * instances is shuffled and sorted by {@link Arrays#sort(Object[], Comparator)},
+	 * {@link Arrays#parallelSort(Object[], Comparator)} and {@link List#sort(Comparator)}. A round fails if a sort throws,
+	 * e.g. because TimSort detected that the comparison violates its contract, if a sorted array is not in ascending order
+	 * or if the sorted arrays differ in an instance not comparing as zero. The rounds run in parallel on the configured
+	 * number of worker threads. A failing round is searched for a minimal violating triple before it is reported.
+	 *
+	 * @param arraySize
+	 * 		the number of instances sorted in every round, at least 2. TimSort only detects violations in arrays of at least
+	 * 		32 instances.
+	 * @param rounds
+	 * 		the number of arrays to sort, positive.
+	 * @throws IllegalStateException
+	 * 		if the fuzzer does not verify a comparison.
+	 */
+	public void assertSortRobustness(final int arraySize, final int rounds) {
+		if(comparator == null) {
+			throw new IllegalStateException("The fuzzer does not verify compareTo or a comparator");
+		}
+		if(arraySize < 2) {
+			throw new IllegalArgumentException("The parameter 'arraySize' must be at least 2!");
+		}
+		if(rounds <= 0) {
+			throw new IllegalArgumentException("The parameter 'rounds' must be positive!");
+		}
+
+		final AtomicLong nextRound = new AtomicLong();
+		final AtomicReference<SortFailure> failure = new AtomicReference<>();
+		final AtomicReference<Throwable> error = new AtomicReference<>();
+
+		runWorkers("contract-sort-", Math.min(parallelism, rounds), error, () -> {
+			for(long round = nextRound.getAndIncrement(); round < rounds && failure.get() == null && error.get() == null;
+					round = nextRound.getAndIncrement()) {
+				final SortFailure roundFailure = sortRound(round, arraySize);
+				if(roundFailure != null) {
+					failure.compareAndSet(null, roundFailure);
+				}
+			}
+		});
+
+		ParallelChecks.rethrow(error.get());
+		if(failure.get() != null) {
+			fail(failure.get().message, failure.get().cause);
+		}
+	}
+
+	/**
+	 * Runs the given work on new worker threads and waits for them to finish.
+	 *
+	 * @param namePrefix
+	 * 		the prefix of the names of the threads, not null.
+	 * @param workers
+	 * 		the number of threads, positive.
+	 * @param error
+	 * 		receives the first exception thrown by a worker, not null.
+	 * @param work
+	 * 		the work of every thread, not null.
+	 */
+	private static void runWorkers(final String namePrefix, final int workers, final AtomicReference<Throwable> error,
+			final Runnable work) {
+		final Thread[] threads = new Thread[workers];
+		for(int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(() -> {
+				try {
+					work.run();
+				} catch(final Throwable t) {
+					error.compareAndSet(null, t);
+				}
+			}, namePrefix + i);
+			threads[i].start();
+		}
+		for(final Thread thread : threads) {
+			try {
+				thread.join();
+			} catch(final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for the fuzzer", e);
+			}
+		}
+	}
+
+	/**
+	 * Sorts a shuffled array of generated instances with the JDK sorts.
+	 *
+	 * @param round
+	 * 		the index of the round.
+	 * @param arraySize
+	 * 		the number of instances to sort.
+	 * @return the failure of the round or null if all sorts agree.
+	 */
+	private SortFailure sortRound(final long round, final int arraySize) {
+		final SplittableRandom random = new SplittableRandom(seed + round * 0x9E3779B97F4A7C15L);
+		@SuppressWarnings("unchecked")
+		final T[] instances = (T[]) new Object[arraySize];
+		for(int i = 0; i < instances.length; i++) {
+			instances[i] = Objects.requireNonNull(arbitrary.apply(random), "The generator must not return null!");
+		}
+
+		final String[] sorts = { "Arrays.sort", "Arrays.parallelSort", "List.sort" };
+		final List<T[]> sorted = new ArrayList<>(sorts.length);
+		for(int s = 0; s < sorts.length; s++) {
+			final T[] array = shuffledCopy(instances, random);
+			try {
+				if(s == 0) {
+					Arrays.sort(array, comparator);
+				} else if(s == 1) {
+					Arrays.parallelSort(array, comparator);
+				} else {
+					Arrays.asList(array).sort(comparator);
+				}
+			} catch(final RuntimeException e) {
+				return new SortFailure(describeRound(round, String.format("%s threw %s", sorts[s], e), instances), e);
+			}
+			for(int i = 1; i < array.length; i++) {
+				if(comparator.compare(array[i - 1], array[i]) > 0) {
+					return new SortFailure(describeRound(round, String.format(
+							"%s sorted <%s> before <%s>, which compares as greater", sorts[s], array[i - 1], array[i]),
+							instances), null);
+				}
+			}
+			sorted.add(array);
+		}
+
+		for(int s = 1; s < sorted.size(); s++) {
+			for(int i = 0; i < arraySize; i++) {
+				if(comparator.compare(sorted.get(0)[i], sorted.get(s)[i]) != 0) {
+					return new SortFailure(describeRound(round, String.format(
+							"%s and %s disagree at position %d: <%s> and <%s> do not compare as zero", sorts[0], sorts[s],
+							i, sorted.get(0)[i], sorted.get(s)[i]), instances), null);
+				}
+			}
+		}
+		return null;
+	}
+
+	private static <T> T[] shuffledCopy(final T[] instances, final SplittableRandom random) {
+		final T[] copy = instances.clone();
+		for(int i = copy.length - 1; i > 0; i--) {
+			final int j = random.nextInt(i + 1);
+			final T swapped = copy[i];
+			copy[i] = copy[j];
+			copy[j] = swapped;
+		}
+		return copy;
+	}
+
+	/**
+	 * Describes a failing round, followed by the minimal violation found among its instances.
+	 *
+	 * @param round
+	 * 		the index of the round.
+	 * @param problem
+	 * 		the description of the problem, not null.
+	 * @param instances
+	 * 		the instances of the round, not null.
+	 * @return the description, never null.
+	 */
+	private String describeRound(final long round, final String problem, final T[] instances) {
+		String violation;
+		try {
+			ContractOrderTesters.assertTotalOrder(Arrays.asList(instances), comparator, false);
+			violation = "No violating pair or triple was found among the instances.";
+		} catch(final AssertionError | RuntimeException e) {
+			violation = e.getMessage();
+		}
+		return String.format("%s in round %d of seed %d with %d instances.%n%s", problem, round, seed, instances.length,
+				violation);
+	}
+
+	/**
+	 * Verifies the triples of a chunk.
+	 *
+	 * @param chunk
+	 * 		the index of the chunk.
+	 * @param size
+	 * 		the number of triples of the chunk.
+	 * @param failure
+	 * 		the first failure of all workers, not null.
+	 */
+	private void verifyChunk(final long chunk, final long size, final AtomicReference<Failure<T>> failure) {
+		final SplittableRandom random = new SplittableRandom(seed + chunk * 0x9E3779B97F4A7C15L);
+		for(long i = 0; i < size && failure.get() == null; i++) {
+			final T x = arbitrary.apply(random);
+			final T y = arbitrary.apply(random);
+			final T z = arbitrary.apply(random);
+
+			final Check check = firstViolation(x, y, z);
+			if(check != null) {
+				failure.compareAndSet(null, new Failure<>(check, x, y, z, chunk * CHUNK_SIZE + i));
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Finds the first contract violation of a triple.
+	 *
+	 * @param x
+	 * 		the first instance.
+	 * @param y
+	 * 		the second instance.
+	 * @param z
+	 * 		the third instance.
+	 * @return the first violated check or null if the triple complies with the contract.
+	 */
+	private Check firstViolation(final T x, final T y, final T z) {
+		if(x == null || y == null || z == null) {
+			return Check.NOT_NULL;
+		}
+
+		final T x1;
+		final T x2;
+		try {
+			x1 = equalCopy.apply(x);
+			x2 = equalCopy.apply(x1);
+		} catch(final RuntimeException e) {
+			return Check.EQUAL_COPIES;
+		}
+		if(x1 == null || x2 == null) {
+			return Check.EQUAL_COPIES;
+		}
+
+		for(final Check check : Check.VALUES) {
+			if(isApplied(check) && violates(check, x, x1, x2, y, z)) {
+				return check;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param check
+	 * 		the check, not null.
+	 * @return true if the check is applied to the triples of this fuzzer.
+	 */
+	private boolean isApplied(final Check check) {
+		if(check.compareTo) {
+			return comparator != null && (equalsChecks || check != Check.CONSISTENCY_WITH_EQUALS);
+		}
+		return equalsChecks;
+	}
+
+	/**
+	 * Evaluates a single check on a triple and two equal copies of its first instance.
+	 *
+	 * @param check
+	 * 		the check to evaluate, not null.
+	 * @param x
+	 * 		the first instance, not null.
+	 * @param x1
+	 * 		the first equal copy of 'x', not null.
+	 * @param x2
+	 * 		the second equal copy of 'x', not null.
+	 * @param y
+	 * 		the second instance, not null.
+	 * @param z
+	 * 		the third instance, not null.
+	 * @return true if the instances violate the check or the check throws an exception.
+	 */
+	private boolean violates(final Check check, final T x, final T x1, final T x2, final T y, final T z) {
+		try {
+			return !holds(check, x, x1, x2, y, z);
+		} catch(final RuntimeException | StackOverflowError e) {
+			return true;
+		}
+	}
+
+	/**
+	 * Evaluates a single check on a triple and two equal copies of its first instance.
+	 *
+	 * @param check
+	 * 		the check to evaluate, not null.
+	 * @param x
+	 * 		the first instance, not null.
+	 * @param x1
+	 * 		the first equal copy of 'x', not null.
+	 * @param x2
+	 * 		the second equal copy of 'x', not null.
+	 * @param y
+	 * 		the second instance, not null.
+	 * @param z
+	 * 		the third instance, not null.
+	 * @return true if the instances comply with the check.
+	 */
+	private boolean holds(final Check check, final T x, final T x1, final T x2, final T y, final T z) {
+		switch(check) {
+			case EQUAL_COPIES:
+				return ContractEqualsTesters.areParametersEqual(x, x1, x2);
+			case REFLEXIVE:
+				return ContractEqualsTesters.isEqualsReflexive(x);
+			case NON_NULLITY:
+				return ContractEqualsTesters.isEqualsNonNull(x);
+			case SYMMETRIC:
+				return ContractEqualsTesters.isEqualsSymmetric(x, y) && ContractEqualsTesters.isEqualsSymmetric(y, z);
+			case TRANSITIVE:
+				return ContractEqualsTesters.isEqualsTransitive(x, x1, x2) && ContractEqualsTesters.isEqualsTransitive(x, y, z);
+			case HASH_CODE_CONSISTENCY:
+				return ContractHashCodeTesters.isHashCodeConsistent(x);
+			case HASH_CODE_EQUALITY:
+				return ContractHashCodeTesters.isHashCodeAgreeingWithEquals(x, x1)
+						&& ContractHashCodeTesters.isHashCodeAgreeingWithEquals(x, y)
+						&& ContractHashCodeTesters.isHashCodeAgreeingWithEquals(y, z);
+			case COMPARISON_REVERSAL:
+				return ContractCompareToTesters.isComparisonReversal(x, y, comparator)
+						&& ContractCompareToTesters.isComparisonReversal(y, z, comparator);
+			case CONSISTENCY_WITH_EQUALS:
+				return ContractCompareToTesters.isConsistentWithEquals(x, x1, comparator)
+						&& ContractCompareToTesters.isConsistentWithEquals(x, y, comparator);
+			case CONSISTENCY:
+				return ContractCompareToTesters.isConsistent(x, x1, y, comparator)
+						&& ContractCompareToTesters.isConsistent(x, y, z, comparator);
+			case COMPARE_TO_TRANSITIVE:
+				return ContractCompareToTesters.isTransitive(x, y, z, comparator);
+			default:
+				return x != null && y != null && z != null;
+		}
+	}
+
+	/**
+	 * Evaluates a single check on a triple, creating new equal copies of its first instance.
+	 *
+	 * @param check
+	 * 		the check to evaluate, not null.
+	 * @param x
+	 * 		the first instance, not null.
+	 * @param y
+	 * 		the second instance, not null.
+	 * @param z
+	 * 		the third instance, not null.
+	 * @return true if the instances comply with the check.
+	 */
+	private boolean holds(final Check check, final T x, final T y, final T z) {
+		final T x1 = equalCopy.apply(x);
+		return holds(check, x, x1, equalCopy.apply(x1), y, z);
+	}
+
+	/**
+	 * Shrinks the instances of a failing triple as long as the triple still violates the same check.
+	 *
+	 * @param failure
+	 * 		the failing triple, not null.
+	 * @return the minimal failing triple found, never null.
+	 */
+	private Failure<T> shrink(final Failure<T> failure) {
+		@SuppressWarnings("unchecked")
+		final T[] triple = (T[]) new Object[] { failure.x, failure.y, failure.z };
+		int steps = 0;
+
+		boolean shrunk = true;
+		while(shrunk && steps < maxShrinkSteps) {
+			shrunk = false;
+			for(int position = 0; position < triple.length && !shrunk; position++) {
+				final Iterator<? extends T> candidates = shrinker.apply(triple[position]).iterator();
+				final T original = triple[position];
+				while(candidates.hasNext() && !shrunk) {
+					triple[position] = candidates.next();
+					shrunk = triple[position] != null && violatesSame(failure.check, triple[0], triple[1], triple[2]);
+				}
+				if(!shrunk) {
+					triple[position] = original;
+				}
+			}
+			if(shrunk) {
+				steps++;
+			}
+		}
+
+		return new Failure<>(failure.check, triple[0], triple[1], triple[2], failure.index, steps);
+	}
+
+	/**
+	 * Reports a failing triple.
+	 *
+	 * @param failure
+	 * 		the shrunk failing triple, not null.
+	 */
+	private void reportFailure(final Failure<T> failure) {
+		final String message = String.format("%s%nViolated by triple #%d of seed %d after %d shrink steps:"
+						+ "%n  x=<%s>%n  y=<%s>%n  z=<%s>", failure.check.description, failure.index, seed, failure.shrinkSteps,
+				failure.x, failure.y, failure.z);
+
+		if(failure.check == Check.NOT_NULL) {
+			fail(message);
+		}
+		try {
+			if(!holds(failure.check, failure.x, failure.y, failure.z)) {
+				fail(message);
+			}
+		} catch(final RuntimeException | StackOverflowError e) {
+			fail(message, e);
+		}
+		fail(message + String.format("%nThe triple complied with the contract when verified again. "
+				+ "The results of equals, hashCode or compareTo are not deterministic."));
+	}
+
+	/**
+	 * Evaluates a single check on a shrink candidate.
+	 *
+	 * @param check
+	 * 		the check the original triple violated, not null.
+	 * @param x
+	 * 		the first instance, not null.
+	 * @param y
+	 * 		the second instance, not null.
+	 * @param z
+	 * 		the third instance, not null.
+	 * @return true if the candidate violates the check or throws an exception.
+	 */
+	private boolean violatesSame(final Check check, final T x, final T y, final T z) {
+		try {
+			return !holds(check, x, y, z);
+		} catch(final RuntimeException | StackOverflowError e) {
+			return true;
+		}
+	}
+
+	/**
+	 * The checks applied to every triple, in the order they are evaluated.
+	 */
+	private enum Check {
+		NOT_NULL(false, "The generators must not return null."),
+		EQUAL_COPIES(false, "The equal copies of x must be equal to x and to each other."),
+		REFLEXIVE(false, "Object 'x' should be reflexibly equal to itself."),
+		NON_NULLITY(false, "x should not be equals to null!"),
+		SYMMETRIC(false, "x and y should be symetrically equal to each other."),
+		TRANSITIVE(false, "x.equals(y) and y.equals(z) should imply x.equals(z)."),
+		HASH_CODE_CONSISTENCY(false, "Object hashcode consistency with itself failed! Weird. "),
+		HASH_CODE_EQUALITY(false, "If x and y are equals, x.hashCode() and y.hashCode() should be the same!"),
+		COMPARISON_REVERSAL(true,
+				"Comparison reversal should apply: sgn(o1.compareTo(o2)) == -sgn(o2.compareTo(o1))."),
+		CONSISTENCY_WITH_EQUALS(true, "x.compareTo(y) == 0 should have the same boolean value as x.equals(y)."),
+		CONSISTENCY(true, "x.compareTo(y) == 0 should imply sgn(x.compareTo(z)) == sgn(y.compareTo(z))."),
+		COMPARE_TO_TRANSITIVE(true, "x.compareTo(y) > 0 and y.compareTo(z) > 0 should imply x.compareTo(z) > 0.");
+
+		static final Check[] VALUES = values();
+
+		final boolean compareTo;
+		final String description;
+
+		Check(final boolean compareTo, final String description) {
+			this.compareTo = compareTo;
+			this.description = description;
+		}
+	}
+
+	/**
+	 * A triple violating a check.
+	 */
+	private static final class Failure<T> {
+
+		final Check check;
+		final T x;
+		final T y;
+		final T z;
+		final long index;
+		final int shrinkSteps;
+
+		Failure(final Check check, final T x, final T y, final T z, final long index) {
+			this(check, x, y, z, index, 0);
+		}
+
+		Failure(final Check check, final T x, final T y, final T z, final long index, final int shrinkSteps) {
+			this.check = check;
+			this.x = x;
+			this.y = y;
+			this.z = z;
+			this.index = index;
+			this.shrinkSteps = shrinkSteps;
+		}
+	}
+
+	/**
+	 * A failing round of the sort robustness verification.
+	 */
+	private static final class SortFailure {
+
+		final String message;
+		final Throwable cause;
+
+		SortFailure(final String message, final Throwable cause) {
+			this.message = message;
+			this.cause = cause;
+		}
+	}
+}
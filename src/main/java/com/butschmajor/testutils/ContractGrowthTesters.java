@@ -0,0 +1,303 @@
+package com.butschmajor.testutils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+import static com.butschmajor.testutils.Failures.fail;
+
+/**
+ * This class provide methods to measure how the cost of {@code equals}, {@code hashCode} and {@code compareTo} grows with
+ * the size of the compared instances.
+ * <p>
+ * Two equal instances are created for sizes doubling from the smallest size of the budget. Every operation is called
+ * repeatedly for a millisecond per round and the fastest round of several passes over all sizes is kept. Larger sizes
+ * are skipped once a single call takes {@value #MAX_CALL_NANOS} nanoseconds, so a quadratic cost is detected without
+ * waiting for it.
+ * <p>
+ * The measurement runs in a daemon thread watched by the calling thread. An operation recursing without bound, for
+ * example on a cyclic graph, fails with its {@link StackOverflowError} as cause, an operation looping forever fails when
+ * the timeout of the budget elapses. The looping thread is interrupted, but cannot be stopped.
+ */
+final class ContractGrowthTesters {
+
+	/**
+	 * Duration of a single call after which larger sizes are skipped.
+	 */
+	static final long MAX_CALL_NANOS = 5_000_000;
+
+	/**
+	 * Minimal duration of a measured round, reached by repeating the call.
+	 */
+	private static final long ROUND_NANOS = 1_000_000;
+
+	/**
+	 * Number of rounds at the smallest size before the measurement, so the operations are compiled by the JIT compiler.
+	 */
+	private static final int WARMUP_ROUNDS = 10;
+
+	/**
+	 * Number of measured rounds per size and pass.
+	 */
+	private static final int ROUNDS = 3;
+
+	/**
+	 * Number of passes over all sizes, the fastest round of all passes is reported. Interleaving the sizes keeps a
+	 * temporary disturbance, such as a garbage collection, from distorting a single size.
+	 */
+	private static final int PASSES = 3;
+
+	/**
+	 * Consumes the results of the measured calls, so the JIT compiler cannot eliminate them.
+	 */
+	static volatile int sink;
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private ContractGrowthTesters() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Verifies that the growth exponents of the measured operations do not exceed the budget.
+	 *
+	 * @param factory
+	 * 		creates an instance of the given size, not null. Two calls with the same size must create equal instances.
+	 * @param budget
+	 * 		the maximum growth exponent, not null.
+	 * @param compareTo
+	 * 		true to measure {@code compareTo} as well, the instances must implement {@code Comparable} of themselves.
+	 * @return the report, never null.
+	 */
+	static GrowthReport assertGrowth(final IntFunction<?> factory, final GrowthBudget budget, final boolean compareTo) {
+		Objects.requireNonNull(factory, "The parameter 'factory' must not be null!");
+		Objects.requireNonNull(budget, "The parameter 'budget' must not be null!");
+
+		final Class<?> type = Objects.requireNonNull(factory.apply(budget.getMinSize()),
+				"The parameter 'factory' must not create null!").getClass();
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final GrowthReport report = measure(factory, budget, compareTo);
+
+			final double limit = budget.getMaxExponent() + budget.getTolerance();
+			final List<String> violations = new ArrayList<>();
+			addViolation(violations, "equals", report.getEqualsExponent(), limit);
+			addViolation(violations, "hashCode", report.getHashCodeExponent(), limit);
+			if(compareTo) {
+				addViolation(violations, "compareTo", report.getCompareToExponent(), limit);
+			}
+			if(!violations.isEmpty()) {
+				fail(String.format(Locale.ROOT, "The cost of the instances of <%s> grows faster than O(n^%s):%n%s%n%s",
+						type.getName(), budget.getMaxExponent(), String.join(System.lineSeparator(), violations), report));
+			}
+
+			passed = true;
+			return report;
+		} finally {
+			CheckListeners.completed("growth", type, start, passed);
+		}
+	}
+
+	/**
+	 * Measures the operations in a watched daemon thread.
+	 *
+	 * @return the report, never null.
+	 */
+	static GrowthReport measure(final IntFunction<?> factory, final GrowthBudget budget, final boolean compareTo) {
+		final Measurement measurement = new Measurement(factory, budget, compareTo);
+		final Thread thread = new Thread(measurement, "contract-growth");
+		thread.setDaemon(true);
+		thread.start();
+		try {
+			thread.join(TimeUnit.NANOSECONDS.toMillis(budget.getTimeoutNanos()) + 1);
+		} catch(final InterruptedException e) {
+			thread.interrupt();
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while measuring the growth", e);
+		}
+
+		if(thread.isAlive()) {
+			thread.interrupt();
+			return fail(String.format(
+					"The measurement of %s at size %d did not complete within %d ms. It may not terminate, for example on "
+							+ "a cyclic graph.", measurement.operation, measurement.size,
+					TimeUnit.NANOSECONDS.toMillis(budget.getTimeoutNanos())));
+		}
+
+		final Throwable failure = measurement.failure.get();
+		if(failure instanceof StackOverflowError) {
+			return fail(String.format("The %s of instances of size %d recursed without bound, for example on a cyclic "
+					+ "graph.", measurement.operation, measurement.size), failure);
+		}
+		ParallelChecks.rethrow(failure);
+		return measurement.report;
+	}
+
+	private static void addViolation(final List<String> violations, final String operation, final double exponent,
+			final double limit) {
+		if(exponent > limit) {
+			violations.add(String.format(Locale.ROOT, "  %s grows with exponent %.3f, at most %.3f is allowed", operation,
+					exponent, limit));
+		}
+	}
+
+	/**
+	 * The measurement of all sizes, run in the watched thread. The current operation and size are published for the
+	 * failure message of the watchdog.
+	 */
+	private static final class Measurement implements Runnable {
+
+		private final IntFunction<?> factory;
+		private final GrowthBudget budget;
+		private final boolean compareTo;
+		private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		private volatile String operation = "creation";
+		private volatile int size;
+		private GrowthReport report;
+
+		Measurement(final IntFunction<?> factory, final GrowthBudget budget, final boolean compareTo) {
+			this.factory = factory;
+			this.budget = budget;
+			this.compareTo = compareTo;
+		}
+
+		@Override
+		public void run() {
+			try {
+				report = measureAll();
+			} catch(final Throwable t) {
+				failure.set(t);
+			}
+		}
+
+		private GrowthReport measureAll() {
+			final int count = Integer.numberOfLeadingZeros(budget.getMinSize())
+					- Integer.numberOfLeadingZeros(budget.getMaxSize()) + 1;
+			final int[] sizes = new int[count];
+			final double[] equalsNanos = new double[count];
+			final double[] hashCodeNanos = new double[count];
+			final double[] compareToNanos = compareTo ? new double[count] : null;
+
+			final Object[] warmup = create(budget.getMinSize());
+			for(int round = 0; round < WARMUP_ROUNDS; round++) {
+				measureAt(warmup, budget.getMinSize(), 0, equalsNanos, hashCodeNanos, compareToNanos);
+			}
+
+			final Object[][] pairs = new Object[count][];
+			int measured = 0;
+			for(int n = budget.getMinSize(); n > 0 && n <= budget.getMaxSize(); n <<= 1) {
+				pairs[measured] = create(n);
+				sizes[measured] = n;
+				final double slowest = measureAt(pairs[measured], n, measured, equalsNanos, hashCodeNanos, compareToNanos);
+				measured++;
+				if(slowest > MAX_CALL_NANOS && measured >= 3) {
+					break;
+				}
+			}
+
+			final double[] equalsPass = new double[count];
+			final double[] hashCodePass = new double[count];
+			final double[] compareToPass = compareTo ? new double[count] : null;
+			for(int pass = 1; pass < PASSES; pass++) {
+				for(int i = 0; i < measured; i++) {
+					measureAt(pairs[i], sizes[i], i, equalsPass, hashCodePass, compareToPass);
+					equalsNanos[i] = Math.min(equalsNanos[i], equalsPass[i]);
+					hashCodeNanos[i] = Math.min(hashCodeNanos[i], hashCodePass[i]);
+					if(compareTo) {
+						compareToNanos[i] = Math.min(compareToNanos[i], compareToPass[i]);
+					}
+				}
+			}
+
+			return new GrowthReport(pairs[0][0].getClass().getName(), Arrays.copyOf(sizes, measured),
+					Arrays.copyOf(equalsNanos, measured), Arrays.copyOf(hashCodeNanos, measured),
+					compareToNanos == null ? null : Arrays.copyOf(compareToNanos, measured));
+		}
+
+		/**
+		 * Creates two equal instances of the given size.
+		 */
+		private Object[] create(final int n) {
+			operation = "creation";
+			size = n;
+			final Object x = Objects.requireNonNull(factory.apply(n), "The parameter 'factory' must not create null!");
+			final Object y = Objects.requireNonNull(factory.apply(n), "The parameter 'factory' must not create null!");
+			operation = "equals";
+			if(!x.equals(y)) {
+				throw new IllegalArgumentException(String.format(
+						"The parameter 'factory' must create equal instances for the same size, but x=<%s> and y=<%s> "
+								+ "of size %d are not equal!", x, y, n));
+			}
+			return new Object[] { x, y };
+		}
+
+		/**
+		 * Measures all operations at one size.
+		 *
+		 * @return the cost of the slowest operation in nanoseconds.
+		 */
+		private double measureAt(final Object[] pair, final int n, final int index, final double[] equalsNanos,
+				final double[] hashCodeNanos, final double[] compareToNanos) {
+			size = n;
+			operation = "equals";
+			equalsNanos[index] = measure(pair[0], pair[1], 0);
+			operation = "hashCode";
+			hashCodeNanos[index] = measure(pair[0], pair[1], 1);
+			double slowest = Math.max(equalsNanos[index], hashCodeNanos[index]);
+			if(compareToNanos != null) {
+				operation = "compareTo";
+				compareToNanos[index] = measure(pair[0], pair[1], 2);
+				slowest = Math.max(slowest, compareToNanos[index]);
+			}
+			return slowest;
+		}
+
+		/**
+		 * @return the cost of a single call in nanoseconds of the fastest round.
+		 */
+		private double measure(final Object x, final Object y, final int operationIndex) {
+			final long single = call(x, y, operationIndex, 1);
+			final int repetitions = (int) Math.max(1, Math.min(ROUND_NANOS / Math.max(1, single), Integer.MAX_VALUE));
+
+			long fastest = Long.MAX_VALUE;
+			for(int round = 0; round < ROUNDS; round++) {
+				fastest = Math.min(fastest, call(x, y, operationIndex, repetitions));
+			}
+			return (double) fastest / repetitions;
+		}
+
+		/**
+		 * Calls an operation repeatedly.
+		 *
+		 * @return the elapsed time in nanoseconds.
+		 */
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private static long call(final Object x, final Object y, final int operationIndex, final int repetitions) {
+			int result = 0;
+			final long start = System.nanoTime();
+			for(int repetition = 0; repetition < repetitions; repetition++) {
+				switch(operationIndex) {
+					case 0:
+						result += x.equals(y) ? 1 : 0;
+						break;
+					case 1:
+						result += x.hashCode();
+						break;
+					default:
+						result += ((Comparable) x).compareTo(y);
+				}
+			}
+			final long elapsed = System.nanoTime() - start;
+			sink = result;
+			return elapsed;
+		}
+	}
+}
@@ -2,13 +2,42 @@ package com.butschmajor.testutils;
 
 import java.util.Objects;
 
-import static org.assertj.core.api.Assertions.assertThat;
+import static com.butschmajor.testutils.Failures.fail;
 
 /**
  * This class provide methods to test the contract of {@code hashCode}.
+ * <p>
+ * The {@code is*} methods check a property without allocating any objects. The {@code assert*} methods are thin wrappers
+ * which only create an assertion error if the check fails.
  */
 final class ContractHashCodeTesters {
 
+	/**
+	 * Checks that two invocations of {@code x.hashCode} return the same integer.
+	 *
+	 * @param x
+	 *            the instance 'x' to check, not null.
+	 * @return true if the hash code of 'x' is consistent.
+	 */
+	static <T> boolean isHashCodeConsistent(T x)
+	{
+		return x.hashCode() == x.hashCode();
+	}
+
+	/**
+	 * Checks that {@code x.hashCode} is equal to {@code y.hashCode} if 'x' is equal to 'y'.
+	 *
+	 * @param x
+	 *            the first instance 'x' to check, not null.
+	 * @param y
+	 *            the second instance 'y' to check, not null.
+	 * @return true if the hash codes agree with {@code equals}.
+	 */
+	static <T> boolean isHashCodeAgreeingWithEquals(T x, T y)
+	{
+		return !x.equals( y ) || x.hashCode() == y.hashCode();
+	}
+
 	/**
 	 * Whenever it is invoked on the same object more than once during an execution of a Java application, the hashCode method
 	 * must consistently return the same integer.
@@ -20,11 +49,19 @@ final class ContractHashCodeTesters {
 	{
 		Objects.requireNonNull( x, "The parameter 'x' must not be null!" );
 
-		final String errorMessage = "Object hashcode consistency with itself failed! Weird. ";
-		final int res1 = x.hashCode();
-		final int res2 = x.hashCode();
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final String errorMessage = "Object hashcode consistency with itself failed! Weird. ";
+
+			if( !isHashCodeConsistent( x ) ) {
+				fail( errorMessage );
+			}
 
-		assertThat(res1).overridingErrorMessage(errorMessage).isEqualTo(res2);
+			passed = true;
+		} finally {
+			CheckListeners.completed( "hashCode.consistency", x.getClass(), start, passed );
+		}
 	}
 
 	/**
@@ -40,17 +77,27 @@ final class ContractHashCodeTesters {
 		Objects.requireNonNull( x, "The parameter 'x' must not be null!" );
 		Objects.requireNonNull( y, "The parameter 'y' must not be null!" );
 
-		final String errorMessage1 = "x and y should be equal. Before testing hash code equality. ";
-		final boolean res1 = x.equals( y );
-		final boolean expectedRes1 = true;
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final String errorMessage1 = "x and y should be equal. Before testing hash code equality. ";
+			final boolean res1 = x.equals( y );
 
-		assertThat(res1).overridingErrorMessage(errorMessage1).isEqualTo(expectedRes1);
+			if( !res1 ) {
+				fail( errorMessage1 );
+			}
 
-		final String errorMessage2 = "Since x and y are equals, x.hashCode() and y.hashCode() should be the same!";
-		final int res2 = x.hashCode();
-		final int res3 = y.hashCode();
+			final String errorMessage2 = "Since x and y are equals, x.hashCode() and y.hashCode() should be the same!";
+			final int res2 = x.hashCode();
+			final int res3 = y.hashCode();
 
-		assertThat(res2).overridingErrorMessage(errorMessage2).isEqualTo(res3);
+			if( res2 != res3 ) {
+				fail( errorMessage2 );
+			}
+
+			passed = true;
+		} finally {
+			CheckListeners.completed( "hashCode.equality", x.getClass(), start, passed );
+		}
 	}
 }
-
@@ -0,0 +1,169 @@
+package com.butschmajor.testutils;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+
+import static com.butschmajor.testutils.Failures.fail;
+
+/**
+ * This class provide methods to test the latency of {@code equals}, {@code hashCode} and {@code compareTo}.
+ * <p>
+ * Every sample times a batch of calls with {@link System#nanoTime()}, the minimal cost of reading the clock twice is
+ * subtracted. By default a batch is a single call, so the percentiles are percentiles of single calls. Larger batches
+ * yield the mean latency of the calls of a batch, so the percentiles are percentiles of batch means, which hide a slow
+ * call among fast ones. The messages say so. The measurement is preceded by a warm-up running the same loop, so the
+ * measured method and the loop have been compiled by the JIT compiler.
+ */
+final class ContractLatencyTesters {
+
+	/**
+	 * Number of clock readings to determine the cost of reading the clock.
+	 */
+	private static final int CLOCK_CALIBRATIONS = 10_000;
+
+	/**
+	 * Maximum width of a bar of the histogram.
+	 */
+	private static final int HISTOGRAM_WIDTH = 40;
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private ContractLatencyTesters() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Ensures that the given calls comply with the latency budget.
+	 *
+	 * @param description
+	 * 		the description of the measured calls, not null.
+	 * @param call
+	 * 		the measured calls, not null.
+	 * @param budget
+	 * 		the latency budget, not null.
+	 */
+	static void assertLatency(final String description, final ContractCalls.Call call, final LatencyBudget budget) {
+		Objects.requireNonNull(description, "The parameter 'description' must not be null!");
+		Objects.requireNonNull(call, "The parameter 'call' must not be null!");
+		Objects.requireNonNull(budget, "The parameter 'budget' must not be null!");
+
+		final double[] latencies = measure(call, budget);
+		final double latency = percentile(latencies, budget.getPercentile());
+
+		if(latency > budget.getMaxNanos()) {
+			final String statistic = budget.getBatchSize() == 1 ? "p" + format(budget.getPercentile())
+					: "p" + format(budget.getPercentile()) + " of the means of batches of " + budget.getBatchSize() + " calls";
+			fail("%s should take at most %d ns at %s after %d warm-up calls, but took %.1f ns.%n%s", description,
+					budget.getMaxNanos(), statistic, budget.getWarmupCalls(), latency,
+					histogram(latencies, budget.getBatchSize()));
+		}
+	}
+
+	/**
+	 * Measures the latency of the calls.
+	 *
+	 * @param call
+	 * 		the measured calls, not null.
+	 * @param budget
+	 * 		the parameters of the measurement, not null.
+	 * @return the mean latency of the calls of every sample in nanoseconds in ascending order, never null.
+	 */
+	static double[] measure(final ContractCalls.Call call, final LatencyBudget budget) {
+		final int batchSize = budget.getBatchSize();
+
+		int index = 0;
+		for(int warmup = 0; warmup < budget.getWarmupCalls(); warmup += batchSize) {
+			index = ContractCalls.run(call, batchSize, index);
+		}
+
+		final long clockCost = clockCost();
+		final double[] latencies = new double[budget.getSamples()];
+		for(int sample = 0; sample < latencies.length; sample++) {
+			final long start = System.nanoTime();
+			index = ContractCalls.run(call, batchSize, index);
+			final long elapsed = System.nanoTime() - start;
+			latencies[sample] = Math.max(0, elapsed - clockCost) / (double) batchSize;
+		}
+		Arrays.sort(latencies);
+		return latencies;
+	}
+
+	/**
+	 * @param sorted
+	 * 		the values in ascending order, not empty.
+	 * @param percentile
+	 * 		the percentile, greater than 0 and at most 100.
+	 * @return the nearest-rank percentile of the values.
+	 */
+	static double percentile(final double[] sorted, final double percentile) {
+		final int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+		return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+	}
+
+	/**
+	 * Renders the latencies as histogram with power-of-two bins, followed by the common percentiles. Latencies of batches
+	 * are labeled as means.
+	 *
+	 * @param sorted
+	 * 		the latencies in ascending order, not empty.
+	 * @param batchSize
+	 * 		the number of calls of a sample.
+	 * @return the histogram, never null.
+	 */
+	static String histogram(final double[] sorted, final int batchSize) {
+		final int[] bins = new int[Long.SIZE];
+		for(final double latency : sorted) {
+			bins[bin(latency)]++;
+		}
+		final int first = bin(sorted[0]);
+		final int last = bin(sorted[sorted.length - 1]);
+		final int max = Arrays.stream(bins).max().orElse(0);
+
+		final StringBuilder builder = new StringBuilder();
+		builder.append(batchSize == 1
+				? String.format(Locale.ROOT, "Latency per call of %d samples of 1 calls:", sorted.length)
+				: String.format(Locale.ROOT,
+						"Mean latency per call of %d samples of %d calls, percentiles are percentiles of the batch means:",
+						sorted.length, batchSize));
+		for(int bin = first; bin <= last; bin++) {
+			final long lower = bin == 0 ? 0 : 1L << bin;
+			final int width = (int) Math.ceil((double) bins[bin] * HISTOGRAM_WIDTH / max);
+			builder.append(System.lineSeparator()).append(String.format(Locale.ROOT, "  [%8d, %8d) ns %8d %s", lower,
+					1L << (bin + 1), bins[bin], repeat('#', width)));
+		}
+		builder.append(System.lineSeparator()).append(String.format(Locale.ROOT,
+				"  p50 %.1f ns, p90 %.1f ns, p99 %.1f ns, p99.9 %.1f ns, max %.1f ns", percentile(sorted, 50),
+				percentile(sorted, 90), percentile(sorted, 99), percentile(sorted, 99.9), sorted[sorted.length - 1]));
+		return builder.toString();
+	}
+
+	private static int bin(final double latency) {
+		final long nanos = (long) latency;
+		return nanos < 2 ? 0 : Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+	}
+
+	private static String repeat(final char character, final int count) {
+		final char[] characters = new char[count];
+		Arrays.fill(characters, character);
+		return new String(characters);
+	}
+
+	private static String format(final double percentile) {
+		return BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString();
+	}
+
+	/**
+	 * @return the minimal number of nanoseconds between two consecutive clock readings.
+	 */
+	private static long clockCost() {
+		long min = Long.MAX_VALUE;
+		for(int i = 0; i < CLOCK_CALIBRATIONS; i++) {
+			final long start = System.nanoTime();
+			min = Math.min(min, System.nanoTime() - start);
+		}
+		return min;
+	}
+}
@@ -0,0 +1,240 @@
+package com.butschmajor.testutils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+import static com.butschmajor.testutils.Failures.fail;
+
+/**
+ * This class provide methods to test that a comparator imposes a total order on an arbitrary number of instances.
+ * <p>
+ * Enumerating all triples of n instances needs O(n³) comparisons. Instead the instances are sorted in parallel, which
+ * assigns every instance a rank: instances comparing as zero to their neighbour in the sorted order form a run and
+ * share a rank. If the comparator imposes a total order, the sign of the comparison of any two instances is the sign of
+ * the difference of their ranks. This is verified for all neighbours, all instances of a run against the first
+ * instance of the run, all pairs of a power of two distance and a deterministic sample of random pairs, which needs
+ * O(n log n) comparisons. A pair contradicting its ranks is narrowed down by bisection to a minimal violating triple.
+ */
+final class ContractOrderTesters {
+
+	/**
+	 * Number of random instances every instance is compared with.
+	 */
+	static final int RANDOM_SAMPLES = 8;
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private ContractOrderTesters() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Ensures that the comparator imposes a total order on the instances.
+	 *
+	 * @param instances
+	 * 		the instances to test, not null and without null elements.
+	 * @param comparator
+	 * 		the comparator to test, not null.
+	 * @param consistentWithEquals
+	 * 		true if a comparison must be zero exactly when the instances are equal.
+	 */
+	static <T> void assertTotalOrder(final Collection<? extends T> instances, final Comparator<? super T> comparator,
+			final boolean consistentWithEquals) {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+		Objects.requireNonNull(comparator, "The parameter 'comparator' must not be null!");
+
+		@SuppressWarnings("unchecked")
+		final T[] sorted = (T[]) instances.toArray();
+		for(final T value : sorted) {
+			Objects.requireNonNull(value, "The parameter 'instances' must not contain null!");
+		}
+		if(sorted.length == 0) {
+			return;
+		}
+
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			new Order<T>(sorted, comparator, consistentWithEquals).verify();
+			passed = true;
+		} finally {
+			CheckListeners.completed("compareTo.totalOrder", sorted[0].getClass(), start, passed);
+		}
+	}
+
+	/**
+	 * The sorted instances and their ranks.
+	 */
+	private static final class Order<T> {
+
+		private final T[] sorted;
+		private final Comparator<? super T> comparator;
+		private final boolean consistentWithEquals;
+		private final int[] ranks;
+		private final int[] runStarts;
+
+		private Order(final T[] sorted, final Comparator<? super T> comparator, final boolean consistentWithEquals) {
+			this.sorted = sorted;
+			this.comparator = comparator;
+			this.consistentWithEquals = consistentWithEquals;
+			this.ranks = new int[sorted.length];
+			this.runStarts = new int[sorted.length];
+		}
+
+		private void verify() {
+			String sortFailure = null;
+			try {
+				Arrays.parallelSort(sorted, comparator);
+			} catch(final IllegalArgumentException e) {
+				// The sort detected a violation of the contract, the instances are sorted again to search for it
+				sortFailure = e.getMessage();
+				mergeSort(sorted.clone(), 0, sorted.length);
+			}
+
+			final int[] signs = new int[sorted.length];
+			ParallelChecks.forEach(sorted.length, this::verifyNeighbour);
+			ParallelChecks.forEach(sorted.length - 1,
+					i -> signs[i] = Integer.signum(comparator.compare(sorted[i], sorted[i + 1])));
+			for(int i = 1; i < sorted.length; i++) {
+				final boolean sameRun = signs[i - 1] == 0;
+				ranks[i] = sameRun ? ranks[i - 1] : ranks[i - 1] + 1;
+				runStarts[i] = sameRun ? runStarts[i - 1] : i;
+			}
+
+			ParallelChecks.forEach(sorted.length, i -> {
+				verifyPair(runStarts[i], i);
+				for(int distance = 2; distance <= i; distance <<= 1) {
+					verifyPair(i - distance, i);
+				}
+				final SplittableRandom random = new SplittableRandom(i);
+				for(int k = 0; k < RANDOM_SAMPLES; k++) {
+					final int other = random.nextInt(sorted.length);
+					verifyPair(Math.min(i, other), Math.max(i, other));
+				}
+			});
+
+			if(sortFailure != null) {
+				fail("Sorting the instances failed, the comparison violates its contract: %s", sortFailure);
+			}
+		}
+
+		/**
+		 * Sorts a range of the instances by merging. Unlike TimSort the merge never throws if the comparison violates its
+		 * contract, and neighbours are always ordered as long as the comparison can be reversed: every instance has been
+		 * compared with its successor when it was merged.
+		 *
+		 * @param buffer
+		 * 		the buffer for merging, at least as long as the instances, not null.
+		 * @param from
+		 * 		the first position of the range, inclusive.
+		 * @param to
+		 * 		the last position of the range, exclusive.
+		 */
+		private void mergeSort(final T[] buffer, final int from, final int to) {
+			if(to - from < 2) {
+				return;
+			}
+			final int middle = (from + to) >>> 1;
+			mergeSort(buffer, from, middle);
+			mergeSort(buffer, middle, to);
+
+			System.arraycopy(sorted, from, buffer, from, to - from);
+			int left = from;
+			int right = middle;
+			for(int i = from; i < to; i++) {
+				if(right >= to || left < middle && comparator.compare(buffer[left], buffer[right]) <= 0) {
+					sorted[i] = buffer[left++];
+				} else {
+					sorted[i] = buffer[right++];
+				}
+			}
+		}
+
+		/**
+		 * Ensures that the comparison of the instance at the given position with itself is zero and that the instance is
+		 * ordered before or with its successor.
+		 */
+		private void verifyNeighbour(final int i) {
+			final T x = sorted[i];
+			if(comparator.compare(x, x) != 0) {
+				fail("compare(x, x) should be zero, but was %d for x=<%s>.", comparator.compare(x, x), x);
+			}
+			if(i + 1 < sorted.length && comparator.compare(x, sorted[i + 1]) > 0) {
+				fail("The sorted instances should be in ascending order, but compare(x, y) was %d for x=<%s> and y=<%s>.",
+						comparator.compare(x, sorted[i + 1]), x, sorted[i + 1]);
+			}
+		}
+
+		/**
+		 * Ensures that the comparison of the instances at the given positions agrees with their ranks.
+		 *
+		 * @param i
+		 * 		the lower position.
+		 * @param j
+		 * 		the higher position.
+		 */
+		private void verifyPair(final int i, final int j) {
+			final T x = sorted[i];
+			final T y = sorted[j];
+			final int expected = Integer.signum(ranks[i] - ranks[j]);
+			final int xy = Integer.signum(comparator.compare(x, y));
+			final int yx = Integer.signum(comparator.compare(y, x));
+
+			if(xy != -yx) {
+				fail("Comparison reversal should apply: sgn(compare(x, y)) == -sgn(compare(y, x)), but was %d and %d "
+						+ "for x=<%s> and y=<%s>.",
+						xy, yx, x, y);
+			}
+			if(xy != expected) {
+				failTransitivity(i, j);
+			}
+			if(consistentWithEquals && (xy == 0) != x.equals(y)) {
+				fail("compare(x, y) == 0 should have the same boolean value as x.equals(y), but compare(x, y) was %d "
+						+ "and x.equals(y) was %s for x=<%s> and y=<%s>.",
+						xy, x.equals(y), x, y);
+			}
+		}
+
+		/**
+		 * Narrows a pair contradicting its ranks down to a violating triple. The sorted order implies a chain of
+		 * comparisons from 'x' to 'z', which is bisected until both halves agree with the ranks.
+		 *
+		 * @param i
+		 * 		the lower position of the contradicting pair.
+		 * @param j
+		 * 		the higher position of the contradicting pair.
+		 */
+		private void failTransitivity(final int i, final int j) {
+			int from = i;
+			int to = j;
+			while(to - from > 1) {
+				final int middle = (from + to) >>> 1;
+				if(!agreesWithRanks(from, middle)) {
+					to = middle;
+				} else if(!agreesWithRanks(middle, to)) {
+					from = middle;
+				} else {
+					final T x = sorted[from];
+					final T y = sorted[middle];
+					final T z = sorted[to];
+					fail("Transitivity should apply, but sgn(compare(x, y)) was %d, sgn(compare(y, z)) was %d and "
+							+ "sgn(compare(x, z)) was %d for x=<%s>, y=<%s> and z=<%s>.",
+							Integer.signum(comparator.compare(x, y)), Integer.signum(comparator.compare(y, z)),
+							Integer.signum(comparator.compare(x, z)), x, y, z);
+				}
+			}
+			fail("The comparison of x=<%s> and y=<%s> is not deterministic, sgn(compare(x, y)) was %d when the ranks "
+					+ "were assigned and %d afterwards.",
+					sorted[from], sorted[to], Integer.signum(ranks[from] - ranks[to]),
+					Integer.signum(comparator.compare(sorted[from], sorted[to])));
+		}
+
+		private boolean agreesWithRanks(final int i, final int j) {
+			return Integer.signum(comparator.compare(sorted[i], sorted[j])) == Integer.signum(ranks[i] - ranks[j]);
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.butschmajor.testutils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.butschmajor.testutils.Failures.fail;
+
+/**
+ * This class provide methods to test that {@code equals}, {@code hashCode} and optionally {@code compareTo} agree on an
+ * instance and its copy written and read by a {@link SerializationCodec}.
+ * <p>
+ * The instances are round-tripped in parallel. Every thread writes to and reads from its own pooled
+ * {@link RoundTripBuffer}, so only the codec itself allocates per instance.
+ */
+final class ContractSerializationTesters {
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private ContractSerializationTesters() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Ensures that every instance is equal to its round-tripped copy.
+	 *
+	 * @param instances
+	 * 		the instances to test, not null and without null elements.
+	 * @param codec
+	 * 		the codec writing and reading the instances, not null.
+	 * @param comparator
+	 * 		the comparator which must compare an instance and its copy as zero, null to skip this check.
+	 * @return the serialized sizes and the throughput, never null.
+	 */
+	static <T> SerializationReport assertRoundTrip(final Collection<? extends T> instances,
+			final SerializationCodec<T> codec, final Comparator<? super T> comparator) {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+		Objects.requireNonNull(codec, "The parameter 'codec' must not be null!");
+
+		@SuppressWarnings("unchecked")
+		final T[] values = (T[]) instances.toArray();
+		for(final T value : values) {
+			Objects.requireNonNull(value, "The parameter 'instances' must not contain null!");
+		}
+
+		final LongAdder totalBytes = new LongAdder();
+		final LongAccumulator minBytes = new LongAccumulator(Math::min, Integer.MAX_VALUE);
+		final LongAccumulator maxBytes = new LongAccumulator(Math::max, 0);
+
+		final long start = System.nanoTime();
+		ParallelChecks.forEach(values.length, i -> {
+			final int size = assertRoundTrip(values[i], codec, comparator);
+			totalBytes.add(size);
+			minBytes.accumulate(size);
+			maxBytes.accumulate(size);
+		});
+		final long elapsedNanos = System.nanoTime() - start;
+
+		return new SerializationReport(values.length, totalBytes.sum(), values.length == 0 ? 0 : minBytes.intValue(),
+				maxBytes.intValue(), elapsedNanos);
+	}
+
+	/**
+	 * Ensures that an instance is equal to its round-tripped copy.
+	 *
+	 * @param x
+	 * 		the instance to test, not null.
+	 * @param codec
+	 * 		the codec writing and reading the instance, not null.
+	 * @param comparator
+	 * 		the comparator which must compare the instance and its copy as zero, null to skip this check.
+	 * @return the serialized size of the instance in bytes.
+	 */
+	static <T> int assertRoundTrip(final T x, final SerializationCodec<T> codec, final Comparator<? super T> comparator) {
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final RoundTripBuffer buffer = RoundTripBuffer.get();
+			T copy = null;
+			try {
+				codec.write(x, buffer.startWriting());
+				final InputStream in = buffer.startReading();
+				copy = codec.read(in);
+			} catch(final IOException | RuntimeException e) {
+				fail(String.format("The instance x=<%s> cannot be written and read: %s", x, e), e);
+			}
+
+			if(buffer.remaining() != 0) {
+				fail("The codec should read all %d bytes written for x=<%s>, but %d bytes were left.", buffer.size(), x,
+						buffer.remaining());
+			}
+			if(copy == null || copy.getClass() != x.getClass()) {
+				fail("The copy of x=<%s> should be an instance of <%s>, but was <%s>.", x, x.getClass().getName(),
+						copy == null ? null : copy.getClass().getName());
+			}
+			if(!x.equals(copy) || !copy.equals(x)) {
+				fail("x and its copy should be equal, but x.equals(copy) was %s and copy.equals(x) was %s for x=<%s> "
+						+ "and copy=<%s>.",
+						x.equals(copy), copy.equals(x), x, copy);
+			}
+			if(x.hashCode() != copy.hashCode()) {
+				fail("Since x and its copy are equal, x.hashCode() and copy.hashCode() should be the same, but were %d "
+						+ "and %d for x=<%s>.",
+						x.hashCode(), copy.hashCode(), x);
+			}
+			if(comparator != null && (comparator.compare(x, copy) != 0 || comparator.compare(copy, x) != 0)) {
+				fail("Since x and its copy are equal, x.compareTo(copy) and copy.compareTo(x) should return zero, but "
+						+ "were %d and %d for x=<%s>.",
+						comparator.compare(x, copy), comparator.compare(copy, x), x);
+			}
+
+			passed = true;
+			return buffer.size();
+		} finally {
+			CheckListeners.completed("serialization.roundTrip", x.getClass(), start, passed);
+		}
+	}
+}
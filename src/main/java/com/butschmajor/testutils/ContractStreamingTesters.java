@@ -0,0 +1,265 @@
+package com.butschmajor.testutils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class provide methods to test the {@code equals}, {@code hashCode} and {@code compareTo} contract on a
+ * {@link RecordCorpus} of any size.
+ * <p>
+ * The corpus is memory mapped in segments and read window by window. While a window is verified, the records of the
+ * next window are framed and decoded in parallel on the common fork-join pool, but never more than one window ahead, so
+ * at most two windows of instances are held at once. Every window is verified by the bulk checks together with a
+ * uniform reservoir sample of the instances of earlier windows, which detects violations between instances far apart
+ * in the corpus with a probability proportional to the sample size.
+ */
+final class ContractStreamingTesters {
+
+	/**
+	 * Maximum number of bytes mapped at once.
+	 */
+	static final int SEGMENT_SIZE = 1 << 30;
+
+	/**
+	 * Seed of the reservoir sample, fixed to reproduce failures.
+	 */
+	private static final long SAMPLE_SEED = 0x5DEECE66DL;
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private ContractStreamingTesters() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Verifies the contract on all instances of the corpus.
+	 *
+	 * @param corpus
+	 * 		the corpus to verify, not null.
+	 * @param comparator
+	 * 		the comparator which must impose a total order consistent with {@code equals}, or null to not verify an order.
+	 * @param collector
+	 * 		the collector to add the failures to, or null to fail on the first failure.
+	 * @return the report of the verification, never null.
+	 */
+	static <T> CorpusReport verify(final RecordCorpus<T> corpus, final Comparator<? super T> comparator,
+			final FailureCollector collector) {
+		return verify(corpus, comparator, collector, SEGMENT_SIZE);
+	}
+
+	/**
+	 * Verifies the contract on all instances of the corpus, mapping at most the given number of bytes at once.
+	 */
+	static <T> CorpusReport verify(final RecordCorpus<T> corpus, final Comparator<? super T> comparator,
+			final FailureCollector collector, final int segmentSize) {
+		Objects.requireNonNull(corpus, "The parameter 'corpus' must not be null!");
+
+		final long start = System.nanoTime();
+		final int sampleSize = corpus.getSampleSize();
+		final List<T> sample = new ArrayList<>(Math.min(sampleSize, corpus.getWindowSize()));
+		final SplittableRandom random = new SplittableRandom(SAMPLE_SEED);
+		long records = 0;
+		long windows = 0;
+		int maxMaterialized = 0;
+
+		try(RecordReader reader = new RecordReader(corpus, segmentSize)) {
+			CompletableFuture<T[]> next = decodeAsync(corpus.getDecoder(), reader.nextWindow(), records);
+			while(true) {
+				final T[] window = join(next);
+				if(window.length == 0) {
+					break;
+				}
+
+				final ByteBuffer[] following = reader.nextWindow();
+				next = decodeAsync(corpus.getDecoder(), following, records + window.length);
+				maxMaterialized = Math.max(maxMaterialized, window.length + following.length + sample.size());
+
+				verifyWindow(window, sample, comparator, collector);
+
+				for(int i = 0; i < window.length; i++) {
+					final long index = records + i;
+					if(sample.size() < sampleSize) {
+						sample.add(window[i]);
+					} else if(sampleSize > 0) {
+						final long replaced = random.nextLong(index + 1);
+						if(replaced < sampleSize) {
+							sample.set((int) replaced, window[i]);
+						}
+					}
+				}
+				records += window.length;
+				windows++;
+			}
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return new CorpusReport(records, windows, maxMaterialized, System.nanoTime() - start);
+	}
+
+	/**
+	 * Verifies the contract on the instances of a window and the sample of earlier instances.
+	 */
+	private static <T> void verifyWindow(final T[] window, final List<T> sample, final Comparator<? super T> comparator,
+			final FailureCollector collector) {
+		final List<T> instances = new ArrayList<>(window.length + sample.size());
+		Collections.addAll(instances, window);
+		instances.addAll(sample);
+
+		if(collector == null) {
+			ContractBulkTesters.assertContractEqualsAndHashCode(instances);
+			if(comparator != null) {
+				ContractOrderTesters.assertTotalOrder(instances, comparator, true);
+			}
+		} else {
+			ContractBulkTesters.verifyContractEqualsAndHashCode(instances, collector);
+			if(comparator != null) {
+				collector.verify(window[0].getClass(), () -> ContractOrderTesters.assertTotalOrder(instances, comparator, true));
+			}
+		}
+	}
+
+	/**
+	 * Decodes the records of a window in parallel on the common fork-join pool.
+	 *
+	 * @param decoder
+	 * 		the decoder of the records, not null.
+	 * @param records
+	 * 		the records of the window, not null.
+	 * @param firstIndex
+	 * 		the index of the first record in the corpus.
+	 * @return the future decoded instances, never null.
+	 */
+	private static <T> CompletableFuture<T[]> decodeAsync(final RecordDecoder<? extends T> decoder,
+			final ByteBuffer[] records, final long firstIndex) {
+		return CompletableFuture.supplyAsync(() -> {
+			@SuppressWarnings("unchecked")
+			final T[] window = (T[]) new Object[records.length];
+			ParallelChecks.forEach(records.length, i -> {
+				window[i] = Objects.requireNonNull(decoder.decode(records[i]),
+						() -> "The decoder returned null for the record " + (firstIndex + i) + "!");
+				records[i] = null;
+			});
+			return window;
+		}, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Waits for the decoded instances of a window and rethrows a failure of the decoder unchanged.
+	 */
+	private static <T> T[] join(final CompletableFuture<T[]> future) {
+		try {
+			return future.join();
+		} catch(final CompletionException e) {
+			ParallelChecks.rethrow(e.getCause());
+			throw e;
+		}
+	}
+
+	/**
+	 * Reads the records of a corpus window by window from memory mapped segments of the file.
+	 */
+	private static final class RecordReader implements Closeable {
+
+		private static final ByteBuffer[] EMPTY = new ByteBuffer[0];
+
+		private final RecordCorpus<?> corpus;
+		private final int segmentSize;
+		private final FileChannel channel;
+		private final long size;
+
+		private MappedByteBuffer segment;
+		private long segmentStart;
+		private long position;
+
+		RecordReader(final RecordCorpus<?> corpus, final int segmentSize) throws IOException {
+			this.corpus = corpus;
+			this.segmentSize = segmentSize;
+			this.channel = FileChannel.open(corpus.getFile(), StandardOpenOption.READ);
+			this.size = channel.size();
+		}
+
+		/**
+		 * @return the records of the next window, empty at the end of the corpus.
+		 */
+		ByteBuffer[] nextWindow() throws IOException {
+			final ByteBuffer[] window = new ByteBuffer[corpus.getWindowSize()];
+			int count = 0;
+			while(count < window.length && position < size) {
+				window[count++] = nextRecord();
+			}
+			return count == 0 ? EMPTY : count == window.length ? window : Arrays.copyOf(window, count);
+		}
+
+		private ByteBuffer nextRecord() throws IOException {
+			final long offset = position;
+			final int headerLength;
+			final int length;
+			if(corpus.getRecordLength() == RecordCorpus.LENGTH_PREFIXED) {
+				headerLength = Integer.BYTES;
+				requireAvailable(offset, headerLength);
+				map(offset, headerLength);
+				length = segment.getInt((int) (offset - segmentStart));
+				if(length < 0) {
+					throw new IllegalStateException(
+							"The record at offset " + offset + " of <" + corpus.getFile() + "> has a negative length!");
+				}
+			} else {
+				headerLength = 0;
+				length = corpus.getRecordLength();
+			}
+			requireAvailable(offset, (long) headerLength + length);
+			map(offset, headerLength + length);
+
+			final int from = (int) (offset - segmentStart) + headerLength;
+			final ByteBuffer record = segment.duplicate();
+			record.limit(from + length).position(from);
+			position = offset + headerLength + length;
+			return record.slice();
+		}
+
+		private void requireAvailable(final long offset, final long length) {
+			if(offset + length > size) {
+				throw new IllegalStateException("The record at offset " + offset + " of <" + corpus.getFile()
+						+ "> is truncated, the file ends after " + (size - offset) + " of " + length + " bytes!");
+			}
+		}
+
+		/**
+		 * Ensures that the mapped segment contains the given range of the file.
+		 */
+		private void map(final long offset, final int length) throws IOException {
+			if(segment != null && offset >= segmentStart && offset + length <= segmentStart + segment.capacity()) {
+				return;
+			}
+			if(length > segmentSize) {
+				throw new IllegalStateException("The record at offset " + offset + " of <" + corpus.getFile()
+						+ "> is longer than " + segmentSize + " bytes!");
+			}
+			segmentStart = offset;
+			segment = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(segmentSize, size - offset));
+		}
+
+		@Override
+		public void close() throws IOException {
+			segment = null;
+			channel.close();
+		}
+	}
+}
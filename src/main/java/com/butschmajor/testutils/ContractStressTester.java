@@ -0,0 +1,321 @@
+package com.butschmajor.testutils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static com.butschmajor.testutils.Failures.fail;
+
+/**
+ * Concurrent verification of the contract of {@code equals}, {@code hashCode} and optionally {@code compareTo}.
+ * <p>
+ * In every iteration one of the threads constructs a fresh instance and hands it to the other threads through a plain
+ * field, without any synchronization, while they spin on that field. All threads call its methods concurrently. This
+ * reveals racy lazy initialization, e.g. of a cached hash code, and state read without visibility guarantees, e.g.
+ * non-final fields of the unsafely published instance seen before their initialization, as far as the JIT compiler and
+ * the processor reorder the writes. The results observed by the threads are recorded in atomic arrays and compared with
+ * the results of an equal instance queried by a single thread before the iteration started.
+ *
+ * <pre>
+ * ContractStressTester.forEqualsAndHashCode(() -&gt; new Key("tenant", 42))
+ * 		.threads(64)
+ * 		.iterations(100_000)
+ * 		.assertContract();
+ * </pre>
+ * <p>
+ * On Java 21 or newer the threads may be virtual threads, e.g. {@code threadFactory(Thread.ofVirtual().factory())}.
+ *
+ * @param <T>
+ * 		the type of the instances to verify.
+ */
+public final class ContractStressTester<T> {
+
+	/**
+	 * Encoded results of x.compareTo(y) and y.compareTo(x) if both are zero.
+	 */
+	private static final int BOTH_ZERO = encodeComparison(0, 0);
+
+	private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+	private final Supplier<? extends T> factory;
+	private final Comparator<? super T> comparator;
+
+	private int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+	private int iterations = 10_000;
+	private ThreadFactory threadFactory = runnable -> {
+		final Thread thread = new Thread(runnable, "contract-stress-" + THREAD_NUMBER.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	};
+
+	private ContractStressTester(final Supplier<? extends T> factory, final Comparator<? super T> comparator) {
+		this.factory = Objects.requireNonNull(factory, "The parameter 'factory' must not be null!");
+		this.comparator = comparator;
+	}
+
+	/**
+	 * Creates a stress tester verifying the methods {@code equals} and {@code hashCode}.
+	 *
+	 * @param factory
+	 * 		constructs a new instance on every call, all instances must be equal, not null.
+	 * @return the stress tester, never null.
+	 */
+	public static <T> ContractStressTester<T> forEqualsAndHashCode(final Supplier<? extends T> factory) {
+		return new ContractStressTester<>(factory, null);
+	}
+
+	/**
+	 * Creates a stress tester verifying the methods {@code equals}, {@code hashCode} and {@code compareTo}.
+	 *
+	 * @param factory
+	 * 		constructs a new instance on every call, all instances must be equal, not null.
+	 * @return the stress tester, never null.
+	 */
+	public static <T extends Comparable<T>> ContractStressTester<T> forEqualsHashCodeCompareTo(
+			final Supplier<? extends T> factory) {
+		return new ContractStressTester<>(factory, Comparator.<T>naturalOrder());
+	}
+
+	/**
+	 * @param threads
+	 * 		the number of threads calling the methods concurrently, positive. The default is the number of available
+	 * 		processors, but at least two.
+	 * @return this stress tester, never null.
+	 */
+	public ContractStressTester<T> threads(final int threads) {
+		if(threads <= 0) {
+			throw new IllegalArgumentException("The parameter 'threads' must be positive!");
+		}
+		this.threads = threads;
+		return this;
+	}
+
+	/**
+	 * @param iterations
+	 * 		the number of freshly constructed instances, positive. The default is 10,000.
+	 * @return this stress tester, never null.
+	 */
+	public ContractStressTester<T> iterations(final int iterations) {
+		if(iterations <= 0) {
+			throw new IllegalArgumentException("The parameter 'iterations' must be positive!");
+		}
+		this.iterations = iterations;
+		return this;
+	}
+
+	/**
+	 * @param threadFactory
+	 * 		creates the threads calling the methods, not null. The default creates platform daemon threads.
+	 * @return this stress tester, never null.
+	 */
+	public ContractStressTester<T> threadFactory(final ThreadFactory threadFactory) {
+		this.threadFactory = Objects.requireNonNull(threadFactory, "The parameter 'threadFactory' must not be null!");
+		return this;
+	}
+
+	/**
+	 * Verifies the configured number of freshly constructed instances.
+	 */
+	public void assertContract() {
+		final Run run = new Run();
+		final CyclicBarrier barrier = new CyclicBarrier(threads, run::nextIteration);
+
+		final List<Thread> workers = new ArrayList<>(threads);
+		for(int i = 0; i < threads; i++) {
+			final int index = i;
+			final Thread worker = threadFactory.newThread(() -> run.work(barrier, index));
+			if(worker == null) {
+				throw new IllegalStateException("The thread factory did not create a thread");
+			}
+			workers.add(worker);
+		}
+		workers.forEach(Thread::start);
+		for(final Thread worker : workers) {
+			try {
+				worker.join();
+			} catch(final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for the stress test", e);
+			}
+		}
+
+		ParallelChecks.rethrow(run.error.get());
+		if(run.failure != null) {
+			fail(run.failure);
+		}
+	}
+
+	private static int encodeComparison(final int xy, final int yx) {
+		return (Integer.signum(xy) + 1) | (Integer.signum(yx) + 1) << 2;
+	}
+
+	/**
+	 * The state of a single run. The barrier action prepares every iteration while all workers wait, so the fields
+	 * written by it are visible to the workers without further synchronization. The shared instance is the exception: it
+	 * is constructed by one worker and read by the others without a happens-before relation.
+	 */
+	private final class Run {
+
+		/**
+		 * Reads the shared instance with opaque access, which guarantees that the spinning workers eventually see it, but
+		 * not that they see the writes of its construction.
+		 */
+		private final VarHandle sharedHandle;
+
+		private final AtomicIntegerArray hashCodes = new AtomicIntegerArray(threads);
+		private final AtomicIntegerArray equalities = new AtomicIntegerArray(threads);
+		private final AtomicIntegerArray comparisons = new AtomicIntegerArray(threads);
+		private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+		private int iteration;
+		private T reference;
+		private int expectedHashCode;
+		private T shared;
+		private String failure;
+		private boolean stopped;
+
+		Run() {
+			try {
+				sharedHandle = MethodHandles.lookup().findVarHandle(Run.class, "shared", Object.class);
+			} catch(final ReflectiveOperationException e) {
+				throw new IllegalStateException("The shared instance cannot be accessed", e);
+			}
+		}
+
+		/**
+		 * Calls the methods of the shared instance of every iteration until the run is stopped.
+		 */
+		private void work(final CyclicBarrier barrier, final int index) {
+			try {
+				while(true) {
+					barrier.await();
+					if(stopped) {
+						return;
+					}
+					callMethods(index);
+				}
+			} catch(final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				error.compareAndSet(null, e);
+			} catch(final BrokenBarrierException e) {
+				error.compareAndSet(null, e);
+			}
+		}
+
+		private void callMethods(final int index) {
+			try {
+				final T x = handOver(index);
+				if(x == null) {
+					return;
+				}
+				hashCodes.set(index, x.hashCode());
+				equalities.set(index, (x.equals(reference) ? 1 : 0) | (reference.equals(x) ? 2 : 0) | (x.equals(x) ? 4 : 0));
+				if(comparator != null) {
+					comparisons.set(index, encodeComparison(comparator.compare(x, reference), comparator.compare(reference, x)));
+				}
+			} catch(final Throwable t) {
+				error.compareAndSet(null, t);
+			}
+		}
+
+		/**
+		 * Constructs the shared instance on the publishing worker of the iteration or waits for it on the other workers.
+		 *
+		 * @return the shared instance or null if the publishing worker failed.
+		 */
+		@SuppressWarnings("unchecked")
+		private T handOver(final int index) {
+			if(index == iteration % threads) {
+				final T x = Objects.requireNonNull(factory.get(), "The factory must not return null!");
+				// A plain write, so the construction may be reordered after the publication
+				sharedHandle.set(this, x);
+				return x;
+			}
+			Object x;
+			while((x = sharedHandle.getOpaque(this)) == null) {
+				if(error.get() != null) {
+					return null;
+				}
+				Thread.yield();
+			}
+			return (T) x;
+		}
+
+		/**
+		 * Verifies the results of the finished iteration and prepares the next one.
+		 */
+		private void nextIteration() {
+			try {
+				if(iteration > 0) {
+					verifyIteration();
+				}
+				if(failure != null || error.get() != null || iteration == iterations) {
+					stopped = true;
+					return;
+				}
+				reference = Objects.requireNonNull(factory.get(), "The factory must not return null!");
+				expectedHashCode = reference.hashCode();
+				shared = null;
+				iteration++;
+			} catch(final Throwable t) {
+				error.compareAndSet(null, t);
+				stopped = true;
+			}
+		}
+
+		private void verifyIteration() {
+			final Map<Integer, Integer> observedHashCodes = new TreeMap<>();
+			int wrongHashCodes = 0;
+			int notEqual = 0;
+			int notSymmetric = 0;
+			int notReflexive = 0;
+			int notZero = 0;
+			for(int i = 0; i < threads; i++) {
+				final int hashCode = hashCodes.get(i);
+				observedHashCodes.merge(hashCode, 1, Integer::sum);
+				if(hashCode != expectedHashCode) {
+					wrongHashCodes++;
+				}
+				final int equality = equalities.get(i);
+				notEqual += (equality & 1) == 0 ? 1 : 0;
+				notSymmetric += (equality & 2) == 0 ? 1 : 0;
+				notReflexive += (equality & 4) == 0 ? 1 : 0;
+				if(comparator != null && comparisons.get(i) != BOTH_ZERO) {
+					notZero++;
+				}
+			}
+
+			if(wrongHashCodes > 0) {
+				failure = String.format(
+						"x.hashCode() of a freshly constructed instance should be <%d> on all threads, but %d of %d threads observed other values in iteration %d: %s",
+						expectedHashCode, wrongHashCodes, threads, iteration, observedHashCodes);
+			} else if(notEqual > 0) {
+				failure = describe("x.equals(y) should be true", notEqual);
+			} else if(notSymmetric > 0) {
+				failure = describe("y.equals(x) should be true", notSymmetric);
+			} else if(notReflexive > 0) {
+				failure = describe("x.equals(x) should be true", notReflexive);
+			} else if(notZero > 0) {
+				failure = describe("x.compareTo(y) and y.compareTo(x) should be zero", notZero);
+			}
+		}
+
+		private String describe(final String expectation, final int disagreeing) {
+			return String.format(
+					"%s for a freshly constructed instance 'x' and an equal instance 'y' on all threads, but %d of %d threads disagreed in iteration %d",
+					expectation, disagreeing, threads, iteration);
+		}
+	}
+}
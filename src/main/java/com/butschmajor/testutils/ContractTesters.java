@@ -1,12 +1,26 @@
 package com.butschmajor.testutils;
 
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  *
  */
 public final class ContractTesters {
 
+	/**
+	 * Names of the checks in the {@link VerificationCache}.
+	 */
+	private static final String CHECK_EQUALS_AND_HASH_CODE = "ContractTesters.assertContractEqualsAndHashCode";
+	private static final String CHECK_COMPARE_TO = "ContractTesters.assertContractCompareTo";
+
 	/**
 	 * Ensures that the methods {@code equals}, {@code hashCode} and {@code compareTo} comply with the contract.
 	 *
@@ -41,6 +55,11 @@ public final class ContractTesters {
 		Objects.requireNonNull(y, "The parameter 'y' must not be null!");
 		Objects.requireNonNull(z, "The parameter 'z' must not be null!");
 
+		final VerificationCache cache = VerificationCache.configured();
+		if(cache != null && cache.isVerified(x.getClass(), CHECK_EQUALS_AND_HASH_CODE, x, y, z)) {
+			return;
+		}
+
 		ContractEqualsTesters.assertParametersEquals(x, y, z);
 		ContractEqualsTesters.assertEqualsIsReflexive(x);
 		ContractEqualsTesters.assertEqualsIsSymmetric(x, y);
@@ -49,6 +68,149 @@ public final class ContractTesters {
 
 		ContractHashCodeTesters.assertHashCodeEquality(x, y);
 		ContractHashCodeTesters.assertHashCodeConsistency(x);
+
+		if(cache != null) {
+			cache.markVerifiedUnchecked(x.getClass(), CHECK_EQUALS_AND_HASH_CODE, x, y, z);
+		}
+	}
+
+	/**
+	 * Ensures that the methods {@code equals} and {@code hashCode} of an arbitrary number of equal and unequal instances
+	 * comply with the contract. The instances are partitioned by hash code and verified in parallel, so that only instances
+	 * sharing a hash code are compared exhaustively.
+	 * <p>
+	 * Whether instances with different hash codes are equal, the most common violation of the contract, is verified on all
+	 * pairs of up to 4096 instances. Of more instances every instance is only compared with 8 randomly drawn instances, so a
+	 * single equal pair with different hash codes among {@code n} instances is found with a probability of about
+	 * {@code 16 / n}. Use {@link #assertContractEqualsAndHashCode(Collection, int)} to compare with more instances.
+	 *
+	 * @param instances
+	 * 		the instances to test, not null and without null elements.
+	 */
+	public static <T> void assertContractEqualsAndHashCode(Collection<? extends T> instances) {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+
+		ContractBulkTesters.assertContractEqualsAndHashCode(instances);
+	}
+
+	/**
+	 * Ensures that the methods {@code equals} and {@code hashCode} of an arbitrary number of equal and unequal instances
+	 * comply with the contract like {@link #assertContractEqualsAndHashCode(Collection)}, comparing every instance with
+	 * the given number of randomly drawn instances if there are more than 4096 instances. A single equal pair with
+	 * different hash codes among {@code n} instances is found with a probability of about
+	 * {@code 2 * crossBucketSamples / n}, all pairs are compared if {@code crossBucketSamples} is at least {@code n - 1}.
+	 *
+	 * @param instances
+	 * 		the instances to test, not null and without null elements.
+	 * @param crossBucketSamples
+	 * 		the number of instances with other hash codes every instance is compared with, positive.
+	 */
+	public static <T> void assertContractEqualsAndHashCode(Collection<? extends T> instances, int crossBucketSamples) {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+
+		ContractBulkTesters.assertContractEqualsAndHashCode(instances, crossBucketSamples);
+	}
+
+	/**
+	 * Verifies that the methods {@code equals} and {@code hashCode} of an arbitrary number of equal and unequal instances
+	 * comply with the contract and adds the failures to a collector instead of failing. The failures are grouped by the
+	 * failed check and the class of the offending instance, so even a large number of broken instances is verified in
+	 * bounded memory.
+	 *
+	 * @param instances
+	 * 		the instances to test, not null and without null elements.
+	 * @param collector
+	 * 		the collector to add the failures to, not null.
+	 * @see #assertContractEqualsAndHashCode(Collection)
+	 */
+	public static <T> void assertContractEqualsAndHashCode(Collection<? extends T> instances,
+			FailureCollector collector) {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+		Objects.requireNonNull(collector, "The parameter 'collector' must not be null!");
+
+		ContractBulkTesters.verifyContractEqualsAndHashCode(instances, collector);
+	}
+
+	/**
+	 * Ensures that the methods {@code equals} and {@code hashCode} of all instances of a corpus comply with the contract.
+	 * The corpus is memory mapped and decoded window by window in parallel, every window is verified together with a
+	 * sample of earlier instances, so the heap needed does not depend on the size of the corpus.
+	 *
+	 * @param corpus
+	 * 		the corpus of the instances to test, not null.
+	 * @return the report of the verification, never null.
+	 * @see #assertContractEqualsAndHashCode(Collection)
+	 */
+	public static <T> CorpusReport assertContractEqualsAndHashCode(RecordCorpus<T> corpus) {
+		Objects.requireNonNull(corpus, "The parameter 'corpus' must not be null!");
+
+		return ContractStreamingTesters.verify(corpus, null, null);
+	}
+
+	/**
+	 * Verifies that the methods {@code equals} and {@code hashCode} of all instances of a corpus comply with the contract
+	 * and adds the failures to a collector instead of failing.
+	 *
+	 * @param corpus
+	 * 		the corpus of the instances to test, not null.
+	 * @param collector
+	 * 		the collector to add the failures to, not null.
+	 * @return the report of the verification, never null.
+	 * @see #assertContractEqualsAndHashCode(RecordCorpus)
+	 */
+	public static <T> CorpusReport assertContractEqualsAndHashCode(RecordCorpus<T> corpus, FailureCollector collector) {
+		Objects.requireNonNull(corpus, "The parameter 'corpus' must not be null!");
+		Objects.requireNonNull(collector, "The parameter 'collector' must not be null!");
+
+		return ContractStreamingTesters.verify(corpus, null, collector);
+	}
+
+	/**
+	 * Ensures that the methods {@code equals}, {@code hashCode} and {@code compareTo} of all instances of a corpus comply
+	 * with the contract, see {@link #assertContractEqualsAndHashCode(RecordCorpus)}.
+	 *
+	 * @param corpus
+	 * 		the corpus of the instances to test, not null.
+	 * @return the report of the verification, never null.
+	 * @see #assertContractCompareTo(Collection)
+	 */
+	public static <T extends Comparable<T>> CorpusReport assertContractEqualsHashCodeCompareTo(RecordCorpus<T> corpus) {
+		Objects.requireNonNull(corpus, "The parameter 'corpus' must not be null!");
+
+		return ContractStreamingTesters.verify(corpus, Comparator.<T>naturalOrder(), null);
+	}
+
+	/**
+	 * Verifies that the methods {@code equals}, {@code hashCode} and {@code compareTo} of all instances of a corpus
+	 * comply with the contract and adds the failures to a collector instead of failing.
+	 *
+	 * @param corpus
+	 * 		the corpus of the instances to test, not null.
+	 * @param collector
+	 * 		the collector to add the failures to, not null.
+	 * @return the report of the verification, never null.
+	 * @see #assertContractEqualsHashCodeCompareTo(RecordCorpus)
+	 */
+	public static <T extends Comparable<T>> CorpusReport assertContractEqualsHashCodeCompareTo(RecordCorpus<T> corpus,
+			FailureCollector collector) {
+		Objects.requireNonNull(corpus, "The parameter 'corpus' must not be null!");
+		Objects.requireNonNull(collector, "The parameter 'collector' must not be null!");
+
+		return ContractStreamingTesters.verify(corpus, Comparator.<T>naturalOrder(), collector);
+	}
+
+	/**
+	 * Ensures that the methods {@code equals} and {@code hashCode} of an arbitrary number of equal and unequal instances
+	 * comply with the contract. The stream is consumed completely before the verification starts.
+	 *
+	 * @param instances
+	 * 		the instances to test, not null and without null elements.
+	 * @see #assertContractEqualsAndHashCode(Collection)
+	 */
+	public static <T> void assertContractEqualsAndHashCode(Stream<? extends T> instances) {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+
+		ContractBulkTesters.assertContractEqualsAndHashCode(instances.collect(Collectors.toList()));
 	}
 
 	/**
@@ -66,11 +228,383 @@ public final class ContractTesters {
 		Objects.requireNonNull(y, "The parameter 'y' must not be null!");
 		Objects.requireNonNull(z, "The parameter 'z' must not be null!");
 
+		final VerificationCache cache = VerificationCache.configured();
+		if(cache != null && cache.isVerified(x.getClass(), CHECK_COMPARE_TO, x, y, z)) {
+			return;
+		}
+
 		ContractCompareToTesters.assertComparisonReversal(x, y);
 		ContractCompareToTesters.assertConsistency(x, x, y);
 		ContractCompareToTesters.assertConsistencyWithEqual(x, y);
 		ContractCompareToTesters.assertNullPointerException(x);
 		ContractCompareToTesters.assertTransitivity(x, y, z);
+
+		if(cache != null) {
+			cache.markVerifiedUnchecked(x.getClass(), CHECK_COMPARE_TO, x, y, z);
+		}
+	}
+
+	/**
+	 * Ensures that the method {@code compareTo} imposes a total order on an arbitrary number of equal and unequal
+	 * instances, which is consistent with {@code equals}. The instances are sorted in parallel and every instance is
+	 * compared with its neighbours and a sample of other instances, so that O(n log n) comparisons are needed instead of
+	 * enumerating all triples. A violation is reported as minimal violating pair or triple.
+	 *
+	 * @param instances
+	 * 		the instances to test, not null and without null elements.
+	 */
+	public static <T extends Comparable<T>> void assertContractCompareTo(Collection<? extends T> instances) {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+
+		ContractOrderTesters.assertTotalOrder(instances, Comparator.<T>naturalOrder(), true);
+	}
+
+	/**
+	 * Ensures that the method {@code compareTo} imposes a total order on an arbitrary number of equal and unequal
+	 * instances. The stream is consumed completely before the verification starts.
+	 *
+	 * @param instances
+	 * 		the instances to test, not null and without null elements.
+	 * @see #assertContractCompareTo(Collection)
+	 */
+	public static <T extends Comparable<T>> void assertContractCompareTo(Stream<? extends T> instances) {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+
+		ContractOrderTesters.assertTotalOrder(instances.collect(Collectors.toList()), Comparator.<T>naturalOrder(), true);
+	}
+
+	/**
+	 * Ensures that the comparator comply with the contract for 'x', 'y' and 'z'. Unlike {@code compareTo} a comparator is
+	 * not required to be consistent with {@code equals}, so the instances may be arbitrary.
+	 *
+	 * @param x
+	 * 		the instance 'x' to test, not null.
+	 * @param y
+	 * 		the second instance 'y' to test, not null.
+	 * @param z
+	 * 		the third instance 'z' to test, not null.
+	 * @param comparator
+	 * 		the comparator to test, not null.
+	 */
+	public static <T> void assertContractComparator(T x, T y, T z, Comparator<? super T> comparator) {
+		Objects.requireNonNull(x, "The parameter 'x' must not be null!");
+		Objects.requireNonNull(y, "The parameter 'y' must not be null!");
+		Objects.requireNonNull(z, "The parameter 'z' must not be null!");
+		Objects.requireNonNull(comparator, "The parameter 'comparator' must not be null!");
+
+		ContractCompareToTesters.assertComparisonReversal(x, y, comparator);
+		ContractCompareToTesters.assertComparisonReversal(y, z, comparator);
+		ContractCompareToTesters.assertComparisonReversal(x, z, comparator);
+		ContractCompareToTesters.assertConsistency(x, x, y, comparator);
+		ContractCompareToTesters.assertTransitivity(x, y, z, comparator);
+	}
+
+	/**
+	 * Ensures that the comparator imposes a total order on an arbitrary number of instances. The comparator is not
+	 * required to be consistent with {@code equals}.
+	 *
+	 * @param instances
+	 * 		the instances to test, not null and without null elements.
+	 * @param comparator
+	 * 		the comparator to test, not null.
+	 * @see #assertContractCompareTo(Collection)
+	 */
+	public static <T> void assertContractComparator(Collection<? extends T> instances, Comparator<? super T> comparator) {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+		Objects.requireNonNull(comparator, "The parameter 'comparator' must not be null!");
+
+		ContractOrderTesters.assertTotalOrder(instances, comparator, false);
+	}
+
+	/**
+	 * Ensures that the comparator imposes a total order on an arbitrary number of instances. The stream is consumed
+	 * completely before the verification starts.
+	 *
+	 * @param instances
+	 * 		the instances to test, not null and without null elements.
+	 * @param comparator
+	 * 		the comparator to test, not null.
+	 * @see #assertContractComparator(Collection, Comparator)
+	 */
+	public static <T> void assertContractComparator(Stream<? extends T> instances, Comparator<? super T> comparator) {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+		Objects.requireNonNull(comparator, "The parameter 'comparator' must not be null!");
+
+		ContractOrderTesters.assertTotalOrder(instances.collect(Collectors.toList()), comparator, false);
+	}
+
+	/**
+	 * Ensures that every instance is equal to its copy written and read by Java serialization and has the same hash code.
+	 *
+	 * @param instances
+	 * 		the instances to test, not null and without null elements.
+	 * @return the serialized sizes and the throughput, never null.
+	 * @see #assertSerializationRoundTrip(Collection, SerializationCodec)
+	 */
+	public static <T extends Serializable> SerializationReport assertSerializationRoundTrip(
+			Collection<? extends T> instances) {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+
+		return ContractSerializationTesters.assertRoundTrip(instances, SerializationCodec.<T>javaSerialization(), null);
+	}
+
+	/**
+	 * Ensures that every instance is equal to its copy written and read by the codec and has the same hash code. The
+	 * instances are round-tripped in parallel through pooled buffers.
+	 *
+	 * @param instances
+	 * 		the instances to test, not null and without null elements.
+	 * @param codec
+	 * 		the codec writing and reading the instances, not null.
+	 * @return the serialized sizes and the throughput, never null.
+	 */
+	public static <T> SerializationReport assertSerializationRoundTrip(Collection<? extends T> instances,
+			SerializationCodec<T> codec) {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+		Objects.requireNonNull(codec, "The parameter 'codec' must not be null!");
+
+		return ContractSerializationTesters.assertRoundTrip(instances, codec, null);
+	}
+
+	/**
+	 * Ensures that every instance is equal to its copy written and read by the codec, has the same hash code and compares
+	 * as zero to it.
+	 *
+	 * @param instances
+	 * 		the instances to test, not null and without null elements.
+	 * @param codec
+	 * 		the codec writing and reading the instances, not null.
+	 * @return the serialized sizes and the throughput, never null.
+	 * @see #assertSerializationRoundTrip(Collection, SerializationCodec)
+	 */
+	public static <T extends Comparable<T>> SerializationReport assertSerializationRoundTripCompareTo(
+			Collection<? extends T> instances, SerializationCodec<T> codec) {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+		Objects.requireNonNull(codec, "The parameter 'codec' must not be null!");
+
+		return ContractSerializationTesters.assertRoundTrip(instances, codec, Comparator.<T>naturalOrder());
+	}
+
+	/**
+	 * Ensures that changing any field of 'x' makes it unequal to 'x'. Each field of a field by field copy of 'x' is
+	 * changed in turn, including the inherited fields and the components of a record. Static, transient and synthetic
+	 * fields are not changed, transient fields are reset to their default value in every copy.
+	 *
+	 * @param x
+	 * 		the instance to test, not null.
+	 * @param ignoredFields
+	 * 		the names of further fields which {@code equals} deliberately ignores, inherited fields are prefixed with the
+	 * 		simple name of the declaring class and a dot, not null.
+	 * @return the fields which were changed and how {@code equals} and {@code hashCode} reacted, never null.
+	 */
+	public static <T> FieldSensitivityReport assertEqualsFieldSensitivity(T x, String... ignoredFields) {
+		return ContractFieldSensitivityTesters.assertFieldSensitivity(x, false, ignoredFields);
+	}
+
+	/**
+	 * Ensures that changing any field of 'x' makes it unequal to 'x' and changes its hash code.
+	 *
+	 * @param x
+	 * 		the instance to test, not null.
+	 * @param ignoredFields
+	 * 		the names of further fields which {@code equals} and {@code hashCode} deliberately ignore, not null.
+	 * @return the fields which were changed and how {@code equals} and {@code hashCode} reacted, never null.
+	 * @see #assertEqualsFieldSensitivity(Object, String...)
+	 */
+	public static <T> FieldSensitivityReport assertEqualsAndHashCodeFieldSensitivity(T x, String... ignoredFields) {
+		return ContractFieldSensitivityTesters.assertFieldSensitivity(x, true, ignoredFields);
+	}
+
+	/**
+	 * Measures the shallow size of the instance, the retained size of all objects reachable from it and the contribution
+	 * of each of its fields. The sizes are measured by an {@link java.lang.instrument.Instrumentation} agent if available
+	 * (see {@link FootprintAgent}) and estimated from the object layout of the JVM otherwise.
+	 *
+	 * @param sample
+	 * 		the instance to measure, not null.
+	 * @return the measured footprint, never null.
+	 */
+	public static FootprintReport measureFootprint(Object sample) {
+		Objects.requireNonNull(sample, "The parameter 'sample' must not be null!");
+
+		return ContractFootprintTesters.measure(sample);
+	}
+
+	/**
+	 * Ensures that the memory footprint of the instance complies with the budget. The failure message lists the
+	 * contribution of every field and the padding.
+	 *
+	 * @param sample
+	 * 		the instance to measure, not null.
+	 * @param budget
+	 * 		the footprint budget, not null.
+	 * @return the measured footprint, never null.
+	 * @see #measureFootprint(Object)
+	 */
+	public static FootprintReport assertFootprint(Object sample, FootprintBudget budget) {
+		Objects.requireNonNull(sample, "The parameter 'sample' must not be null!");
+		Objects.requireNonNull(budget, "The parameter 'budget' must not be null!");
+
+		return ContractFootprintTesters.assertFootprint(sample, budget);
+	}
+
+	/**
+	 * Ensures that the cost of {@code equals} and {@code hashCode} grows at most with the exponent of the budget over the
+	 * size of the instances. Two equal instances are created for sizes doubling over the range of the budget and the
+	 * exponent is fitted to the cost measured after a warm-up. A measurement exceeding the timeout of the budget or
+	 * recursing without bound, for example on a cyclic graph, fails instead of hanging.
+	 *
+	 * @param factory
+	 * 		creates an instance of the given size, not null. Two calls with the same size must create equal instances.
+	 * @param budget
+	 * 		the maximum growth exponent, not null.
+	 * @return the measured growth, never null.
+	 */
+	public static <T> GrowthReport assertEqualsAndHashCodeGrowth(IntFunction<? extends T> factory, GrowthBudget budget) {
+		Objects.requireNonNull(factory, "The parameter 'factory' must not be null!");
+		Objects.requireNonNull(budget, "The parameter 'budget' must not be null!");
+
+		return ContractGrowthTesters.assertGrowth(factory, budget, false);
+	}
+
+	/**
+	 * Ensures that the cost of {@code equals}, {@code hashCode} and {@code compareTo} grows at most with the exponent of
+	 * the budget over the size of the instances.
+	 *
+	 * @param factory
+	 * 		creates an instance of the given size, not null. Two calls with the same size must create equal instances.
+	 * @param budget
+	 * 		the maximum growth exponent, not null.
+	 * @return the measured growth, never null.
+	 * @see #assertEqualsAndHashCodeGrowth(IntFunction, GrowthBudget)
+	 */
+	public static <T extends Comparable<T>> GrowthReport assertEqualsHashCodeCompareToGrowth(
+			IntFunction<? extends T> factory, GrowthBudget budget) {
+		Objects.requireNonNull(factory, "The parameter 'factory' must not be null!");
+		Objects.requireNonNull(budget, "The parameter 'budget' must not be null!");
+
+		return ContractGrowthTesters.assertGrowth(factory, budget, true);
+	}
+
+	/**
+	 * Ensures that x.hashCode(), y.hashCode() and z.hashCode() take at most the budgeted latency after a warm-up.
+	 *
+	 * @param x
+	 * 		the instance 'x' to measure, not null.
+	 * @param y
+	 * 		the second instance 'y' to measure, not null.
+	 * @param z
+	 * 		the third instance 'z' to measure, not null.
+	 * @param budget
+	 * 		the latency budget, not null.
+	 */
+	public static <T> void assertHashCodeLatency(T x, T y, T z, LatencyBudget budget) {
+		ContractLatencyTesters.assertLatency("hashCode", ContractCalls.hashCodeCalls(x, y, z), budget);
+	}
+
+	/**
+	 * Ensures that x.equals(y), y.equals(z) and z.equals(x) take at most the budgeted latency after a warm-up.
+	 *
+	 * @param x
+	 * 		the instance 'x' to measure, not null.
+	 * @param y
+	 * 		the second instance 'y' to measure, not null.
+	 * @param z
+	 * 		the third instance 'z' to measure, not null.
+	 * @param budget
+	 * 		the latency budget, not null.
+	 */
+	public static <T> void assertEqualsLatency(T x, T y, T z, LatencyBudget budget) {
+		ContractLatencyTesters.assertLatency("equals", ContractCalls.equalsCalls(x, y, z), budget);
+	}
+
+	/**
+	 * Ensures that x.compareTo(y), y.compareTo(z) and z.compareTo(x) take at most the budgeted latency after a warm-up.
+	 *
+	 * @param x
+	 * 		the instance 'x' to measure, not null.
+	 * @param y
+	 * 		the second instance 'y' to measure, not null.
+	 * @param z
+	 * 		the third instance 'z' to measure, not null.
+	 * @param budget
+	 * 		the latency budget, not null.
+	 */
+	public static <T extends Comparable<T>> void assertCompareToLatency(T x, T y, T z, LatencyBudget budget) {
+		ContractLatencyTesters.assertLatency("compareTo", ContractCalls.compareToCalls(x, y, z), budget);
+	}
+
+	/**
+	 * Ensures that the methods {@code equals} and {@code hashCode} of 'x', 'y' and 'z' do not allocate after a warm-up.
+	 *
+	 * @param x
+	 * 		the instance 'x' to measure, not null.
+	 * @param y
+	 * 		the second instance 'y' to measure, not null.
+	 * @param z
+	 * 		the third instance 'z' to measure, not null.
+	 */
+	public static <T> void assertEqualsAndHashCodeAllocation(T x, T y, T z) {
+		assertEqualsAndHashCodeAllocation(x, y, z, 0);
+	}
+
+	/**
+	 * Ensures that the methods {@code equals} and {@code hashCode} of 'x', 'y' and 'z' allocate at most the budgeted
+	 * number of bytes per call on average after a warm-up.
+	 *
+	 * @param x
+	 * 		the instance 'x' to measure, not null.
+	 * @param y
+	 * 		the second instance 'y' to measure, not null.
+	 * @param z
+	 * 		the third instance 'z' to measure, not null.
+	 * @param maxBytesPerCall
+	 * 		the maximum number of bytes a call may allocate on average, not negative.
+	 */
+	public static <T> void assertEqualsAndHashCodeAllocation(T x, T y, T z, double maxBytesPerCall) {
+		final Map<String, ContractCalls.Call> calls = new LinkedHashMap<>();
+		calls.put("equals", ContractCalls.equalsCalls(x, y, z));
+		calls.put("hashCode", ContractCalls.hashCodeCalls(x, y, z));
+
+		ContractAllocationTesters.assertAllocation(calls, maxBytesPerCall);
+	}
+
+	/**
+	 * Ensures that the methods {@code equals}, {@code hashCode} and {@code compareTo} of 'x', 'y' and 'z' do not allocate
+	 * after a warm-up.
+	 *
+	 * @param x
+	 * 		the instance 'x' to measure, not null.
+	 * @param y
+	 * 		the second instance 'y' to measure, not null.
+	 * @param z
+	 * 		the third instance 'z' to measure, not null.
+	 */
+	public static <T extends Comparable<T>> void assertEqualsHashCodeCompareToAllocation(T x, T y, T z) {
+		assertEqualsHashCodeCompareToAllocation(x, y, z, 0);
+	}
+
+	/**
+	 * Ensures that the methods {@code equals}, {@code hashCode} and {@code compareTo} of 'x', 'y' and 'z' allocate at most
+	 * the budgeted number of bytes per call on average after a warm-up.
+	 *
+	 * @param x
+	 * 		the instance 'x' to measure, not null.
+	 * @param y
+	 * 		the second instance 'y' to measure, not null.
+	 * @param z
+	 * 		the third instance 'z' to measure, not null.
+	 * @param maxBytesPerCall
+	 * 		the maximum number of bytes a call may allocate on average, not negative.
+	 */
+	public static <T extends Comparable<T>> void assertEqualsHashCodeCompareToAllocation(T x, T y, T z,
+			double maxBytesPerCall) {
+		final Map<String, ContractCalls.Call> calls = new LinkedHashMap<>();
+		calls.put("equals", ContractCalls.equalsCalls(x, y, z));
+		calls.put("hashCode", ContractCalls.hashCodeCalls(x, y, z));
+		calls.put("compareTo", ContractCalls.compareToCalls(x, y, z));
+
+		ContractAllocationTesters.assertAllocation(calls, maxBytesPerCall);
 	}
 
 	/**
@@ -0,0 +1,55 @@
+package com.butschmajor.testutils;
+
+/**
+ * The result of verifying a {@link RecordCorpus}.
+ *
+ * @see ContractTesters#assertContractEqualsAndHashCode(RecordCorpus)
+ */
+public final class CorpusReport {
+
+	private final long records;
+	private final long windows;
+	private final int maxMaterialized;
+	private final long durationNanos;
+
+	CorpusReport(final long records, final long windows, final int maxMaterialized, final long durationNanos) {
+		this.records = records;
+		this.windows = windows;
+		this.maxMaterialized = maxMaterialized;
+		this.durationNanos = durationNanos;
+	}
+
+	/**
+	 * @return the number of decoded and verified records.
+	 */
+	public long getRecords() {
+		return records;
+	}
+
+	/**
+	 * @return the number of verified windows.
+	 */
+	public long getWindows() {
+		return windows;
+	}
+
+	/**
+	 * @return the maximum number of decoded instances held at once, including the sample of earlier instances.
+	 */
+	public int getMaxMaterialized() {
+		return maxMaterialized;
+	}
+
+	/**
+	 * @return the duration of the verification in nanoseconds.
+	 */
+	public long getDurationNanos() {
+		return durationNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "CorpusReport{records=" + records + ", windows=" + windows + ", maxMaterialized=" + maxMaterialized
+				+ ", durationMillis=" + durationNanos / 1_000_000 + "}";
+	}
+}
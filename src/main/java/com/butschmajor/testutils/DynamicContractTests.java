@@ -0,0 +1,142 @@
+package com.butschmajor.testutils;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DynamicContainer;
+import org.junit.jupiter.api.DynamicTest;
+
+import static com.butschmajor.testutils.Failures.fail;
+
+/**
+ * This class provide the contract checks and the utility class verification as dynamic tests of JUnit Jupiter, so every
+ * check is reported on its own and a failing check does not hide the others.
+ * <p>
+ * The streams are created lazily, a dynamic test is only created when JUnit consumes it. With parallel execution
+ * enabled ({@code junit.jupiter.execution.parallel.enabled=true}) the dynamic tests of a factory are spread over the
+ * worker threads of JUnit. JUnit Jupiter is an optional dependency of this library, it has to be on the test class path
+ * to use this class.
+ *
+ * <pre>
+ * &#64;TestFactory
+ * Stream&lt;DynamicTest&gt; utilityClasses() throws IOException {
+ * 	return DynamicContractTests.utilityClasses("com.example", Pattern.compile(".*Utils"));
+ * }
+ * </pre>
+ */
+public final class DynamicContractTests {
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private DynamicContractTests() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Creates a dynamic test for every class of a package and its sub-packages on the class path whose fully qualified
+	 * binary name matches the given pattern. Each test verifies that the class is a well-defined utility class, interfaces,
+	 * enums and annotations pass without verification.
+	 *
+	 * @param packageName
+	 * 		the name of the package to scan, not null.
+	 * @param classNamePattern
+	 * 		the pattern the fully qualified binary class names have to match, not null.
+	 * @return the lazily populated stream of dynamic tests named by the class names, never null.
+	 * @throws IOException
+	 * 		if the class path roots of the package cannot be determined.
+	 * @see UtilityClassTester#assertThatClassesAreWellDefined(String, Pattern)
+	 */
+	public static Stream<DynamicTest> utilityClasses(final String packageName, final Pattern classNamePattern)
+			throws IOException {
+		Objects.requireNonNull(packageName, "The parameter 'packageName' must not be null!");
+		Objects.requireNonNull(classNamePattern, "The parameter 'classNamePattern' must not be null!");
+
+		final ClassLoader loader = classLoader();
+		return UtilityClassScanner.classNames(loader, packageName, classNamePattern)
+				.map(className -> DynamicTest.dynamicTest(className, () -> {
+					final UtilityClassScanResult.ClassResult result = UtilityClassScanner.verify(loader, className);
+					if(result != null && !result.isWellDefined()) {
+						fail(String.join(System.lineSeparator(), result.getViolations()));
+					}
+				}));
+	}
+
+	/**
+	 * Creates a dynamic test for every check of the contract of {@code equals} and {@code hashCode}.
+	 *
+	 * @param displayName
+	 * 		the name of the container of the tests, not null.
+	 * @param x
+	 * 		the instance 'x' to test, not null.
+	 * @param y
+	 * 		the second instance 'y' to test, not null.
+	 * @param z
+	 * 		the third instance 'z' to test, not null.
+	 * @return the container of the dynamic tests, never null.
+	 * @see ContractTesters#assertContractEqualsAndHashCode(Object, Object, Object)
+	 */
+	public static <T> DynamicContainer equalsAndHashCode(final String displayName, final T x, final T y, final T z) {
+		Objects.requireNonNull(displayName, "The parameter 'displayName' must not be null!");
+		requireNonNull(x, y, z);
+
+		return DynamicContainer.dynamicContainer(displayName, equalsAndHashCodeTests(x, y, z));
+	}
+
+	/**
+	 * Creates a dynamic test for every check of the contract of {@code equals}, {@code hashCode} and {@code compareTo}.
+	 *
+	 * @param displayName
+	 * 		the name of the container of the tests, not null.
+	 * @param x
+	 * 		the instance 'x' to test, not null.
+	 * @param y
+	 * 		the second instance 'y' to test, not null.
+	 * @param z
+	 * 		the third instance 'z' to test, not null.
+	 * @return the container of the dynamic tests, never null.
+	 * @see ContractTesters#assertContractEqualsHashCodeCompareTo(Comparable, Comparable, Comparable)
+	 */
+	public static <T extends Comparable<T>> DynamicContainer equalsHashCodeCompareTo(final String displayName, final T x,
+			final T y, final T z) {
+		Objects.requireNonNull(displayName, "The parameter 'displayName' must not be null!");
+		requireNonNull(x, y, z);
+
+		return DynamicContainer.dynamicContainer(displayName, Stream.concat(equalsAndHashCodeTests(x, y, z), Stream.of( //
+				DynamicTest.dynamicTest("compareTo comparison reversal",
+						() -> ContractCompareToTesters.assertComparisonReversal(x, y)), //
+				DynamicTest.dynamicTest("compareTo consistency", () -> ContractCompareToTesters.assertConsistency(x, x, y)), //
+				DynamicTest.dynamicTest("compareTo consistency with equals",
+						() -> ContractCompareToTesters.assertConsistencyWithEqual(x, y)), //
+				DynamicTest.dynamicTest("compareTo null pointer exception",
+						() -> ContractCompareToTesters.assertNullPointerException(x)), //
+				DynamicTest.dynamicTest("compareTo transitivity", () -> ContractCompareToTesters.assertTransitivity(x, y, z)))));
+	}
+
+	private static <T> Stream<DynamicTest> equalsAndHashCodeTests(final T x, final T y, final T z) {
+		return Stream.of( //
+				DynamicTest.dynamicTest("parameters equal", () -> ContractEqualsTesters.assertParametersEquals(x, y, z)), //
+				DynamicTest.dynamicTest("equals reflexive", () -> ContractEqualsTesters.assertEqualsIsReflexive(x)), //
+				DynamicTest.dynamicTest("equals symmetric", () -> ContractEqualsTesters.assertEqualsIsSymmetric(x, y)), //
+				DynamicTest.dynamicTest("equals transitive", () -> ContractEqualsTesters.assertEqualsIsTransitive(x, y, z)), //
+				DynamicTest.dynamicTest("equals non-nullity", () -> ContractEqualsTesters.assertEqualsNonNullity(x)), //
+				DynamicTest.dynamicTest("hashCode equality", () -> ContractHashCodeTesters.assertHashCodeEquality(x, y)), //
+				DynamicTest.dynamicTest("hashCode consistency", () -> ContractHashCodeTesters.assertHashCodeConsistency(x)));
+	}
+
+	private static void requireNonNull(final Object x, final Object y, final Object z) {
+		Objects.requireNonNull(x, "The parameter 'x' must not be null!");
+		Objects.requireNonNull(y, "The parameter 'y' must not be null!");
+		Objects.requireNonNull(z, "The parameter 'z' must not be null!");
+	}
+
+	/**
+	 * @return the context class loader of the current thread or the class loader of this class.
+	 */
+	private static ClassLoader classLoader() {
+		final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		return loader != null ? loader : DynamicContractTests.class.getClassLoader();
+	}
+}
@@ -0,0 +1,377 @@
+package com.butschmajor.testutils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.butschmajor.testutils.Failures.fail;
+
+/**
+ * Collects the failures of bulk checks in bounded memory.
+ * <p>
+ * Failures are grouped by the name of the failed check and the checked type. Each group counts its failures and keeps
+ * the message of its first failure, truncated to {@value #MAX_MESSAGE_LENGTH} characters. Only the first
+ * {@code maxGroups} groups are kept, the failures of further groups are only counted. If a report file is given, every
+ * new group is written to it immediately as a line of JSON and the counts of all groups are appended when the collector
+ * is closed, so the report is useful even if the checks never finish.
+ * <p>
+ * A collector can be used by several threads at once.
+ */
+public final class FailureCollector implements Closeable {
+
+	/**
+	 * The default maximum number of groups.
+	 */
+	public static final int DEFAULT_MAX_GROUPS = 100;
+
+	/**
+	 * The maximum length of the kept messages.
+	 */
+	public static final int MAX_MESSAGE_LENGTH = 4096;
+
+	/**
+	 * Name of the group of failures which were not reported by a check.
+	 */
+	static final String UNKNOWN_CHECK = "unknown";
+
+	private final int maxGroups;
+
+	private final ConcurrentMap<GroupKey, FailureGroup> groups = new ConcurrentHashMap<>();
+
+	private final AtomicInteger groupCount = new AtomicInteger();
+
+	private final LongAdder failureCount = new LongAdder();
+
+	private final LongAdder droppedCount = new LongAdder();
+
+	private final BufferedWriter report;
+
+	/**
+	 * Creates a collector keeping at most {@value #DEFAULT_MAX_GROUPS} groups without a report file.
+	 */
+	public FailureCollector() {
+		this(DEFAULT_MAX_GROUPS);
+	}
+
+	/**
+	 * Creates a collector without a report file.
+	 *
+	 * @param maxGroups
+	 * 		the maximum number of groups to keep, positive.
+	 */
+	public FailureCollector(final int maxGroups) {
+		if(maxGroups <= 0) {
+			throw new IllegalArgumentException("The parameter 'maxGroups' must be positive!");
+		}
+		this.maxGroups = maxGroups;
+		this.report = null;
+	}
+
+	/**
+	 * Creates a collector streaming its groups to a report file.
+	 *
+	 * @param maxGroups
+	 * 		the maximum number of groups to keep, positive.
+	 * @param reportFile
+	 * 		the file to write the report to, not null. An existing file is replaced.
+	 * @throws IOException
+	 * 		if the report file cannot be created.
+	 */
+	public FailureCollector(final int maxGroups, final Path reportFile) throws IOException {
+		Objects.requireNonNull(reportFile, "The parameter 'reportFile' must not be null!");
+		if(maxGroups <= 0) {
+			throw new IllegalArgumentException("The parameter 'maxGroups' must be positive!");
+		}
+		this.maxGroups = maxGroups;
+		this.report = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Runs a check and collects its failure instead of throwing it. The failure is grouped by the name of the innermost
+	 * check which failed, see {@link CheckListener}.
+	 *
+	 * @param type
+	 * 		the class of the checked instance or the checked utility class, not null.
+	 * @param check
+	 * 		the check to run, not null.
+	 * @return true if the check passed.
+	 */
+	public boolean verify(final Class<?> type, final Runnable check) {
+		Objects.requireNonNull(type, "The parameter 'type' must not be null!");
+		Objects.requireNonNull(check, "The parameter 'check' must not be null!");
+
+		CheckListeners.clearFailedCheck();
+		try {
+			check.run();
+			return true;
+		} catch(final AssertionError e) {
+			final String failedCheck = CheckListeners.failedCheck();
+			add(failedCheck != null ? failedCheck : UNKNOWN_CHECK, type.getName(), String.valueOf(e.getMessage()));
+			return false;
+		} finally {
+			CheckListeners.clearFailedCheck();
+		}
+	}
+
+	/**
+	 * Adds a failure.
+	 *
+	 * @param check
+	 * 		the name of the failed check, not null.
+	 * @param type
+	 * 		the class of the checked instance or the checked utility class, not null.
+	 * @param message
+	 * 		the description of the failure, not null.
+	 */
+	public void add(final String check, final Class<?> type, final String message) {
+		Objects.requireNonNull(type, "The parameter 'type' must not be null!");
+
+		add(check, type.getName(), message);
+	}
+
+	/**
+	 * Adds a failure.
+	 *
+	 * @param check
+	 * 		the name of the failed check, not null.
+	 * @param typeName
+	 * 		the name of the checked type, not null.
+	 * @param message
+	 * 		the description of the failure, not null.
+	 */
+	public void add(final String check, final String typeName, final String message) {
+		Objects.requireNonNull(check, "The parameter 'check' must not be null!");
+		Objects.requireNonNull(typeName, "The parameter 'typeName' must not be null!");
+		Objects.requireNonNull(message, "The parameter 'message' must not be null!");
+
+		failureCount.increment();
+
+		final GroupKey key = new GroupKey(check, typeName);
+		FailureGroup group = groups.get(key);
+		if(group == null) {
+			if(groupCount.get() >= maxGroups) {
+				droppedCount.increment();
+				return;
+			}
+			final FailureGroup created = new FailureGroup(check, typeName, truncate(message));
+			group = groups.putIfAbsent(key, created);
+			if(group == null) {
+				if(groupCount.incrementAndGet() > maxGroups) {
+					groups.remove(key);
+					droppedCount.increment();
+					return;
+				}
+				group = created;
+				writeFirstFailure(created);
+			}
+		}
+		group.count.increment();
+	}
+
+	/**
+	 * @return the number of all added failures, including the failures of groups which were not kept.
+	 */
+	public long getFailureCount() {
+		return failureCount.sum();
+	}
+
+	/**
+	 * @return the number of failures of groups which were not kept, since {@code maxGroups} groups were already kept.
+	 */
+	public long getDroppedCount() {
+		return droppedCount.sum();
+	}
+
+	/**
+	 * @return the kept groups sorted by check and type name, never null.
+	 */
+	public List<FailureGroup> getGroups() {
+		final List<FailureGroup> result = new ArrayList<>(groups.values());
+		result.sort(Comparator.comparing(FailureGroup::getCheck).thenComparing(FailureGroup::getTypeName));
+		return result;
+	}
+
+	/**
+	 * @return true if no failure was added.
+	 */
+	public boolean isEmpty() {
+		return failureCount.sum() == 0;
+	}
+
+	/**
+	 * Verifies that no failure was added. Otherwise the error lists every kept group with its number of failures and
+	 * first message.
+	 */
+	public void assertNoFailures() {
+		if(isEmpty()) {
+			return;
+		}
+
+		final List<FailureGroup> sorted = getGroups();
+		final StringBuilder message = new StringBuilder();
+		message.append(getFailureCount()).append(" failure(s) in ").append(sorted.size()).append(" group(s)");
+		for(final FailureGroup group : sorted) {
+			message.append(System.lineSeparator()).append(System.lineSeparator()) //
+					.append(group.getCheck()).append(" of <").append(group.getTypeName()).append(">, ") //
+					.append(group.getCount()).append(" time(s): ").append(group.getFirstMessage());
+		}
+		final long dropped = getDroppedCount();
+		if(dropped > 0) {
+			message.append(System.lineSeparator()).append(System.lineSeparator()) //
+					.append(dropped).append(" further failure(s) of groups exceeding the maximum of ") //
+					.append(maxGroups).append(" group(s)");
+		}
+		fail(message.toString());
+	}
+
+	/**
+	 * Appends the counts of all kept groups to the report file and closes it.
+	 *
+	 * @throws IOException
+	 * 		if the report file cannot be written.
+	 */
+	@Override
+	public void close() throws IOException {
+		if(report == null) {
+			return;
+		}
+		synchronized(report) {
+			try {
+				for(final FailureGroup group : getGroups()) {
+					report.write("{\"check\":\"" + escape(group.getCheck()) + "\",\"type\":\"" + escape(group.getTypeName())
+							+ "\",\"count\":" + group.getCount() + "}");
+					report.newLine();
+				}
+				report.write("{\"failures\":" + getFailureCount() + ",\"dropped\":" + getDroppedCount() + "}");
+				report.newLine();
+			} finally {
+				report.close();
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "FailureCollector{failures=" + getFailureCount() + ", groups=" + groupCount.get() + ", dropped="
+				+ getDroppedCount() + "}";
+	}
+
+	private void writeFirstFailure(final FailureGroup group) {
+		if(report == null) {
+			return;
+		}
+		synchronized(report) {
+			try {
+				report.write("{\"check\":\"" + escape(group.getCheck()) + "\",\"type\":\"" + escape(group.getTypeName())
+						+ "\",\"message\":\"" + escape(group.getFirstMessage()) + "\"}");
+				report.newLine();
+				report.flush();
+			} catch(final IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	private static String truncate(final String message) {
+		return message.length() <= MAX_MESSAGE_LENGTH ? message
+				: message.substring(0, MAX_MESSAGE_LENGTH) + "... (" + (message.length() - MAX_MESSAGE_LENGTH)
+						+ " more characters)";
+	}
+
+	private static String escape(final String value) {
+		final StringBuilder escaped = new StringBuilder(value.length());
+		for(int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			if(c == '"' || c == '\\') {
+				escaped.append('\\').append(c);
+			} else if(c < 0x20) {
+				escaped.append(String.format("\\u%04x", (int) c));
+			} else {
+				escaped.append(c);
+			}
+		}
+		return escaped.toString();
+	}
+
+	/**
+	 * The failures of one check and type.
+	 */
+	public static final class FailureGroup {
+
+		private final String check;
+
+		private final String typeName;
+
+		private final String firstMessage;
+
+		private final LongAdder count = new LongAdder();
+
+		FailureGroup(final String check, final String typeName, final String firstMessage) {
+			this.check = check;
+			this.typeName = typeName;
+			this.firstMessage = firstMessage;
+		}
+
+		public String getCheck() {
+			return check;
+		}
+
+		public String getTypeName() {
+			return typeName;
+		}
+
+		public String getFirstMessage() {
+			return firstMessage;
+		}
+
+		public long getCount() {
+			return count.sum();
+		}
+
+		@Override
+		public String toString() {
+			return "FailureGroup{check=" + check + ", type=" + typeName + ", count=" + getCount() + "}";
+		}
+	}
+
+	private static final class GroupKey {
+
+		private final String check;
+
+		private final String typeName;
+
+		GroupKey(final String check, final String typeName) {
+			this.check = check;
+			this.typeName = typeName;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if(this == o) {
+				return true;
+			}
+			if(!(o instanceof GroupKey)) {
+				return false;
+			}
+			final GroupKey other = (GroupKey) o;
+			return check.equals(other.check) && typeName.equals(other.typeName);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * check.hashCode() + typeName.hashCode();
+		}
+	}
+}
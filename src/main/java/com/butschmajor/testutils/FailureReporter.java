@@ -0,0 +1,23 @@
+package com.butschmajor.testutils;
+
+/**
+ * Creates the errors thrown by failing checks. Implementations adapt the checks to an assertion library, so the checks
+ * themselves do not depend on one.
+ * <p>
+ * The reporter is chosen by {@link FailureReporters}. Implementations can be registered as service provider in
+ * {@code META-INF/services/com.butschmajor.testutils.FailureReporter}.
+ */
+@FunctionalInterface
+public interface FailureReporter {
+
+	/**
+	 * Creates the error reporting a failed check.
+	 *
+	 * @param message
+	 * 		the description of the failure, not null.
+	 * @param cause
+	 * 		the exception causing the failure, may be null.
+	 * @return the error to throw, never null.
+	 */
+	AssertionError createFailure(String message, Throwable cause);
+}
@@ -0,0 +1,110 @@
+package com.butschmajor.testutils;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.ServiceLoader;
+
+/**
+ * This class provide the {@link FailureReporter} used by all checks.
+ * <p>
+ * The reporter is chosen on first use: the system property {@value #PROPERTY} selects {@code plain}, {@code assertj},
+ * {@code junit} or names the class of a reporter with a public constructor without parameters. Without the property
+ * the first registered service provider is used and otherwise plain {@link AssertionError}s are thrown, so neither
+ * AssertJ nor JUnit is loaded unless selected.
+ */
+public final class FailureReporters {
+
+	/**
+	 * The system property selecting the reporter.
+	 */
+	public static final String PROPERTY = "com.butschmajor.testutils.failureReporter";
+
+	private static volatile FailureReporter reporter;
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private FailureReporters() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * @return the reporter used by all checks, never null.
+	 */
+	public static FailureReporter get() {
+		FailureReporter current = reporter;
+		if(current == null) {
+			synchronized(FailureReporters.class) {
+				current = reporter;
+				if(current == null) {
+					current = configured();
+					reporter = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Replaces the reporter used by all checks.
+	 *
+	 * @param failureReporter
+	 * 		the reporter to use, not null.
+	 */
+	public static void set(final FailureReporter failureReporter) {
+		Objects.requireNonNull(failureReporter, "The parameter 'failureReporter' must not be null!");
+
+		reporter = failureReporter;
+	}
+
+	/**
+	 * @return a reporter throwing plain {@link AssertionError}s, never null.
+	 */
+	public static FailureReporter plain() {
+		return AssertionError::new;
+	}
+
+	/**
+	 * @return a reporter throwing the errors of AssertJ, whose stack traces do not contain the frames of AssertJ, never
+	 * null. Requires AssertJ on the class path.
+	 */
+	public static FailureReporter assertj() {
+		return new AssertJFailureReporter();
+	}
+
+	/**
+	 * @return a reporter throwing {@code org.opentest4j.AssertionFailedError}s, which IDEs and build tools recognize as
+	 * assertion failures, never null. Requires JUnit 5 on the class path.
+	 */
+	public static FailureReporter junit() {
+		return new JUnitFailureReporter();
+	}
+
+	private static FailureReporter configured() {
+		final String name = System.getProperty(PROPERTY);
+		if(name != null && !name.isEmpty()) {
+			return named(name);
+		}
+
+		final Iterator<FailureReporter> providers = ServiceLoader.load(FailureReporter.class).iterator();
+		return providers.hasNext() ? providers.next() : plain();
+	}
+
+	private static FailureReporter named(final String name) {
+		switch(name) {
+			case "plain":
+				return plain();
+			case "assertj":
+				return assertj();
+			case "junit":
+				return junit();
+			default:
+				try {
+					return (FailureReporter) Class.forName(name).getConstructor().newInstance();
+				} catch(final ReflectiveOperationException | ClassCastException e) {
+					throw new IllegalStateException("The failure reporter <" + name + "> named by the system property "
+							+ PROPERTY + " cannot be created", e);
+				}
+		}
+	}
+}
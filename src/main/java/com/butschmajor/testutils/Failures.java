@@ -0,0 +1,41 @@
+package com.butschmajor.testutils;
+
+/**
+ * This class provide methods to fail a check with the error created by the configured {@link FailureReporter}.
+ */
+final class Failures {
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private Failures() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Fails with the formatted message.
+	 *
+	 * @param message
+	 * 		the message or its format if arguments are given, not null.
+	 * @param arguments
+	 * 		the arguments of the format, not null.
+	 * @return never returns normally, declared to be usable in expressions.
+	 */
+	static <T> T fail(final String message, final Object... arguments) {
+		throw FailureReporters.get().createFailure(arguments.length == 0 ? message : String.format(message, arguments),
+				null);
+	}
+
+	/**
+	 * Fails with the message and the exception causing the failure.
+	 *
+	 * @param message
+	 * 		the message, not null.
+	 * @param cause
+	 * 		the exception causing the failure, may be null.
+	 * @return never returns normally, declared to be usable in expressions.
+	 */
+	static <T> T fail(final String message, final Throwable cause) {
+		throw FailureReporters.get().createFailure(message, cause);
+	}
+}
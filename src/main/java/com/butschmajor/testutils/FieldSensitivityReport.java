@@ -0,0 +1,80 @@
+package com.butschmajor.testutils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The fields of an instance whose change is noticed by {@code equals} and {@code hashCode}.
+ *
+ * @see ContractTesters#assertEqualsFieldSensitivity(Object, String...)
+ */
+public final class FieldSensitivityReport {
+
+	private final String className;
+	private final List<String> verifiedFields;
+	private final List<String> equalsInsensitiveFields;
+	private final List<String> hashCodeInsensitiveFields;
+	private final List<String> skippedFields;
+
+	FieldSensitivityReport(final String className, final List<String> verifiedFields,
+			final List<String> equalsInsensitiveFields, final List<String> hashCodeInsensitiveFields,
+			final List<String> skippedFields) {
+		Objects.requireNonNull(className, "The parameter 'className' must not be null!");
+		Objects.requireNonNull(verifiedFields, "The parameter 'verifiedFields' must not be null!");
+		Objects.requireNonNull(equalsInsensitiveFields, "The parameter 'equalsInsensitiveFields' must not be null!");
+		Objects.requireNonNull(hashCodeInsensitiveFields, "The parameter 'hashCodeInsensitiveFields' must not be null!");
+		Objects.requireNonNull(skippedFields, "The parameter 'skippedFields' must not be null!");
+
+		this.className = className;
+		this.verifiedFields = Collections.unmodifiableList(new ArrayList<>(verifiedFields));
+		this.equalsInsensitiveFields = Collections.unmodifiableList(new ArrayList<>(equalsInsensitiveFields));
+		this.hashCodeInsensitiveFields = Collections.unmodifiableList(new ArrayList<>(hashCodeInsensitiveFields));
+		this.skippedFields = Collections.unmodifiableList(new ArrayList<>(skippedFields));
+	}
+
+	/**
+	 * @return the binary name of the class of the instance, never null.
+	 */
+	public String getClassName() {
+		return className;
+	}
+
+	/**
+	 * @return the names of the fields which have been changed, never null.
+	 */
+	public List<String> getVerifiedFields() {
+		return verifiedFields;
+	}
+
+	/**
+	 * @return the names of the changed fields for which the instance and its changed copy were still equal, never null.
+	 */
+	public List<String> getEqualsInsensitiveFields() {
+		return equalsInsensitiveFields;
+	}
+
+	/**
+	 * @return the names of the changed fields for which the instance and its changed copy still had the same hash code,
+	 * never null.
+	 */
+	public List<String> getHashCodeInsensitiveFields() {
+		return hashCodeInsensitiveFields;
+	}
+
+	/**
+	 * @return the names of the fields which could not be changed, because no different value of their type is known or
+	 * because {@code equals} or {@code hashCode} threw an exception for the changed value, never null.
+	 */
+	public List<String> getSkippedFields() {
+		return skippedFields;
+	}
+
+	@Override
+	public String toString() {
+		return "FieldSensitivityReport[className=" + className + ", verifiedFields=" + verifiedFields
+				+ ", equalsInsensitiveFields=" + equalsInsensitiveFields + ", hashCodeInsensitiveFields="
+				+ hashCodeInsensitiveFields + ", skippedFields=" + skippedFields + "]";
+	}
+}
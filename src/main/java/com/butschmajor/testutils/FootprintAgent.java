@@ -0,0 +1,109 @@
+package com.butschmajor.testutils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.instrument.Instrumentation;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * This class provide the {@link Instrumentation} used to measure the size of objects exactly.
+ * <p>
+ * The instrumentation is available if the JVM is started with {@code -javaagent:test-utils.jar}, or if it allows to
+ * attach an agent to itself ({@code -Djdk.attach.allowAttachSelf=true}), in which case the agent is attached locally
+ * on first use. Otherwise the sizes are estimated from the object layout.
+ */
+public final class FootprintAgent {
+
+	private static volatile Instrumentation instrumentation;
+	private static volatile boolean attachAttempted;
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private FootprintAgent() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Entry point of the agent if the JVM is started with {@code -javaagent}.
+	 *
+	 * @param arguments
+	 * 		the arguments of the agent, ignored.
+	 * @param instrumentation
+	 * 		the instrumentation of the JVM, not null.
+	 */
+	public static void premain(final String arguments, final Instrumentation instrumentation) {
+		FootprintAgent.instrumentation = instrumentation;
+	}
+
+	/**
+	 * Entry point of the agent if it is attached to a running JVM.
+	 *
+	 * @param arguments
+	 * 		the arguments of the agent, ignored.
+	 * @param instrumentation
+	 * 		the instrumentation of the JVM, not null.
+	 */
+	public static void agentmain(final String arguments, final Instrumentation instrumentation) {
+		FootprintAgent.instrumentation = instrumentation;
+	}
+
+	/**
+	 * @return the instrumentation of the JVM or null if no agent is attached and it cannot be attached locally.
+	 */
+	static Instrumentation instrumentation() {
+		if(instrumentation == null && !attachAttempted) {
+			synchronized(FootprintAgent.class) {
+				if(!attachAttempted) {
+					attachAttempted = true;
+					if(Boolean.getBoolean("jdk.attach.allowAttachSelf")) {
+						attachLocally();
+					}
+				}
+			}
+		}
+		return instrumentation;
+	}
+
+	/**
+	 * Attaches this class as agent to the running JVM. The attach API is accessed via reflection, since the module
+	 * {@code jdk.attach} is not part of every runtime image.
+	 */
+	private static void attachLocally() {
+		Path agentJar = null;
+		try {
+			agentJar = Files.createTempFile("footprint-agent", ".jar");
+			final Manifest manifest = new Manifest();
+			manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+			manifest.getMainAttributes().put(new Attributes.Name("Agent-Class"), FootprintAgent.class.getName());
+			try(OutputStream out = new JarOutputStream(Files.newOutputStream(agentJar), manifest)) {
+				out.flush();
+			}
+
+			final Class<?> virtualMachine = Class.forName("com.sun.tools.attach.VirtualMachine");
+			final Object vm = virtualMachine.getMethod("attach", String.class)
+					.invoke(null, String.valueOf(ProcessHandle.current().pid()));
+			try {
+				final Method loadAgent = virtualMachine.getMethod("loadAgent", String.class);
+				loadAgent.invoke(vm, agentJar.toString());
+			} finally {
+				virtualMachine.getMethod("detach").invoke(vm);
+			}
+		} catch(final IOException | ReflectiveOperationException | RuntimeException | LinkageError e) {
+			// The sizes are estimated
+		} finally {
+			if(agentJar != null) {
+				try {
+					Files.deleteIfExists(agentJar);
+				} catch(final IOException e) {
+					agentJar.toFile().deleteOnExit();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.butschmajor.testutils;
+
+/**
+ * The maximum memory footprint of an instance. Instances are immutable, every {@code with*} method returns a modified
+ * copy.
+ *
+ * @see ContractTesters#assertFootprint(Object, FootprintBudget)
+ */
+public final class FootprintBudget {
+
+	private final long maxRetainedBytes;
+	private final long maxShallowBytes;
+	private final long maxPaddingBytes;
+
+	private FootprintBudget(final long maxRetainedBytes, final long maxShallowBytes, final long maxPaddingBytes) {
+		this.maxRetainedBytes = maxRetainedBytes;
+		this.maxShallowBytes = maxShallowBytes;
+		this.maxPaddingBytes = maxPaddingBytes;
+	}
+
+	/**
+	 * Creates a budget limiting the retained size, but neither the shallow size nor the padding.
+	 *
+	 * @param maxRetainedBytes
+	 * 		the maximum number of bytes of the instance and all objects reachable from it, positive.
+	 * @return the budget, never null.
+	 */
+	public static FootprintBudget of(final long maxRetainedBytes) {
+		if(maxRetainedBytes <= 0) {
+			throw new IllegalArgumentException("The parameter 'maxRetainedBytes' must be positive!");
+		}
+		return new FootprintBudget(maxRetainedBytes, Long.MAX_VALUE, Long.MAX_VALUE);
+	}
+
+	/**
+	 * @param maxShallowBytes
+	 * 		the maximum number of bytes of the instance itself, positive.
+	 * @return the modified budget, never null.
+	 */
+	public FootprintBudget withMaxShallowBytes(final long maxShallowBytes) {
+		if(maxShallowBytes <= 0) {
+			throw new IllegalArgumentException("The parameter 'maxShallowBytes' must be positive!");
+		}
+		return new FootprintBudget(maxRetainedBytes, maxShallowBytes, maxPaddingBytes);
+	}
+
+	/**
+	 * @param maxPaddingBytes
+	 * 		the maximum number of bytes of the instance itself used neither by the header nor by a field, not negative.
+	 * @return the modified budget, never null.
+	 */
+	public FootprintBudget withMaxPaddingBytes(final long maxPaddingBytes) {
+		if(maxPaddingBytes < 0) {
+			throw new IllegalArgumentException("The parameter 'maxPaddingBytes' must not be negative!");
+		}
+		return new FootprintBudget(maxRetainedBytes, maxShallowBytes, maxPaddingBytes);
+	}
+
+	public long getMaxRetainedBytes() {
+		return maxRetainedBytes;
+	}
+
+	public long getMaxShallowBytes() {
+		return maxShallowBytes;
+	}
+
+	public long getMaxPaddingBytes() {
+		return maxPaddingBytes;
+	}
+
+	@Override
+	public String toString() {
+		return "FootprintBudget[maxRetainedBytes=" + maxRetainedBytes + ", maxShallowBytes=" + maxShallowBytes
+				+ ", maxPaddingBytes=" + maxPaddingBytes + "]";
+	}
+}
@@ -0,0 +1,193 @@
+package com.butschmajor.testutils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The memory footprint of an instance and of the objects reachable from it.
+ *
+ * @see ContractTesters#measureFootprint(Object)
+ */
+public final class FootprintReport {
+
+	/**
+	 * How the sizes of the objects were determined.
+	 */
+	public enum Source {
+		/**
+		 * The objects were sized by an {@link java.lang.instrument.Instrumentation} agent.
+		 */
+		INSTRUMENTATION,
+		/**
+		 * The field offsets were read from the JVM, the object sizes were derived from them.
+		 */
+		FIELD_OFFSETS,
+		/**
+		 * The field offsets and object sizes were estimated from the field order of HotSpot.
+		 */
+		ESTIMATE
+	}
+
+	private final String className;
+	private final long shallowBytes;
+	private final long headerBytes;
+	private final long paddingBytes;
+	private final long retainedBytes;
+	private final int reachableObjects;
+	private final List<FieldFootprint> fields;
+	private final Source source;
+
+	FootprintReport(final String className, final long shallowBytes, final long headerBytes, final long paddingBytes,
+			final long retainedBytes, final int reachableObjects, final List<FieldFootprint> fields, final Source source) {
+		Objects.requireNonNull(className, "The parameter 'className' must not be null!");
+		Objects.requireNonNull(fields, "The parameter 'fields' must not be null!");
+		Objects.requireNonNull(source, "The parameter 'source' must not be null!");
+
+		this.className = className;
+		this.shallowBytes = shallowBytes;
+		this.headerBytes = headerBytes;
+		this.paddingBytes = paddingBytes;
+		this.retainedBytes = retainedBytes;
+		this.reachableObjects = reachableObjects;
+		this.fields = Collections.unmodifiableList(new ArrayList<>(fields));
+		this.source = source;
+	}
+
+	/**
+	 * @return the binary name of the class of the instance, never null.
+	 */
+	public String getClassName() {
+		return className;
+	}
+
+	/**
+	 * @return the number of bytes of the instance itself.
+	 */
+	public long getShallowBytes() {
+		return shallowBytes;
+	}
+
+	/**
+	 * @return the number of bytes of the object header, including the length of an array.
+	 */
+	public long getHeaderBytes() {
+		return headerBytes;
+	}
+
+	/**
+	 * @return the number of bytes of the instance itself used neither by the header nor by a field or an array element,
+	 * caused by the alignment of the fields and of the object.
+	 */
+	public long getPaddingBytes() {
+		return paddingBytes;
+	}
+
+	/**
+	 * @return the number of bytes of the instance and all objects reachable from it. Shared objects like classes and enum
+	 * constants are not counted.
+	 */
+	public long getRetainedBytes() {
+		return retainedBytes;
+	}
+
+	/**
+	 * @return the number of objects counted in the retained size, including the instance itself.
+	 */
+	public int getReachableObjects() {
+		return reachableObjects;
+	}
+
+	/**
+	 * @return the instance fields of the instance including the inherited ones ordered by their offset, never null. The
+	 * elements of an array are not listed.
+	 */
+	public List<FieldFootprint> getFields() {
+		return fields;
+	}
+
+	/**
+	 * @return how the sizes were determined, never null.
+	 */
+	public Source getSource() {
+		return source;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(String.format(Locale.ROOT,
+				"%s: shallow %d bytes (header %d, padding %d), retained %d bytes in %d objects, %s", className,
+				shallowBytes, headerBytes, paddingBytes, retainedBytes, reachableObjects,
+				source.name().toLowerCase(Locale.ROOT).replace('_', ' ')));
+		for(final FieldFootprint field : fields) {
+			builder.append(System.lineSeparator()).append(field);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * The contribution of a single field to the footprint of an instance.
+	 */
+	public static final class FieldFootprint {
+
+		private final String name;
+		private final String type;
+		private final long offset;
+		private final int size;
+		private final long retainedBytes;
+
+		FieldFootprint(final String name, final String type, final long offset, final int size,
+				final long retainedBytes) {
+			this.name = name;
+			this.type = type;
+			this.offset = offset;
+			this.size = size;
+			this.retainedBytes = retainedBytes;
+		}
+
+		/**
+		 * @return the simple name of the declaring class and the name of the field, separated by a dot.
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the simple name of the declared type of the field.
+		 */
+		public String getType() {
+			return type;
+		}
+
+		/**
+		 * @return the offset of the field in the instance in bytes.
+		 */
+		public long getOffset() {
+			return offset;
+		}
+
+		/**
+		 * @return the number of bytes the field occupies in the instance.
+		 */
+		public int getSize() {
+			return size;
+		}
+
+		/**
+		 * @return the number of bytes of the objects reachable from the instance first through this field, zero for
+		 * primitive fields and null references.
+		 */
+		public long getRetainedBytes() {
+			return retainedBytes;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT, "  offset %3d: %-20s %-24s %d bytes, retains %d bytes", offset, type,
+					name, size, retainedBytes);
+		}
+	}
+}
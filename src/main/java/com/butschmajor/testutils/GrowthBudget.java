@@ -0,0 +1,123 @@
+package com.butschmajor.testutils;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The maximum growth exponent of the cost of {@code equals}, {@code hashCode} and {@code compareTo} over the size of the
+ * compared instances, together with the parameters of the measurement. A cost growing with O(n^k) has the exponent k.
+ * Instances are immutable, every {@code with*} method returns a modified copy.
+ *
+ * @see ContractTesters#assertEqualsAndHashCodeGrowth(java.util.function.IntFunction, GrowthBudget)
+ */
+public final class GrowthBudget {
+
+	private final double maxExponent;
+	private final double tolerance;
+	private final int minSize;
+	private final int maxSize;
+	private final long timeoutNanos;
+
+	private GrowthBudget(final double maxExponent, final double tolerance, final int minSize, final int maxSize,
+			final long timeoutNanos) {
+		this.maxExponent = maxExponent;
+		this.tolerance = tolerance;
+		this.minSize = minSize;
+		this.maxSize = maxSize;
+		this.timeoutNanos = timeoutNanos;
+	}
+
+	/**
+	 * Creates a budget measured at sizes doubling from 64 to 16,384 with a tolerance of 0.25 and a timeout of 10 seconds.
+	 *
+	 * @param maxExponent
+	 * 		the maximum growth exponent, not negative.
+	 * @return the budget, never null.
+	 */
+	public static GrowthBudget of(final double maxExponent) {
+		if(!(maxExponent >= 0)) {
+			throw new IllegalArgumentException("The parameter 'maxExponent' must not be negative!");
+		}
+		return new GrowthBudget(maxExponent, 0.25, 64, 1 << 14, TimeUnit.SECONDS.toNanos(10));
+	}
+
+	/**
+	 * @return a budget allowing at most a linear growth, O(n).
+	 * @see #of(double)
+	 */
+	public static GrowthBudget linear() {
+		return of(1);
+	}
+
+	/**
+	 * @param tolerance
+	 * 		the amount the fitted exponent may exceed the maximum exponent to absorb the noise of the measurement, not
+	 * 		negative.
+	 * @return the modified budget, never null.
+	 */
+	public GrowthBudget withTolerance(final double tolerance) {
+		if(!(tolerance >= 0)) {
+			throw new IllegalArgumentException("The parameter 'tolerance' must not be negative!");
+		}
+		return new GrowthBudget(maxExponent, tolerance, minSize, maxSize, timeoutNanos);
+	}
+
+	/**
+	 * @param minSize
+	 * 		the smallest measured size, positive.
+	 * @param maxSize
+	 * 		the largest measured size, at least four times the smallest size, so at least three sizes are measured.
+	 * @return the modified budget, never null.
+	 */
+	public GrowthBudget withSizes(final int minSize, final int maxSize) {
+		if(minSize <= 0) {
+			throw new IllegalArgumentException("The parameter 'minSize' must be positive!");
+		}
+		if(maxSize / 4 < minSize) {
+			throw new IllegalArgumentException("The parameter 'maxSize' must be at least four times 'minSize'!");
+		}
+		return new GrowthBudget(maxExponent, tolerance, minSize, maxSize, timeoutNanos);
+	}
+
+	/**
+	 * @param timeout
+	 * 		the maximum duration of the whole measurement, after which it fails because an operation may not terminate,
+	 * 		positive.
+	 * @param unit
+	 * 		the unit of the timeout, not null.
+	 * @return the modified budget, never null.
+	 */
+	public GrowthBudget withTimeout(final long timeout, final TimeUnit unit) {
+		if(timeout <= 0) {
+			throw new IllegalArgumentException("The parameter 'timeout' must be positive!");
+		}
+		Objects.requireNonNull(unit, "The parameter 'unit' must not be null!");
+		return new GrowthBudget(maxExponent, tolerance, minSize, maxSize, unit.toNanos(timeout));
+	}
+
+	public double getMaxExponent() {
+		return maxExponent;
+	}
+
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	public int getMinSize() {
+		return minSize;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public long getTimeoutNanos() {
+		return timeoutNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "GrowthBudget[maxExponent=" + maxExponent + ", tolerance=" + tolerance + ", minSize=" + minSize
+				+ ", maxSize=" + maxSize + ", timeoutNanos=" + timeoutNanos + "]";
+	}
+}
@@ -0,0 +1,112 @@
+package com.butschmajor.testutils;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The cost of {@code equals}, {@code hashCode} and {@code compareTo} for instances of growing size.
+ * <p>
+ * The growth is summarized by the exponent k of a cost growing with O(n^k), fitted as the slope of the logarithm of the
+ * cost over the logarithm of the size. A linear cost has an exponent of about 1, a quadratic cost of about 2.
+ *
+ * @see ContractTesters#assertEqualsAndHashCodeGrowth(java.util.function.IntFunction, GrowthBudget)
+ */
+public final class GrowthReport {
+
+	private final String className;
+	private final int[] sizes;
+	private final double[] equalsNanos;
+	private final double[] hashCodeNanos;
+	private final double[] compareToNanos;
+
+	GrowthReport(final String className, final int[] sizes, final double[] equalsNanos, final double[] hashCodeNanos,
+			final double[] compareToNanos) {
+		Objects.requireNonNull(className, "The parameter 'className' must not be null!");
+		Objects.requireNonNull(sizes, "The parameter 'sizes' must not be null!");
+		Objects.requireNonNull(equalsNanos, "The parameter 'equalsNanos' must not be null!");
+		Objects.requireNonNull(hashCodeNanos, "The parameter 'hashCodeNanos' must not be null!");
+
+		this.className = className;
+		this.sizes = sizes.clone();
+		this.equalsNanos = equalsNanos.clone();
+		this.hashCodeNanos = hashCodeNanos.clone();
+		this.compareToNanos = compareToNanos == null ? null : compareToNanos.clone();
+	}
+
+	/**
+	 * @return the binary name of the class of the measured instances, never null.
+	 */
+	public String getClassName() {
+		return className;
+	}
+
+	/**
+	 * @return the measured sizes in ascending order, never null. Larger sizes are skipped once a single call takes
+	 * milliseconds.
+	 */
+	public int[] getSizes() {
+		return sizes.clone();
+	}
+
+	/**
+	 * @return the cost of a single call of {@code equals} in nanoseconds for every measured size, never null.
+	 */
+	public double[] getEqualsNanos() {
+		return equalsNanos.clone();
+	}
+
+	/**
+	 * @return the cost of a single call of {@code hashCode} in nanoseconds for every measured size, never null.
+	 */
+	public double[] getHashCodeNanos() {
+		return hashCodeNanos.clone();
+	}
+
+	/**
+	 * @return the cost of a single call of {@code compareTo} in nanoseconds for every measured size, or null if
+	 * {@code compareTo} was not measured.
+	 */
+	public double[] getCompareToNanos() {
+		return compareToNanos == null ? null : compareToNanos.clone();
+	}
+
+	/**
+	 * @return the growth exponent of {@code equals}.
+	 */
+	public double getEqualsExponent() {
+		return LogLogRegression.slope(sizes, equalsNanos);
+	}
+
+	/**
+	 * @return the growth exponent of {@code hashCode}.
+	 */
+	public double getHashCodeExponent() {
+		return LogLogRegression.slope(sizes, hashCodeNanos);
+	}
+
+	/**
+	 * @return the growth exponent of {@code compareTo}, or NaN if {@code compareTo} was not measured.
+	 */
+	public double getCompareToExponent() {
+		return compareToNanos == null ? Double.NaN : LogLogRegression.slope(sizes, compareToNanos);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(String.format(Locale.ROOT, "%s: exponent %.3f of equals, %.3f of hashCode", className,
+				getEqualsExponent(), getHashCodeExponent()));
+		if(compareToNanos != null) {
+			builder.append(String.format(Locale.ROOT, ", %.3f of compareTo", getCompareToExponent()));
+		}
+		for(int i = 0; i < sizes.length; i++) {
+			builder.append(System.lineSeparator()).append(String.format(Locale.ROOT,
+					"  size %6d: %12.1f ns per equals, %12.1f ns per hashCode", sizes[i], equalsNanos[i],
+					hashCodeNanos[i]));
+			if(compareToNanos != null) {
+				builder.append(String.format(Locale.ROOT, ", %12.1f ns per compareTo", compareToNanos[i]));
+			}
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,284 @@
+package com.butschmajor.testutils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * This class provide methods to compare the hash codes of an instance set with golden files and across JVMs.
+ * <p>
+ * A golden file stores the hash codes in the order of the instances: the magic number {@value #MAGIC}, the format
+ * version, the number of hash codes and the hash codes, all as little-endian {@code int}s.
+ * <p>
+ * The child JVMs run {@link HashDeterminismChild} with different heap sizes and garbage collectors. Before computing
+ * the hash codes each child draws a different number of identity hash codes, since HotSpot draws identity hash codes
+ * from a per-thread pseudo-random sequence, which is the same in every run of an unchanged JVM.
+ */
+final class HashDeterminismChecker {
+
+	/**
+	 * Magic number of golden files, "HASH" in ASCII.
+	 */
+	static final int MAGIC = 0x48534148;
+
+	/**
+	 * Version of the golden file format.
+	 */
+	static final int VERSION = 1;
+
+	/**
+	 * Maximum number of changed hash codes described in a report.
+	 */
+	static final int MAX_EXAMPLES = 10;
+
+	/**
+	 * Maximum duration of a child JVM.
+	 */
+	private static final long CHILD_TIMEOUT_SECONDS = 120;
+
+	/**
+	 * The options and the number of identity hash codes drawn before the hash codes of every child JVM.
+	 */
+	private static final List<ChildSettings> CHILDREN = Collections.unmodifiableList(Arrays.asList(
+			new ChildSettings(17, "-Xmx64m", "-XX:+UseSerialGC"),
+			new ChildSettings(4099, "-Xmx512m", "-XX:+UseParallelGC")));
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private HashDeterminismChecker() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Computes the hash codes of the instances in parallel.
+	 *
+	 * @param instances
+	 * 		the instances, not null and without null elements.
+	 * @return the hash codes in the order of the instances, never null.
+	 */
+	static int[] hashCodes(final Object[] instances) {
+		for(final Object instance : instances) {
+			Objects.requireNonNull(instance, "The parameter 'instances' must not contain null!");
+		}
+		final int[] hashes = new int[instances.length];
+		ParallelChecks.forEach(instances.length, i -> hashes[i] = instances[i].hashCode());
+		return hashes;
+	}
+
+	/**
+	 * Writes the hash codes to a golden file, replacing an existing file.
+	 */
+	static void write(final Path file, final int[] hashes) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(3 * Integer.BYTES + hashes.length * Integer.BYTES)
+				.order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(hashes.length);
+		buffer.asIntBuffer().put(hashes);
+		buffer.rewind();
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while(buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Reads the hash codes of a golden file.
+	 *
+	 * @throws IOException
+	 * 		if the file cannot be read or is not a golden file.
+	 */
+	static int[] read(final Path file) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+		if(buffer.remaining() < 3 * Integer.BYTES || buffer.getInt() != MAGIC) {
+			throw new IOException("The file <" + file + "> is not a golden hash file");
+		}
+		final int version = buffer.getInt();
+		if(version != VERSION) {
+			throw new IOException("The golden hash file <" + file + "> has the unsupported version " + version);
+		}
+		final int count = buffer.getInt();
+		if(count < 0 || buffer.remaining() != (long) count * Integer.BYTES) {
+			throw new IOException("The golden hash file <" + file + "> is truncated, it should contain " + count
+					+ " hash codes");
+		}
+		final int[] hashes = new int[count];
+		buffer.asIntBuffer().get(hashes);
+		return hashes;
+	}
+
+	/**
+	 * Compares the hash codes of the instances with the expected hash codes.
+	 *
+	 * @param source
+	 * 		the description of the expected hash codes, not null.
+	 * @param instances
+	 * 		the instances, not null.
+	 * @param expected
+	 * 		the expected hash codes in the order of the instances, not null.
+	 * @param actual
+	 * 		the hash codes of the instances, not null.
+	 * @param shards
+	 * 		the number of shards, positive.
+	 * @return the report, never null.
+	 */
+	static HashDeterminismReport compare(final String source, final Object[] instances, final int[] expected,
+			final int[] actual, final int shards) {
+		if(expected.length != actual.length) {
+			throw new IllegalArgumentException(
+					source + " contains " + expected.length + " hash codes, but " + actual.length
+							+ " instances were given. The instance set must be the same in every run!");
+		}
+
+		int changed = 0;
+		int moved = 0;
+		final List<String> examples = new ArrayList<>();
+		for(int i = 0; i < actual.length; i++) {
+			if(expected[i] == actual[i]) {
+				continue;
+			}
+			changed++;
+			final boolean movedShard = Math.floorMod(expected[i], shards) != Math.floorMod(actual[i], shards);
+			if(movedShard) {
+				moved++;
+			}
+			if(examples.size() < MAX_EXAMPLES) {
+				examples.add(String.format("instance %d <%s>: expected hash 0x%08x, but was 0x%08x%s", i, instances[i],
+						expected[i], actual[i], movedShard ? ", moves from shard " + Math.floorMod(expected[i], shards)
+								+ " to " + Math.floorMod(actual[i], shards) : ""));
+			}
+		}
+		return new HashDeterminismReport(source, actual.length, changed, moved, shards, examples);
+	}
+
+	/**
+	 * Compares the hash codes of the instances created by the generator in this JVM with the hash codes computed by
+	 * child JVMs with different settings.
+	 *
+	 * @param generator
+	 * 		the class of the generator, with a public constructor without parameters, not null.
+	 * @param shards
+	 * 		the number of shards, positive.
+	 * @return the report of every child JVM, never null.
+	 * @throws IOException
+	 * 		if a child JVM cannot be started or its hash codes cannot be read.
+	 */
+	static List<HashDeterminismReport> compareWithChildren(final Class<?> generator, final int shards)
+			throws IOException {
+		final Object[] instances = generate(generator.getName());
+		final int[] hashes = hashCodes(instances);
+
+		final List<HashDeterminismReport> reports = new ArrayList<>();
+		for(final ChildSettings child : CHILDREN) {
+			final int[] childHashes = runChild(generator, child);
+			reports.add(compare(child.toString(), instances, childHashes, hashes, shards));
+		}
+		return reports;
+	}
+
+	/**
+	 * Creates the instances of a generator.
+	 *
+	 * @param generatorName
+	 * 		the binary name of a class implementing {@code Supplier<Collection<?>>} with a public constructor without
+	 * 		parameters, not null.
+	 * @return the instances in the order of the collection, never null.
+	 */
+	static Object[] generate(final String generatorName) {
+		final Object generator;
+		try {
+			generator = Class.forName(generatorName, true, Thread.currentThread().getContextClassLoader())
+					.getConstructor().newInstance();
+		} catch(final ReflectiveOperationException e) {
+			throw new IllegalArgumentException("The generator <" + generatorName
+					+ "> must have a public constructor without parameters!", e);
+		}
+		if(!(generator instanceof Supplier)) {
+			throw new IllegalArgumentException("The generator <" + generatorName + "> must implement Supplier!");
+		}
+		final Object instances = ((Supplier<?>) generator).get();
+		if(!(instances instanceof Collection)) {
+			throw new IllegalArgumentException("The generator <" + generatorName + "> must supply a Collection!");
+		}
+		return ((Collection<?>) instances).toArray();
+	}
+
+	/**
+	 * Runs a child JVM writing the hash codes of the generated instances to a temporary golden file.
+	 *
+	 * @return the hash codes computed by the child JVM, never null.
+	 */
+	private static int[] runChild(final Class<?> generator, final ChildSettings child) throws IOException {
+		final Path hashes = Files.createTempFile("hashes", ".bin");
+		final Path log = Files.createTempFile("hashes", ".log");
+		try {
+			final List<String> command = new ArrayList<>();
+			command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+			command.addAll(child.options);
+			command.add("-cp");
+			command.add(System.getProperty("java.class.path"));
+			command.add(HashDeterminismChild.class.getName());
+			command.add(generator.getName());
+			command.add(String.valueOf(child.identityHashes));
+			command.add(hashes.toString());
+
+			final Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile())
+					.start();
+			final boolean exited;
+			try {
+				exited = process.waitFor(CHILD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+			} catch(final InterruptedException e) {
+				process.destroyForcibly();
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for the " + child, e);
+			}
+			if(!exited) {
+				process.destroyForcibly();
+				throw new IllegalStateException(
+						"The " + child + " did not complete within " + CHILD_TIMEOUT_SECONDS + " seconds");
+			}
+			if(process.exitValue() != 0) {
+				throw new IllegalStateException("The " + child + " failed with exit code " + process.exitValue() + ":"
+						+ System.lineSeparator() + new String(Files.readAllBytes(log), StandardCharsets.UTF_8));
+			}
+			return read(hashes);
+		} finally {
+			Files.deleteIfExists(hashes);
+			Files.deleteIfExists(log);
+		}
+	}
+
+	/**
+	 * The options of a child JVM.
+	 */
+	private static final class ChildSettings {
+
+		private final int identityHashes;
+		private final List<String> options;
+
+		ChildSettings(final int identityHashes, final String... options) {
+			this.identityHashes = identityHashes;
+			this.options = Collections.unmodifiableList(Arrays.asList(options));
+		}
+
+		@Override
+		public String toString() {
+			return "child JVM " + options + " drawing " + identityHashes + " identity hash codes first";
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.butschmajor.testutils;
+
+import java.nio.file.Paths;
+
+/**
+ * Entry point of the child JVMs started by {@link HashQualityTester#assertHashCodeDeterminism(Class, int)}. Writes the
+ * hash codes of the generated instances to a golden file.
+ */
+public final class HashDeterminismChild {
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private HashDeterminismChild() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * @param args
+	 * 		the binary name of the generator, the number of identity hash codes to draw first and the golden file to
+	 * 		write.
+	 * @throws Exception
+	 * 		if the hash codes cannot be computed or written, which exits the JVM with a non-zero exit code.
+	 */
+	public static void main(final String[] args) throws Exception {
+		if(args.length != 3) {
+			throw new IllegalArgumentException("Usage: HashDeterminismChild <generator> <identityHashes> <file>");
+		}
+
+		// Advance the per-thread sequence of identity hash codes of the main thread
+		final Object[] drawn = new Object[Integer.parseInt(args[1])];
+		for(int i = 0; i < drawn.length; i++) {
+			drawn[i] = new Object();
+			System.identityHashCode(drawn[i]);
+		}
+
+		// Generate and hash on the main thread, whose sequence was advanced
+		final Object[] instances = HashDeterminismChecker.generate(args[0]);
+		final int[] hashes = new int[instances.length];
+		for(int i = 0; i < instances.length; i++) {
+			hashes[i] = instances[i].hashCode();
+		}
+		HashDeterminismChecker.write(Paths.get(args[2]), hashes);
+	}
+}
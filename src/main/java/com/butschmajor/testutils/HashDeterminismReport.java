@@ -0,0 +1,102 @@
+package com.butschmajor.testutils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The comparison of the hash codes of an instance set with the hash codes expected by a golden file or computed by
+ * another JVM.
+ * <p>
+ * Instances are assigned to shards by the hash code modulo the number of shards, so a changed hash code moves an
+ * instance to another shard unless both hash codes map to the same shard.
+ *
+ * @see HashQualityTester#assertGoldenHashes(java.util.Collection, java.nio.file.Path, int)
+ */
+public final class HashDeterminismReport {
+
+	private final String source;
+	private final int instances;
+	private final int changedHashes;
+	private final int movedInstances;
+	private final int shards;
+	private final List<String> examples;
+
+	HashDeterminismReport(final String source, final int instances, final int changedHashes, final int movedInstances,
+			final int shards, final List<String> examples) {
+		Objects.requireNonNull(source, "The parameter 'source' must not be null!");
+		Objects.requireNonNull(examples, "The parameter 'examples' must not be null!");
+
+		this.source = source;
+		this.instances = instances;
+		this.changedHashes = changedHashes;
+		this.movedInstances = movedInstances;
+		this.shards = shards;
+		this.examples = Collections.unmodifiableList(new ArrayList<>(examples));
+	}
+
+	/**
+	 * @return the description of the expected hash codes, e.g. the golden file or the settings of the child JVM, never
+	 * null.
+	 */
+	public String getSource() {
+		return source;
+	}
+
+	/**
+	 * @return the number of compared instances.
+	 */
+	public int getInstances() {
+		return instances;
+	}
+
+	/**
+	 * @return the number of instances whose hash code differs from the expected one.
+	 */
+	public int getChangedHashes() {
+		return changedHashes;
+	}
+
+	/**
+	 * @return the number of instances which would move to another shard.
+	 */
+	public int getMovedInstances() {
+		return movedInstances;
+	}
+
+	/**
+	 * @return the number of shards the instances are distributed over.
+	 */
+	public int getShards() {
+		return shards;
+	}
+
+	/**
+	 * @return the descriptions of the first changed hash codes, never null.
+	 */
+	public List<String> getExamples() {
+		return examples;
+	}
+
+	/**
+	 * @return true if all hash codes are equal to the expected ones.
+	 */
+	public boolean isDeterministic() {
+		return changedHashes == 0;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(String.format(Locale.ROOT,
+				"%s: %d of %d hash codes changed, %d instances (%.2f%%) would move to another of %d shards", source,
+				changedHashes, instances, movedInstances, instances == 0 ? 0.0 : 100.0 * movedInstances / instances,
+				shards));
+		for(final String example : examples) {
+			builder.append(System.lineSeparator()).append("  ").append(example);
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,219 @@
+package com.butschmajor.testutils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * This class provide methods to analyze the distribution of hash codes stored in a primitive array.
+ * <p>
+ * Bucket indices are computed with the spread function shared by {@code HashMap} and {@code ConcurrentHashMap}, so the
+ * occupancy reflects the tables the hash codes end up in. Chain lengths are counted in a byte per bucket, which keeps
+ * the analysis of tens of millions of hash codes within a few hundred megabytes.
+ */
+final class HashQualityAnalyzer {
+
+	/**
+	 * Default load factor of {@code HashMap}.
+	 */
+	private static final float LOAD_FACTOR = 0.75f;
+
+	/**
+	 * Maximum capacity of {@code HashMap}.
+	 */
+	private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+	/**
+	 * Chain length at which {@code HashMap} converts a bucket into a tree.
+	 */
+	private static final int TREEIFY_THRESHOLD = 8;
+
+	/**
+	 * Chain length at which the per bucket counters saturate.
+	 */
+	private static final int MAX_COUNT = 0xFF;
+
+	/**
+	 * Number of hash codes a parallel task of the bit statistics covers.
+	 */
+	private static final int CHUNK_SIZE = 1 << 16;
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private HashQualityAnalyzer() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Analyzes the distribution of the given hash codes.
+	 *
+	 * @param hashes
+	 * 		the hash codes of distinct instances, not null. The array is not modified.
+	 * @param tableSizes
+	 * 		the table sizes to analyze, each a power of two. If empty, the size {@code HashMap} chooses for the sample and
+	 * 		twice that size are analyzed.
+	 * @return the report, never null.
+	 */
+	static HashQualityReport analyze(final int[] hashes, final int[] tableSizes) {
+		Objects.requireNonNull(hashes, "The parameter 'hashes' must not be null!");
+		Objects.requireNonNull(tableSizes, "The parameter 'tableSizes' must not be null!");
+
+		final int[] sizes = tableSizes.length == 0 ? defaultTableSizes(hashes.length) : tableSizes.clone();
+		Arrays.sort(sizes);
+
+		final List<HashQualityReport.TableOccupancy> tables = new ArrayList<>(sizes.length);
+		final byte[] counts = new byte[sizes.length == 0 ? 0 : sizes[sizes.length - 1]];
+		for(final int size : sizes) {
+			tables.add(occupancy(hashes, size, counts));
+		}
+
+		final long[] bitStatistics = bitStatistics(hashes);
+		final double[] bitProbabilities = new double[Integer.SIZE];
+		for(int bit = 0; bit < Integer.SIZE; bit++) {
+			bitProbabilities[bit] = hashes.length == 0 ? 0.5 : (double) bitStatistics[bit] / hashes.length;
+		}
+		final double avalanche = hashes.length < 2 ? 0.5
+				: (double) bitStatistics[Integer.SIZE] / ((long) Integer.SIZE * (hashes.length - 1));
+
+		return new HashQualityReport(hashes.length, collisions(hashes), tables, bitProbabilities, avalanche);
+	}
+
+	/**
+	 * Verifies the report against the thresholds.
+	 *
+	 * @param report
+	 * 		the report to verify, not null.
+	 * @param thresholds
+	 * 		the thresholds to verify, not null.
+	 * @return a description of every exceeded threshold, empty if the report complies with the thresholds, never null.
+	 */
+	static List<String> violations(final HashQualityReport report, final HashQualityThresholds thresholds) {
+		Objects.requireNonNull(report, "The parameter 'report' must not be null!");
+		Objects.requireNonNull(thresholds, "The parameter 'thresholds' must not be null!");
+
+		final List<String> violations = new ArrayList<>();
+		if(report.getCollisionRate() > thresholds.getMaxCollisionRate()) {
+			violations.add(String.format(Locale.ROOT, "The collision rate %.5f exceeds %.5f", report.getCollisionRate(),
+					thresholds.getMaxCollisionRate()));
+		}
+		for(final HashQualityReport.TableOccupancy table : report.getTables()) {
+			if(table.getMaxChainLength() > thresholds.getMaxChainLength()) {
+				violations.add(String.format(Locale.ROOT, "The maximum chain length %d in a table of %d buckets exceeds %d",
+						table.getMaxChainLength(), table.getTableSize(), thresholds.getMaxChainLength()));
+			}
+			if(table.getOccupancyRatio() < thresholds.getMinOccupancyRatio()) {
+				violations.add(String.format(Locale.ROOT,
+						"Only %d buckets of a table of %d buckets are occupied, but %.0f are expected for uniformly distributed hash codes",
+						table.getOccupiedBuckets(), table.getTableSize(), table.getExpectedOccupiedBuckets()));
+			}
+		}
+		if(report.getMaxBitBias() > thresholds.getMaxBitBias()) {
+			violations.add(String.format(Locale.ROOT, "The bit bias %.4f exceeds %.4f", report.getMaxBitBias(),
+					thresholds.getMaxBitBias()));
+		}
+		if(report.getAvalanche() < thresholds.getMinAvalanche()) {
+			violations.add(String.format(Locale.ROOT, "The avalanche %.4f is below %.4f", report.getAvalanche(),
+					thresholds.getMinAvalanche()));
+		}
+		return violations;
+	}
+
+	/**
+	 * Computes the bucket index like {@code HashMap} and {@code ConcurrentHashMap}.
+	 *
+	 * @param hash
+	 * 		the hash code.
+	 * @param tableSize
+	 * 		the number of buckets, a power of two.
+	 * @return the bucket index.
+	 */
+	static int bucketIndex(final int hash, final int tableSize) {
+		return (hash ^ (hash >>> 16)) & (tableSize - 1);
+	}
+
+	/**
+	 * @param size
+	 * 		the number of entries.
+	 * @return the table size {@code HashMap} chooses when created for the given number of entries and twice that size.
+	 */
+	private static int[] defaultTableSizes(final int size) {
+		final int tableSize = tableSizeFor((int) Math.min(MAXIMUM_CAPACITY, Math.ceil(size / LOAD_FACTOR)));
+		return tableSize == MAXIMUM_CAPACITY ? new int[] { tableSize } : new int[] { tableSize, tableSize << 1 };
+	}
+
+	private static int tableSizeFor(final int capacity) {
+		final int n = -1 >>> Integer.numberOfLeadingZeros(Math.max(1, capacity) - 1);
+		return n < 0 ? 1 : n >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : n + 1;
+	}
+
+	private static HashQualityReport.TableOccupancy occupancy(final int[] hashes, final int tableSize, final byte[] counts) {
+		Arrays.fill(counts, 0, tableSize, (byte) 0);
+
+		int occupied = 0;
+		int maxChainLength = 0;
+		int treeified = 0;
+		for(final int hash : hashes) {
+			final int index = bucketIndex(hash, tableSize);
+			final int count = counts[index] & MAX_COUNT;
+			if(count == MAX_COUNT) {
+				continue;
+			}
+			counts[index] = (byte) (count + 1);
+			if(count == 0) {
+				occupied++;
+			} else if(count + 1 == TREEIFY_THRESHOLD) {
+				treeified++;
+			}
+			maxChainLength = Math.max(maxChainLength, count + 1);
+		}
+
+		final double expected = -Math.expm1(-(double) hashes.length / tableSize) * tableSize;
+		return new HashQualityReport.TableOccupancy(tableSize, occupied, expected, maxChainLength, treeified);
+	}
+
+	private static int collisions(final int[] hashes) {
+		final int[] sorted = hashes.clone();
+		Arrays.parallelSort(sorted);
+
+		int collisions = 0;
+		for(int i = 1; i < sorted.length; i++) {
+			if(sorted[i] == sorted[i - 1]) {
+				collisions++;
+			}
+		}
+		return collisions;
+	}
+
+	/**
+	 * @return the number of hash codes having each bit set, followed by the total number of bits differing between
+	 * consecutive hash codes.
+	 */
+	private static long[] bitStatistics(final int[] hashes) {
+		final int chunks = (hashes.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		return IntStream.range(0, chunks).parallel().mapToObj(chunk -> {
+			final long[] statistics = new long[Integer.SIZE + 1];
+			final int from = chunk * CHUNK_SIZE;
+			final int to = Math.min(hashes.length, from + CHUNK_SIZE);
+			for(int i = from; i < to; i++) {
+				final int hash = hashes[i];
+				for(int bit = 0; bit < Integer.SIZE; bit++) {
+					statistics[bit] += (hash >>> bit) & 1;
+				}
+				if(i > 0) {
+					statistics[Integer.SIZE] += Integer.bitCount(hash ^ hashes[i - 1]);
+				}
+			}
+			return statistics;
+		}).reduce(new long[Integer.SIZE + 1], (left, right) -> {
+			final long[] sum = new long[Integer.SIZE + 1];
+			for(int i = 0; i < sum.length; i++) {
+				sum[i] = left[i] + right[i];
+			}
+			return sum;
+		});
+	}
+}
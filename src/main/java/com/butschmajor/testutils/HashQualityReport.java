@@ -0,0 +1,174 @@
+package com.butschmajor.testutils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The distribution quality of the hash codes of a sample of distinct instances.
+ *
+ * @see HashQualityTester
+ */
+public final class HashQualityReport {
+
+	private final int sampleSize;
+	private final int collisions;
+	private final List<TableOccupancy> tables;
+	private final double[] bitProbabilities;
+	private final double avalanche;
+
+	HashQualityReport(final int sampleSize, final int collisions, final List<TableOccupancy> tables,
+			final double[] bitProbabilities, final double avalanche) {
+		Objects.requireNonNull(tables, "The parameter 'tables' must not be null!");
+		Objects.requireNonNull(bitProbabilities, "The parameter 'bitProbabilities' must not be null!");
+
+		this.sampleSize = sampleSize;
+		this.collisions = collisions;
+		this.tables = Collections.unmodifiableList(new ArrayList<>(tables));
+		this.bitProbabilities = bitProbabilities.clone();
+		this.avalanche = avalanche;
+	}
+
+	/**
+	 * @return the number of analyzed hash codes.
+	 */
+	public int getSampleSize() {
+		return sampleSize;
+	}
+
+	/**
+	 * @return the number of instances sharing their hash code with another instance of the sample, not counting the first
+	 * instance of each hash code.
+	 */
+	public int getCollisions() {
+		return collisions;
+	}
+
+	/**
+	 * @return the fraction of instances sharing their hash code with another instance of the sample.
+	 * @see #getCollisions()
+	 */
+	public double getCollisionRate() {
+		return sampleSize == 0 ? 0 : (double) collisions / sampleSize;
+	}
+
+	/**
+	 * @return the bucket occupancy of every analyzed hash table size in ascending order, never null.
+	 */
+	public List<TableOccupancy> getTables() {
+		return tables;
+	}
+
+	/**
+	 * @return the probability of each hash code bit being set, starting with the least significant bit, never null.
+	 */
+	public double[] getBitProbabilities() {
+		return bitProbabilities.clone();
+	}
+
+	/**
+	 * @return the maximum deviation of the probability of any hash code bit being set from 0.5.
+	 */
+	public double getMaxBitBias() {
+		double max = 0;
+		for(final double probability : bitProbabilities) {
+			max = Math.max(max, Math.abs(probability - 0.5));
+		}
+		return max;
+	}
+
+	/**
+	 * The avalanche is measured between the hash codes of consecutive instances of the sample. If the sample is generated
+	 * from an increasing seed, consecutive instances differ only slightly and a well-mixing hash function changes half of
+	 * the bits, resulting in an avalanche of 0.5.
+	 *
+	 * @return the average fraction of bits differing between the hash codes of consecutive instances.
+	 */
+	public double getAvalanche() {
+		return avalanche;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(String.format(Locale.ROOT, "%d hash codes, collision rate %.5f, max bit bias %.4f, avalanche %.4f",
+				sampleSize, getCollisionRate(), getMaxBitBias(), avalanche));
+		for(final TableOccupancy table : tables) {
+			builder.append(System.lineSeparator()).append(table);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * The bucket occupancy of a hash table with a fixed number of buckets after applying the spread function of
+	 * {@code HashMap} and {@code ConcurrentHashMap}.
+	 */
+	public static final class TableOccupancy {
+
+		private final int tableSize;
+		private final int occupiedBuckets;
+		private final double expectedOccupiedBuckets;
+		private final int maxChainLength;
+		private final int treeifiedBuckets;
+
+		TableOccupancy(final int tableSize, final int occupiedBuckets, final double expectedOccupiedBuckets,
+				final int maxChainLength, final int treeifiedBuckets) {
+			this.tableSize = tableSize;
+			this.occupiedBuckets = occupiedBuckets;
+			this.expectedOccupiedBuckets = expectedOccupiedBuckets;
+			this.maxChainLength = maxChainLength;
+			this.treeifiedBuckets = treeifiedBuckets;
+		}
+
+		/**
+		 * @return the number of buckets of the hash table.
+		 */
+		public int getTableSize() {
+			return tableSize;
+		}
+
+		/**
+		 * @return the number of buckets holding at least one entry.
+		 */
+		public int getOccupiedBuckets() {
+			return occupiedBuckets;
+		}
+
+		/**
+		 * @return the number of buckets expected to hold at least one entry for uniformly distributed hash codes.
+		 */
+		public double getExpectedOccupiedBuckets() {
+			return expectedOccupiedBuckets;
+		}
+
+		/**
+		 * @return the ratio of occupied buckets to the expected number of occupied buckets.
+		 */
+		public double getOccupancyRatio() {
+			return expectedOccupiedBuckets == 0 ? 1 : occupiedBuckets / expectedOccupiedBuckets;
+		}
+
+		/**
+		 * @return the number of entries of the fullest bucket, saturated at 255.
+		 */
+		public int getMaxChainLength() {
+			return maxChainLength;
+		}
+
+		/**
+		 * @return the number of buckets with at least 8 entries, which {@code HashMap} converts into trees.
+		 */
+		public int getTreeifiedBuckets() {
+			return treeifiedBuckets;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT,
+					"table of %d buckets: %d occupied (%.3f of expected), max chain length %d, %d treeified", tableSize,
+					occupiedBuckets, getOccupancyRatio(), maxChainLength, treeifiedBuckets);
+		}
+	}
+}
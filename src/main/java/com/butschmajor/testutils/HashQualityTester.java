@@ -0,0 +1,316 @@
+package com.butschmajor.testutils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.butschmajor.testutils.Failures.fail;
+
+/**
+ * This class provide methods to verify that {@code hashCode} distributes instances well over the buckets of
+ * {@code HashMap} and {@code ConcurrentHashMap}.
+ * <p>
+ * Only the hash codes of the sample are kept in a primitive array, so samples of tens of millions of instances can be
+ * analyzed by streaming them from a generator.
+ * <p>
+ * Instances sharing one hash code end up in the same bin, which both maps convert into a tree ordered by
+ * {@code compareTo}. The collision resilience checks measure that lookups in such a bin stay logarithmic.
+ * <p>
+ * Hash codes used to distribute instances over shards must not change between runs. The determinism checks compare the
+ * hash codes with golden files of earlier runs and with the hash codes computed by child JVMs.
+ */
+public final class HashQualityTester {
+
+	/**
+	 * Default maximum slope of the lookup cost of colliding instances on a log-log scale.
+	 */
+	private static final double DEFAULT_MAX_COLLISION_SLOPE = 0.5;
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private HashQualityTester() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Analyzes the hash codes of a sample of distinct instances.
+	 *
+	 * @param instances
+	 * 		the distinct instances to analyze, not null and without null elements. The stream is consumed completely.
+	 * @return the report, never null.
+	 */
+	public static HashQualityReport analyzeHashQuality(Stream<?> instances) {
+		return analyzeHashQuality(instances, HashQualityThresholds.defaults());
+	}
+
+	/**
+	 * Analyzes the given hash codes of a sample of distinct instances.
+	 *
+	 * @param hashes
+	 * 		the hash codes to analyze, not null. The array is not modified.
+	 * @return the report, never null.
+	 */
+	public static HashQualityReport analyzeHashQuality(int[] hashes) {
+		return HashQualityAnalyzer.analyze(hashes, new int[0]);
+	}
+
+	/**
+	 * Ensures that the hash codes of a sample of distinct instances comply with the default thresholds.
+	 *
+	 * @param instances
+	 * 		the distinct instances to analyze, not null and without null elements.
+	 * @see HashQualityThresholds#defaults()
+	 */
+	public static void assertHashQuality(Collection<?> instances) {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+
+		assertHashQuality(instances.stream(), HashQualityThresholds.defaults());
+	}
+
+	/**
+	 * Ensures that the hash codes of a sample of distinct instances comply with the given thresholds.
+	 *
+	 * @param instances
+	 * 		the distinct instances to analyze, not null and without null elements. The stream is consumed completely.
+	 * @param thresholds
+	 * 		the thresholds the hash codes have to comply with, not null.
+	 */
+	public static void assertHashQuality(Stream<?> instances, HashQualityThresholds thresholds) {
+		final HashQualityReport report = analyzeHashQuality(instances, thresholds);
+		final List<String> violations = HashQualityAnalyzer.violations(report, thresholds);
+
+		if(!violations.isEmpty()) {
+			fail("The hash codes do not comply with the quality thresholds:%n%s%n%s", String.join(System.lineSeparator(),
+					violations), report);
+		}
+	}
+
+	/**
+	 * Measures how the cost of looking up instances sharing one hash code in {@code HashMap} and
+	 * {@code ConcurrentHashMap} scales with their number.
+	 *
+	 * @param collidingInstances
+	 * 		the distinct instances sharing one hash code, not null, without null elements and at least 512 instances. At
+	 * 		most 8192 instances are measured.
+	 * @return the report, never null.
+	 * @see #collidingStrings(int)
+	 */
+	public static CollisionScalingReport analyzeCollisionScaling(Collection<?> collidingInstances) {
+		return CollisionScalingAnalyzer.analyze(collidingInstances);
+	}
+
+	/**
+	 * Ensures that looking up instances sharing one hash code scales logarithmically with their number, that is with a
+	 * slope of at most 0.5 on a log-log scale.
+	 *
+	 * @param collidingInstances
+	 * 		the distinct instances sharing one hash code, not null, without null elements and at least 512 instances.
+	 * @see #analyzeCollisionScaling(Collection)
+	 */
+	public static void assertCollisionResilience(Collection<?> collidingInstances) {
+		assertCollisionResilience(collidingInstances, DEFAULT_MAX_COLLISION_SLOPE);
+	}
+
+	/**
+	 * Ensures that looking up instances sharing one hash code scales at most with the given slope on a log-log scale. A
+	 * logarithmic scaling has a slope of about 0.2, a linear scaling a slope of about 1.
+	 *
+	 * @param collidingInstances
+	 * 		the distinct instances sharing one hash code, not null, without null elements and at least 512 instances.
+	 * @param maxSlope
+	 * 		the maximum slope of the lookup cost, positive.
+	 * @see #analyzeCollisionScaling(Collection)
+	 */
+	public static void assertCollisionResilience(Collection<?> collidingInstances, double maxSlope) {
+		if(!(maxSlope > 0)) {
+			throw new IllegalArgumentException("The parameter 'maxSlope' must be positive!");
+		}
+
+		final CollisionScalingReport report = analyzeCollisionScaling(collidingInstances);
+		final List<String> violations = CollisionScalingAnalyzer.violations(report, maxSlope);
+
+		if(!violations.isEmpty()) {
+			fail("The lookup of colliding instances does not scale logarithmically:%n%s%n%s",
+					String.join(System.lineSeparator(), violations), report);
+		}
+	}
+
+	/**
+	 * Writes the hash codes of an instance set to a compact binary golden file, replacing an existing file.
+	 *
+	 * @param instances
+	 * 		the instances, not null and without null elements. The order of the collection is the order of the file.
+	 * @param goldenFile
+	 * 		the file to write, not null.
+	 * @throws IOException
+	 * 		if the file cannot be written.
+	 */
+	public static void writeGoldenHashes(Collection<?> instances, Path goldenFile) throws IOException {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+		Objects.requireNonNull(goldenFile, "The parameter 'goldenFile' must not be null!");
+
+		HashDeterminismChecker.write(goldenFile, HashDeterminismChecker.hashCodes(instances.toArray()));
+	}
+
+	/**
+	 * Compares the hash codes of an instance set with the hash codes of a golden file written by an earlier run.
+	 *
+	 * @param instances
+	 * 		the instances in the same order as in the earlier run, not null and without null elements.
+	 * @param goldenFile
+	 * 		the golden file, not null.
+	 * @param shards
+	 * 		the number of shards the instances are distributed over by their hash code, positive.
+	 * @return the report, never null.
+	 * @throws IOException
+	 * 		if the golden file cannot be read.
+	 * @see #writeGoldenHashes(Collection, Path)
+	 */
+	public static HashDeterminismReport compareWithGoldenHashes(Collection<?> instances, Path goldenFile, int shards)
+			throws IOException {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+		Objects.requireNonNull(goldenFile, "The parameter 'goldenFile' must not be null!");
+		if(shards <= 0) {
+			throw new IllegalArgumentException("The parameter 'shards' must be positive!");
+		}
+
+		final Object[] values = instances.toArray();
+		return HashDeterminismChecker.compare("golden file <" + goldenFile + ">", values,
+				HashDeterminismChecker.read(goldenFile), HashDeterminismChecker.hashCodes(values), shards);
+	}
+
+	/**
+	 * Ensures that the hash codes of an instance set are equal to the hash codes of a golden file written by an earlier
+	 * run. If the golden file does not exist, it is written and the check passes, so the first run records the hash
+	 * codes.
+	 *
+	 * @param instances
+	 * 		the instances in the same order in every run, not null and without null elements.
+	 * @param goldenFile
+	 * 		the golden file, not null.
+	 * @param shards
+	 * 		the number of shards the instances are distributed over by their hash code, positive.
+	 * @return the report, never null.
+	 * @throws IOException
+	 * 		if the golden file cannot be read or written.
+	 */
+	public static HashDeterminismReport assertGoldenHashes(Collection<?> instances, Path goldenFile, int shards)
+			throws IOException {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+		Objects.requireNonNull(goldenFile, "The parameter 'goldenFile' must not be null!");
+		if(shards <= 0) {
+			throw new IllegalArgumentException("The parameter 'shards' must be positive!");
+		}
+
+		final Object[] values = instances.toArray();
+		final int[] hashes = HashDeterminismChecker.hashCodes(values);
+		if(!Files.exists(goldenFile)) {
+			HashDeterminismChecker.write(goldenFile, hashes);
+			return new HashDeterminismReport("golden file <" + goldenFile + "> (created)", values.length, 0, 0, shards,
+					Collections.emptyList());
+		}
+
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final HashDeterminismReport report = HashDeterminismChecker.compare("golden file <" + goldenFile + ">",
+					values, HashDeterminismChecker.read(goldenFile), hashes, shards);
+			if(!report.isDeterministic()) {
+				fail("The hash codes are not deterministic across runs:%n%s", report);
+			}
+			passed = true;
+			return report;
+		} finally {
+			CheckListeners.completed("hashCode.determinism", values.length == 0 ? Object.class : values[0].getClass(),
+					start, passed);
+		}
+	}
+
+	/**
+	 * Ensures that the hash codes of an instance set are equal in this JVM and in local child JVMs started with
+	 * different heap sizes, garbage collectors and sequences of identity hash codes. Hash codes depending on identity
+	 * hash codes, for example of enum constants, or on the iteration order of identity-hashed collections are detected.
+	 * <p>
+	 * The child JVMs are started with the class path of this JVM and create the instances with a new instance of the
+	 * generator.
+	 *
+	 * @param generator
+	 * 		the public class creating the instances in the same order on every call, with a public constructor without
+	 * 		parameters, not null.
+	 * @param shards
+	 * 		the number of shards the instances are distributed over by their hash code, positive.
+	 * @return the report of every child JVM, never null.
+	 * @throws IOException
+	 * 		if a child JVM cannot be started or its hash codes cannot be read.
+	 */
+	public static List<HashDeterminismReport> assertHashCodeDeterminism(
+			Class<? extends Supplier<? extends Collection<?>>> generator, int shards) throws IOException {
+		Objects.requireNonNull(generator, "The parameter 'generator' must not be null!");
+		if(shards <= 0) {
+			throw new IllegalArgumentException("The parameter 'shards' must be positive!");
+		}
+
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final List<HashDeterminismReport> reports = HashDeterminismChecker.compareWithChildren(generator, shards);
+			final List<String> violations = new ArrayList<>();
+			for(final HashDeterminismReport report : reports) {
+				if(!report.isDeterministic()) {
+					violations.add(report.toString());
+				}
+			}
+			if(!violations.isEmpty()) {
+				fail("The hash codes are not deterministic across JVMs:%n%s",
+						String.join(System.lineSeparator(), violations));
+			}
+			passed = true;
+			return reports;
+		} finally {
+			CheckListeners.completed("hashCode.determinism", generator, start, passed);
+		}
+	}
+
+	/**
+	 * Builds distinct strings sharing one hash code by concatenating the colliding pairs {@code "Aa"} and {@code "BB"}.
+	 *
+	 * @param count
+	 * 		the number of strings, positive.
+	 * @return the strings, never null.
+	 */
+	public static List<String> collidingStrings(int count) {
+		if(count <= 0) {
+			throw new IllegalArgumentException("The parameter 'count' must be positive!");
+		}
+
+		final int pairs = Math.max(1, 32 - Integer.numberOfLeadingZeros(count - 1));
+		final List<String> strings = new ArrayList<>(count);
+		final StringBuilder builder = new StringBuilder(2 * pairs);
+		for(int i = 0; i < count; i++) {
+			builder.setLength(0);
+			for(int pair = pairs - 1; pair >= 0; pair--) {
+				builder.append((i >>> pair & 1) == 0 ? "Aa" : "BB");
+			}
+			strings.add(builder.toString());
+		}
+		return strings;
+	}
+
+	private static HashQualityReport analyzeHashQuality(Stream<?> instances, HashQualityThresholds thresholds) {
+		Objects.requireNonNull(instances, "The parameter 'instances' must not be null!");
+		Objects.requireNonNull(thresholds, "The parameter 'thresholds' must not be null!");
+
+		final int[] hashes = instances.mapToInt(
+				instance -> Objects.requireNonNull(instance, "The parameter 'instances' must not contain null!").hashCode())
+				.toArray();
+		return HashQualityAnalyzer.analyze(hashes, thresholds.getTableSizes());
+	}
+}
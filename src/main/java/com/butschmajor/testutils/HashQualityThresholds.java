@@ -0,0 +1,159 @@
+package com.butschmajor.testutils;
+
+import java.util.Arrays;
+
+/**
+ * Thresholds a hash code distribution has to comply with. Instances are immutable, every {@code with*} method returns a
+ * modified copy.
+ *
+ * @see HashQualityTester
+ */
+public final class HashQualityThresholds {
+
+	private static final HashQualityThresholds DEFAULTS = new HashQualityThresholds(0.01, 16, 0.9, 0.5, 0.0, new int[0]);
+
+	private final double maxCollisionRate;
+	private final int maxChainLength;
+	private final double minOccupancyRatio;
+	private final double maxBitBias;
+	private final double minAvalanche;
+	private final int[] tableSizes;
+
+	private HashQualityThresholds(final double maxCollisionRate, final int maxChainLength, final double minOccupancyRatio,
+			final double maxBitBias, final double minAvalanche, final int[] tableSizes) {
+		this.maxCollisionRate = maxCollisionRate;
+		this.maxChainLength = maxChainLength;
+		this.minOccupancyRatio = minOccupancyRatio;
+		this.maxBitBias = maxBitBias;
+		this.minAvalanche = minAvalanche;
+		this.tableSizes = tableSizes;
+	}
+
+	/**
+	 * The default thresholds allow a collision rate of 1%, chains of up to 16 entries and 90% of the occupied buckets
+	 * expected from uniformly distributed hash codes. The bit bias and the avalanche are reported, but not verified.
+	 *
+	 * @return the default thresholds, never null.
+	 */
+	public static HashQualityThresholds defaults() {
+		return DEFAULTS;
+	}
+
+	/**
+	 * @param maxCollisionRate
+	 * 		the maximum fraction of instances sharing their hash code with a preceding instance, between 0 and 1.
+	 * @return the modified thresholds, never null.
+	 */
+	public HashQualityThresholds withMaxCollisionRate(final double maxCollisionRate) {
+		requireFraction(maxCollisionRate, "maxCollisionRate");
+		return new HashQualityThresholds(maxCollisionRate, maxChainLength, minOccupancyRatio, maxBitBias, minAvalanche,
+				tableSizes);
+	}
+
+	/**
+	 * @param maxChainLength
+	 * 		the maximum number of entries in a single bucket of a hash table, positive.
+	 * @return the modified thresholds, never null.
+	 */
+	public HashQualityThresholds withMaxChainLength(final int maxChainLength) {
+		if(maxChainLength <= 0) {
+			throw new IllegalArgumentException("The parameter 'maxChainLength' must be positive!");
+		}
+		return new HashQualityThresholds(maxCollisionRate, maxChainLength, minOccupancyRatio, maxBitBias, minAvalanche,
+				tableSizes);
+	}
+
+	/**
+	 * @param minOccupancyRatio
+	 * 		the minimum ratio of occupied buckets to the number of occupied buckets expected from uniformly distributed hash
+	 * 		codes, not negative.
+	 * @return the modified thresholds, never null.
+	 */
+	public HashQualityThresholds withMinOccupancyRatio(final double minOccupancyRatio) {
+		if(!(minOccupancyRatio >= 0)) {
+			throw new IllegalArgumentException("The parameter 'minOccupancyRatio' must not be negative!");
+		}
+		return new HashQualityThresholds(maxCollisionRate, maxChainLength, minOccupancyRatio, maxBitBias, minAvalanche,
+				tableSizes);
+	}
+
+	/**
+	 * @param maxBitBias
+	 * 		the maximum deviation of the probability of any hash code bit being set from 0.5, between 0 and 0.5.
+	 * @return the modified thresholds, never null.
+	 */
+	public HashQualityThresholds withMaxBitBias(final double maxBitBias) {
+		if(!(maxBitBias >= 0 && maxBitBias <= 0.5)) {
+			throw new IllegalArgumentException("The parameter 'maxBitBias' must be between 0 and 0.5!");
+		}
+		return new HashQualityThresholds(maxCollisionRate, maxChainLength, minOccupancyRatio, maxBitBias, minAvalanche,
+				tableSizes);
+	}
+
+	/**
+	 * @param minAvalanche
+	 * 		the minimum average fraction of bits differing between the hash codes of consecutive instances, between 0 and 1.
+	 * @return the modified thresholds, never null.
+	 */
+	public HashQualityThresholds withMinAvalanche(final double minAvalanche) {
+		requireFraction(minAvalanche, "minAvalanche");
+		return new HashQualityThresholds(maxCollisionRate, maxChainLength, minOccupancyRatio, maxBitBias, minAvalanche,
+				tableSizes);
+	}
+
+	/**
+	 * @param tableSizes
+	 * 		the hash table sizes to analyze the bucket occupancy for, each a power of two. By default the size {@code HashMap}
+	 * 		chooses for the sample and twice that size are analyzed.
+	 * @return the modified thresholds, never null.
+	 */
+	public HashQualityThresholds withTableSizes(final int... tableSizes) {
+		for(final int tableSize : tableSizes) {
+			if(tableSize <= 0 || Integer.bitCount(tableSize) != 1) {
+				throw new IllegalArgumentException("The parameter 'tableSizes' must only contain powers of two!");
+			}
+		}
+		return new HashQualityThresholds(maxCollisionRate, maxChainLength, minOccupancyRatio, maxBitBias, minAvalanche,
+				tableSizes.clone());
+	}
+
+	public double getMaxCollisionRate() {
+		return maxCollisionRate;
+	}
+
+	public int getMaxChainLength() {
+		return maxChainLength;
+	}
+
+	public double getMinOccupancyRatio() {
+		return minOccupancyRatio;
+	}
+
+	public double getMaxBitBias() {
+		return maxBitBias;
+	}
+
+	public double getMinAvalanche() {
+		return minAvalanche;
+	}
+
+	/**
+	 * @return the configured hash table sizes, empty if the default sizes are analyzed, never null.
+	 */
+	public int[] getTableSizes() {
+		return tableSizes.clone();
+	}
+
+	private static void requireFraction(final double value, final String name) {
+		if(!(value >= 0 && value <= 1)) {
+			throw new IllegalArgumentException("The parameter '" + name + "' must be between 0 and 1!");
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "HashQualityThresholds[maxCollisionRate=" + maxCollisionRate + ", maxChainLength=" + maxChainLength
+				+ ", minOccupancyRatio=" + minOccupancyRatio + ", maxBitBias=" + maxBitBias + ", minAvalanche="
+				+ minAvalanche + ", tableSizes=" + Arrays.toString(tableSizes) + "]";
+	}
+}
@@ -0,0 +1,14 @@
+package com.butschmajor.testutils;
+
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Adapts the checks to JUnit 5. This class is only loaded if JUnit is selected, see {@link FailureReporters}.
+ */
+final class JUnitFailureReporter implements FailureReporter {
+
+	@Override
+	public AssertionError createFailure(final String message, final Throwable cause) {
+		return new AssertionFailedError(message, cause);
+	}
+}
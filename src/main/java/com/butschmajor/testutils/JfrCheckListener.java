@@ -0,0 +1,65 @@
+package com.butschmajor.testutils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A {@link CheckListener} emitting a JDK Flight Recorder event {@value CheckEvent#NAME} for every completed check.
+ * <p>
+ * The events are only created while a recording with the event enabled is running, e.g. started with
+ * {@code -XX:StartFlightRecording:settings=profile}. The events can be correlated with the allocation and execution
+ * samples of the same recording.
+ */
+public final class JfrCheckListener implements CheckListener {
+
+	@Override
+	public void checkCompleted(final String check, final Class<?> type, final long durationNanos, final boolean passed) {
+		if(!CheckEvent.ENABLED.isEnabled()) {
+			return;
+		}
+		final CheckEvent event = new CheckEvent();
+		if(event.shouldCommit()) {
+			event.check = check;
+			event.type = type;
+			event.durationNanos = durationNanos;
+			event.passed = passed;
+			event.commit();
+		}
+	}
+
+	/**
+	 * The event of a completed check.
+	 */
+	@Name(CheckEvent.NAME)
+	@Label("Contract Check")
+	@Description("A completed check of the contract of equals, hashCode or compareTo or of a utility class")
+	@Category({ "Test Utils", "Checks" })
+	@StackTrace(false)
+	static final class CheckEvent extends Event {
+
+		static final String NAME = "com.butschmajor.testutils.Check";
+
+		/**
+		 * Instance to query whether the event is enabled without allocating an event per check.
+		 */
+		private static final CheckEvent ENABLED = new CheckEvent();
+
+		@Label("Check")
+		String check;
+
+		@Label("Checked Class")
+		Class<?> type;
+
+		@Label("Check Duration")
+		@Timespan(Timespan.NANOSECONDS)
+		long durationNanos;
+
+		@Label("Passed")
+		boolean passed;
+	}
+}
@@ -0,0 +1,133 @@
+package com.butschmajor.testutils;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The maximum latency of a single call at a percentile, together with the parameters of the measurement. Instances are
+ * immutable, every {@code with*} method returns a modified copy.
+ *
+ * @see ContractTesters#assertHashCodeLatency(Object, Object, Object, LatencyBudget)
+ */
+public final class LatencyBudget {
+
+	private final long maxNanos;
+	private final double percentile;
+	private final int warmupCalls;
+	private final int samples;
+	private final int batchSize;
+
+	private LatencyBudget(final long maxNanos, final double percentile, final int warmupCalls, final int samples,
+			final int batchSize) {
+		this.maxNanos = maxNanos;
+		this.percentile = percentile;
+		this.warmupCalls = warmupCalls;
+		this.samples = samples;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Creates a budget for the 99th percentile, measured with 10,000 samples of a single call each after 100,000 warm-up
+	 * calls.
+	 *
+	 * @param maxLatency
+	 * 		the maximum latency of a single call, positive.
+	 * @param unit
+	 * 		the unit of the latency, not null.
+	 * @return the budget, never null.
+	 */
+	public static LatencyBudget of(final long maxLatency, final TimeUnit unit) {
+		if(maxLatency <= 0) {
+			throw new IllegalArgumentException("The parameter 'maxLatency' must be positive!");
+		}
+		Objects.requireNonNull(unit, "The parameter 'unit' must not be null!");
+		return new LatencyBudget(unit.toNanos(maxLatency), 99, 100_000, 10_000, 1);
+	}
+
+	/**
+	 * @param maxNanos
+	 * 		the maximum latency of a single call in nanoseconds, positive.
+	 * @return the budget, never null.
+	 * @see #of(long, TimeUnit)
+	 */
+	public static LatencyBudget ofNanos(final long maxNanos) {
+		return of(maxNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * @param percentile
+	 * 		the percentile of the samples which must not exceed the budget, greater than 0 and at most 100.
+	 * @return the modified budget, never null.
+	 */
+	public LatencyBudget atPercentile(final double percentile) {
+		if(!(percentile > 0 && percentile <= 100)) {
+			throw new IllegalArgumentException("The parameter 'percentile' must be greater than 0 and at most 100!");
+		}
+		return new LatencyBudget(maxNanos, percentile, warmupCalls, samples, batchSize);
+	}
+
+	/**
+	 * @param warmupCalls
+	 * 		the number of calls before the measurement, giving the JIT compiler the chance to compile the measured method,
+	 * 		not negative.
+	 * @return the modified budget, never null.
+	 */
+	public LatencyBudget withWarmupCalls(final int warmupCalls) {
+		if(warmupCalls < 0) {
+			throw new IllegalArgumentException("The parameter 'warmupCalls' must not be negative!");
+		}
+		return new LatencyBudget(maxNanos, percentile, warmupCalls, samples, batchSize);
+	}
+
+	/**
+	 * @param samples
+	 * 		the number of measured samples, positive.
+	 * @return the modified budget, never null.
+	 */
+	public LatencyBudget withSamples(final int samples) {
+		if(samples <= 0) {
+			throw new IllegalArgumentException("The parameter 'samples' must be positive!");
+		}
+		return new LatencyBudget(maxNanos, percentile, warmupCalls, samples, batchSize);
+	}
+
+	/**
+	 * @param batchSize
+	 * 		the number of calls timed together in one sample, positive. The default is 1. Larger batches amortize the cost
+	 * 		of reading the clock, but a sample is then the mean latency of the batch and the percentile is a percentile of
+	 * 		batch means, in which a single slow call of a batch is averaged away.
+	 * @return the modified budget, never null.
+	 */
+	public LatencyBudget withBatchSize(final int batchSize) {
+		if(batchSize <= 0) {
+			throw new IllegalArgumentException("The parameter 'batchSize' must be positive!");
+		}
+		return new LatencyBudget(maxNanos, percentile, warmupCalls, samples, batchSize);
+	}
+
+	public long getMaxNanos() {
+		return maxNanos;
+	}
+
+	public double getPercentile() {
+		return percentile;
+	}
+
+	public int getWarmupCalls() {
+		return warmupCalls;
+	}
+
+	public int getSamples() {
+		return samples;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	@Override
+	public String toString() {
+		return "LatencyBudget[maxNanos=" + maxNanos + ", percentile=" + percentile + ", warmupCalls=" + warmupCalls
+				+ ", samples=" + samples + ", batchSize=" + batchSize + "]";
+	}
+}
@@ -0,0 +1,44 @@
+package com.butschmajor.testutils;
+
+/**
+ * This class provide methods to fit a power law y = a * x^k to measured costs by least squares on a log-log scale.
+ */
+final class LogLogRegression {
+
+	/**
+	 * Lower bound of the costs, so a cost measured as zero does not yield an infinite logarithm.
+	 */
+	private static final double MIN_Y = 1e-3;
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private LogLogRegression() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * @param x
+	 * 		the positive x values, not null.
+	 * @param y
+	 * 		the y values of the same length, not null.
+	 * @return the slope of the least squares line through the points (ln x, ln y), i.e. the exponent k.
+	 */
+	static double slope(final int[] x, final double[] y) {
+		final int n = x.length;
+		double sumX = 0;
+		double sumY = 0;
+		double sumXY = 0;
+		double sumXX = 0;
+		for(int i = 0; i < n; i++) {
+			final double logX = Math.log(x[i]);
+			final double logY = Math.log(Math.max(y[i], MIN_Y));
+			sumX += logX;
+			sumY += logY;
+			sumXY += logX * logY;
+			sumXX += logX * logX;
+		}
+		final double denominator = n * sumXX - sumX * sumX;
+		return denominator == 0 ? 0 : (n * sumXY - sumX * sumY) / denominator;
+	}
+}
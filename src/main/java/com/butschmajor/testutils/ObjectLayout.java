@@ -0,0 +1,358 @@
+package com.butschmajor.testutils;
+
+import java.lang.instrument.Instrumentation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class provide the layout of objects in the heap of the running JVM.
+ * <p>
+ * The field offsets, the sizes of the object header and of references are read via {@code sun.misc.Unsafe} if accessible.
+ * Otherwise the sizes are derived from the HotSpot flags {@code UseCompressedOops} and
+ * {@code UseCompressedClassPointers}, which are independent since Java 15, and the field offsets are estimated from the
+ * field order of HotSpot. The object alignment is read from the HotSpot flags. Objects are sized by the
+ * {@link Instrumentation} of the {@link FootprintAgent} if available.
+ */
+final class ObjectLayout {
+
+	private static final int OBJECT_ALIGNMENT;
+
+	/**
+	 * The size of a reference in bytes.
+	 */
+	static final int REFERENCE_SIZE;
+
+	/**
+	 * The size of the header of an object in bytes.
+	 */
+	static final int HEADER_SIZE;
+
+	/**
+	 * The size of the header of an array including its length in bytes.
+	 */
+	static final int ARRAY_HEADER_SIZE;
+
+	private static final MethodHandle OBJECT_FIELD_OFFSET;
+	private static final MethodHandle GET_OBJECT;
+
+	private static final ClassValue<ClassLayout> LAYOUTS = new ClassValue<ClassLayout>() {
+		@Override
+		protected ClassLayout computeValue(final Class<?> type) {
+			return layout(type);
+		}
+	};
+
+	static {
+		final boolean is64Bit = !"32".equals(System.getProperty("sun.arch.data.model"));
+		final boolean compressedOops = is64Bit && Boolean.parseBoolean(vmOption("UseCompressedOops", "true"));
+		final boolean compressedClassPointers = is64Bit
+				&& Boolean.parseBoolean(vmOption("UseCompressedClassPointers", "true"));
+		OBJECT_ALIGNMENT = Integer.parseInt(vmOption("ObjectAlignmentInBytes", "8"));
+
+		int referenceSize = is64Bit && !compressedOops ? 8 : 4;
+		int headerSize = is64Bit ? compressedClassPointers ? 12 : 16 : 8;
+		int arrayHeaderSize = align(headerSize + Integer.BYTES, 8);
+		MethodHandle objectFieldOffset = null;
+		MethodHandle getObject = null;
+		try {
+			final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			final Object unsafe = theUnsafe.get(null);
+			final MethodHandles.Lookup lookup = MethodHandles.lookup();
+			objectFieldOffset = lookup.findVirtual(unsafeClass, "objectFieldOffset",
+					MethodType.methodType(long.class, Field.class)).bindTo(unsafe);
+			getObject = lookup.findVirtual(unsafeClass, "getObject",
+					MethodType.methodType(Object.class, Object.class, long.class)).bindTo(unsafe);
+			final MethodHandle arrayBaseOffset = lookup.findVirtual(unsafeClass, "arrayBaseOffset",
+					MethodType.methodType(int.class, Class.class)).bindTo(unsafe);
+			final MethodHandle arrayIndexScale = lookup.findVirtual(unsafeClass, "arrayIndexScale",
+					MethodType.methodType(int.class, Class.class)).bindTo(unsafe);
+
+			// The first field of a class without superclass fields directly follows the object header
+			final Field firstField = HeaderProbe.class.getDeclaredField("value");
+			final long firstFieldOffset = (long) objectFieldOffset.invokeExact(firstField);
+			// The elements of a long array are aligned to 8 bytes like the header of every array
+			final int longArrayBaseOffset = (int) arrayBaseOffset.invokeExact((Class<?>) long[].class);
+			referenceSize = (int) arrayIndexScale.invokeExact((Class<?>) Object[].class);
+			headerSize = (int) firstFieldOffset;
+			arrayHeaderSize = longArrayBaseOffset;
+		} catch(final Throwable e) {
+			// The sizes are derived from the flags, the field offsets are estimated and the fields are read via
+			// reflection
+			objectFieldOffset = null;
+			getObject = null;
+		}
+		REFERENCE_SIZE = referenceSize;
+		HEADER_SIZE = headerSize;
+		ARRAY_HEADER_SIZE = arrayHeaderSize;
+		OBJECT_FIELD_OFFSET = objectFieldOffset;
+		GET_OBJECT = getObject;
+	}
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private ObjectLayout() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * @return true if the objects are sized by an {@link Instrumentation}.
+	 */
+	static boolean isInstrumented() {
+		return FootprintAgent.instrumentation() != null;
+	}
+
+	/**
+	 * @return true if the field offsets are read from the JVM instead of being estimated.
+	 */
+	static boolean hasFieldOffsets() {
+		return OBJECT_FIELD_OFFSET != null;
+	}
+
+	/**
+	 * @param instance
+	 * 		the object to size, not null.
+	 * @return the size of the object itself in bytes, not including the objects it references.
+	 */
+	static long shallowSize(final Object instance) {
+		final Instrumentation instrumentation = FootprintAgent.instrumentation();
+		if(instrumentation != null) {
+			return instrumentation.getObjectSize(instance);
+		}
+		final Class<?> type = instance.getClass();
+		if(type.isArray()) {
+			return align(ARRAY_HEADER_SIZE + (long) Array.getLength(instance) * size(type.getComponentType()));
+		}
+		return LAYOUTS.get(type).getInstanceSize();
+	}
+
+	/**
+	 * @param type
+	 * 		a class which is not an array class, not null.
+	 * @return the layout of the instances of the class, never null.
+	 */
+	static ClassLayout layoutOf(final Class<?> type) {
+		return LAYOUTS.get(type);
+	}
+
+	/**
+	 * @param instance
+	 * 		the object to read from, not null.
+	 * @param slot
+	 * 		a reference field of the class of the object, not null.
+	 * @return the value of the field, null if the field cannot be read.
+	 */
+	static Object read(final Object instance, final FieldSlot slot) {
+		if(GET_OBJECT != null && slot.isOffsetExact()) {
+			try {
+				return (Object) GET_OBJECT.invokeExact(instance, slot.getOffset());
+			} catch(final Throwable e) {
+				// Read the field via reflection instead
+			}
+		}
+		try {
+			slot.getField().setAccessible(true);
+			return slot.getField().get(instance);
+		} catch(final ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @param type
+	 * 		the type of a field or an array component, not null.
+	 * @return the number of bytes a value of the type occupies in an object or array.
+	 */
+	static int size(final Class<?> type) {
+		if(type == long.class || type == double.class) {
+			return 8;
+		} else if(type == int.class || type == float.class) {
+			return 4;
+		} else if(type == short.class || type == char.class) {
+			return 2;
+		} else if(type == byte.class || type == boolean.class) {
+			return 1;
+		}
+		return REFERENCE_SIZE;
+	}
+
+	private static long align(final long size) {
+		return (size + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+	}
+
+	private static int align(final int size, final int alignment) {
+		return (size + alignment - 1) / alignment * alignment;
+	}
+
+	private static ClassLayout layout(final Class<?> type) {
+		final Class<?> superclass = type.getSuperclass();
+		final ClassLayout superLayout = superclass == null ? null : LAYOUTS.get(superclass);
+		final List<FieldSlot> slots = new ArrayList<>();
+		int fieldsEnd = HEADER_SIZE;
+		if(superLayout != null) {
+			slots.addAll(superLayout.getFields());
+			fieldsEnd = superLayout.getFieldsEnd();
+		}
+
+		final List<Field> fields = new ArrayList<>();
+		for(final Field field : type.getDeclaredFields()) {
+			if(!Modifier.isStatic(field.getModifiers())) {
+				fields.add(field);
+			}
+		}
+
+		final List<FieldSlot> declared = new ArrayList<>();
+		if(OBJECT_FIELD_OFFSET != null && !fields.isEmpty()) {
+			try {
+				for(final Field field : fields) {
+					final long offset = (long) OBJECT_FIELD_OFFSET.invokeExact(field);
+					declared.add(new FieldSlot(field, offset, size(field.getType()), true));
+				}
+			} catch(final Throwable e) {
+				// Hidden classes and records do not expose their field offsets
+				declared.clear();
+			}
+		}
+		if(declared.isEmpty()) {
+			estimate(fields, fieldsEnd, declared);
+		}
+		for(final FieldSlot slot : declared) {
+			fieldsEnd = (int) Math.max(fieldsEnd, slot.getOffset() + slot.getSize());
+		}
+		slots.addAll(declared);
+		slots.sort(Comparator.comparingLong(FieldSlot::getOffset));
+		return new ClassLayout(slots, fieldsEnd, align((long) fieldsEnd));
+	}
+
+	/**
+	 * Estimates the field offsets like HotSpot does: the fields of a class follow the fields of its superclass, larger
+	 * fields first, and smaller fields fill the gaps left by the alignment of larger fields.
+	 */
+	private static void estimate(final List<Field> fields, final int start, final List<FieldSlot> slots) {
+		final List<Field> ordered = new ArrayList<>(fields);
+		ordered.sort(Comparator.comparingInt((Field field) -> size(field.getType())).reversed());
+
+		final List<int[]> gaps = new ArrayList<>();
+		int end = start;
+		for(final Field field : ordered) {
+			final int size = size(field.getType());
+			int offset = -1;
+			for(final int[] gap : gaps) {
+				final int aligned = align(gap[0], size);
+				if(aligned + size <= gap[1]) {
+					offset = aligned;
+					if(aligned > gap[0]) {
+						gaps.add(new int[] { gap[0], aligned });
+					}
+					gap[0] = aligned + size;
+					break;
+				}
+			}
+			if(offset < 0) {
+				offset = align(end, size);
+				if(offset > end) {
+					gaps.add(new int[] { end, offset });
+				}
+				end = offset + size;
+			}
+			gaps.removeIf(gap -> gap[0] >= gap[1]);
+			gaps.sort(Comparator.comparingInt(gap -> gap[0]));
+			slots.add(new FieldSlot(field, offset, size, false));
+		}
+	}
+
+	private static String vmOption(final String name, final String defaultValue) {
+		try {
+			final com.sun.management.HotSpotDiagnosticMXBean hotSpot = ManagementFactory
+					.getPlatformMXBean(com.sun.management.HotSpotDiagnosticMXBean.class);
+			return hotSpot == null ? defaultValue : hotSpot.getVMOption(name).getValue();
+		} catch(final RuntimeException | LinkageError e) {
+			return defaultValue;
+		}
+	}
+
+	/**
+	 * A class whose only field is placed directly after the object header.
+	 */
+	private static final class HeaderProbe {
+
+		byte value;
+	}
+
+	/**
+	 * The instance fields of a class, including the inherited ones, ordered by their offset.
+	 */
+	static final class ClassLayout {
+
+		private final List<FieldSlot> fields;
+		private final int fieldsEnd;
+		private final long instanceSize;
+
+		ClassLayout(final List<FieldSlot> fields, final int fieldsEnd, final long instanceSize) {
+			this.fields = Collections.unmodifiableList(fields);
+			this.fieldsEnd = fieldsEnd;
+			this.instanceSize = instanceSize;
+		}
+
+		List<FieldSlot> getFields() {
+			return fields;
+		}
+
+		int getFieldsEnd() {
+			return fieldsEnd;
+		}
+
+		long getInstanceSize() {
+			return instanceSize;
+		}
+	}
+
+	/**
+	 * An instance field and the bytes it occupies in an object.
+	 */
+	static final class FieldSlot {
+
+		private final Field field;
+		private final long offset;
+		private final int size;
+		private final boolean offsetExact;
+
+		FieldSlot(final Field field, final long offset, final int size, final boolean offsetExact) {
+			this.field = field;
+			this.offset = offset;
+			this.size = size;
+			this.offsetExact = offsetExact;
+		}
+
+		Field getField() {
+			return field;
+		}
+
+		long getOffset() {
+			return offset;
+		}
+
+		int getSize() {
+			return size;
+		}
+
+		boolean isOffsetExact() {
+			return offsetExact;
+		}
+
+		boolean isReference() {
+			return !field.getType().isPrimitive();
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package com.butschmajor.testutils;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+/**
+ * This class provide methods to run independent checks in parallel on the common fork-join pool.
+ */
+final class ParallelChecks {
+
+	/**
+	 * Number of tasks per worker thread a range of checks is split into.
+	 */
+	private static final int TASKS_PER_THREAD = 8;
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private ParallelChecks() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Runs the given check for every index in the range [0, size) on the common fork-join pool. After the first failure no
+	 * further checks are started and the failure is rethrown unchanged in the calling thread.
+	 *
+	 * @param size
+	 * 		the number of indices to check, not negative.
+	 * @param check
+	 * 		the check to run for every index, not null.
+	 */
+	static void forEach(final int size, final IntConsumer check) {
+		Objects.requireNonNull(check, "The parameter 'check' must not be null!");
+		if(size < 0) {
+			throw new IllegalArgumentException("The parameter 'size' must not be negative!");
+		}
+		if(size == 0) {
+			return;
+		}
+
+		final ForkJoinPool pool = ForkJoinPool.commonPool();
+		final int threshold = Math.max(1, size / (pool.getParallelism() * TASKS_PER_THREAD));
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		pool.invoke(new CheckTask(0, size, threshold, check, failure));
+		rethrow(failure.get());
+	}
+
+	/**
+	 * Rethrows the given failure without wrapping it.
+	 *
+	 * @param failure
+	 * 		the failure to rethrow, may be null.
+	 */
+	static void rethrow(final Throwable failure) {
+		if(failure == null) {
+			return;
+		}
+		if(failure instanceof Error) {
+			throw (Error) failure;
+		}
+		if(failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+		throw new IllegalStateException(failure);
+	}
+
+	/**
+	 * Fork-join task checking a range of indices.
+	 */
+	private static final class CheckTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+		private final int threshold;
+		private final transient IntConsumer check;
+		private final transient AtomicReference<Throwable> failure;
+
+		CheckTask(final int from, final int to, final int threshold, final IntConsumer check,
+				final AtomicReference<Throwable> failure) {
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+			this.check = check;
+			this.failure = failure;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from > threshold) {
+				final int middle = (from + to) >>> 1;
+				invokeAll(new CheckTask(from, middle, threshold, check, failure),
+						new CheckTask(middle, to, threshold, check, failure));
+				return;
+			}
+
+			for(int i = from; i < to && failure.get() == null; i++) {
+				try {
+					check.accept(i);
+				} catch(final Throwable t) {
+					failure.compareAndSet(null, t);
+				}
+			}
+		}
+	}
+}
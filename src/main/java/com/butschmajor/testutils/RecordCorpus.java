@@ -0,0 +1,133 @@
+package com.butschmajor.testutils;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * A file of binary records, each decoding to one instance, together with the parameters of its streaming verification.
+ * Instances are immutable, every {@code with*} method returns a modified copy.
+ * <p>
+ * Records either have a fixed length or are prefixed by their length as a big-endian {@code int}. The file is memory
+ * mapped and only a window of instances is decoded at a time, so the heap needed does not depend on the size of the
+ * corpus.
+ *
+ * @param <T>
+ * 		the type of the decoded instances.
+ * @see ContractTesters#assertContractEqualsAndHashCode(RecordCorpus)
+ */
+public final class RecordCorpus<T> {
+
+	/**
+	 * Record length of corpora whose records are prefixed by their length.
+	 */
+	static final int LENGTH_PREFIXED = -1;
+
+	private final Path file;
+	private final int recordLength;
+	private final RecordDecoder<? extends T> decoder;
+	private final int windowSize;
+	private final int sampleSize;
+
+	private RecordCorpus(final Path file, final int recordLength, final RecordDecoder<? extends T> decoder,
+			final int windowSize, final int sampleSize) {
+		this.file = file;
+		this.recordLength = recordLength;
+		this.decoder = decoder;
+		this.windowSize = windowSize;
+		this.sampleSize = sampleSize;
+	}
+
+	/**
+	 * Creates a corpus of records with a fixed length, verified in windows of 65,536 instances together with a sample of
+	 * 4,096 earlier instances.
+	 *
+	 * @param file
+	 * 		the file of the records, not null.
+	 * @param recordLength
+	 * 		the number of bytes of every record, positive.
+	 * @param decoder
+	 * 		the decoder of the records, not null.
+	 * @return the corpus, never null.
+	 */
+	public static <T> RecordCorpus<T> fixedLength(final Path file, final int recordLength,
+			final RecordDecoder<? extends T> decoder) {
+		Objects.requireNonNull(file, "The parameter 'file' must not be null!");
+		if(recordLength <= 0) {
+			throw new IllegalArgumentException("The parameter 'recordLength' must be positive!");
+		}
+		Objects.requireNonNull(decoder, "The parameter 'decoder' must not be null!");
+		return new RecordCorpus<>(file, recordLength, decoder, 65_536, 4_096);
+	}
+
+	/**
+	 * Creates a corpus of records prefixed by their length as a big-endian {@code int}, verified in windows of 65,536
+	 * instances together with a sample of 4,096 earlier instances. The decoder is passed the record without the prefix.
+	 *
+	 * @param file
+	 * 		the file of the records, not null.
+	 * @param decoder
+	 * 		the decoder of the records, not null.
+	 * @return the corpus, never null.
+	 */
+	public static <T> RecordCorpus<T> lengthPrefixed(final Path file, final RecordDecoder<? extends T> decoder) {
+		Objects.requireNonNull(file, "The parameter 'file' must not be null!");
+		Objects.requireNonNull(decoder, "The parameter 'decoder' must not be null!");
+		return new RecordCorpus<>(file, LENGTH_PREFIXED, decoder, 65_536, 4_096);
+	}
+
+	/**
+	 * @param windowSize
+	 * 		the number of instances decoded and verified at a time, positive. At most two windows are held at once, one
+	 * 		being verified and the next being decoded.
+	 * @return the modified corpus, never null.
+	 */
+	public RecordCorpus<T> withWindowSize(final int windowSize) {
+		if(windowSize <= 0) {
+			throw new IllegalArgumentException("The parameter 'windowSize' must be positive!");
+		}
+		return new RecordCorpus<>(file, recordLength, decoder, windowSize, sampleSize);
+	}
+
+	/**
+	 * @param sampleSize
+	 * 		the number of instances of earlier windows every window is verified with, not negative. The sample is drawn
+	 * 		uniformly from all earlier instances.
+	 * @return the modified corpus, never null.
+	 */
+	public RecordCorpus<T> withSampleSize(final int sampleSize) {
+		if(sampleSize < 0) {
+			throw new IllegalArgumentException("The parameter 'sampleSize' must not be negative!");
+		}
+		return new RecordCorpus<>(file, recordLength, decoder, windowSize, sampleSize);
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+	 * @return the number of bytes of every record, or -1 if the records are prefixed by their length.
+	 */
+	public int getRecordLength() {
+		return recordLength;
+	}
+
+	public RecordDecoder<? extends T> getDecoder() {
+		return decoder;
+	}
+
+	public int getWindowSize() {
+		return windowSize;
+	}
+
+	public int getSampleSize() {
+		return sampleSize;
+	}
+
+	@Override
+	public String toString() {
+		return "RecordCorpus{file=" + file + ", recordLength="
+				+ (recordLength == LENGTH_PREFIXED ? "prefixed" : String.valueOf(recordLength)) + ", windowSize="
+				+ windowSize + ", sampleSize=" + sampleSize + "}";
+	}
+}
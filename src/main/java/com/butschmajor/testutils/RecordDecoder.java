@@ -0,0 +1,25 @@
+package com.butschmajor.testutils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes the instances of a {@link RecordCorpus} from their binary records.
+ * <p>
+ * Records are decoded in parallel, so implementations must be thread-safe. The buffer is a read-only view of the memory
+ * mapped corpus and only valid during the call, decoded instances must copy the bytes they keep.
+ *
+ * @param <T>
+ * 		the type of the decoded instances.
+ */
+@FunctionalInterface
+public interface RecordDecoder<T> {
+
+	/**
+	 * Decodes the instance of a record.
+	 *
+	 * @param record
+	 * 		the bytes of the record from its position to its limit, not null.
+	 * @return the decoded instance, not null.
+	 */
+	T decode(ByteBuffer record);
+}
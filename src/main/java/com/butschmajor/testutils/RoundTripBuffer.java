@@ -0,0 +1,110 @@
+package com.butschmajor.testutils;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A growable heap buffer with reusable stream views, so that round-tripping an instance through a
+ * {@link SerializationCodec} does not allocate a byte array per instance. A buffer is not thread-safe, every thread
+ * uses its own buffer.
+ */
+final class RoundTripBuffer {
+
+	private static final int INITIAL_CAPACITY = 4096;
+
+	private static final ThreadLocal<RoundTripBuffer> POOL = ThreadLocal.withInitial(RoundTripBuffer::new);
+
+	private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+
+	private final OutputStream out = new OutputStream() {
+
+		@Override
+		public void write(final int b) {
+			ensureRemaining(1);
+			buffer.put((byte) b);
+		}
+
+		@Override
+		public void write(final byte[] b, final int off, final int len) {
+			ensureRemaining(len);
+			buffer.put(b, off, len);
+		}
+	};
+
+	private final InputStream in = new InputStream() {
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len) {
+			if(len == 0) {
+				return 0;
+			}
+			if(!buffer.hasRemaining()) {
+				return -1;
+			}
+			final int read = Math.min(len, buffer.remaining());
+			buffer.get(b, off, read);
+			return read;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	};
+
+	/**
+	 * @return the buffer of the current thread, never null.
+	 */
+	static RoundTripBuffer get() {
+		return POOL.get();
+	}
+
+	/**
+	 * Discards the content of the buffer.
+	 *
+	 * @return the stream writing to the buffer, never null.
+	 */
+	OutputStream startWriting() {
+		buffer.clear();
+		return out;
+	}
+
+	/**
+	 * Ends writing.
+	 *
+	 * @return the stream reading the written content, never null.
+	 */
+	InputStream startReading() {
+		buffer.flip();
+		return in;
+	}
+
+	/**
+	 * @return the number of written bytes after {@link #startReading()}.
+	 */
+	int size() {
+		return buffer.limit();
+	}
+
+	/**
+	 * @return the number of written bytes not read yet after {@link #startReading()}.
+	 */
+	int remaining() {
+		return buffer.remaining();
+	}
+
+	private void ensureRemaining(final int length) {
+		if(buffer.remaining() < length) {
+			final ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + length));
+			buffer.flip();
+			grown.put(buffer);
+			buffer = grown;
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.butschmajor.testutils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+
+/**
+ * Writes instances to bytes and reads them back, e.g. by Java serialization or by the format an application uses to
+ * send instances to other processes.
+ * <p>
+ * The streams passed to a codec are pooled and reused for the next instance, a codec must not close them or keep a
+ * reference to them. Codecs are called by many threads concurrently and have to be thread-safe.
+ *
+ * @param <T>
+ * 		the type of the instances.
+ * @see ContractTesters#assertSerializationRoundTrip(java.util.Collection, SerializationCodec)
+ */
+public interface SerializationCodec<T> {
+
+	/**
+	 * Writes an instance.
+	 *
+	 * @param value
+	 * 		the instance to write, not null.
+	 * @param out
+	 * 		the stream to write to, not null.
+	 * @throws IOException
+	 * 		if the instance cannot be written.
+	 */
+	void write(T value, OutputStream out) throws IOException;
+
+	/**
+	 * Reads an instance written by {@link #write(Object, OutputStream)}.
+	 *
+	 * @param in
+	 * 		the stream to read from, not null.
+	 * @return the read instance.
+	 * @throws IOException
+	 * 		if the instance cannot be read.
+	 */
+	T read(InputStream in) throws IOException;
+
+	/**
+	 * @return the codec of the Java serialization, never null.
+	 */
+	static <T extends Serializable> SerializationCodec<T> javaSerialization() {
+		return new SerializationCodec<T>() {
+
+			@Override
+			public void write(final T value, final OutputStream out) throws IOException {
+				final ObjectOutputStream objects = new ObjectOutputStream(out);
+				objects.writeObject(value);
+				objects.flush();
+			}
+
+			@Override
+			public T read(final InputStream in) throws IOException {
+				try {
+					@SuppressWarnings("unchecked")
+					final T value = (T) new ObjectInputStream(in).readObject();
+					return value;
+				} catch(final ClassNotFoundException e) {
+					throw (InvalidClassException) new InvalidClassException(e.getMessage()).initCause(e);
+				}
+			}
+		};
+	}
+}
@@ -0,0 +1,89 @@
+package com.butschmajor.testutils;
+
+import java.util.Locale;
+
+/**
+ * The serialized sizes and the throughput of a serialization round trip of many instances.
+ *
+ * @see ContractTesters#assertSerializationRoundTrip(java.util.Collection, SerializationCodec)
+ */
+public final class SerializationReport {
+
+	private final int instances;
+	private final long totalBytes;
+	private final int minBytes;
+	private final int maxBytes;
+	private final long elapsedNanos;
+
+	SerializationReport(final int instances, final long totalBytes, final int minBytes, final int maxBytes,
+			final long elapsedNanos) {
+		this.instances = instances;
+		this.totalBytes = totalBytes;
+		this.minBytes = minBytes;
+		this.maxBytes = maxBytes;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * @return the number of round-tripped instances.
+	 */
+	public int getInstances() {
+		return instances;
+	}
+
+	/**
+	 * @return the total serialized size of all instances in bytes.
+	 */
+	public long getTotalBytes() {
+		return totalBytes;
+	}
+
+	/**
+	 * @return the smallest serialized size of an instance in bytes, 0 if no instance was round-tripped.
+	 */
+	public int getMinBytes() {
+		return minBytes;
+	}
+
+	/**
+	 * @return the largest serialized size of an instance in bytes, 0 if no instance was round-tripped.
+	 */
+	public int getMaxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * @return the average serialized size of an instance in bytes.
+	 */
+	public double getAverageBytes() {
+		return instances == 0 ? 0 : (double) totalBytes / instances;
+	}
+
+	/**
+	 * @return the wall-clock time of writing, reading and comparing all instances in nanoseconds.
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * @return the number of round trips per second, including the comparison of the copies.
+	 */
+	public double getInstancesPerSecond() {
+		return elapsedNanos == 0 ? 0 : instances * 1e9 / elapsedNanos;
+	}
+
+	/**
+	 * @return the number of serialized bytes written and read per second.
+	 */
+	public double getBytesPerSecond() {
+		return elapsedNanos == 0 ? 0 : totalBytes * 1e9 / elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(Locale.ROOT,
+				"SerializationReport[instances=%d, totalBytes=%d, minBytes=%d, maxBytes=%d, averageBytes=%.1f, instancesPerSecond=%.0f, bytesPerSecond=%.0f]",
+				instances, totalBytes, minBytes, maxBytes, getAverageBytes(), getInstancesPerSecond(), getBytesPerSecond());
+	}
+}
@@ -0,0 +1,83 @@
+package com.butschmajor.testutils;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The maximum cost of the static initializer of a class. Instances are immutable, every {@code with*} method returns a
+ * modified copy.
+ *
+ * @see UtilityClassTester#assertStaticInitializer(Class, StartupBudget)
+ */
+public final class StartupBudget {
+
+	private final long maxNanos;
+	private final long maxAllocatedBytes;
+	private final int maxInitializedClasses;
+
+	private StartupBudget(final long maxNanos, final long maxAllocatedBytes, final int maxInitializedClasses) {
+		this.maxNanos = maxNanos;
+		this.maxAllocatedBytes = maxAllocatedBytes;
+		this.maxInitializedClasses = maxInitializedClasses;
+	}
+
+	/**
+	 * Creates a budget limiting the initialization time, but neither the allocated bytes nor the initialized classes.
+	 *
+	 * @param maxDuration
+	 * 		the maximum time to initialize the class, positive.
+	 * @param unit
+	 * 		the unit of the duration, not null.
+	 * @return the budget, never null.
+	 */
+	public static StartupBudget of(final long maxDuration, final TimeUnit unit) {
+		if(maxDuration <= 0) {
+			throw new IllegalArgumentException("The parameter 'maxDuration' must be positive!");
+		}
+		Objects.requireNonNull(unit, "The parameter 'unit' must not be null!");
+		return new StartupBudget(unit.toNanos(maxDuration), Long.MAX_VALUE, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param maxAllocatedBytes
+	 * 		the maximum number of bytes the static initializer may allocate, not negative. Only verified if the JVM counts the
+	 * 		bytes allocated per thread.
+	 * @return the modified budget, never null.
+	 */
+	public StartupBudget withMaxAllocatedBytes(final long maxAllocatedBytes) {
+		if(maxAllocatedBytes < 0) {
+			throw new IllegalArgumentException("The parameter 'maxAllocatedBytes' must not be negative!");
+		}
+		return new StartupBudget(maxNanos, maxAllocatedBytes, maxInitializedClasses);
+	}
+
+	/**
+	 * @param maxInitializedClasses
+	 * 		the maximum number of other classes the static initializer may initialize, not negative.
+	 * @return the modified budget, never null.
+	 */
+	public StartupBudget withMaxInitializedClasses(final int maxInitializedClasses) {
+		if(maxInitializedClasses < 0) {
+			throw new IllegalArgumentException("The parameter 'maxInitializedClasses' must not be negative!");
+		}
+		return new StartupBudget(maxNanos, maxAllocatedBytes, maxInitializedClasses);
+	}
+
+	public long getMaxNanos() {
+		return maxNanos;
+	}
+
+	public long getMaxAllocatedBytes() {
+		return maxAllocatedBytes;
+	}
+
+	public int getMaxInitializedClasses() {
+		return maxInitializedClasses;
+	}
+
+	@Override
+	public String toString() {
+		return "StartupBudget[maxNanos=" + maxNanos + ", maxAllocatedBytes=" + maxAllocatedBytes
+				+ ", maxInitializedClasses=" + maxInitializedClasses + "]";
+	}
+}
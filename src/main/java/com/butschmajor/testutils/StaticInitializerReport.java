@@ -0,0 +1,77 @@
+package com.butschmajor.testutils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The cost of the static initializer of a class, measured in an isolated class loader.
+ *
+ * @see UtilityClassTester#measureStaticInitializer(Class)
+ */
+public final class StaticInitializerReport {
+
+	private final String className;
+	private final long initializationNanos;
+	private final long allocatedBytes;
+	private final List<String> initializedClasses;
+	private final boolean initializationTracked;
+
+	StaticInitializerReport(final String className, final long initializationNanos, final long allocatedBytes,
+			final List<String> initializedClasses, final boolean initializationTracked) {
+		Objects.requireNonNull(className, "The parameter 'className' must not be null!");
+		Objects.requireNonNull(initializedClasses, "The parameter 'initializedClasses' must not be null!");
+
+		this.className = className;
+		this.initializationNanos = initializationNanos;
+		this.allocatedBytes = allocatedBytes;
+		this.initializedClasses = Collections.unmodifiableList(new ArrayList<>(initializedClasses));
+		this.initializationTracked = initializationTracked;
+	}
+
+	/**
+	 * @return the binary name of the initialized class, never null.
+	 */
+	public String getClassName() {
+		return className;
+	}
+
+	/**
+	 * @return the time to initialize the class, including reading, defining and linking the classes its static
+	 * initializer uses, in nanoseconds.
+	 */
+	public long getInitializationNanos() {
+		return initializationNanos;
+	}
+
+	/**
+	 * @return the number of bytes allocated while initializing the class, excluding the bytes allocated by the isolated
+	 * class loader, or -1 if the JVM does not count the bytes allocated per thread.
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	/**
+	 * @return the binary names of the other classes of the class path the static initializer initialized, in the order
+	 * they were loaded, never null. Classes of the JDK are not isolated and therefore not listed.
+	 */
+	public List<String> getInitializedClasses() {
+		return initializedClasses;
+	}
+
+	/**
+	 * @return true if the initialization of the classes could be tracked, false if the JVM does not expose it. In the
+	 * latter case {@link #getInitializedClasses()} lists all classes loaded by the static initializer.
+	 */
+	public boolean isInitializationTracked() {
+		return initializationTracked;
+	}
+
+	@Override
+	public String toString() {
+		return "StaticInitializerReport[className=" + className + ", initializationNanos=" + initializationNanos
+				+ ", allocatedBytes=" + allocatedBytes + ", initializedClasses=" + initializedClasses + "]";
+	}
+}
@@ -0,0 +1,261 @@
+package com.butschmajor.testutils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+import static com.butschmajor.testutils.Failures.fail;
+
+/**
+ * This class provide methods to measure the cost of the static initializer of a class.
+ * <p>
+ * The class is loaded again by an isolated class loader, which loads all classes of the class path itself instead of
+ * delegating to its parent. The static initializer therefore runs again, even if the class has already been initialized
+ * by the class loader of the test, and every class of the class path it uses is loaded again and recorded. Classes of
+ * the JDK are shared with the parent, their initialization is neither repeated nor recorded.
+ * <p>
+ * The measured time includes reading, defining and linking the classes the static initializer uses. The counted
+ * allocations exclude this work of the isolated class loader: the bytes allocated while a class is loaded during the
+ * measurement, e.g. for reading its class file and defining it, are subtracted.
+ */
+final class StaticInitializerTesters {
+
+	/**
+	 * Prefixes of the classes the isolated class loader delegates to its parent.
+	 */
+	private static final String[] SHARED_PACKAGES = { "java.", "javax.", "jdk.", "sun.", "com.sun." };
+
+	/**
+	 * {@code sun.misc.Unsafe#shouldBeInitialized(Class)}, which tells if a class has not been initialized yet without
+	 * initializing it, or null if it is not accessible.
+	 */
+	private static final Method SHOULD_BE_INITIALIZED;
+	private static final Object UNSAFE;
+
+	static {
+		Method shouldBeInitialized = null;
+		Object unsafe = null;
+		try {
+			final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			unsafe = theUnsafe.get(null);
+			shouldBeInitialized = unsafeClass.getMethod("shouldBeInitialized", Class.class);
+		} catch(final ReflectiveOperationException | RuntimeException e) {
+			// Only the loaded classes can be reported
+			unsafe = null;
+			shouldBeInitialized = null;
+		}
+		SHOULD_BE_INITIALIZED = shouldBeInitialized;
+		UNSAFE = unsafe;
+	}
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private StaticInitializerTesters() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Ensures that the static initializer of the class complies with the budget.
+	 *
+	 * @param clazz
+	 * 		the class to initialize, not null.
+	 * @param budget
+	 * 		the startup budget, not null.
+	 * @return the measured cost, never null.
+	 */
+	static StaticInitializerReport assertStaticInitializer(final Class<?> clazz, final StartupBudget budget) {
+		Objects.requireNonNull(clazz, "The parameter 'clazz' must not be null!");
+		Objects.requireNonNull(budget, "The parameter 'budget' must not be null!");
+
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final StaticInitializerReport report = measure(clazz);
+
+			final List<String> violations = new ArrayList<>();
+			if(report.getInitializationNanos() > budget.getMaxNanos()) {
+				violations.add(String.format(Locale.ROOT, "  initialization took %d ns, at most %d ns are allowed",
+						report.getInitializationNanos(), budget.getMaxNanos()));
+			}
+			if(report.getAllocatedBytes() > budget.getMaxAllocatedBytes()) {
+				violations.add(String.format(Locale.ROOT, "  initialization allocated %d bytes, at most %d bytes are allowed",
+						report.getAllocatedBytes(), budget.getMaxAllocatedBytes()));
+			}
+			if(report.getInitializedClasses().size() > budget.getMaxInitializedClasses()) {
+				violations.add(String.format(Locale.ROOT, "  initialization initialized %d other classes, at most %d are allowed: %s",
+						report.getInitializedClasses().size(), budget.getMaxInitializedClasses(),
+						report.getInitializedClasses()));
+			}
+			if(!violations.isEmpty()) {
+				fail("The static initializer of the class <%s> exceeds its startup budget:%n%s", clazz.getName(),
+						String.join(System.lineSeparator(), violations));
+			}
+
+			passed = true;
+			return report;
+		} finally {
+			CheckListeners.completed("utilityClass.staticInitializer", clazz, start, passed);
+		}
+	}
+
+	/**
+	 * Initializes the class in an isolated class loader and measures the cost.
+	 *
+	 * @param clazz
+	 * 		the class to initialize, not null.
+	 * @return the measured cost, never null.
+	 */
+	static StaticInitializerReport measure(final Class<?> clazz) {
+		Objects.requireNonNull(clazz, "The parameter 'clazz' must not be null!");
+		if(clazz.getClassLoader() == null || isShared(clazz.getName())) {
+			throw new IllegalArgumentException("The class <" + clazz.getName() + "> is a class of the JDK");
+		}
+
+		final IsolatedClassLoader loader = new IsolatedClassLoader(clazz.getClassLoader());
+		final Class<?> isolated;
+		try {
+			isolated = Class.forName(clazz.getName(), false, loader);
+		} catch(final ClassNotFoundException | LinkageError e) {
+			throw new IllegalArgumentException("The class <" + clazz.getName() + "> cannot be loaded again", e);
+		}
+
+		final boolean countAllocations = AllocationCounter.isSupported();
+		if(countAllocations) {
+			loader.measuringThread = Thread.currentThread();
+		}
+		final long allocatedBefore = countAllocations ? AllocationCounter.allocatedBytes() : 0;
+		final long before = System.nanoTime();
+		try {
+			Class.forName(clazz.getName(), true, loader);
+		} catch(final ClassNotFoundException | LinkageError e) {
+			fail(String.format("The static initializer of the class <%s> failed: %s", clazz.getName(),
+					e instanceof ExceptionInInitializerError ? e.getCause() : e), e);
+		} finally {
+			loader.measuringThread = null;
+		}
+		final long initializationNanos = System.nanoTime() - before;
+		final long allocatedBytes = countAllocations
+				? Math.max(0, AllocationCounter.allocatedBytes() - allocatedBefore - loader.loaderAllocatedBytes) : -1;
+
+		final List<String> initializedClasses = new ArrayList<>();
+		for(final Class<?> loaded : loader.getLoadedClasses()) {
+			if(loaded != isolated && isInitialized(loaded)) {
+				initializedClasses.add(loaded.getName());
+			}
+		}
+		return new StaticInitializerReport(clazz.getName(), initializationNanos, allocatedBytes, initializedClasses,
+				SHOULD_BE_INITIALIZED != null);
+	}
+
+	/**
+	 * @param loaded
+	 * 		a loaded class, not null.
+	 * @return true if the class has been initialized or if the initialization cannot be tracked.
+	 */
+	private static boolean isInitialized(final Class<?> loaded) {
+		if(SHOULD_BE_INITIALIZED == null) {
+			return true;
+		}
+		try {
+			return !(Boolean) SHOULD_BE_INITIALIZED.invoke(UNSAFE, loaded);
+		} catch(final ReflectiveOperationException e) {
+			return true;
+		}
+	}
+
+	private static boolean isShared(final String className) {
+		for(final String prefix : SHARED_PACKAGES) {
+			if(className.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * A class loader loading the classes of the class path of its parent itself, recording every loaded class. While a
+	 * thread is measured, the bytes it allocates in the outermost call of {@link #loadClass(String, boolean)} are
+	 * counted.
+	 */
+	private static final class IsolatedClassLoader extends ClassLoader {
+
+		private final List<Class<?>> loadedClasses = new ArrayList<>();
+
+		private volatile Thread measuringThread;
+		private int depth;
+		private long loaderAllocatedBytes;
+
+		IsolatedClassLoader(final ClassLoader parent) {
+			super(parent);
+		}
+
+		@Override
+		protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+			if(Thread.currentThread() != measuringThread || depth > 0) {
+				return loadClassUnmeasured(name, resolve);
+			}
+			depth++;
+			final long before = AllocationCounter.allocatedBytes();
+			try {
+				return loadClassUnmeasured(name, resolve);
+			} finally {
+				loaderAllocatedBytes += AllocationCounter.allocatedBytes() - before;
+				depth--;
+			}
+		}
+
+		private Class<?> loadClassUnmeasured(final String name, final boolean resolve) throws ClassNotFoundException {
+			synchronized(getClassLoadingLock(name)) {
+				Class<?> loaded = findLoadedClass(name);
+				if(loaded == null && !isShared(name)) {
+					final byte[] classFile = readClassFile(name);
+					if(classFile != null) {
+						loaded = defineClass(name, classFile, 0, classFile.length);
+						synchronized(loadedClasses) {
+							loadedClasses.add(loaded);
+						}
+					}
+				}
+				if(loaded == null) {
+					return super.loadClass(name, resolve);
+				}
+				if(resolve) {
+					resolveClass(loaded);
+				}
+				return loaded;
+			}
+		}
+
+		private byte[] readClassFile(final String name) {
+			try(InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+				if(in == null) {
+					return null;
+				}
+				final ByteArrayOutputStream out = new ByteArrayOutputStream();
+				final byte[] buffer = new byte[8192];
+				for(int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+					out.write(buffer, 0, read);
+				}
+				return out.toByteArray();
+			} catch(final IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		List<Class<?>> getLoadedClasses() {
+			synchronized(loadedClasses) {
+				return new ArrayList<>(loadedClasses);
+			}
+		}
+	}
+}
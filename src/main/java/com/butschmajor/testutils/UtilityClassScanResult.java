@@ -0,0 +1,110 @@
+package com.butschmajor.testutils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * The result of verifying all utility classes of a package.
+ *
+ * @see UtilityClassTester#scanPackage(String, java.util.regex.Pattern)
+ */
+public final class UtilityClassScanResult {
+
+	private final List<ClassResult> results;
+
+	UtilityClassScanResult(final List<ClassResult> results) {
+		Objects.requireNonNull(results, "The parameter 'results' must not be null!");
+
+		final List<ClassResult> sorted = new ArrayList<>(results);
+		sorted.sort(Comparator.comparing(ClassResult::getClassName));
+		this.results = Collections.unmodifiableList(sorted);
+	}
+
+	/**
+	 * @return the results of all verified classes ordered by class name, never null.
+	 */
+	public List<ClassResult> getResults() {
+		return results;
+	}
+
+	/**
+	 * @return the results of all classes which are not well-defined ordered by class name, never null.
+	 */
+	public List<ClassResult> getFailures() {
+		return results.stream().filter(result -> !result.isWellDefined()).collect(Collectors.toList());
+	}
+
+	/**
+	 * @return true if all verified classes are well-defined.
+	 */
+	public boolean isSuccessful() {
+		return results.stream().allMatch(ClassResult::isWellDefined);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(results.size()).append(" classes verified, ").append(getFailures().size())
+				.append(" not well-defined");
+		for(final ClassResult failure : getFailures()) {
+			for(final String violation : failure.getViolations()) {
+				builder.append(System.lineSeparator()).append(violation);
+			}
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * The result of verifying a single utility class.
+	 */
+	public static final class ClassResult {
+
+		private final String className;
+		private final List<String> violations;
+		private final boolean instantiationProbed;
+
+		ClassResult(final String className, final List<String> violations, final boolean instantiationProbed) {
+			this.className = Objects.requireNonNull(className, "The parameter 'className' must not be null!");
+			this.violations = Collections.unmodifiableList(new ArrayList<>(violations));
+			this.instantiationProbed = instantiationProbed;
+		}
+
+		/**
+		 * @return the fully qualified binary name of the class, never null.
+		 */
+		public String getClassName() {
+			return className;
+		}
+
+		/**
+		 * @return the descriptions of all violated properties, never null.
+		 */
+		public List<String> getViolations() {
+			return violations;
+		}
+
+		/**
+		 * @return true if the class has been loaded to verify that its instantiation via reflection fails. This is only
+		 * done for classes passing all checks on the class file.
+		 */
+		public boolean isInstantiationProbed() {
+			return instantiationProbed;
+		}
+
+		/**
+		 * @return true if the class has no violations.
+		 */
+		public boolean isWellDefined() {
+			return violations.isEmpty();
+		}
+
+		@Override
+		public String toString() {
+			return className + (isWellDefined() ? ": well-defined" : ": " + violations);
+		}
+	}
+}
@@ -0,0 +1,482 @@
+package com.butschmajor.testutils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * This class provide methods to verify all utility classes of a package on the class path.
+ * <p>
+ * The class files are read from directories and jar files without loading the classes. The checks on the class files run
+ * in parallel. Only classes passing these checks are loaded to verify that their instantiation via reflection fails, which
+ * also initializes them. These probes run sequentially, so that static initializers depending on each other cannot
+ * deadlock.
+ */
+final class UtilityClassScanner {
+
+	private static final String CLASS_FILE_SUFFIX = ".class";
+	private static final String DEFAULT_CONSTRUCTOR_DESCRIPTOR = "()V";
+
+	/**
+	 * Suppresses default constructor, ensuring non-instantiability.
+	 */
+	private UtilityClassScanner() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Verifies all classes of a package and its sub-packages whose name matches the given pattern.
+	 *
+	 * @param loader
+	 * 		the class loader to find and load the classes with, not null.
+	 * @param packageName
+	 * 		the name of the package to scan, not null.
+	 * @param classNamePattern
+	 * 		the pattern the fully qualified binary class names have to match, not null.
+	 * @return the result of all verified classes, never null.
+	 * @throws IOException
+	 * 		if a directory or jar file of the class path cannot be read.
+	 */
+	static UtilityClassScanResult scan(final ClassLoader loader, final String packageName,
+			final Pattern classNamePattern) throws IOException {
+		Objects.requireNonNull(loader, "The parameter 'loader' must not be null!");
+		Objects.requireNonNull(packageName, "The parameter 'packageName' must not be null!");
+		Objects.requireNonNull(classNamePattern, "The parameter 'classNamePattern' must not be null!");
+
+		final String packagePath = packageName.replace('.', '/');
+		final Map<String, ClassFileSource> sources = new LinkedHashMap<>();
+		final List<ZipFile> jars = new ArrayList<>();
+		try {
+			final Enumeration<URL> roots = loader.getResources(packagePath);
+			while(roots.hasMoreElements()) {
+				final URL root = roots.nextElement();
+				if("file".equals(root.getProtocol())) {
+					addDirectory(toPath(root), packagePath, classNamePattern, sources);
+				} else if("jar".equals(root.getProtocol())) {
+					final URL jarFile = ((JarURLConnection) root.openConnection()).getJarFileURL();
+					final ZipFile jar = new ZipFile(toPath(jarFile).toFile());
+					jars.add(jar);
+					addJar(jar, packagePath, classNamePattern, sources);
+				}
+			}
+
+			final List<ClassFileResult> results;
+			try {
+				results = sources.values().parallelStream() //
+						.map(UtilityClassScanner::verifyClassFile) //
+						.filter(Objects::nonNull) //
+						.collect(Collectors.toList());
+			} catch(final UncheckedIOException e) {
+				throw e.getCause();
+			}
+
+			final List<UtilityClassScanResult.ClassResult> verified = new ArrayList<>(results.size());
+			for(final ClassFileResult result : results) {
+				verified.add(probeInstantiation(loader, result));
+			}
+			return new UtilityClassScanResult(verified);
+		} finally {
+			for(final ZipFile jar : jars) {
+				jar.close();
+			}
+		}
+	}
+
+	/**
+	 * Lists the binary names of all class files of a package and its sub-packages whose name matches the given pattern.
+	 * The directories and jar files of the class path are only read while the returned stream is consumed, so the stream
+	 * has to be closed after use.
+	 *
+	 * @param loader
+	 * 		the class loader to find the classes with, not null.
+	 * @param packageName
+	 * 		the name of the package to scan, not null.
+	 * @param classNamePattern
+	 * 		the pattern the fully qualified binary class names have to match, not null.
+	 * @return the lazily populated stream of distinct class names, never null.
+	 * @throws IOException
+	 * 		if the class path roots of the package cannot be determined.
+	 */
+	static Stream<String> classNames(final ClassLoader loader, final String packageName, final Pattern classNamePattern)
+			throws IOException {
+		Objects.requireNonNull(loader, "The parameter 'loader' must not be null!");
+		Objects.requireNonNull(packageName, "The parameter 'packageName' must not be null!");
+		Objects.requireNonNull(classNamePattern, "The parameter 'classNamePattern' must not be null!");
+
+		final String packagePath = packageName.replace('.', '/');
+		return Collections.list(loader.getResources(packagePath)).stream() //
+				.flatMap(root -> classNames(root, packagePath)) //
+				.filter(className -> classNamePattern.matcher(className).matches()) //
+				.distinct();
+	}
+
+	/**
+	 * Verifies a single class of the class path.
+	 *
+	 * @param loader
+	 * 		the class loader to find and load the class with, not null.
+	 * @param className
+	 * 		the binary name of the class, not null.
+	 * @return the result of the verified class or null if it is an interface, enum, annotation or module.
+	 * @throws IOException
+	 * 		if the class file cannot be read.
+	 */
+	static UtilityClassScanResult.ClassResult verify(final ClassLoader loader, final String className)
+			throws IOException {
+		Objects.requireNonNull(loader, "The parameter 'loader' must not be null!");
+		Objects.requireNonNull(className, "The parameter 'className' must not be null!");
+
+		final String resource = className.replace('.', '/') + CLASS_FILE_SUFFIX;
+		final ClassFileResult result;
+		try {
+			result = verifyClassFile(new ClassFileSource(className, resource, () -> {
+				try(InputStream in = loader.getResourceAsStream(resource)) {
+					if(in == null) {
+						throw new IOException("The class file <" + resource + "> cannot be found");
+					}
+					return ByteBuffer.wrap(in.readAllBytes());
+				}
+			}));
+		} catch(final UncheckedIOException e) {
+			throw e.getCause();
+		}
+		return result == null ? null : probeInstantiation(loader, result);
+	}
+
+	/**
+	 * Lists the class files of a package below a class path root.
+	 *
+	 * @param root
+	 * 		the URL of the package directory or of the package in a jar file, not null.
+	 * @param packagePath
+	 * 		the path of the package relative to the class path root, not null.
+	 * @return the lazily populated stream of class names, never null.
+	 */
+	private static Stream<String> classNames(final URL root, final String packagePath) {
+		try {
+			if("file".equals(root.getProtocol())) {
+				final Path directory = toPath(root);
+				return Files.walk(directory) //
+						.filter(Files::isRegularFile) //
+						.map(file -> toClassName(toEntryName(directory, file, packagePath))) //
+						.filter(Objects::nonNull);
+			} else if("jar".equals(root.getProtocol())) {
+				final URL jarFile = ((JarURLConnection) root.openConnection()).getJarFileURL();
+				final ZipFile jar = new ZipFile(toPath(jarFile).toFile());
+				final String prefix = packagePath.isEmpty() ? "" : packagePath + '/';
+				return jar.stream() //
+						.map(ZipEntry::getName) //
+						.filter(entryName -> entryName.startsWith(prefix)) //
+						.map(UtilityClassScanner::toClassName) //
+						.filter(Objects::nonNull) //
+						.onClose(() -> {
+							try {
+								jar.close();
+							} catch(final IOException e) {
+								throw new UncheckedIOException(e);
+							}
+						});
+			}
+			return Stream.empty();
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Adds the class files of a package directory and its sub-directories.
+	 *
+	 * @param directory
+	 * 		the directory of the package, not null.
+	 * @param packagePath
+	 * 		the path of the package relative to the class path root, not null.
+	 * @param classNamePattern
+	 * 		the pattern the class names have to match, not null.
+	 * @param sources
+	 * 		the class file sources by class name, not null.
+	 * @throws IOException
+	 * 		if the directory cannot be read.
+	 */
+	private static void addDirectory(final Path directory, final String packagePath, final Pattern classNamePattern,
+			final Map<String, ClassFileSource> sources) throws IOException {
+		try(Stream<Path> files = Files.walk(directory)) {
+			for(final Path file : (Iterable<Path>) files::iterator) {
+				final String className = toClassName(toEntryName(directory, file, packagePath));
+				if(className != null && classNamePattern.matcher(className).matches() && Files.isRegularFile(file)) {
+					sources.putIfAbsent(className, new ClassFileSource(className, file.toString(), () -> map(file)));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the class files of a package in a jar file and its sub-packages.
+	 *
+	 * @param jar
+	 * 		the opened jar file, not null.
+	 * @param packagePath
+	 * 		the path of the package relative to the root of the jar file, not null.
+	 * @param classNamePattern
+	 * 		the pattern the class names have to match, not null.
+	 * @param sources
+	 * 		the class file sources by class name, not null.
+	 */
+	private static void addJar(final ZipFile jar, final String packagePath, final Pattern classNamePattern,
+			final Map<String, ClassFileSource> sources) {
+		final String prefix = packagePath.isEmpty() ? "" : packagePath + '/';
+		final Enumeration<? extends ZipEntry> entries = jar.entries();
+		while(entries.hasMoreElements()) {
+			final ZipEntry entry = entries.nextElement();
+			final String className = entry.getName().startsWith(prefix) ? toClassName(entry.getName()) : null;
+			if(className != null && classNamePattern.matcher(className).matches()) {
+				final String location = jar.getName() + "!/" + entry.getName();
+				sources.putIfAbsent(className, new ClassFileSource(className, location, () -> {
+					try(InputStream in = jar.getInputStream(entry)) {
+						return ByteBuffer.wrap(in.readAllBytes());
+					}
+				}));
+			}
+		}
+	}
+
+	/**
+	 * Converts the path of a file below a package directory to its path relative to the class path root.
+	 *
+	 * @param directory
+	 * 		the directory of the package, not null.
+	 * @param file
+	 * 		the file below the directory, not null.
+	 * @param packagePath
+	 * 		the path of the package relative to the class path root, not null.
+	 * @return the path of the file relative to the class path root, never null.
+	 */
+	private static String toEntryName(final Path directory, final Path file, final String packagePath) {
+		final String relativePath = directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+		return packagePath.isEmpty() ? relativePath : packagePath + '/' + relativePath;
+	}
+
+	/**
+	 * Maps a class file into memory.
+	 *
+	 * @param file
+	 * 		the class file, not null.
+	 * @return the mapped content of the class file, never null.
+	 * @throws IOException
+	 * 		if the file cannot be read.
+	 */
+	private static ByteBuffer map(final Path file) throws IOException {
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	/**
+	 * Converts the path of a class file to the binary name of the class.
+	 *
+	 * @param entryName
+	 * 		the path of the class file relative to the class path root, not null.
+	 * @return the binary class name or null if the path is no class file of a class.
+	 */
+	private static String toClassName(final String entryName) {
+		if(!entryName.endsWith(CLASS_FILE_SUFFIX) || entryName.endsWith("module-info.class")
+				|| entryName.endsWith("package-info.class")) {
+			return null;
+		}
+		return entryName.substring(0, entryName.length() - CLASS_FILE_SUFFIX.length()).replace('/', '.');
+	}
+
+	/**
+	 * Converts a file URL to a path.
+	 *
+	 * @param url
+	 * 		the file URL, not null.
+	 * @return the path, never null.
+	 * @throws IOException
+	 * 		if the URL is malformed.
+	 */
+	private static Path toPath(final URL url) throws IOException {
+		try {
+			return Paths.get(url.toURI());
+		} catch(final URISyntaxException e) {
+			throw new IOException("The class path root <" + url + "> is malformed", e);
+		}
+	}
+
+	/**
+	 * Verifies the properties of a utility class which can be read from its class file. A malformed class file is
+	 * reported as violation of its class.
+	 *
+	 * @param source
+	 * 		the source of the class file, not null.
+	 * @return the result of the verification or null if the class file does not declare a class.
+	 */
+	private static ClassFileResult verifyClassFile(final ClassFileSource source) {
+		final ClassFileInfo info;
+		try {
+			info = ClassFileInfo.parse(source.reader.read());
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		} catch(final IllegalArgumentException e) {
+			final List<String> violations = new ArrayList<>();
+			violations.add(String.format("The class file <%s> of the class <%s> cannot be read: %s", source.location,
+					source.className, e.getMessage()));
+			return new ClassFileResult(source.className, violations);
+		}
+		if(info.is(ClassFileInfo.ACC_INTERFACE) || info.is(ClassFileInfo.ACC_ENUM) || info.is(ClassFileInfo.ACC_MODULE)
+				|| info.is(ClassFileInfo.ACC_SYNTHETIC)) {
+			return null;
+		}
+
+		final String className = info.getClassName();
+		final List<String> violations = new ArrayList<>();
+
+		// Verify that the class is final
+		if(!info.is(ClassFileInfo.ACC_FINAL)) {
+			violations.add(String.format("The class <%s> is not final", className));
+		}
+
+		// Verify that the class has exactly one constructor which is private
+		final List<ClassFileInfo.MethodInfo> constructors = info.getMethods().stream() //
+				.filter(ClassFileInfo.MethodInfo::isConstructor) //
+				.collect(Collectors.toList());
+		if(constructors.size() != 1) {
+			violations.add(String.format("The class <%s> has more than one constructor", className));
+		}
+		final ClassFileInfo.MethodInfo constructor = constructors.stream() //
+				.filter(method -> DEFAULT_CONSTRUCTOR_DESCRIPTOR.equals(method.getDescriptor())) //
+				.findFirst() //
+				.orElse(null);
+		if(constructor == null) {
+			violations.add(String.format("The class <%s> has no constructor without parameters", className));
+		} else if(!constructor.is(ClassFileInfo.ACC_PRIVATE)) {
+			violations.add(String.format("The constructor of the class <%s> is not private", className));
+		}
+
+		// Verify that there exists no non-static method(s)
+		for(final ClassFileInfo.MethodInfo method : info.getMethods()) {
+			if(method.is(ClassFileInfo.ACC_PUBLIC) && !method.is(ClassFileInfo.ACC_STATIC)
+					&& !method.is(ClassFileInfo.ACC_SYNTHETIC) && !method.isConstructor()) {
+				violations.add(String.format("The class <%s> has a non-static method: '%s'", className, method.getName()));
+			}
+		}
+
+		return new ClassFileResult(className, violations);
+	}
+
+	/**
+	 * Verifies that the instantiation of a class passing the checks on its class file throws an
+	 * UnsupportedOperationException.
+	 *
+	 * @param loader
+	 * 		the class loader to load the class with, not null.
+	 * @param result
+	 * 		the result of the checks on the class file, not null.
+	 * @return the result of the verified class, never null.
+	 */
+	private static UtilityClassScanResult.ClassResult probeInstantiation(final ClassLoader loader,
+			final ClassFileResult result) {
+		final boolean probe = result.violations.isEmpty();
+		if(probe) {
+			probeInstantiation(loader, result.className, result.violations);
+		}
+		return new UtilityClassScanResult.ClassResult(result.className, result.violations, probe);
+	}
+
+	/**
+	 * Verifies that the instantiation of a class via reflection throws an UnsupportedOperationException.
+	 *
+	 * @param loader
+	 * 		the class loader to load the class with, not null.
+	 * @param className
+	 * 		the binary name of the class, not null.
+	 * @param violations
+	 * 		the violations of the class to add to, not null.
+	 */
+	private static void probeInstantiation(final ClassLoader loader, final String className,
+			final List<String> violations) {
+		final String errorMessage = String.format(
+				"The instantiation of the class <%s> do not throw an UnsupportedOperationException", className);
+		final long start = CheckListeners.start();
+		final int violationCount = violations.size();
+		Class<?> type = null;
+		try {
+			type = Class.forName(className, false, loader);
+			final Constructor<?> constructor = type.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			constructor.newInstance();
+			violations.add(errorMessage);
+		} catch(final InvocationTargetException e) {
+			if(!(e.getTargetException() instanceof UnsupportedOperationException)) {
+				violations.add(errorMessage);
+			}
+		} catch(final ReflectiveOperationException | LinkageError | RuntimeException e) {
+			violations.add(String.format("The class <%s> cannot be instantiated via reflection: %s", className, e));
+		} finally {
+			if(type != null) {
+				CheckListeners.completed("utilityClass.constructorProbe", type, start, violations.size() == violationCount);
+			}
+		}
+	}
+
+	/**
+	 * Supplies the content of a class file.
+	 */
+	@FunctionalInterface
+	private interface ClassFileReader {
+
+		ByteBuffer read() throws IOException;
+	}
+
+	/**
+	 * A class file found on the class path.
+	 */
+	private static final class ClassFileSource {
+
+		private final String className;
+		private final String location;
+		private final ClassFileReader reader;
+
+		ClassFileSource(final String className, final String location, final ClassFileReader reader) {
+			this.className = className;
+			this.location = location;
+			this.reader = reader;
+		}
+	}
+
+	/**
+	 * The intermediate result of verifying a class file.
+	 */
+	private static final class ClassFileResult {
+
+		private final String className;
+		private final List<String> violations;
+
+		ClassFileResult(final String className, final List<String> violations) {
+			this.className = className;
+			this.violations = violations;
+		}
+	}
+}
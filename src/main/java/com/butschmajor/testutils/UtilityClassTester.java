@@ -1,17 +1,22 @@
 package com.butschmajor.testutils;
 
-import org.assertj.core.api.SoftAssertions;
-
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
-
-import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import java.util.regex.Pattern;
 
 public final class UtilityClassTester {
 
+	/**
+	 * Name of the check in the {@link VerificationCache}.
+	 */
+	private static final String CHECK_WELL_DEFINED = "UtilityClassTester.assertThatClassIsWellDefined";
+
 	/**
 	 * Suppresses default constructor, ensuring non-instantiability.
 	 */
@@ -38,56 +43,274 @@ public final class UtilityClassTester {
 	public static void assertThatClassIsWellDefined(final Class<?> clazz)
 			throws InstantiationException, IllegalAccessException, NoSuchMethodException {
 		Objects.requireNonNull(clazz, "The parameter 'clazz' must not be null!");
-		final SoftAssertions softly = new SoftAssertions();
+		final VerificationCache cache = VerificationCache.configured();
+		if(cache != null && cache.isVerified(clazz, CHECK_WELL_DEFINED)) {
+			return;
+		}
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			final FailureCollector collector = new FailureCollector();
+			collectViolations(clazz, collector);
+			collector.assertNoFailures();
+			passed = true;
+		} finally {
+			CheckListeners.completed("utilityClass.wellDefined", clazz, start, passed);
+		}
+
+		if(cache != null) {
+			cache.markVerifiedUnchecked(clazz, CHECK_WELL_DEFINED);
+		}
+	}
+
+	/**
+	 * <p>Verifies all classes of a package and its sub-packages on the class path whose fully qualified binary name matches
+	 * the given pattern.</p>
+	 * The properties of a well-defined utility class (see {@link #assertThatClassIsWellDefined(Class)}) are read from the
+	 * class files in parallel without loading the classes. Only classes passing these checks are loaded and instantiated via
+	 * reflection. Interfaces, enums and annotations are not verified.
+	 *
+	 * @param packageName
+	 * 		the name of the package to scan, not null.
+	 * @param classNamePattern
+	 * 		the pattern the fully qualified binary class names have to match, not null.
+	 * @return the result of all verified classes, never null.
+	 * @throws IOException
+	 * 		if a directory or jar file of the class path cannot be read.
+	 */
+	public static UtilityClassScanResult scanPackage(final String packageName, final Pattern classNamePattern)
+			throws IOException {
+		Objects.requireNonNull(packageName, "The parameter 'packageName' must not be null!");
+		Objects.requireNonNull(classNamePattern, "The parameter 'classNamePattern' must not be null!");
+
+		return UtilityClassScanner.scan(classLoader(), packageName, classNamePattern);
+	}
+
+	/**
+	 * Verifies that all classes of a package and its sub-packages on the class path whose fully qualified binary name
+	 * matches the given pattern are well-defined utility classes.
+	 *
+	 * @param packageName
+	 * 		the name of the package to scan, not null.
+	 * @param classNamePattern
+	 * 		the pattern the fully qualified binary class names have to match, not null.
+	 * @throws IOException
+	 * 		if a directory or jar file of the class path cannot be read.
+	 * @see #scanPackage(String, Pattern)
+	 */
+	public static void assertThatClassesAreWellDefined(final String packageName, final Pattern classNamePattern)
+			throws IOException {
+		Objects.requireNonNull(packageName, "The parameter 'packageName' must not be null!");
+		Objects.requireNonNull(classNamePattern, "The parameter 'classNamePattern' must not be null!");
+
+		final FailureCollector collector = new FailureCollector();
+		assertThatClassesAreWellDefined(packageName, classNamePattern, collector);
+		collector.assertNoFailures();
+	}
+
+	/**
+	 * Verifies that all classes of a package and its sub-packages on the class path whose fully qualified binary name
+	 * matches the given pattern are well-defined utility classes and adds the violations to a collector instead of
+	 * failing. All violations of a class are added as one failure, so even large class sets are verified in
+	 * bounded memory.
+	 *
+	 * @param packageName
+	 * 		the name of the package to scan, not null.
+	 * @param classNamePattern
+	 * 		the pattern the fully qualified binary class names have to match, not null.
+	 * @param collector
+	 * 		the collector to add the violations to, not null.
+	 * @throws IOException
+	 * 		if a directory or jar file of the class path cannot be read.
+	 * @see #scanPackage(String, Pattern)
+	 */
+	public static void assertThatClassesAreWellDefined(final String packageName, final Pattern classNamePattern,
+			final FailureCollector collector) throws IOException {
+		Objects.requireNonNull(packageName, "The parameter 'packageName' must not be null!");
+		Objects.requireNonNull(classNamePattern, "The parameter 'classNamePattern' must not be null!");
+		Objects.requireNonNull(collector, "The parameter 'collector' must not be null!");
+
+		final UtilityClassScanResult result = scanPackage(packageName, classNamePattern);
+		for(final UtilityClassScanResult.ClassResult failure : result.getFailures()) {
+			collector.add("utilityClass.wellDefined", failure.getClassName(),
+					String.join(System.lineSeparator(), failure.getViolations()));
+		}
+	}
+
+	/**
+	 * <p>Measures the cost of the static initializer of a class.</p>
+	 * The class is loaded again by an isolated class loader and initialized there, so the static initializer runs even if
+	 * the class has already been initialized. The report contains the initialization time, the bytes allocated by the
+	 * current thread and the other classes of the class path the static initializer initialized transitively.
+	 *
+	 * @param clazz
+	 * 		class to initialize, not null and not a class of the JDK.
+	 * @return the measured cost, never null.
+	 */
+	public static StaticInitializerReport measureStaticInitializer(final Class<?> clazz) {
+		Objects.requireNonNull(clazz, "The parameter 'clazz' must not be null!");
+
+		return StaticInitializerTesters.measure(clazz);
+	}
+
+	/**
+	 * Verifies that the static initializer of a class complies with the startup budget.
+	 *
+	 * @param clazz
+	 * 		class to initialize, not null and not a class of the JDK.
+	 * @param budget
+	 * 		the maximum cost of the static initializer, not null.
+	 * @return the measured cost, never null.
+	 * @see #measureStaticInitializer(Class)
+	 */
+	public static StaticInitializerReport assertStaticInitializer(final Class<?> clazz, final StartupBudget budget) {
+		Objects.requireNonNull(clazz, "The parameter 'clazz' must not be null!");
+		Objects.requireNonNull(budget, "The parameter 'budget' must not be null!");
+
+		return StaticInitializerTesters.assertStaticInitializer(clazz, budget);
+	}
 
-		// Verify that the class is final
-		final boolean isClassFinal = Modifier.isFinal(clazz.getModifiers());
-		softly.assertThat(isClassFinal) //
-				.withFailMessage("The class <%s> is not final", clazz.getName()) //
-				.isTrue();
+	/**
+	 * Adds the violations of the properties of a well-defined utility class to the collector, grouped by property. Every
+	 * property is reported to the check listeners on its own.
+	 */
+	private static void collectViolations(final Class<?> clazz, final FailureCollector collector)
+			throws InstantiationException, IllegalAccessException, NoSuchMethodException {
+		runCheck("utilityClass.final", clazz, collector, UtilityClassTester::verifyFinal);
+		runCheck("utilityClass.constructor", clazz, collector, UtilityClassTester::verifyConstructor);
+		runCheck("utilityClass.constructorProbe", clazz, collector, UtilityClassTester::probeConstructor);
+		runCheck("utilityClass.staticMethods", clazz, collector, UtilityClassTester::verifyStaticMethods);
+	}
 
-		// Verify that the class has exactly one constructor
-		final int numberOfConstructors = clazz.getDeclaredConstructors().length;
-		softly.assertThat(numberOfConstructors) //
-				.withFailMessage("The class <%s> has more than one constructor", clazz.getName()) //
-				.isEqualTo(1);
+	/**
+	 * Runs a single check of a utility class and notifies the check listeners of its outcome.
+	 *
+	 * @param name
+	 * 		the name of the check reported to the listeners, not null.
+	 * @param clazz
+	 * 		the utility class to verify, not null.
+	 * @param collector
+	 * 		the collector to add the violations to, not null.
+	 * @param check
+	 * 		the check to run, not null.
+	 */
+	private static void runCheck(final String name, final Class<?> clazz, final FailureCollector collector,
+			final UtilityClassCheck check) throws InstantiationException, IllegalAccessException, NoSuchMethodException {
+		final long start = CheckListeners.start();
+		boolean passed = false;
+		try {
+			passed = check.verify(clazz, collector);
+		} finally {
+			CheckListeners.completed(name, clazz, start, passed);
+		}
+	}
+
+	/**
+	 * Verifies that the class is final.
+	 *
+	 * @return true if the class passed the check.
+	 */
+	private static boolean verifyFinal(final Class<?> clazz, final FailureCollector collector) {
+		if(!Modifier.isFinal(clazz.getModifiers())) {
+			collector.add("utilityClass.final", clazz, String.format("The class <%s> is not final", clazz.getName()));
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Verifies that the class has exactly one constructor and that the constructor is private and not accessible via
+	 * reflection.
+	 *
+	 * @return true if the class passed the check.
+	 */
+	private static boolean verifyConstructor(final Class<?> clazz, final FailureCollector collector)
+			throws NoSuchMethodException {
+		boolean passed = true;
+		if(clazz.getDeclaredConstructors().length != 1) {
+			collector.add("utilityClass.singleConstructor", clazz,
+					String.format("The class <%s> has more than one constructor", clazz.getName()));
+			passed = false;
+		}
 
+		final Constructor<?> constructor = clazz.getDeclaredConstructor();
+		if(constructor.isAccessible()) {
+			collector.add("utilityClass.constructorAccessible", clazz,
+					String.format("The constructor of the class <%s> is accessible", clazz.getName()));
+			passed = false;
+		}
+		if(!Modifier.isPrivate(constructor.getModifiers())) {
+			collector.add("utilityClass.constructorPrivate", clazz,
+					String.format("The constructor of the class <%s> is not private", clazz.getName()));
+			passed = false;
+		}
+		return passed;
+	}
+
+	/**
+	 * Verifies that the instantiation of the class e.g. via reflection throw an UnsupportedOperationException.
+	 *
+	 * @return true if the class passed the check.
+	 */
+	private static boolean probeConstructor(final Class<?> clazz, final FailureCollector collector)
+			throws InstantiationException, IllegalAccessException, NoSuchMethodException {
+		final Constructor<?> constructor = clazz.getDeclaredConstructor();
 		try {
-			// Verify that the constructor is private and not accessible via reflection
-			final Constructor<?> constructor = clazz.getDeclaredConstructor();
-			final boolean isConstructorAccessible = constructor.isAccessible();
-			final boolean isConstructorPrivate = Modifier.isPrivate(constructor.getModifiers());
-
-			softly.assertThat(isConstructorAccessible) //
-					.withFailMessage("The constructor of the class <%s> is accessible", clazz.getName()) //
-					.isFalse();
-			softly.assertThat(isConstructorPrivate) //
-					.withFailMessage("The constructor of the class <%s> is not private", clazz.getName()) //
-					.isTrue();
-
-			// Verify that the instantiation of the class e.g. via reflection throw an UnsupportedOperationException
 			constructor.setAccessible(true);
 			constructor.newInstance();
 			constructor.setAccessible(false);
-			failBecauseExceptionWasNotThrown(UnsupportedOperationException.class);
+			collector.add("utilityClass.unsupportedOperation", clazz,
+					"Expected UnsupportedOperationException to be thrown");
+			return false;
 		} catch(InvocationTargetException e) {
-			final Throwable throwable = e.getTargetException();
-
-			softly.assertThat(throwable) //
-					.isInstanceOf(UnsupportedOperationException.class) //
-					.withFailMessage("The instantiation of the class <%s> do not throw an UnsupportedOperationException",
-							clazz.getName());
+			if(!(e.getTargetException() instanceof UnsupportedOperationException)) {
+				collector.add("utilityClass.unsupportedOperation", clazz, String.format(
+						"The instantiation of the class <%s> do not throw an UnsupportedOperationException but %s",
+						clazz.getName(), e.getTargetException()));
+				return false;
+			}
+			return true;
 		}
+	}
 
-		// Verify that there exists no non-static method(s)
+	/**
+	 * Verifies that there exists no non-static method(s). All non-static methods are listed in a single failure, since the
+	 * collector only keeps the first message of a check.
+	 *
+	 * @return true if the class passed the check.
+	 */
+	private static boolean verifyStaticMethods(final Class<?> clazz, final FailureCollector collector) {
+		final List<String> violations = new ArrayList<>();
 		for(final Method method : clazz.getMethods()) {
 			final boolean isMethodStatic = Modifier.isStatic(method.getModifiers());
 			final boolean isDeclaringClassEqual = method.getDeclaringClass().equals(clazz);
-			softly.assertThat(!isMethodStatic && isDeclaringClassEqual) //
-					.withFailMessage("The class <%s> has a non-static method: '%s'", clazz.getName(), method.getName()) //
-					.isFalse();
+			if(!isMethodStatic && isDeclaringClassEqual) {
+				violations.add(
+						String.format("The class <%s> has a non-static method: '%s'", clazz.getName(), method.getName()));
+			}
+		}
+		if(!violations.isEmpty()) {
+			collector.add("utilityClass.staticMethods", clazz, String.join(System.lineSeparator(), violations));
+			return false;
 		}
+		return true;
+	}
+
+	/**
+	 * @return the context class loader of the current thread or the class loader of this class.
+	 */
+	private static ClassLoader classLoader() {
+		final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		return loader != null ? loader : UtilityClassTester.class.getClassLoader();
+	}
+
+	/**
+	 * A single check of a utility class adding its violations to a collector.
+	 */
+	@FunctionalInterface
+	private interface UtilityClassCheck {
 
-		softly.assertAll();
+		boolean verify(Class<?> clazz, FailureCollector collector)
+				throws InstantiationException, IllegalAccessException, NoSuchMethodException;
 	}
 }
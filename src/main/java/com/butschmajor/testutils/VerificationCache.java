@@ -0,0 +1,785 @@
+package com.butschmajor.testutils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An on-disk cache of successful verifications, so that unchanged classes are not verified again by later test runs.
+ * <p>
+ * A verification is identified by a 128 bit key, which is derived from the name of the check, the inputs of the check,
+ * the class files the verified class depends on, the classes of test-utils and the Java version. Changing any of these
+ * changes the key, so the class is verified again. Failed verifications are never stored.
+ * <p>
+ * The class files the verified class depends on are found by following the classes referenced by the class files,
+ * including descriptors and generic signatures, starting at the verified class and at the runtime classes of all
+ * objects reachable from the inputs. Platform classes are covered by the Java version, a referenced class in a jar file
+ * by the content of the jar file. Not covered are classes only loaded by name or created at runtime, resources and
+ * configuration read by the checked methods and objects reachable from the inputs only through platform classes other
+ * than arrays, collections and maps.
+ * <p>
+ * An input is identified by its serialized form if it is serializable, otherwise by its class and its hash code and, if
+ * the class overrides it, by its string representation. A verification of inputs whose class neither is serializable nor
+ * overrides {@code hashCode} is not cached, since it could not be found again by the next run.
+ * <p>
+ * The keys are stored in a memory-mapped open addressing hash table. Lookups read the mapped file without locking.
+ * Insertions hold an exclusive lock on the file, so parallel test forks can share a cache file. Every entry is stamped
+ * with the day it was last used. If more than half of the table is occupied when the file is opened or three quarters
+ * when a verification is stored, the table is rebuilt in place: entries not used for {@value #MAX_AGE_DAYS} days are
+ * removed and the capacity is doubled until at most half of the table is occupied. The file is never replaced or
+ * shrunk, so other processes having the file mapped notice the new capacity and map the file again.
+ * <p>
+ * The cache is opt-in: {@link UtilityClassTester} and {@link ContractTesters} use it if the system property
+ * {@value #PROPERTY} names the cache file.
+ */
+public final class VerificationCache implements Closeable {
+
+	/**
+	 * The system property naming the cache file used by {@link UtilityClassTester} and {@link ContractTesters}.
+	 */
+	public static final String PROPERTY = "com.butschmajor.testutils.verificationCache";
+
+	/**
+	 * Number of days after which an unused verification is removed when the table is rebuilt.
+	 */
+	static final int MAX_AGE_DAYS = 30;
+
+	private static final int MAGIC = 0x54554331;
+
+	/**
+	 * Version of the file format and of the verifications. Incrementing it invalidates all existing cache files.
+	 */
+	private static final int VERSION = 2;
+
+	private static final int MAGIC_OFFSET = 0;
+	private static final int VERSION_OFFSET = 4;
+	private static final int CAPACITY_OFFSET = 8;
+	private static final int SIZE_OFFSET = 12;
+	private static final int HEADER_SIZE = 64;
+	private static final int DAY_OFFSET = 16;
+	private static final int SLOT_SIZE = 24;
+	private static final int INITIAL_CAPACITY = 1 << 16;
+
+	/**
+	 * Maximum number of class files the key of a class is derived from. Classes with more dependencies are not cached.
+	 */
+	private static final int MAX_CLASS_FILES = 20_000;
+
+	/**
+	 * Maximum number of objects reachable from an input. Verifications of larger inputs are not cached.
+	 */
+	private static final int MAX_REACHABLE_OBJECTS = 10_000;
+
+	/**
+	 * Guards the insertions of all caches of this JVM by the file they are stored in, since a file lock is held by the
+	 * whole JVM and cannot be acquired twice.
+	 */
+	private static final ConcurrentMap<Path, Object> FILE_MONITORS = new ConcurrentHashMap<>();
+
+	private static final ConcurrentMap<Path, byte[]> JAR_KEYS = new ConcurrentHashMap<>();
+
+	private static final ClassValue<byte[]> CLASS_KEYS = new ClassValue<byte[]>() {
+		@Override
+		protected byte[] computeValue(final Class<?> type) {
+			return classKey(type);
+		}
+	};
+
+	private final Path file;
+	private final Object monitor;
+	private final FileChannel channel;
+	private final int day;
+	private volatile Table table;
+
+	private VerificationCache(final Path file, final FileChannel channel, final int day) throws IOException {
+		this.file = file;
+		this.monitor = FILE_MONITORS.computeIfAbsent(file, path -> new Object());
+		this.channel = channel;
+		this.day = day;
+		this.table = map(channel);
+	}
+
+	/**
+	 * Opens a cache file, creating it if it does not exist. A file of an incompatible version is discarded.
+	 *
+	 * @param file
+	 * 		the cache file, not null.
+	 * @return the opened cache, never null.
+	 * @throws IOException
+	 * 		if the file cannot be read or written.
+	 */
+	public static VerificationCache open(final Path file) throws IOException {
+		return open(file, (int) LocalDate.now(ZoneOffset.UTC).toEpochDay());
+	}
+
+	/**
+	 * Opens a cache file like {@link #open(Path)}, stamping used verifications with the given day.
+	 *
+	 * @param day
+	 * 		the current day, counted from the epoch.
+	 */
+	static VerificationCache open(final Path file, final int day) throws IOException {
+		Objects.requireNonNull(file, "The parameter 'file' must not be null!");
+
+		final Path absolute = file.toAbsolutePath().normalize();
+		if(absolute.getParent() != null) {
+			Files.createDirectories(absolute.getParent());
+		}
+		synchronized(FILE_MONITORS.computeIfAbsent(absolute, path -> new Object())) {
+			final FileChannel channel = FileChannel.open(absolute, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			try {
+				final FileLock lock = channel.lock();
+				try {
+					final int capacity = readValidCapacity(channel);
+					if(capacity == 0) {
+						initialize(channel, INITIAL_CAPACITY);
+					} else if(readSize(channel) > capacity / 2) {
+						rebuild(channel, day);
+					}
+				} finally {
+					lock.release();
+				}
+				return new VerificationCache(absolute, channel, day);
+			} catch(final IOException | RuntimeException e) {
+				channel.close();
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * @return the cache named by the system property {@value #PROPERTY} or null if the property is not set.
+	 */
+	static VerificationCache configured() {
+		return Configured.CACHE;
+	}
+
+	/**
+	 * Checks if a verification succeeded before. A found verification is stamped as used today.
+	 *
+	 * @param type
+	 * 		the verified class, not null.
+	 * @param check
+	 * 		the name of the check, not null.
+	 * @param inputs
+	 * 		the inputs of the check, not null.
+	 * @return true if the verification is stored in the cache, false if it is not stored or cannot be cached.
+	 * @throws UncheckedIOException
+	 * 		if the table was rebuilt by another process and the file cannot be mapped again.
+	 */
+	public boolean isVerified(final Class<?> type, final String check, final Object... inputs) {
+		final ByteBuffer key = key(type, check, inputs);
+		if(key == null) {
+			return false;
+		}
+		try {
+			final Table current = current();
+			final int slot = find(current, key.getLong(0), key.getLong(8));
+			if(slot < 0) {
+				return false;
+			}
+			// A racing rebuild may move the entry, which at worst keeps another entry for longer
+			final int offset = slotOffset(slot) + DAY_OFFSET;
+			if(current.buffer.getInt(offset) != day) {
+				current.buffer.putInt(offset, day);
+			}
+			return true;
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Stores a successful verification. If the table is three quarters full, it is rebuilt before.
+	 *
+	 * @param type
+	 * 		the verified class, not null.
+	 * @param check
+	 * 		the name of the check, not null.
+	 * @param inputs
+	 * 		the inputs of the check, not null.
+	 * @throws IOException
+	 * 		if the cache file cannot be locked or rebuilt.
+	 */
+	public void markVerified(final Class<?> type, final String check, final Object... inputs) throws IOException {
+		final ByteBuffer key = key(type, check, inputs);
+		if(key == null) {
+			return;
+		}
+		final long high = key.getLong(0);
+		final long low = key.getLong(8);
+
+		synchronized(monitor) {
+			final FileLock lock = channel.lock();
+			try {
+				Table current = current();
+				int slot = find(current, high, low);
+				if(slot < 0 && current.buffer.getInt(SIZE_OFFSET) >= current.capacity / 4 * 3) {
+					rebuild(channel, day);
+					current = map(channel);
+					table = current;
+					slot = find(current, high, low);
+				}
+				if(slot >= 0) {
+					current.buffer.putInt(slotOffset(slot) + DAY_OFFSET, day);
+					return;
+				}
+				final int offset = slotOffset(-slot - 1);
+				current.buffer.putInt(offset + DAY_OFFSET, day);
+				// The low word is written first, so a concurrent lookup never matches a partially written key
+				current.buffer.putLong(offset + 8, low);
+				current.buffer.putLong(offset, high);
+				current.buffer.putInt(SIZE_OFFSET, current.buffer.getInt(SIZE_OFFSET) + 1);
+			} finally {
+				lock.release();
+			}
+		}
+	}
+
+	/**
+	 * Stores a successful verification like {@link #markVerified(Class, String, Object...)}, for callers which cannot
+	 * declare an IOException.
+	 *
+	 * @throws UncheckedIOException
+	 * 		if the cache file cannot be locked.
+	 */
+	void markVerifiedUnchecked(final Class<?> type, final String check, final Object... inputs) {
+		try {
+			markVerified(type, check, inputs);
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @return the number of stored verifications.
+	 */
+	public int size() {
+		return table.buffer.getInt(SIZE_OFFSET);
+	}
+
+	/**
+	 * @return the number of slots of the table.
+	 */
+	public int capacity() {
+		return table.buffer.getInt(CAPACITY_OFFSET);
+	}
+
+	/**
+	 * @return the cache file, never null.
+	 */
+	public Path getFile() {
+		return file;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * @return the mapped table, mapped again if another cache has rebuilt it with a larger capacity.
+	 */
+	private Table current() throws IOException {
+		Table current = table;
+		if(current.buffer.getInt(CAPACITY_OFFSET) != current.capacity) {
+			synchronized(monitor) {
+				current = table;
+				if(current.buffer.getInt(CAPACITY_OFFSET) != current.capacity) {
+					current = map(channel);
+					table = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	private static Table map(final FileChannel channel) throws IOException {
+		final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+		return new Table(buffer, buffer.getInt(CAPACITY_OFFSET));
+	}
+
+	/**
+	 * Finds the slot of a key with linear probing.
+	 *
+	 * @return the index of the slot storing the key or (-(index of the first empty slot) - 1) if it is not stored.
+	 */
+	private static int find(final Table table, final long high, final long low) {
+		final int mask = table.capacity - 1;
+		int index = (int) (low ^ (low >>> 32)) & mask;
+		for(int probe = 0; probe < table.capacity; probe++) {
+			final int offset = slotOffset(index);
+			final long storedHigh = table.buffer.getLong(offset);
+			final long storedLow = table.buffer.getLong(offset + 8);
+			if(storedHigh == high && storedLow == low) {
+				return index;
+			}
+			if(storedHigh == 0 && storedLow == 0) {
+				return -index - 1;
+			}
+			index = (index + 1) & mask;
+		}
+		return -table.capacity - 1;
+	}
+
+	private static int slotOffset(final int index) {
+		return HEADER_SIZE + index * SLOT_SIZE;
+	}
+
+	/**
+	 * @return the capacity of the table if the file is a cache of the current version, otherwise 0.
+	 */
+	private static int readValidCapacity(final FileChannel channel) throws IOException {
+		if(channel.size() < HEADER_SIZE) {
+			return 0;
+		}
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		channel.read(header, 0);
+		final int capacity = header.getInt(CAPACITY_OFFSET);
+		final boolean valid = header.getInt(MAGIC_OFFSET) == MAGIC && header.getInt(VERSION_OFFSET) == VERSION
+				&& capacity > 0 && Integer.bitCount(capacity) == 1
+				&& channel.size() >= HEADER_SIZE + (long) capacity * SLOT_SIZE;
+		return valid ? capacity : 0;
+	}
+
+	private static int readSize(final FileChannel channel) throws IOException {
+		final ByteBuffer size = ByteBuffer.allocate(Integer.BYTES);
+		channel.read(size, SIZE_OFFSET);
+		return size.getInt(0);
+	}
+
+	/**
+	 * Writes an empty table. The file is overwritten with zeros instead of being truncated, since another process may
+	 * still have it mapped.
+	 */
+	private static void initialize(final FileChannel channel, final int capacity) throws IOException {
+		final ByteBuffer zeros = ByteBuffer.allocate(8192);
+		for(long position = 0; position < channel.size(); position += zeros.capacity()) {
+			zeros.clear();
+			channel.write(zeros, position);
+		}
+		final long length = HEADER_SIZE + (long) capacity * SLOT_SIZE;
+		if(channel.size() < length) {
+			channel.write(ByteBuffer.allocate(1), length - 1);
+		}
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(MAGIC_OFFSET, MAGIC).putInt(VERSION_OFFSET, VERSION).putInt(CAPACITY_OFFSET, capacity);
+		channel.write(header, 0);
+	}
+
+	/**
+	 * Removes the entries not used for {@value #MAX_AGE_DAYS} days and rehashes the others in place, doubling the
+	 * capacity until at most half of the table is occupied. The caller must hold the file lock.
+	 */
+	private static void rebuild(final FileChannel channel, final int day) throws IOException {
+		final MappedByteBuffer source = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+		final int sourceCapacity = source.getInt(CAPACITY_OFFSET);
+
+		final long[] keys = new long[2 * sourceCapacity];
+		final int[] days = new int[sourceCapacity];
+		int live = 0;
+		for(int slot = 0; slot < sourceCapacity; slot++) {
+			final long high = source.getLong(slotOffset(slot));
+			final long low = source.getLong(slotOffset(slot) + 8);
+			final int used = source.getInt(slotOffset(slot) + DAY_OFFSET);
+			if((high != 0 || low != 0) && day - used <= MAX_AGE_DAYS) {
+				keys[2 * live] = high;
+				keys[2 * live + 1] = low;
+				days[live] = used;
+				live++;
+			}
+		}
+
+		int capacity = sourceCapacity;
+		while(live > capacity / 2) {
+			capacity <<= 1;
+		}
+		final long length = HEADER_SIZE + (long) capacity * SLOT_SIZE;
+		if(channel.size() < length) {
+			channel.write(ByteBuffer.allocate(1), length - 1);
+		}
+
+		// Concurrent lookups may miss entries until the rebuild completes, but never match a wrong key
+		final MappedByteBuffer target = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+		for(int offset = HEADER_SIZE; offset < length; offset += Long.BYTES) {
+			target.putLong(offset, 0);
+		}
+		target.putInt(CAPACITY_OFFSET, capacity);
+		for(int entry = 0; entry < live; entry++) {
+			int index = (int) (keys[2 * entry + 1] ^ (keys[2 * entry + 1] >>> 32)) & (capacity - 1);
+			while(target.getLong(slotOffset(index)) != 0 || target.getLong(slotOffset(index) + 8) != 0) {
+				index = (index + 1) & (capacity - 1);
+			}
+			target.putInt(slotOffset(index) + DAY_OFFSET, days[entry]);
+			target.putLong(slotOffset(index) + 8, keys[2 * entry + 1]);
+			target.putLong(slotOffset(index), keys[2 * entry]);
+		}
+		target.putInt(SIZE_OFFSET, live);
+	}
+
+	/**
+	 * @return the key of a verification or null if it cannot be cached.
+	 */
+	private static ByteBuffer key(final Class<?> type, final String check, final Object[] inputs) {
+		Objects.requireNonNull(type, "The parameter 'type' must not be null!");
+		Objects.requireNonNull(check, "The parameter 'check' must not be null!");
+		Objects.requireNonNull(inputs, "The parameter 'inputs' must not be null!");
+
+		final byte[] libraryKey = Library.KEY;
+		final byte[] classKey = CLASS_KEYS.get(type);
+		if(libraryKey == null || classKey == null) {
+			return null;
+		}
+		final MessageDigest digest = sha256();
+		digest.update(libraryKey);
+		digest.update(classKey);
+		digest.update(check.getBytes(StandardCharsets.UTF_8));
+
+		final Map<String, Class<?>> reachableClasses = new TreeMap<>();
+		for(final Object input : inputs) {
+			digest.update((byte) 0);
+			if(!updateInput(digest, input) || !collectReachableClasses(input, reachableClasses)) {
+				return null;
+			}
+		}
+		for(final Class<?> reachable : reachableClasses.values()) {
+			final byte[] reachableKey = reachable == type ? classKey : CLASS_KEYS.get(reachable);
+			if(reachableKey == null) {
+				return null;
+			}
+			digest.update(reachableKey);
+		}
+
+		final byte[] key = digest.digest();
+		// The key of an empty slot is never used
+		key[0] |= 1;
+		return ByteBuffer.wrap(key, 0, 16);
+	}
+
+	/**
+	 * Hashes the identity of an input, which is the same in every run for equal inputs.
+	 *
+	 * @return true if the input was hashed, false if it has no stable identity.
+	 */
+	private static boolean updateInput(final MessageDigest digest, final Object input) {
+		if(input == null) {
+			digest.update((byte) 1);
+			return true;
+		}
+		final Class<?> type = input.getClass();
+		digest.update(type.getName().getBytes(StandardCharsets.UTF_8));
+		if(input instanceof Enum) {
+			digest.update(((Enum<?>) input).name().getBytes(StandardCharsets.UTF_8));
+			return true;
+		}
+		if(input instanceof Serializable) {
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try(ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+				out.writeObject(input);
+				out.flush();
+				digest.update(bytes.toByteArray());
+				return true;
+			} catch(final IOException e) {
+				// Falls back to the hash code, e.g. if a field is not serializable
+			}
+		}
+		if(!overrides(type, "hashCode")) {
+			return false;
+		}
+		digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(0, input.hashCode()).array());
+		if(overrides(type, "toString")) {
+			digest.update(input.toString().getBytes(StandardCharsets.UTF_8));
+		}
+		return true;
+	}
+
+	private static boolean overrides(final Class<?> type, final String method) {
+		try {
+			return type.getMethod(method).getDeclaringClass() != Object.class;
+		} catch(final NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Collects the runtime classes of all objects reachable from an input, which are not part of the platform. Platform
+	 * objects are only traversed if they are arrays, collections or maps.
+	 *
+	 * @return true if the classes were collected, false if the input is too large or its fields cannot be read.
+	 */
+	private static boolean collectReachableClasses(final Object input, final Map<String, Class<?>> classes) {
+		final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		final Deque<Object> pending = new ArrayDeque<>();
+		if(input != null) {
+			pending.add(input);
+		}
+		try {
+			while(!pending.isEmpty()) {
+				final Object value = pending.poll();
+				if(!visited.add(value)) {
+					continue;
+				}
+				if(visited.size() > MAX_REACHABLE_OBJECTS) {
+					return false;
+				}
+
+				final Class<?> type = value.getClass();
+				if(type.isArray()) {
+					if(!type.getComponentType().isPrimitive()) {
+						addNonNull(pending, Arrays.asList((Object[]) value));
+					}
+				} else if(isPlatformClass(type)) {
+					if(value instanceof Collection) {
+						addNonNull(pending, (Collection<?>) value);
+					} else if(value instanceof Map) {
+						addNonNull(pending, ((Map<?, ?>) value).keySet());
+						addNonNull(pending, ((Map<?, ?>) value).values());
+					}
+				} else {
+					classes.put(type.getName(), type);
+					for(Class<?> current = type; current != null && !isPlatformClass(current);
+							current = current.getSuperclass()) {
+						for(final Field field : current.getDeclaredFields()) {
+							if(!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+								field.setAccessible(true);
+								final Object fieldValue = field.get(value);
+								if(fieldValue != null) {
+									pending.add(fieldValue);
+								}
+							}
+						}
+					}
+				}
+			}
+			return true;
+		} catch(final IllegalAccessException | RuntimeException e) {
+			return false;
+		}
+	}
+
+	private static void addNonNull(final Deque<Object> pending, final Collection<?> values) {
+		for(final Object value : values) {
+			if(value != null) {
+				pending.add(value);
+			}
+		}
+	}
+
+	/**
+	 * Hashes the class files a class depends on: the class file of the class and, transitively, of all classes it
+	 * references, as far as they are not part of the platform. A referenced class in a jar file is hashed by the content
+	 * of the jar file.
+	 *
+	 * @return the hash or null if the class file of the class cannot be read or the class has too many dependencies.
+	 */
+	private static byte[] classKey(final Class<?> type) {
+		final MessageDigest digest = sha256();
+		digest.update(type.getName().getBytes(StandardCharsets.UTF_8));
+		if(isPlatformClass(type)) {
+			return digest.digest();
+		}
+
+		final ClassLoader loader = type.getClassLoader();
+		final String root = type.getName().replace('.', '/');
+		final Set<String> seen = new HashSet<>();
+		final Deque<String> pending = new ArrayDeque<>();
+		final Set<Path> jars = new TreeSet<>();
+		seen.add(root);
+		pending.add(root);
+		try {
+			while(!pending.isEmpty()) {
+				final String name = pending.poll();
+				final URL resource = loader.getResource(name + ".class");
+				if(resource == null) {
+					if(name.equals(root)) {
+						return null;
+					}
+					continue;
+				}
+				if("jrt".equals(resource.getProtocol())) {
+					continue;
+				}
+				if("jar".equals(resource.getProtocol())) {
+					jars.add(Paths.get(((JarURLConnection) resource.openConnection()).getJarFileURL().toURI()));
+					continue;
+				}
+
+				final byte[] bytes;
+				try(InputStream in = resource.openStream()) {
+					bytes = in.readAllBytes();
+				}
+				digest.update(name.getBytes(StandardCharsets.UTF_8));
+				digest.update(bytes);
+				for(final String referenced : ClassFileInfo.referencedClasses(ByteBuffer.wrap(bytes))) {
+					if(!referenced.startsWith("java/") && seen.add(referenced)) {
+						if(seen.size() > MAX_CLASS_FILES) {
+							return null;
+						}
+						pending.add(referenced);
+					}
+				}
+			}
+			for(final Path jar : jars) {
+				digest.update(jar.toString().getBytes(StandardCharsets.UTF_8));
+				digest.update(JAR_KEYS.computeIfAbsent(jar, VerificationCache::fileKey));
+			}
+			return digest.digest();
+		} catch(final IOException | URISyntaxException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Hashes the content of a file or of all files in a directory.
+	 *
+	 * @throws UncheckedIOException
+	 * 		if a file cannot be read.
+	 */
+	private static byte[] fileKey(final Path path) {
+		final MessageDigest digest = sha256();
+		try {
+			if(Files.isDirectory(path)) {
+				final List<Path> files;
+				try(Stream<Path> walk = Files.walk(path)) {
+					files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+				}
+				for(final Path file : files) {
+					digest.update(path.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+					updateFile(digest, file);
+				}
+			} else {
+				updateFile(digest, path);
+			}
+			return digest.digest();
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void updateFile(final MessageDigest digest, final Path file) throws IOException {
+		final byte[] buffer = new byte[8192];
+		try(InputStream in = Files.newInputStream(file)) {
+			for(int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+				digest.update(buffer, 0, read);
+			}
+		}
+	}
+
+	private static boolean isPlatformClass(final Class<?> type) {
+		final ClassLoader loader = type.getClassLoader();
+		return loader == null || loader == ClassLoader.getPlatformClassLoader();
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch(final NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported", e);
+		}
+	}
+
+	/**
+	 * The mapped table and its capacity at the time of mapping.
+	 */
+	private static final class Table {
+
+		private final MappedByteBuffer buffer;
+		private final int capacity;
+
+		Table(final MappedByteBuffer buffer, final int capacity) {
+			this.buffer = buffer;
+			this.capacity = capacity;
+		}
+	}
+
+	/**
+	 * Hashes the classes of test-utils and the Java version on first use, so that changed checks verify all classes
+	 * again.
+	 */
+	private static final class Library {
+
+		/**
+		 * The hash or null if the location of test-utils is unknown, which disables the cache.
+		 */
+		private static final byte[] KEY = libraryKey();
+
+		private static byte[] libraryKey() {
+			final CodeSource codeSource = VerificationCache.class.getProtectionDomain().getCodeSource();
+			if(codeSource == null || codeSource.getLocation() == null) {
+				return null;
+			}
+			try {
+				final MessageDigest digest = sha256();
+				digest.update(System.getProperty("java.version", "").getBytes(StandardCharsets.UTF_8));
+				digest.update(fileKey(Paths.get(codeSource.getLocation().toURI())));
+				return digest.digest();
+			} catch(final URISyntaxException | RuntimeException e) {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Opens the cache named by the system property on first use. A cache file which cannot be opened is reported once
+	 * and disables the cache, so the checks still run.
+	 */
+	private static final class Configured {
+
+		private static final VerificationCache CACHE = openConfigured();
+
+		private static VerificationCache openConfigured() {
+			final String file = System.getProperty(PROPERTY);
+			if(file == null || file.isEmpty()) {
+				return null;
+			}
+			try {
+				return open(Paths.get(file));
+			} catch(final IOException | RuntimeException e) {
+				System.getLogger(VerificationCache.class.getName()).log(System.Logger.Level.WARNING,
+						"The verification cache <" + file + "> cannot be opened, verifications are not cached", e);
+				return null;
+			}
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package com.butschmajor.testutils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class CheckListenersTest {
+
+    @Test
+    public void testListenerIsNotifiedOfEveryCheck() {
+        final List<String> checks = new ArrayList<>();
+        final CheckListener listener = ( check, type, durationNanos, passed ) -> {
+            assertThat( type ).isEqualTo( String.class );
+            assertThat( durationNanos ).isNotNegative();
+            checks.add( check + ( passed ? "" : " failed" ) );
+        };
+
+        CheckListeners.register( listener );
+        try {
+            ContractTesters.assertContractEqualsHashCodeCompareTo( "value", new String( "value" ), new String( "value" ) );
+            assertThatExceptionOfType( AssertionError.class )
+                    .isThrownBy( () -> ContractHashCodeTesters.assertHashCodeEquality( "value", "other" ) );
+        } finally {
+            assertThat( CheckListeners.unregister( listener ) ).isTrue();
+        }
+        ContractEqualsTesters.assertEqualsIsReflexive( "value" );
+
+        assertThat( checks ).contains( "equals.reflexive", "equals.symmetric", "equals.transitive", "hashCode.equality",
+                "compareTo.comparisonReversal", "compareTo.transitivity", "hashCode.equality failed" );
+        assertThat( checks ).doesNotContain( "equals.different" );
+        assertThat( checks.get( checks.size() - 1 ) ).isEqualTo( "hashCode.equality failed" );
+    }
+
+    @Test
+    public void testUtilityClassChecksAreReported() throws ReflectiveOperationException {
+        final CheckStatistics statistics = new CheckStatistics();
+
+        CheckListeners.register( statistics );
+        try {
+            UtilityClassTester.assertThatClassIsWellDefined( CheckListeners.class );
+        } finally {
+            CheckListeners.unregister( statistics );
+        }
+
+        assertThat( statistics.getCount( "utilityClass.wellDefined" ) ).isEqualTo( 1 );
+        assertThat( statistics.getFailures( "utilityClass.wellDefined" ) ).isZero();
+        for( String check : new String[] { "utilityClass.final", "utilityClass.constructor", "utilityClass.constructorProbe",
+                "utilityClass.staticMethods" } ) {
+            assertThat( statistics.getCount( check ) ).as( check ).isEqualTo( 1 );
+            assertThat( statistics.getFailures( check ) ).as( check ).isZero();
+        }
+        assertThat( statistics.toJson() ).contains( "\"com.butschmajor.testutils.CheckListeners\": { \"count\": 5" );
+    }
+
+    @Test
+    public void testFailedUtilityClassChecksAreReported() {
+        final List<String> checks = new ArrayList<>();
+        final CheckListener listener = ( check, type, durationNanos, passed ) -> checks.add( check + ( passed ? "" : " failed" ) );
+
+        CheckListeners.register( listener );
+        try {
+            assertThatExceptionOfType( AssertionError.class )
+                    .isThrownBy( () -> UtilityClassTester.assertThatClassIsWellDefined( NotFinalUtility.class ) );
+        } finally {
+            CheckListeners.unregister( listener );
+        }
+
+        assertThat( checks ).containsExactly( "utilityClass.final failed", "utilityClass.constructor",
+                "utilityClass.constructorProbe", "utilityClass.staticMethods failed", "utilityClass.wellDefined failed" );
+    }
+
+    public static class NotFinalUtility {
+        private NotFinalUtility() {
+            throw new UnsupportedOperationException();
+        }
+
+        public int value() {
+            return 1;
+        }
+    }
+
+    @Test
+    public void testStatisticsAggregateChecks() throws IOException {
+        final CheckStatistics statistics = new CheckStatistics();
+        statistics.checkCompleted( "equals.reflexive", String.class, 10, true );
+        statistics.checkCompleted( "equals.reflexive", String.class, 30, false );
+        statistics.checkCompleted( "hashCode.equality", Integer.class, 100, true );
+
+        assertThat( statistics.getCount( "equals.reflexive" ) ).isEqualTo( 2 );
+        assertThat( statistics.getFailures( "equals.reflexive" ) ).isEqualTo( 1 );
+        assertThat( statistics.getTotalNanos( "equals.reflexive" ) ).isEqualTo( 40 );
+        assertThat( statistics.getMaxNanos( "equals.reflexive" ) ).isEqualTo( 30 );
+        assertThat( statistics.getCount( "compareTo.consistency" ) ).isZero();
+
+        final Path file = Files.createTempDirectory( "check-statistics" ).resolve( "statistics.json" );
+        statistics.writeJson( file );
+        final String json = new String( Files.readAllBytes( file ), StandardCharsets.UTF_8 );
+
+        assertThat( json ).contains(
+                "\"equals.reflexive\": { \"count\": 2, \"failures\": 1, \"totalNanos\": 40, \"maxNanos\": 30 }" );
+        assertThat( json.indexOf( "\"java.lang.Integer\"" ) ).isLessThan( json.indexOf( "\"java.lang.String\"" ) );
+
+        statistics.reset();
+        assertThat( statistics.getCount( "equals.reflexive" ) ).isZero();
+    }
+
+    @Test
+    public void testJfrListenerAcceptsChecksWithoutRecording() {
+        new JfrCheckListener().checkCompleted( "equals.reflexive", String.class, 10, true );
+    }
+}
@@ -0,0 +1,84 @@
+package com.butschmajor.testutils;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ContractAllocationTestersTest {
+
+    @Test
+    public void testAssertAllocationOfNonAllocatingMethods() {
+        final String x = "value";
+        final String y = new String( x );
+        final String z = new String( x );
+
+        assertThatCode( () -> {
+            ContractTesters.assertEqualsHashCodeCompareToAllocation( x, y, z );
+        } ).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testAssertAllocationOfAllocatingCompareTo() {
+        final ListValue x = new ListValue( 1, 2 );
+        final ListValue y = new ListValue( 1, 2 );
+        final ListValue z = new ListValue( 1, 2 );
+
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractTesters.assertEqualsHashCodeCompareToAllocation( x, y, z );
+                } )
+                .withMessageContaining( "should allocate at most 0.0 bytes per call" )
+                .withMessageContaining( "compareTo allocated" );
+    }
+
+    @Test
+    public void testAssertAllocationWithinBudget() {
+        final ListValue x = new ListValue( 1, 2 );
+
+        assertThatCode( () -> {
+            ContractTesters.assertEqualsAndHashCodeAllocation( x, x, x, 1_000 );
+        } ).doesNotThrowAnyException();
+    }
+
+    private static final class ListValue implements Comparable<ListValue> {
+        private final int first;
+        private final int second;
+
+        ListValue( int first, int second ) {
+            this.first = first;
+            this.second = second;
+        }
+
+        private List<Integer> toList() {
+            final List<Integer> list = new ArrayList<>();
+            list.add( first );
+            list.add( second );
+            return list;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof ListValue && ( (ListValue) obj ).first == first && ( (ListValue) obj ).second == second;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * first + second;
+        }
+
+        @Override
+        public int compareTo( ListValue other ) {
+            final List<Integer> list = toList();
+            final List<Integer> otherList = other.toList();
+            blackhole = list;
+            blackhole = otherList;
+            return Integer.compare( list.get( 0 ) + list.get( 1 ), otherList.get( 0 ) + otherList.get( 1 ) );
+        }
+    }
+
+    private static volatile Object blackhole;
+}
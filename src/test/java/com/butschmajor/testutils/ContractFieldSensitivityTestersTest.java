@@ -0,0 +1,212 @@
+package com.butschmajor.testutils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class ContractFieldSensitivityTestersTest {
+
+    @Test
+    public void testAllFieldsAreSignificant() {
+        final FieldSensitivityReport report = ContractTesters.assertEqualsAndHashCodeFieldSensitivity(
+                new Complete( 1, 2L, 0.5, true, "name", TimeUnit.SECONDS, new int[] { 1, 2 }, null ) );
+
+        assertThat( report.getVerifiedFields() )
+                .containsExactlyInAnyOrder( "intValue", "longValue", "doubleValue", "flag", "name", "unit", "values", "boxed" );
+        assertThat( report.getEqualsInsensitiveFields() ).isEmpty();
+        assertThat( report.getHashCodeInsensitiveFields() ).isEmpty();
+        assertThat( report.getSkippedFields() ).isEmpty();
+    }
+
+    @Test
+    public void testEqualsIgnoringAField() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractTesters.assertEqualsFieldSensitivity( new Forgetful( 1, 2 ) );
+                } )
+                .withMessageContaining( "x.equals(copy) was true after changing [forgotten]" );
+    }
+
+    @Test
+    public void testIgnoredFields() {
+        final FieldSensitivityReport report = ContractTesters.assertEqualsFieldSensitivity( new Forgetful( 1, 2 ), "forgotten" );
+
+        assertThat( report.getVerifiedFields() ).containsExactly( "value" );
+    }
+
+    @Test
+    public void testHashCodeIgnoringAField() {
+        final FieldSensitivityReport report = ContractTesters.assertEqualsFieldSensitivity( new WeakHash( 1, 2 ) );
+
+        assertThat( report.getHashCodeInsensitiveFields() ).containsExactly( "second" );
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractTesters.assertEqualsAndHashCodeFieldSensitivity( new WeakHash( 1, 2 ) );
+                } )
+                .withMessageContaining( "were the same after changing [second]" );
+    }
+
+    @Test
+    public void testInheritedAndTransientFields() {
+        final Derived derived = new Derived( 1, "name" );
+        assertThat( derived.hashCode() ).isNotZero();
+
+        final FieldSensitivityReport report = ContractTesters.assertEqualsAndHashCodeFieldSensitivity( derived );
+
+        assertThat( report.getVerifiedFields() ).containsExactlyInAnyOrder( "name", "Base.id" );
+    }
+
+    @Test
+    public void testUnchangeableField() {
+        final FieldSensitivityReport report = ContractTesters.assertEqualsFieldSensitivity( new WithObject( null ) );
+
+        assertThat( report.getSkippedFields() ).containsExactly( "object" );
+    }
+
+    @Test
+    public void testArrayIsRejected() {
+        assertThatIllegalArgumentException()
+                .isThrownBy( () -> {
+                    ContractTesters.assertEqualsFieldSensitivity( new int[0] );
+                } );
+    }
+
+    private static final class Complete {
+        private final int intValue;
+        private final long longValue;
+        private final double doubleValue;
+        private final boolean flag;
+        private final String name;
+        private final TimeUnit unit;
+        private final int[] values;
+        private final Integer boxed;
+
+        Complete( int intValue, long longValue, double doubleValue, boolean flag, String name, TimeUnit unit, int[] values,
+                Integer boxed ) {
+            this.intValue = intValue;
+            this.longValue = longValue;
+            this.doubleValue = doubleValue;
+            this.flag = flag;
+            this.name = name;
+            this.unit = unit;
+            this.values = values;
+            this.boxed = boxed;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            if( !( obj instanceof Complete ) ) {
+                return false;
+            }
+            final Complete other = (Complete) obj;
+            return intValue == other.intValue && longValue == other.longValue
+                    && Double.compare( doubleValue, other.doubleValue ) == 0 && flag == other.flag
+                    && Objects.equals( name, other.name ) && unit == other.unit && Arrays.equals( values, other.values )
+                    && Objects.equals( boxed, other.boxed );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash( intValue, longValue, doubleValue, flag, name, unit, Arrays.hashCode( values ), boxed );
+        }
+    }
+
+    private static final class Forgetful {
+        private final int value;
+        private final int forgotten;
+
+        Forgetful( int value, int forgotten ) {
+            this.value = value;
+            this.forgotten = forgotten;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof Forgetful && ( (Forgetful) obj ).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value;
+        }
+    }
+
+    private static final class WeakHash {
+        private final int first;
+        private final int second;
+
+        WeakHash( int first, int second ) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof WeakHash && ( (WeakHash) obj ).first == first && ( (WeakHash) obj ).second == second;
+        }
+
+        @Override
+        public int hashCode() {
+            return first;
+        }
+    }
+
+    private static class Base {
+        private final int id;
+
+        Base( int id ) {
+            this.id = id;
+        }
+
+        int getId() {
+            return id;
+        }
+    }
+
+    private static final class Derived extends Base {
+        private final String name;
+        private transient int hash;
+
+        Derived( int id, String name ) {
+            super( id );
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof Derived && ( (Derived) obj ).getId() == getId() && ( (Derived) obj ).name.equals( name );
+        }
+
+        @Override
+        public int hashCode() {
+            if( hash == 0 ) {
+                hash = 31 * getId() + name.hashCode();
+            }
+            return hash;
+        }
+    }
+
+    private static final class WithObject {
+        private final Object object;
+
+        WithObject( Object object ) {
+            this.object = object;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof WithObject && Objects.equals( ( (WithObject) obj ).object, object );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode( object );
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.butschmajor.testutils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.lang.instrument.Instrumentation;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class ContractFootprintTestersTest {
+
+    @Test
+    public void testShallowSizeAndPadding() {
+        final FootprintReport report = ContractTesters.measureFootprint( new Point( 1, 2 ) );
+
+        assertThat( report.getClassName() ).isEqualTo( Point.class.getName() );
+        assertThat( report.getShallowBytes() ).isEqualTo( align( ObjectLayout.HEADER_SIZE + 2 * Integer.BYTES ) );
+        assertThat( report.getPaddingBytes() ).isEqualTo( report.getShallowBytes() - ObjectLayout.HEADER_SIZE - 2 * Integer.BYTES );
+        assertThat( report.getRetainedBytes() ).isEqualTo( report.getShallowBytes() );
+        assertThat( report.getReachableObjects() ).isEqualTo( 1 );
+        assertThat( report.getFields() )
+                .extracting( FootprintReport.FieldFootprint::getName )
+                .containsExactlyInAnyOrder( "Point.x", "Point.y" );
+    }
+
+    @Test
+    public void testBoxedFieldRetainsItsValue() {
+        final FootprintReport report = ContractTesters.measureFootprint( new Boxed( 1000 ) );
+        final long integerBytes = ContractTesters.measureFootprint( Integer.valueOf( 1000 ) ).getShallowBytes();
+
+        assertThat( report.getFields() ).hasSize( 1 );
+        assertThat( report.getFields().get( 0 ).getType() ).isEqualTo( "Integer" );
+        assertThat( report.getFields().get( 0 ).getSize() ).isEqualTo( ObjectLayout.REFERENCE_SIZE );
+        assertThat( report.getFields().get( 0 ).getRetainedBytes() ).isEqualTo( integerBytes );
+        assertThat( report.getRetainedBytes() ).isEqualTo( report.getShallowBytes() + integerBytes );
+        assertThat( report.getReachableObjects() ).isEqualTo( 2 );
+    }
+
+    @Test
+    public void testSharedObjectsAreCountedOnce() {
+        final int[] values = new int[10];
+        final Node node = new Node( values, values, TimeUnit.SECONDS );
+        node.next = node;
+
+        final FootprintReport report = ContractTesters.measureFootprint( node );
+
+        assertThat( report.getReachableObjects() ).isEqualTo( 2 );
+        assertThat( report.getFields() )
+                .extracting( FootprintReport.FieldFootprint::getRetainedBytes )
+                .containsExactlyInAnyOrder( align( ObjectLayout.ARRAY_HEADER_SIZE + 10 * Integer.BYTES ), 0L, 0L, 0L );
+    }
+
+    @Test
+    public void testArray() {
+        final FootprintReport report = ContractTesters.measureFootprint( new Object[] { new Point( 1, 2 ), null } );
+
+        assertThat( report.getHeaderBytes() ).isEqualTo( ObjectLayout.ARRAY_HEADER_SIZE );
+        assertThat( report.getShallowBytes() ).isEqualTo( align( ObjectLayout.ARRAY_HEADER_SIZE + 2 * ObjectLayout.REFERENCE_SIZE ) );
+        assertThat( report.getReachableObjects() ).isEqualTo( 2 );
+        assertThat( report.getFields() ).isEmpty();
+    }
+
+    @Test
+    public void testAssertFootprintWithinBudget() {
+        ContractTesters.assertFootprint( new Point( 1, 2 ), FootprintBudget.of( 64 ).withMaxShallowBytes( 32 ) );
+    }
+
+    @Test
+    public void testAssertFootprintExceedingBudget() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractTesters.assertFootprint( new Boxed( 1000 ), FootprintBudget.of( 16 ) );
+                } )
+                .withMessageContaining( "The footprint of <" + Boxed.class.getName() + "> exceeds its budget" )
+                .withMessageContaining( "retained size is" )
+                .withMessageContaining( "Boxed.value" );
+    }
+
+    @Test
+    public void testFootprintBudgetRejectsInvalidValues() {
+        assertThatIllegalArgumentException().isThrownBy( () -> FootprintBudget.of( 0 ) );
+        assertThatIllegalArgumentException().isThrownBy( () -> FootprintBudget.of( 1 ).withMaxPaddingBytes( -1 ) );
+    }
+
+    @Test
+    public void testLayoutWithoutCompressedOops() throws Exception {
+        final Path log = Files.createTempFile( "object-layout", ".log" );
+        final Process process = new ProcessBuilder( Paths.get( System.getProperty( "java.home" ), "bin", "java" ).toString(),
+                "-XX:-UseCompressedOops", "-Djdk.attach.allowAttachSelf=true", "-cp", System.getProperty( "java.class.path" ),
+                LayoutCheck.class.getName() ).redirectErrorStream( true ).redirectOutput( log.toFile() ).start();
+
+        assertThat( process.waitFor( 2, TimeUnit.MINUTES ) ).isTrue();
+        final String output = new String( Files.readAllBytes( log ), StandardCharsets.UTF_8 );
+        assertThat( process.exitValue() ).as( output ).isZero();
+    }
+
+    /**
+     * Compares the layout with the sizes measured by the agent, started as separate process by
+     * {@link #testLayoutWithoutCompressedOops()}.
+     */
+    public static final class LayoutCheck {
+
+        public static void main( String[] args ) {
+            final Instrumentation instrumentation = FootprintAgent.instrumentation();
+            if( instrumentation == null ) {
+                // The attach API is not available, nothing to compare with
+                return;
+            }
+            check( "header size", align( ObjectLayout.HEADER_SIZE + 1 ), instrumentation.getObjectSize( new Single() ) );
+            check( "array header size", align( ObjectLayout.ARRAY_HEADER_SIZE ), instrumentation.getObjectSize( new byte[0] ) );
+        }
+
+        private static void check( String name, long expected, long actual ) {
+            if( expected != actual ) {
+                throw new IllegalStateException( "The " + name + " was " + expected + " instead of " + actual );
+            }
+        }
+    }
+
+    private static final class Single {
+        private byte value;
+    }
+
+    private static long align( long size ) {
+        return ( size + 7 ) / 8 * 8;
+    }
+
+    private static final class Point {
+        private final int x;
+        private final int y;
+
+        Point( int x, int y ) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    private static final class Boxed {
+        private final Integer value;
+
+        Boxed( int value ) {
+            this.value = value;
+        }
+    }
+
+    private static final class Node {
+        private final int[] first;
+        private final int[] second;
+        private final TimeUnit unit;
+        private Node next;
+
+        Node( int[] first, int[] second, TimeUnit unit ) {
+            this.first = first;
+            this.second = second;
+            this.unit = unit;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.butschmajor.testutils;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+public class ContractFuzzerTest {
+
+    @Test
+    public void testAssertContractOfWellDefinedType() {
+        assertThatCode( () -> {
+            ContractFuzzer.forEqualsHashCodeCompareTo( random -> new IntValue( random.nextInt( 100 ) ), value -> new IntValue( value.value ) )
+                    .triples( 1_000_000 )
+                    .seed( 42 )
+                    .assertContract();
+        } ).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testAssertContractShrinksOverflowingCompareTo() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractFuzzer.forEqualsHashCodeCompareTo( random -> new SubtractingValue( random.nextInt() ),
+                            value -> new SubtractingValue( value.value ) )
+                            .triples( 100_000 )
+                            .seed( 42 )
+                            .shrinker( value -> Stream.of( new SubtractingValue( value.value / 2 ) ) )
+                            .assertContract();
+                } )
+                .withMessageContaining( "compareTo" )
+                .withMessageContaining( "Violated by triple" )
+                .withMessageContaining( "of seed 42" );
+    }
+
+    @Test
+    public void testAssertContractFindsNaN() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractFuzzer.forEqualsAndHashCode(
+                            random -> new DoubleValue( random.nextInt( 10 ) == 0 ? Double.NaN : random.nextDouble() ),
+                            value -> new DoubleValue( value.value ) )
+                            .triples( 10_000 )
+                            .assertContract();
+                } )
+                .withMessageContaining( "The equal copies of x must be equal to x and to each other." )
+                .withMessageContaining( "x=<NaN>" );
+    }
+
+    @Test
+    public void testComparatorChainIsRobustWhenSorted() {
+        final Comparator<int[]> comparator = Comparator.<int[]>comparingInt( pair -> pair[0] ).thenComparingInt( pair -> pair[1] );
+
+        assertThatCode( () -> {
+            ContractFuzzer.forComparator( random -> new int[] { random.nextInt( 10 ), random.nextInt() }, comparator )
+                    .triples( 100_000 )
+                    .seed( 42 )
+                    .assertContract();
+            ContractFuzzer.forComparator( random -> new int[] { random.nextInt( 10 ), random.nextInt() }, comparator )
+                    .seed( 42 )
+                    .assertSortRobustness( 10_000, 8 );
+        } ).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testAssertSortRobustnessFindsOverflowingComparator() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractFuzzer.forComparator( SplittableRandom::nextInt, ( Integer x, Integer y ) -> x - y )
+                            .seed( 7 )
+                            .assertSortRobustness( 10_000, 4 );
+                } )
+                .withMessageContaining( "of seed 7 with 10000 instances" )
+                .withMessageContaining( "Transitivity should apply" );
+    }
+
+    @Test
+    public void testAssertSortRobustnessRequiresComparison() {
+        assertThatExceptionOfType( IllegalStateException.class )
+                .isThrownBy( () -> {
+                    ContractFuzzer.forEqualsAndHashCode( random -> new IntValue( random.nextInt() ), value -> new IntValue( value.value ) )
+                            .assertSortRobustness( 100, 1 );
+                } );
+    }
+
+    private static final class IntValue implements Comparable<IntValue> {
+        private final int value;
+
+        IntValue( int value ) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof IntValue && ( (IntValue) obj ).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Integer.hashCode( value );
+        }
+
+        @Override
+        public int compareTo( IntValue other ) {
+            return Integer.compare( value, other.value );
+        }
+    }
+
+    private static final class SubtractingValue implements Comparable<SubtractingValue> {
+        private final int value;
+
+        SubtractingValue( int value ) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof SubtractingValue && ( (SubtractingValue) obj ).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value;
+        }
+
+        @Override
+        public int compareTo( SubtractingValue other ) {
+            return value - other.value;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf( value );
+        }
+    }
+
+    private static final class DoubleValue {
+        private final double value;
+
+        DoubleValue( double value ) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof DoubleValue && ( (DoubleValue) obj ).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Double.hashCode( value );
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf( value );
+        }
+    }
+}
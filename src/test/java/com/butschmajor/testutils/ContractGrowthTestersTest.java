@@ -0,0 +1,200 @@
+package com.butschmajor.testutils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class ContractGrowthTestersTest {
+
+    @Test
+    public void testLinearCostPasses() {
+        final GrowthReport report = ContractTesters.assertEqualsHashCodeCompareToGrowth( ListKey::linear,
+                GrowthBudget.linear() );
+
+        assertThat( report.getClassName() ).isEqualTo( ListKey.class.getName() );
+        assertThat( report.getSizes() ).startsWith( 64, 128, 256 );
+        assertThat( report.getEqualsExponent() ).isBetween( 0.5, 1.25 );
+        assertThat( report.getHashCodeExponent() ).isBetween( 0.5, 1.25 );
+        assertThat( report.getCompareToExponent() ).isBetween( 0.5, 1.25 );
+    }
+
+    @Test
+    public void testQuadraticCostFails() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> ContractTesters.assertEqualsAndHashCodeGrowth( ListKey::quadratic, GrowthBudget.linear() ) )
+                .withMessageContaining( "grows faster than O(n^1.0)" )
+                .withMessageContaining( "equals grows with exponent" );
+    }
+
+    @Test
+    public void testQuadraticCostWithinQuadraticBudget() {
+        final GrowthReport report = ContractTesters.assertEqualsAndHashCodeGrowth( ListKey::quadratic,
+                GrowthBudget.of( 2 ).withSizes( 128, 2048 ) );
+
+        assertThat( report.getEqualsExponent() ).isGreaterThan( 1.5 );
+        assertThat( report.getCompareToExponent() ).isNaN();
+    }
+
+    @Test
+    public void testUnboundedRecursionFailsFast() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> ContractTesters.assertEqualsAndHashCodeGrowth( RecursiveNode::cycle, GrowthBudget.linear() ) )
+                .withMessageContaining( "recursed without bound" )
+                .withCauseInstanceOf( StackOverflowError.class );
+    }
+
+    @Test
+    public void testEndlessLoopFailsAfterTimeout() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> ContractTesters.assertEqualsAndHashCodeGrowth( IterativeNode::cycle,
+                        GrowthBudget.linear().withTimeout( 500, TimeUnit.MILLISECONDS ) ) )
+                .withMessageContaining( "did not complete within 500 ms" );
+    }
+
+    @Test
+    public void testFactoryMustCreateEqualInstances() {
+        assertThatExceptionOfType( IllegalArgumentException.class )
+                .isThrownBy( () -> ContractTesters.assertEqualsAndHashCodeGrowth( size -> new Object(), GrowthBudget.linear() ) )
+                .withMessageContaining( "must create equal instances" );
+    }
+
+    @Test
+    public void testInvalidBudget() {
+        assertThatExceptionOfType( IllegalArgumentException.class ).isThrownBy( () -> GrowthBudget.of( -1 ) );
+        assertThatExceptionOfType( IllegalArgumentException.class ).isThrownBy( () -> GrowthBudget.linear().withSizes( 64, 128 ) );
+        assertThatExceptionOfType( IllegalArgumentException.class )
+                .isThrownBy( () -> GrowthBudget.linear().withTimeout( 0, TimeUnit.SECONDS ) );
+    }
+
+    /**
+     * Composite key holding a list, compared element by element or, if quadratic, by searching every element.
+     */
+    static final class ListKey implements Comparable<ListKey> {
+
+        private final List<Integer> values;
+        private final boolean quadratic;
+
+        private ListKey( int size, boolean quadratic ) {
+            this.values = new ArrayList<>( size );
+            for( int i = 0; i < size; i++ ) {
+                values.add( i * 7 );
+            }
+            this.quadratic = quadratic;
+        }
+
+        static ListKey linear( int size ) {
+            return new ListKey( size, false );
+        }
+
+        static ListKey quadratic( int size ) {
+            return new ListKey( size, true );
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            if( !( obj instanceof ListKey ) ) {
+                return false;
+            }
+            final List<Integer> other = ( (ListKey) obj ).values;
+            return quadratic ? values.size() == other.size() && values.containsAll( other ) : values.equals( other );
+        }
+
+        @Override
+        public int hashCode() {
+            return values.hashCode();
+        }
+
+        @Override
+        public int compareTo( ListKey o ) {
+            for( int i = 0; i < Math.min( values.size(), o.values.size() ); i++ ) {
+                final int c = values.get( i ).compareTo( o.values.get( i ) );
+                if( c != 0 ) {
+                    return c;
+                }
+            }
+            return Integer.compare( values.size(), o.values.size() );
+        }
+    }
+
+    /**
+     * Node of a cyclic graph whose {@code equals} recurses along the cycle.
+     */
+    static final class RecursiveNode {
+
+        private final int value;
+        private RecursiveNode next;
+
+        RecursiveNode( int value ) {
+            this.value = value;
+        }
+
+        static RecursiveNode cycle( int size ) {
+            final RecursiveNode first = new RecursiveNode( 0 );
+            RecursiveNode last = first;
+            for( int i = 1; i < size; i++ ) {
+                last.next = new RecursiveNode( i );
+                last = last.next;
+            }
+            last.next = first;
+            return first;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof RecursiveNode && ( (RecursiveNode) obj ).value == value
+                    && next.equals( ( (RecursiveNode) obj ).next );
+        }
+
+        @Override
+        public int hashCode() {
+            return value;
+        }
+    }
+
+    /**
+     * Node of a cyclic graph whose {@code equals} iterates along the cycle until the thread is interrupted by the
+     * watchdog, so the test does not leave a spinning thread behind.
+     */
+    static final class IterativeNode {
+
+        private final int value;
+        private IterativeNode next;
+
+        IterativeNode( int value ) {
+            this.value = value;
+        }
+
+        static IterativeNode cycle( int size ) {
+            final IterativeNode first = new IterativeNode( 0 );
+            first.next = first;
+            return first;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            if( !( obj instanceof IterativeNode ) ) {
+                return false;
+            }
+            IterativeNode x = this;
+            IterativeNode y = (IterativeNode) obj;
+            while( x != null && y != null && !Thread.currentThread().isInterrupted() ) {
+                if( x.value != y.value ) {
+                    return false;
+                }
+                x = x.next;
+                y = y.next;
+            }
+            return x == y;
+        }
+
+        @Override
+        public int hashCode() {
+            return value;
+        }
+    }
+}
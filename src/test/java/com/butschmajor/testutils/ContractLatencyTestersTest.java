@@ -0,0 +1,75 @@
+package com.butschmajor.testutils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class ContractLatencyTestersTest {
+
+    @Test
+    public void testAssertLatencyOfCheapMethods() {
+        final String x = "value";
+        final String y = new String( x );
+        final String z = new String( x );
+        final LatencyBudget budget = LatencyBudget.of( 1, TimeUnit.MILLISECONDS ).atPercentile( 50 );
+
+        assertThatCode( () -> {
+            ContractTesters.assertHashCodeLatency( x, y, z, budget );
+            ContractTesters.assertEqualsLatency( x, y, z, budget );
+            ContractTesters.assertCompareToLatency( x, y, z, budget );
+        } ).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testAssertHashCodeLatencyOfSlowHashCode() {
+        final SlowValue x = new SlowValue();
+
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractTesters.assertHashCodeLatency( x, x, x, LatencyBudget.ofNanos( 1_000 ).withWarmupCalls( 100 )
+                            .withSamples( 20 ).withBatchSize( 1 ) );
+                } )
+                .withMessageContaining( "hashCode should take at most 1000 ns at p99 after 100 warm-up calls" )
+                .withMessageContaining( "Latency per call of 20 samples of 1 calls:" )
+                .withMessageContaining( "p99.9" );
+    }
+
+    @Test
+    public void testAssertHashCodeLatencyOfBatchesReportsBatchMeans() {
+        final SlowValue x = new SlowValue();
+
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractTesters.assertHashCodeLatency( x, x, x, LatencyBudget.ofNanos( 1_000 ).withWarmupCalls( 100 )
+                            .withSamples( 20 ).withBatchSize( 4 ) );
+                } )
+                .withMessageContaining( "at p99 of the means of batches of 4 calls" )
+                .withMessageContaining( "Mean latency per call of 20 samples of 4 calls" );
+    }
+
+    @Test
+    public void testDefaultBudgetMeasuresSingleCalls() {
+        assertThat( LatencyBudget.ofNanos( 20 ).getBatchSize() ).isEqualTo( 1 );
+    }
+
+    private static final class SlowValue {
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj == this;
+        }
+
+        @Override
+        public int hashCode() {
+            final long end = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos( 50 );
+            while( System.nanoTime() < end ) {
+                Thread.onSpinWait();
+            }
+            return 0;
+        }
+    }
+}
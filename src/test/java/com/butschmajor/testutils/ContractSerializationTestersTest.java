@@ -0,0 +1,151 @@
+package com.butschmajor.testutils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class ContractSerializationTestersTest {
+
+    @Test
+    public void testJavaSerializationRoundTrip() {
+        final List<String> instances = IntStream.range( 0, 100_000 ).mapToObj( i -> "value" + i ).collect( Collectors.toList() );
+
+        final SerializationReport report = ContractTesters.assertSerializationRoundTrip( instances );
+
+        assertThat( report.getInstances() ).isEqualTo( 100_000 );
+        assertThat( report.getMinBytes() ).isPositive().isLessThanOrEqualTo( report.getMaxBytes() );
+        assertThat( report.getAverageBytes() ).isBetween( (double) report.getMinBytes(), (double) report.getMaxBytes() );
+        assertThat( report.getInstancesPerSecond() ).isPositive();
+        assertThat( report.toString() ).contains( "instances=100000" );
+    }
+
+    @Test
+    public void testCodecRoundTripWithCompareTo() {
+        final List<IntValue> instances = IntStream.range( 0, 10_000 ).mapToObj( IntValue::new ).collect( Collectors.toList() );
+
+        final SerializationReport report = ContractTesters.assertSerializationRoundTripCompareTo( instances, new IntValueCodec( 0 ) );
+
+        assertThat( report.getTotalBytes() ).isEqualTo( 4 * 10_000 );
+        assertThat( report.getMinBytes() ).isEqualTo( 4 );
+        assertThat( report.getMaxBytes() ).isEqualTo( 4 );
+    }
+
+    @Test
+    public void testHashCodeChangedByDeserialization() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractTesters.assertSerializationRoundTrip( Arrays.asList( new IdentityHashValue( 1 ), new IdentityHashValue( 2 ) ) );
+                } )
+                .withMessageContaining( "x.hashCode() and copy.hashCode() should be the same" );
+    }
+
+    @Test
+    public void testCodecLeavingBytesUnread() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractTesters.assertSerializationRoundTrip( Arrays.asList( new IntValue( 1 ) ), new IntValueCodec( 2 ) );
+                } )
+                .withMessageContaining( "The codec should read all 6 bytes written for x=<IntValue[1]>, but 2 bytes were left." );
+    }
+
+    @Test
+    public void testBufferGrowsAndIsReused() throws IOException {
+        final RoundTripBuffer buffer = RoundTripBuffer.get();
+        final byte[] content = new byte[10_000];
+        Arrays.fill( content, (byte) 7 );
+
+        buffer.startWriting().write( content );
+        final InputStream in = buffer.startReading();
+        final byte[] read = new byte[content.length];
+        assertThat( in.read( read ) ).isEqualTo( content.length );
+        assertThat( read ).isEqualTo( content );
+        assertThat( in.read() ).isEqualTo( -1 );
+        assertThat( RoundTripBuffer.get() ).isSameAs( buffer );
+    }
+
+    private static final class IntValue implements Comparable<IntValue> {
+        private final int value;
+
+        IntValue( int value ) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof IntValue && ( (IntValue) obj ).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Integer.hashCode( value );
+        }
+
+        @Override
+        public int compareTo( IntValue other ) {
+            return Integer.compare( value, other.value );
+        }
+
+        @Override
+        public String toString() {
+            return "IntValue[" + value + "]";
+        }
+    }
+
+    private static final class IntValueCodec implements SerializationCodec<IntValue> {
+        private final int padding;
+
+        IntValueCodec( int padding ) {
+            this.padding = padding;
+        }
+
+        @Override
+        public void write( IntValue value, OutputStream out ) throws IOException {
+            for( int shift = 24; shift >= 0; shift -= 8 ) {
+                out.write( value.value >>> shift );
+            }
+            for( int i = 0; i < padding; i++ ) {
+                out.write( 0 );
+            }
+        }
+
+        @Override
+        public IntValue read( InputStream in ) throws IOException {
+            int value = 0;
+            for( int i = 0; i < 4; i++ ) {
+                value = value << 8 | in.read();
+            }
+            return new IntValue( value );
+        }
+    }
+
+    private static final class IdentityHashValue implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final int value;
+        private final transient Object identity = new Object();
+
+        IdentityHashValue( int value ) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof IdentityHashValue && ( (IdentityHashValue) obj ).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return identity == null ? 0 : identity.hashCode();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.butschmajor.testutils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+
+public class ContractStreamingTestersTest {
+
+    private static final int KEY_LENGTH = 12;
+
+    @Test
+    public void testFixedLengthCorpusIsVerifiedInBoundedWindows() throws IOException {
+        final Path file = writeKeys( 200_000, false );
+        final RecordCorpus<Key> corpus = RecordCorpus.fixedLength( file, KEY_LENGTH, Key::decode )
+                .withWindowSize( 4096 )
+                .withSampleSize( 256 );
+
+        final CorpusReport report = ContractTesters.assertContractEqualsHashCodeCompareTo( corpus );
+
+        assertThat( report.getRecords() ).isEqualTo( 200_000 );
+        assertThat( report.getWindows() ).isEqualTo( 49 );
+        assertThat( report.getMaxMaterialized() ).isLessThanOrEqualTo( 2 * 4096 + 256 );
+    }
+
+    @Test
+    public void testRecordsCrossingSegmentsAreRemapped() throws IOException {
+        final Path file = writeKeys( 10_000, false );
+        final RecordCorpus<Key> corpus = RecordCorpus.fixedLength( file, KEY_LENGTH, Key::decode ).withWindowSize( 1000 );
+
+        final CorpusReport report = ContractStreamingTesters.verify( corpus, null, null, 1000 );
+
+        assertThat( report.getRecords() ).isEqualTo( 10_000 );
+        assertThat( report.getWindows() ).isEqualTo( 10 );
+    }
+
+    @Test
+    public void testLengthPrefixedCorpus() throws IOException {
+        final Path file = Files.createTempDirectory( "corpus" ).resolve( "strings.bin" );
+        try( FileChannel channel = FileChannel.open( file, StandardOpenOption.CREATE, StandardOpenOption.WRITE ) ) {
+            for( int i = 0; i < 5000; i++ ) {
+                final byte[] bytes = ( "key-" + ( i % 700 ) ).getBytes( StandardCharsets.UTF_8 );
+                final ByteBuffer record = ByteBuffer.allocate( Integer.BYTES + bytes.length ).putInt( bytes.length ).put( bytes );
+                record.flip();
+                channel.write( record );
+            }
+        }
+        final RecordCorpus<String> corpus = RecordCorpus.lengthPrefixed( file, ContractStreamingTestersTest::decodeString )
+                .withWindowSize( 512 );
+
+        final CorpusReport report = ContractTesters.assertContractEqualsHashCodeCompareTo( corpus );
+
+        assertThat( report.getRecords() ).isEqualTo( 5000 );
+    }
+
+    @Test
+    public void testViolationFails() throws IOException {
+        final Path file = writeKeys( 20_000, true );
+        final RecordCorpus<Key> corpus = RecordCorpus.fixedLength( file, KEY_LENGTH, Key::decode ).withWindowSize( 1000 );
+
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> ContractTesters.assertContractEqualsAndHashCode( corpus ) )
+                .withMessageContaining( "Offending instances" );
+    }
+
+    @Test
+    public void testViolationsAreCollected() throws IOException {
+        final Path file = writeKeys( 20_000, true );
+        final RecordCorpus<Key> corpus = RecordCorpus.fixedLength( file, KEY_LENGTH, Key::decode ).withWindowSize( 1000 );
+        final FailureCollector collector = new FailureCollector();
+
+        final CorpusReport report = ContractTesters.assertContractEqualsAndHashCode( corpus, collector );
+
+        assertThat( report.getRecords() ).isEqualTo( 20_000 );
+        assertThat( collector.getFailureCount() ).isPositive();
+        assertThat( collector.getGroups() ).extracting( FailureCollector.FailureGroup::getCheck ).containsOnly( "hashCode.equality" );
+    }
+
+    @Test
+    public void testTruncatedCorpus() throws IOException {
+        final Path file = writeKeys( 100, false );
+        try( FileChannel channel = FileChannel.open( file, StandardOpenOption.WRITE ) ) {
+            channel.truncate( 100 * KEY_LENGTH - 5 );
+        }
+        final RecordCorpus<Key> corpus = RecordCorpus.fixedLength( file, KEY_LENGTH, Key::decode );
+
+        assertThatExceptionOfType( IllegalStateException.class )
+                .isThrownBy( () -> ContractTesters.assertContractEqualsAndHashCode( corpus ) )
+                .withMessageContaining( "is truncated" );
+    }
+
+    @Test
+    public void testDecoderMustNotReturnNull() throws IOException {
+        final Path file = writeKeys( 100, false );
+        final RecordCorpus<Key> corpus = RecordCorpus.fixedLength( file, KEY_LENGTH, record -> null );
+
+        assertThatExceptionOfType( NullPointerException.class )
+                .isThrownBy( () -> ContractTesters.assertContractEqualsAndHashCode( corpus ) )
+                .withMessageContaining( "The decoder returned null for the record" );
+    }
+
+    private static Path writeKeys( final int count, final boolean brokenHashCode ) throws IOException {
+        final Path file = Files.createTempDirectory( "corpus" ).resolve( "keys.bin" );
+        final ByteBuffer buffer = ByteBuffer.allocate( count * KEY_LENGTH );
+        for( int i = 0; i < count; i++ ) {
+            buffer.putInt( brokenHashCode ? i / 2 : i % 5000 ).putLong( brokenHashCode ? i : 0 );
+        }
+        buffer.flip();
+        try( FileChannel channel = FileChannel.open( file, StandardOpenOption.CREATE, StandardOpenOption.WRITE ) ) {
+            channel.write( buffer );
+        }
+        return file;
+    }
+
+    private static String decodeString( final ByteBuffer record ) {
+        final byte[] bytes = new byte[record.remaining()];
+        record.get( bytes );
+        return new String( bytes, StandardCharsets.UTF_8 );
+    }
+
+    /**
+     * Key whose hash code depends on a salt ignored by {@code equals} if the salt is not zero.
+     */
+    static final class Key implements Comparable<Key> {
+
+        private final int id;
+        private final long salt;
+
+        Key( int id, long salt ) {
+            this.id = id;
+            this.salt = salt;
+        }
+
+        static Key decode( ByteBuffer record ) {
+            return new Key( record.getInt(), record.getLong() );
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof Key && ( (Key) obj ).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return Integer.hashCode( id ) ^ Long.hashCode( salt );
+        }
+
+        @Override
+        public int compareTo( Key o ) {
+            return Integer.compare( id, o.id );
+        }
+
+        @Override
+        public String toString() {
+            return "Key[" + id + ", " + salt + "]";
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.butschmajor.testutils;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class ContractStressTesterTest {
+
+    @Test
+    public void testAssertContractOfStrings() {
+        assertThatCode( () -> {
+            ContractStressTester.forEqualsHashCodeCompareTo( () -> new String( new char[] { 'k', 'e', 'y' } ) )
+                    .threads( 4 )
+                    .iterations( 2_000 )
+                    .assertContract();
+        } ).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testAssertContractWithRacyLazyHashCode() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractStressTester.forEqualsAndHashCode( () -> new RacyHashValue( 1, 2, 3, 4 ) )
+                            .threads( 4 )
+                            .iterations( 2_000 )
+                            .assertContract();
+                } )
+                .withMessageContaining( "x.hashCode() of a freshly constructed instance should be <31810> on all threads" );
+    }
+
+    @Test
+    public void testAssertContractWithIdentityHashCode() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractStressTester.forEqualsAndHashCode( () -> new IdentityHashValue() )
+                            .threads( 2 )
+                            .assertContract();
+                } )
+                .withMessageContaining( "in iteration 1:" );
+    }
+
+    @Test
+    public void testAssertContractRethrowsExceptions() {
+        assertThatExceptionOfType( IllegalStateException.class )
+                .isThrownBy( () -> {
+                    ContractStressTester.forEqualsAndHashCode( () -> new FailingValue() )
+                            .threads( 2 )
+                            .assertContract();
+                } )
+                .withMessage( "failing" );
+    }
+
+    @Test
+    public void testAssertContractRethrowsExceptionsOfThePublishingThread() {
+        final AtomicInteger constructed = new AtomicInteger();
+
+        assertThatExceptionOfType( IllegalStateException.class )
+                .isThrownBy( () -> {
+                    ContractStressTester.forEqualsAndHashCode( () -> {
+                        if( constructed.incrementAndGet() > 10 ) {
+                            throw new IllegalStateException( "not constructible" );
+                        }
+                        return "key";
+                    } )
+                            .threads( 4 )
+                            .assertContract();
+                } )
+                .withMessage( "not constructible" );
+    }
+
+    private static final class RacyHashValue {
+        private final int[] values;
+        private volatile int hash;
+
+        RacyHashValue( int... values ) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof RacyHashValue && Arrays.equals( ( (RacyHashValue) obj ).values, values );
+        }
+
+        @Override
+        public int hashCode() {
+            if( hash == 0 ) {
+                for( int value : values ) {
+                    hash = 31 * hash + value;
+                    Thread.yield();
+                }
+            }
+            return hash;
+        }
+    }
+
+    private static final class IdentityHashValue {
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof IdentityHashValue;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode( this );
+        }
+    }
+
+    private static final class FailingValue {
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof FailingValue;
+        }
+
+        @Override
+        public int hashCode() {
+            throw new IllegalStateException( "failing" );
+        }
+    }
+}
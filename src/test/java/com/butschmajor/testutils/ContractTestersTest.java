@@ -0,0 +1,308 @@
+package com.butschmajor.testutils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class ContractTestersTest {
+
+    @Test
+    public void testPassingChecksDoNotAllocate() {
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+        final String x = "value";
+        final String y = new String( x );
+        final String z = new String( x );
+        final int iterations = 100_000;
+
+        runPassingChecks( x, y, z, iterations );
+        final long before = threads.getThreadAllocatedBytes( threadId );
+        runPassingChecks( x, y, z, iterations );
+        final long allocated = threads.getThreadAllocatedBytes( threadId ) - before;
+
+        assertThat( allocated / iterations )
+                .withFailMessage( "Passing checks allocated %d bytes in %d iterations", allocated, iterations )
+                .isZero();
+    }
+
+    private static void runPassingChecks( String x, String y, String z, int iterations ) {
+        for( int i = 0; i < iterations; i++ ) {
+            ContractTesters.assertContractEqualsAndHashCode( x, y, z );
+            ContractCompareToTesters.assertComparisonReversal( x, y );
+            ContractCompareToTesters.assertConsistency( x, y, z );
+            ContractCompareToTesters.assertConsistencyWithEqual( x, y );
+            ContractCompareToTesters.assertTransitivity( x, y, z );
+        }
+    }
+
+    @Test
+    public void testAssertContractEqualsAndHashCodeOfManyInstances() {
+        final List<String> instances = new ArrayList<>();
+        IntStream.range( 0, 10_000 ).forEach( i -> {
+            instances.add( "value" + ( i % 1_000 ) );
+        } );
+
+        assertThatCode( () -> {
+            ContractTesters.assertContractEqualsAndHashCode( instances );
+        } ).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testAssertContractEqualsAndHashCodeOfStream() {
+        assertThatCode( () -> {
+            ContractTesters.assertContractEqualsAndHashCode( IntStream.range( 0, 5_000 ).mapToObj( i -> new CollidingValue( i % 50 ) ) );
+        } ).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testAssertContractEqualsAndHashCodeWithHashCodeDisagreeingWithEquals() {
+        final List<Object> instances = new ArrayList<>();
+        IntStream.range( 0, 1_000 ).forEach( i -> {
+            instances.add( new IdentityHashValue( 1 ) );
+        } );
+
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractTesters.assertContractEqualsAndHashCode( instances );
+                } )
+                .withMessageContaining( "x.hashCode() and y.hashCode() should be the same" );
+    }
+
+    @Test
+    public void testAssertContractEqualsAndHashCodeWithSingleEqualPairOfDistinctHashCodes() {
+        final List<Object> instances = new ArrayList<>();
+        IntStream.range( 0, 4_000 ).forEach( i -> {
+            instances.add( new SplitHashValue( i, i ) );
+        } );
+        instances.add( new SplitHashValue( 1_234, -1 ) );
+
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractTesters.assertContractEqualsAndHashCode( instances );
+                } )
+                .withMessageContaining( "x.hashCode() and y.hashCode() should be the same" )
+                .withMessageContaining( "SplitHashValue[1234]" );
+    }
+
+    @Test
+    public void testAssertContractEqualsAndHashCodeWithConfiguredCrossBucketSamples() {
+        final List<Object> instances = new ArrayList<>();
+        IntStream.range( 0, 10_000 ).forEach( i -> {
+            instances.add( new SplitHashValue( i, i ) );
+        } );
+        instances.add( new SplitHashValue( 1_234, -1 ) );
+
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractTesters.assertContractEqualsAndHashCode( instances, instances.size() );
+                } )
+                .withMessageContaining( "x.hashCode() and y.hashCode() should be the same" );
+        assertThatExceptionOfType( IllegalArgumentException.class )
+                .isThrownBy( () -> {
+                    ContractTesters.assertContractEqualsAndHashCode( instances, 0 );
+                } );
+    }
+
+    @Test
+    public void testAssertContractEqualsAndHashCodeWithNonTransitiveEquals() {
+        final List<Object> instances = new ArrayList<>();
+        IntStream.range( 0, 100 ).forEach( i -> {
+            instances.add( new NearbyValue( i ) );
+        } );
+
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractTesters.assertContractEqualsAndHashCode( instances );
+                } )
+                .withMessageContaining( "should transitively be equal" );
+    }
+
+    @Test
+    public void testAssertTransitivityOfDistinctInstances() {
+        assertThatCode( () -> {
+            ContractCompareToTesters.assertTransitivity( "a", "b", "c" );
+            ContractCompareToTesters.assertTransitivity( "c", "b", "a" );
+            ContractCompareToTesters.assertTransitivity( "a", "c", "b" );
+        } ).doesNotThrowAnyException();
+
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractCompareToTesters.assertTransitivity( new NearbyOrder( 0 ), new NearbyOrder( 1 ), new NearbyOrder( 2 ) );
+                } )
+                .withMessageContaining( "Transitivity should apply" );
+    }
+
+    @Test
+    public void testAssertContractCompareToOfManyInstances() {
+        final List<String> instances = new ArrayList<>();
+        IntStream.range( 0, 100_000 ).forEach( i -> {
+            instances.add( "value" + ( i * 7919 % 25_000 ) );
+        } );
+
+        assertThatCode( () -> {
+            ContractTesters.assertContractCompareTo( instances );
+        } ).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testAssertContractCompareToWithNonTransitiveCompareTo() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractTesters.assertContractCompareTo( IntStream.range( 0, 1_000 ).mapToObj( NearbyOrder::new ) );
+                } )
+                .withMessageContaining( "Transitivity should apply" )
+                .withMessageMatching( "(?s).*x=<NearbyOrder\\[\\d+\\]>, y=<NearbyOrder\\[\\d+\\]> and z=<NearbyOrder\\[\\d+\\]>.*" );
+    }
+
+    @Test
+    public void testAssertContractCompareToInconsistentWithEquals() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractTesters.assertContractCompareTo( IntStream.range( 0, 1_000 ).mapToObj( i -> new BigDecimal( i % 10 ).setScale( i % 3 ) ) );
+                } )
+                .withMessageContaining( "should have the same boolean value as x.equals(y)" );
+    }
+
+    @Test
+    public void testAssertContractComparator() {
+        final Comparator<String> byLength = Comparator.comparingInt( String::length );
+
+        assertThatCode( () -> {
+            ContractTesters.assertContractComparator( "a", "bb", "cc", byLength );
+            ContractTesters.assertContractComparator( IntStream.range( 0, 10_000 ).mapToObj( Integer::toString ), byLength );
+        } ).doesNotThrowAnyException();
+
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    ContractTesters.assertContractComparator( IntStream.range( 0, 1_000 ).boxed(),
+                            ( Integer x, Integer y ) -> Math.abs( x - y ) <= 1 ? 0 : Integer.compare( x, y ) );
+                } )
+                .withMessageContaining( "Transitivity should apply" );
+    }
+
+    private static final class CollidingValue {
+        private final int value;
+
+        CollidingValue( int value ) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof CollidingValue && ( (CollidingValue) obj ).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value % 7;
+        }
+
+        @Override
+        public String toString() {
+            return "CollidingValue[" + value + "]";
+        }
+    }
+
+    private static final class IdentityHashValue {
+        private final int value;
+
+        IdentityHashValue( int value ) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof IdentityHashValue && ( (IdentityHashValue) obj ).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode( this );
+        }
+    }
+
+    private static final class SplitHashValue {
+        private final int value;
+        private final int hash;
+
+        SplitHashValue( int value, int hash ) {
+            this.value = value;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof SplitHashValue && ( (SplitHashValue) obj ).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "SplitHashValue[" + value + "]";
+        }
+    }
+
+    private static final class NearbyValue {
+        private final int value;
+
+        NearbyValue( int value ) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof NearbyValue && Math.abs( ( (NearbyValue) obj ).value - value ) <= 1;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return "NearbyValue[" + value + "]";
+        }
+    }
+
+    private static final class NearbyOrder implements Comparable<NearbyOrder> {
+        private final int value;
+
+        NearbyOrder( int value ) {
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo( NearbyOrder other ) {
+            return Math.abs( other.value - value ) <= 1 ? 0 : Integer.compare( value, other.value );
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof NearbyOrder && Math.abs( ( (NearbyOrder) obj ).value - value ) <= 1;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return "NearbyOrder[" + value + "]";
+        }
+    }
+}
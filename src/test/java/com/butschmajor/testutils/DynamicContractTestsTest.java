@@ -0,0 +1,57 @@
+package com.butschmajor.testutils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+public class DynamicContractTestsTest {
+
+    @TestFactory
+    public Stream<DynamicNode> testContracts() {
+        return Stream.of(
+                DynamicContractTests.equalsHashCodeCompareTo( "String", "value", new String( "value" ), new String( "value" ) ),
+                DynamicContractTests.equalsAndHashCode( "Integer", 1_000, 1_000, 1_000 ) );
+    }
+
+    @TestFactory
+    public Stream<DynamicTest> testUtilityClasses() throws IOException {
+        return DynamicContractTests.utilityClasses( "com.butschmajor.testutils", Pattern.compile( ".*UtilityClassScannerTest\\$ScanIsWellDefined" ) );
+    }
+
+    @Test
+    public void testUtilityClassesReportsEveryClass() throws IOException {
+        final Map<String, DynamicTest> tests;
+        try( Stream<DynamicTest> stream = DynamicContractTests.utilityClasses( "com.butschmajor.testutils",
+                Pattern.compile( ".*UtilityClassScannerTest\\$Scan.*" ) ) ) {
+            tests = stream.collect( Collectors.toMap( DynamicTest::getDisplayName, test -> test ) );
+        }
+
+        assertThat( tests ).containsOnlyKeys( UtilityClassScannerTest.ScanHasNonStaticMethod.class.getName(),
+                UtilityClassScannerTest.ScanIsWellDefined.class.getName(), UtilityClassScannerTest.ScanNotFinal.class.getName(),
+                UtilityClassScannerTest.ScanNotThrowing.class.getName() );
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> tests.get( UtilityClassScannerTest.ScanNotFinal.class.getName() ).getExecutable().execute() )
+                .withMessageContaining( "is not final" );
+    }
+
+    @Test
+    public void testEqualsAndHashCodeReportsEveryCheck() {
+        final List<String> displayNames = DynamicContractTests.equalsAndHashCode( "Object", new Object(), new Object(), new Object() )
+                .getChildren()
+                .map( DynamicNode::getDisplayName )
+                .collect( Collectors.toList() );
+
+        assertThat( displayNames ).contains( "equals reflexive", "hashCode consistency" ).hasSize( 7 );
+    }
+}
@@ -0,0 +1,153 @@
+package com.butschmajor.testutils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+public class FailureCollectorTest {
+
+    @Test
+    public void testFailuresAreGroupedByCheckAndType() {
+        final FailureCollector collector = new FailureCollector();
+        for( int i = 0; i < 100_000; i++ ) {
+            collector.add( "equals.reflexive", String.class, "failure " + i );
+            collector.add( "hashCode.consistency", String.class, "failure " + i );
+        }
+        collector.add( "equals.reflexive", Integer.class, "other failure" );
+
+        assertThat( collector.getFailureCount() ).isEqualTo( 200_001 );
+        assertThat( collector.getDroppedCount() ).isZero();
+        assertThat( collector.getGroups() ).hasSize( 3 );
+
+        final FailureCollector.FailureGroup group = collector.getGroups().get( 1 );
+        assertThat( group.getCheck() ).isEqualTo( "equals.reflexive" );
+        assertThat( group.getTypeName() ).isEqualTo( String.class.getName() );
+        assertThat( group.getCount() ).isEqualTo( 100_000 );
+        assertThat( group.getFirstMessage() ).isEqualTo( "failure 0" );
+
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( collector::assertNoFailures )
+                .withMessageContaining( "200001 failure(s) in 3 group(s)" )
+                .withMessageContaining( "equals.reflexive of <java.lang.String>, 100000 time(s): failure 0" );
+    }
+
+    @Test
+    public void testMemoryIsBounded() {
+        final FailureCollector collector = new FailureCollector( 2 );
+        collector.add( "check", "A", new String( new char[10_000] ).replace( '\0', 'x' ) );
+        collector.add( "check", "B", "failure" );
+        collector.add( "check", "C", "failure" );
+        collector.add( "check", "C", "failure" );
+
+        assertThat( collector.getFailureCount() ).isEqualTo( 4 );
+        assertThat( collector.getDroppedCount() ).isEqualTo( 2 );
+        assertThat( collector.getGroups() ).extracting( FailureCollector.FailureGroup::getTypeName ).containsExactly( "A", "B" );
+        assertThat( collector.getGroups().get( 0 ).getFirstMessage() )
+                .hasSize( FailureCollector.MAX_MESSAGE_LENGTH + " (5904 more characters)".length() + 3 )
+                .endsWith( "... (5904 more characters)" );
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( collector::assertNoFailures )
+                .withMessageContaining( "2 further failure(s) of groups exceeding the maximum of 2 group(s)" );
+    }
+
+    @Test
+    public void testReportIsStreamed() throws IOException {
+        final Path report = Files.createTempDirectory( "failures" ).resolve( "report.json" );
+        try( FailureCollector collector = new FailureCollector( 10, report ) ) {
+            collector.add( "check", "A", "first \"quoted\"" );
+            collector.add( "check", "A", "second" );
+
+            assertThat( Files.readAllLines( report, StandardCharsets.UTF_8 ) )
+                    .containsExactly( "{\"check\":\"check\",\"type\":\"A\",\"message\":\"first \\\"quoted\\\"\"}" );
+        }
+
+        assertThat( Files.readAllLines( report, StandardCharsets.UTF_8 ) ).containsExactly(
+                "{\"check\":\"check\",\"type\":\"A\",\"message\":\"first \\\"quoted\\\"\"}",
+                "{\"check\":\"check\",\"type\":\"A\",\"count\":2}",
+                "{\"failures\":2,\"dropped\":0}" );
+    }
+
+    @Test
+    public void testVerifyGroupsByFailedCheck() {
+        final FailureCollector collector = new FailureCollector();
+
+        assertThat( collector.verify( String.class, () -> ContractEqualsTesters.assertEqualsIsReflexive( "value" ) ) ).isTrue();
+        assertThat( collector.verify( String.class,
+                () -> ContractHashCodeTesters.assertHashCodeEquality( "value", "value" ) ) ).isTrue();
+        assertThat( collector.verify( NotReflexive.class,
+                () -> ContractEqualsTesters.assertEqualsIsReflexive( new NotReflexive( 1 ) ) ) ).isFalse();
+        assertThat( collector.verify( NotReflexive.class, () -> {
+            throw new AssertionError( "not reported by a check" );
+        } ) ).isFalse();
+
+        assertThat( collector.getGroups() ).extracting( FailureCollector.FailureGroup::getCheck )
+                .containsExactly( "equals.reflexive", FailureCollector.UNKNOWN_CHECK );
+    }
+
+    @Test
+    public void testBulkContractCollectsEveryBrokenInstance() {
+        final List<NotReflexive> instances = new ArrayList<>();
+        for( int i = 0; i < 1000; i++ ) {
+            instances.add( new NotReflexive( i ) );
+        }
+        final FailureCollector collector = new FailureCollector();
+
+        ContractTesters.assertContractEqualsAndHashCode( instances, collector );
+
+        assertThat( collector.getFailureCount() ).isEqualTo( 1000 );
+        assertThat( collector.getGroups() ).hasSize( 1 );
+        assertThat( collector.getGroups().get( 0 ).getCheck() ).isEqualTo( "equals.reflexive" );
+        assertThat( collector.getGroups().get( 0 ).getTypeName() ).isEqualTo( NotReflexive.class.getName() );
+    }
+
+    @Test
+    public void testFailureReporters() {
+        final FailureReporter configured = FailureReporters.get();
+        final RuntimeException cause = new RuntimeException();
+        try {
+            FailureReporters.set( FailureReporters.junit() );
+            assertThatExceptionOfType( AssertionFailedError.class )
+                    .isThrownBy( () -> ContractEqualsTesters.assertEqualsIsReflexive( new NotReflexive( 1 ) ) );
+
+            FailureReporters.set( FailureReporters.assertj() );
+            assertThat( FailureReporters.get().createFailure( "message", cause ) )
+                    .hasMessage( "message" )
+                    .hasCause( cause );
+
+            FailureReporters.set( FailureReporters.plain() );
+            assertThat( FailureReporters.get().createFailure( "message", null ) )
+                    .isExactlyInstanceOf( AssertionError.class )
+                    .hasMessage( "message" );
+        } finally {
+            FailureReporters.set( configured );
+        }
+    }
+
+    static final class NotReflexive {
+
+        private final int id;
+
+        NotReflexive( int id ) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+    }
+}
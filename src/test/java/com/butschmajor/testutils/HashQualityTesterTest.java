@@ -0,0 +1,292 @@
+package com.butschmajor.testutils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class HashQualityTesterTest {
+
+    @Test
+    public void testAssertHashQualityOfStrings() {
+        final List<String> instances = IntStream.range( 0, 200_000 ).mapToObj( i -> "value" + i ).collect( Collectors.toList() );
+
+        assertThatCode( () -> {
+            HashQualityTester.assertHashQuality( instances );
+        } ).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testAssertHashQualityWithSpacedHashCodes() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    HashQualityTester.assertHashQuality( IntStream.range( 0, 100_000 ).mapToObj( i -> new SpacedValue( i ) ),
+                            HashQualityThresholds.defaults() );
+                } )
+                .withMessageContaining( "buckets are occupied" )
+                .withMessageContaining( "The maximum chain length" );
+    }
+
+    @Test
+    public void testAssertHashQualityWithCollisions() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    HashQualityTester.assertHashQuality( IntStream.range( 0, 10_000 ).mapToObj( i -> new SpacedValue( i % 100 ) ),
+                            HashQualityThresholds.defaults().withMaxChainLength( 1_000 ) );
+                } )
+                .withMessageContaining( "The collision rate 0.99000 exceeds 0.01000" );
+    }
+
+    @Test
+    public void testAnalyzeHashQuality() {
+        final int[] hashes = IntStream.range( 0, 1 << 12 ).toArray();
+
+        final HashQualityReport report = HashQualityTester.analyzeHashQuality( hashes );
+
+        assertThat( report.getSampleSize() ).isEqualTo( 1 << 12 );
+        assertThat( report.getCollisions() ).isZero();
+        assertThat( report.getTables() ).hasSize( 2 );
+        assertThat( report.getTables().get( 0 ).getTableSize() ).isEqualTo( 1 << 13 );
+        assertThat( report.getTables().get( 0 ).getOccupiedBuckets() ).isEqualTo( 1 << 12 );
+        assertThat( report.getTables().get( 0 ).getMaxChainLength() ).isEqualTo( 1 );
+        assertThat( report.getBitProbabilities()[0] ).isEqualTo( 0.5 );
+        assertThat( report.getBitProbabilities()[31] ).isEqualTo( 0.0 );
+        assertThat( report.getMaxBitBias() ).isEqualTo( 0.5 );
+    }
+
+    @Test
+    public void testCollidingStrings() {
+        final List<String> strings = HashQualityTester.collidingStrings( 1000 );
+
+        assertThat( strings ).hasSize( 1000 ).doesNotHaveDuplicates();
+        assertThat( strings.stream().mapToInt( String::hashCode ).distinct().count() ).isEqualTo( 1 );
+    }
+
+    @Test
+    public void testAssertCollisionResilienceOfComparableKeys() {
+        final List<CollidingKey> keys = IntStream.range( 0, 2048 ).mapToObj( CollidingKey::new ).collect( Collectors.toList() );
+
+        assertThatCode( () -> {
+            HashQualityTester.assertCollisionResilience( keys );
+            HashQualityTester.assertCollisionResilience( HashQualityTester.collidingStrings( 2048 ) );
+        } ).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testAssertCollisionResilienceOfIncomparableKeys() {
+        final List<IncomparableKey> keys = IntStream.range( 0, 2048 ).mapToObj( IncomparableKey::new ).collect( Collectors.toList() );
+
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    HashQualityTester.assertCollisionResilience( keys );
+                } )
+                .withMessageContaining( "The lookup of colliding instances does not scale logarithmically" )
+                .withMessageContaining( "does not implement Comparable<" + IncomparableKey.class.getName() + ">" );
+    }
+
+    @Test
+    public void testAnalyzeCollisionScaling() {
+        final CollisionScalingReport report = HashQualityTester.analyzeCollisionScaling(
+                IntStream.range( 0, 1000 ).mapToObj( CollidingKey::new ).collect( Collectors.toList() ) );
+
+        assertThat( report.getClassName() ).isEqualTo( CollidingKey.class.getName() );
+        assertThat( report.isComparable() ).isTrue();
+        assertThat( report.getSizes() ).containsExactly( 64, 128, 256, 512 );
+        assertThat( report.getHashMapNanos() ).hasSize( 4 );
+        assertThat( report.getConcurrentHashMapNanos() ).hasSize( 4 );
+    }
+
+    @Test
+    public void testAnalyzeCollisionScalingRejectsNonCollidingInstances() {
+        assertThatIllegalArgumentException()
+                .isThrownBy( () -> {
+                    HashQualityTester.analyzeCollisionScaling(
+                            IntStream.range( 0, 1000 ).mapToObj( SpacedValue::new ).collect( Collectors.toList() ) );
+                } )
+                .withMessageContaining( "must share the same hash code" );
+    }
+
+    @Test
+    public void testGoldenHashesAreCreatedAndCompared() throws IOException {
+        final Path goldenFile = Files.createTempDirectory( "golden-hashes" ).resolve( "strings.hashes" );
+        final List<String> instances = new StringKeys().get();
+
+        final HashDeterminismReport created = HashQualityTester.assertGoldenHashes( instances, goldenFile, 64 );
+        assertThat( goldenFile ).exists();
+        assertThat( Files.size( goldenFile ) ).isEqualTo( 12L + 4L * instances.size() );
+        assertThat( created.isDeterministic() ).isTrue();
+
+        final HashDeterminismReport report = HashQualityTester.assertGoldenHashes( instances, goldenFile, 64 );
+        assertThat( report.getInstances() ).isEqualTo( instances.size() );
+        assertThat( report.getChangedHashes() ).isZero();
+        assertThat( report.getMovedInstances() ).isZero();
+    }
+
+    @Test
+    public void testChangedGoldenHashesReportMovedShards() throws IOException {
+        final Path goldenFile = Files.createTempDirectory( "golden-hashes" ).resolve( "identities.hashes" );
+        final List<IdentityKey> instances = new ArrayList<>();
+        for( int i = 0; i < 1000; i++ ) {
+            instances.add( new IdentityKey() );
+        }
+        HashQualityTester.writeGoldenHashes( instances, goldenFile );
+
+        final List<IdentityKey> recreated = new ArrayList<>();
+        for( int i = 0; i < 1000; i++ ) {
+            recreated.add( new IdentityKey() );
+        }
+        final HashDeterminismReport report = HashQualityTester.compareWithGoldenHashes( recreated, goldenFile, 16 );
+        assertThat( report.isDeterministic() ).isFalse();
+        assertThat( report.getMovedInstances() ).isPositive().isLessThanOrEqualTo( report.getChangedHashes() );
+        assertThat( report.getExamples() ).hasSize( 10 );
+
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> HashQualityTester.assertGoldenHashes( recreated, goldenFile, 16 ) )
+                .withMessageContaining( "not deterministic across runs" )
+                .withMessageContaining( "would move to another of 16 shards" );
+    }
+
+    @Test
+    public void testGoldenHashesOfAnotherInstanceSet() throws IOException {
+        final Path goldenFile = Files.createTempDirectory( "golden-hashes" ).resolve( "strings.hashes" );
+        HashQualityTester.writeGoldenHashes( new StringKeys().get(), goldenFile );
+
+        assertThatIllegalArgumentException()
+                .isThrownBy( () -> HashQualityTester.compareWithGoldenHashes( List.of( "a", "b" ), goldenFile, 4 ) )
+                .withMessageContaining( "must be the same in every run" );
+        assertThatIllegalArgumentException()
+                .isThrownBy( () -> HashQualityTester.assertGoldenHashes( List.of( "a" ), goldenFile, 0 ) );
+    }
+
+    @Test
+    public void testInvalidGoldenFile() throws IOException {
+        final Path goldenFile = Files.createTempDirectory( "golden-hashes" ).resolve( "invalid.hashes" );
+        Files.write( goldenFile, new byte[] { 1, 2, 3 } );
+
+        assertThatExceptionOfType( IOException.class )
+                .isThrownBy( () -> HashQualityTester.compareWithGoldenHashes( List.of( "a" ), goldenFile, 4 ) )
+                .withMessageContaining( "is not a golden hash file" );
+    }
+
+    @Test
+    public void testHashCodeDeterminismAcrossJvms() throws IOException {
+        final List<HashDeterminismReport> reports = HashQualityTester.assertHashCodeDeterminism( StringKeys.class, 64 );
+
+        assertThat( reports ).hasSize( 2 ).allMatch( HashDeterminismReport::isDeterministic );
+    }
+
+    @Test
+    public void testIdentityHashCodesDifferAcrossJvms() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> HashQualityTester.assertHashCodeDeterminism( IdentityKeys.class, 64 ) )
+                .withMessageContaining( "not deterministic across JVMs" )
+                .withMessageContaining( "child JVM" )
+                .withMessageContaining( "moves from shard" );
+    }
+
+    private static final class CollidingKey implements Comparable<CollidingKey> {
+        private final int value;
+
+        CollidingKey( int value ) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof CollidingKey && ( (CollidingKey) obj ).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public int compareTo( CollidingKey other ) {
+            return Integer.compare( value, other.value );
+        }
+    }
+
+    private static final class IncomparableKey {
+        private final int value;
+
+        IncomparableKey( int value ) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof IncomparableKey && ( (IncomparableKey) obj ).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public String toString() {
+            return "IncomparableKey[" + value + "]";
+        }
+    }
+
+    private static final class SpacedValue {
+        private final int value;
+
+        SpacedValue( int value ) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof SpacedValue && ( (SpacedValue) obj ).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value << 24;
+        }
+    }
+
+    /**
+     * Creates string keys, whose hash codes are specified and equal in every JVM.
+     */
+    public static final class StringKeys implements Supplier<List<String>> {
+
+        @Override
+        public List<String> get() {
+            return IntStream.range( 0, 5000 ).mapToObj( i -> "shard-key-" + i ).collect( Collectors.toList() );
+        }
+    }
+
+    /**
+     * Creates keys hashed by their identity, whose hash codes differ between JVMs.
+     */
+    public static final class IdentityKeys implements Supplier<Collection<IdentityKey>> {
+
+        @Override
+        public Collection<IdentityKey> get() {
+            return IntStream.range( 0, 5000 ).mapToObj( i -> new IdentityKey() ).collect( Collectors.toList() );
+        }
+    }
+
+    private static final class IdentityKey {
+
+        @Override
+        public String toString() {
+            return "IdentityKey";
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.butschmajor.testutils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+public class StaticInitializerTestersTest {
+
+    @Test
+    public void testMeasureStaticInitializer() {
+        final StaticInitializerReport report = UtilityClassTester.measureStaticInitializer( HeavyInitializer.class );
+
+        assertThat( report.getClassName() ).isEqualTo( HeavyInitializer.class.getName() );
+        assertThat( report.getInitializationNanos() ).isPositive();
+        if( report.getAllocatedBytes() >= 0 ) {
+            assertThat( report.getAllocatedBytes() ).isGreaterThanOrEqualTo( 100_000 * Integer.BYTES );
+        }
+        assertThat( report.getInitializedClasses() ).contains( Holder.class.getName() );
+        if( report.isInitializationTracked() ) {
+            assertThat( report.getInitializedClasses() ).doesNotContain( Unused.class.getName() );
+        }
+    }
+
+    @Test
+    public void testStaticInitializerRunsAgainInIsolation() {
+        assertThat( HeavyInitializer.TABLE ).hasSize( 100_000 );
+
+        final StaticInitializerReport report = UtilityClassTester.measureStaticInitializer( HeavyInitializer.class );
+
+        assertThat( report.getInitializedClasses() ).contains( Holder.class.getName() );
+    }
+
+    @Test
+    public void testAssertStaticInitializerWithinBudget() {
+        final StaticInitializerReport report = UtilityClassTester.assertStaticInitializer( LightInitializer.class,
+                StartupBudget.of( 10, TimeUnit.SECONDS ).withMaxInitializedClasses( 0 ) );
+
+        assertThat( report.getInitializedClasses() ).isEmpty();
+    }
+
+    @Test
+    public void testAllocationsOfTheClassLoaderAreExcluded() {
+        final StaticInitializerReport report = UtilityClassTester.measureStaticInitializer( LinkingInitializer.class );
+
+        assertThat( report.getInitializedClasses() ).contains( Holder.class.getName(), OtherHolder.class.getName() );
+        if( report.getAllocatedBytes() >= 0 ) {
+            assertThat( report.getAllocatedBytes() ).isLessThan( 1_024 );
+        }
+    }
+
+    @Test
+    public void testAssertStaticInitializerExceedingBudget() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    UtilityClassTester.assertStaticInitializer( HeavyInitializer.class,
+                            StartupBudget.of( 10, TimeUnit.SECONDS ).withMaxInitializedClasses( 0 ) );
+                } )
+                .withMessageContaining( "The static initializer of the class <" + HeavyInitializer.class.getName()
+                        + "> exceeds its startup budget" )
+                .withMessageContaining( Holder.class.getName() );
+    }
+
+    @Test
+    public void testAssertStaticInitializerFailing() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    UtilityClassTester.measureStaticInitializer( FailingInitializer.class );
+                } )
+                .withMessageContaining( "The static initializer of the class <" + FailingInitializer.class.getName() + "> failed" );
+    }
+
+    @Test
+    public void testMeasureJdkClass() {
+        assertThatIllegalArgumentException()
+                .isThrownBy( () -> {
+                    UtilityClassTester.measureStaticInitializer( String.class );
+                } );
+    }
+
+    @Test
+    public void testStartupBudgetRejectsInvalidValues() {
+        assertThatIllegalArgumentException().isThrownBy( () -> StartupBudget.of( 0, TimeUnit.SECONDS ) );
+        assertThatIllegalArgumentException().isThrownBy( () -> StartupBudget.of( 1, TimeUnit.SECONDS ).withMaxAllocatedBytes( -1 ) );
+    }
+
+    private static final class HeavyInitializer {
+        static final int[] TABLE = new int[100_000];
+        static final Pattern PATTERN = Pattern.compile( "[a-z]+\\d*" );
+        static final int HOLDER_VALUE = Holder.VALUE;
+
+        static {
+            for( int i = 0; i < TABLE.length; i++ ) {
+                TABLE[i] = i * 31;
+            }
+        }
+
+        private HeavyInitializer() {
+            throw new UnsupportedOperationException( "Utility class" );
+        }
+
+        static Unused unused() {
+            return null;
+        }
+    }
+
+    private static final class LightInitializer {
+        static final int VALUE = Integer.parseInt( "42" );
+
+        private LightInitializer() {
+            throw new UnsupportedOperationException( "Utility class" );
+        }
+    }
+
+    private static final class LinkingInitializer {
+        static final int VALUE = Holder.VALUE + OtherHolder.VALUE;
+
+        private LinkingInitializer() {
+            throw new UnsupportedOperationException( "Utility class" );
+        }
+    }
+
+    private static final class FailingInitializer {
+        static final int VALUE = Integer.parseInt( "not a number" );
+
+        private FailingInitializer() {
+            throw new UnsupportedOperationException( "Utility class" );
+        }
+    }
+
+    private static final class Holder {
+        static final int VALUE = Integer.parseInt( "7" );
+    }
+
+    private static final class OtherHolder {
+        static final int VALUE = Holder.VALUE + 1;
+    }
+
+    private static final class Unused {
+        static final int VALUE = Integer.parseInt( "8" );
+    }
+}
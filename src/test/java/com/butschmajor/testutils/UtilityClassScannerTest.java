@@ -0,0 +1,124 @@
+package com.butschmajor.testutils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+public class UtilityClassScannerTest {
+
+    private static final String PACKAGE = "com.butschmajor.testutils";
+
+    @Test
+    public void testScanPackageReadsClassFiles() throws IOException {
+        final UtilityClassScanResult result = UtilityClassTester.scanPackage( PACKAGE,
+                Pattern.compile( ".*UtilityClassScannerTest\\$Scan.*" ) );
+
+        assertThat( result.getResults() )
+                .extracting( UtilityClassScanResult.ClassResult::getClassName )
+                .containsExactly( ScanHasNonStaticMethod.class.getName(), ScanIsWellDefined.class.getName(),
+                        ScanNotFinal.class.getName(), ScanNotThrowing.class.getName() );
+        assertThat( result.getFailures() )
+                .extracting( UtilityClassScanResult.ClassResult::getClassName )
+                .containsExactly( ScanHasNonStaticMethod.class.getName(), ScanNotFinal.class.getName(),
+                        ScanNotThrowing.class.getName() );
+    }
+
+    @Test
+    public void testScanPackageProbesOnlyClassesPassingStaticChecks() throws IOException {
+        final UtilityClassScanResult result = UtilityClassTester.scanPackage( PACKAGE,
+                Pattern.compile( ".*UtilityClassScannerTest\\$Scan.*" ) );
+
+        assertThat( result.getResults() )
+                .filteredOn( UtilityClassScanResult.ClassResult::isInstantiationProbed )
+                .extracting( UtilityClassScanResult.ClassResult::getClassName )
+                .containsExactly( ScanIsWellDefined.class.getName(), ScanNotThrowing.class.getName() );
+    }
+
+    @Test
+    public void testScanPackageInJar() throws IOException {
+        final UtilityClassScanResult result = UtilityClassTester.scanPackage( "org.assertj.core.util",
+                Pattern.compile( "org\\.assertj\\.core\\.util\\.Preconditions" ) );
+
+        assertThat( result.getResults() )
+                .extracting( UtilityClassScanResult.ClassResult::getClassName )
+                .containsExactly( "org.assertj.core.util.Preconditions" );
+    }
+
+    @Test
+    public void testAssertThatClassesAreWellDefined() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    UtilityClassTester.assertThatClassesAreWellDefined( PACKAGE, Pattern.compile( ".*UtilityClassScannerTest\\$Scan.*" ) );
+                } )
+                .withMessageContaining( "The class <" + ScanNotFinal.class.getName() + "> is not final" )
+                .withMessageContaining( "The class <" + ScanHasNonStaticMethod.class.getName() + "> has a non-static method: 'multiplyNumber'" )
+                .withMessageContaining( "The instantiation of the class <" + ScanNotThrowing.class.getName()
+                        + "> do not throw an UnsupportedOperationException" );
+    }
+
+    @Test
+    public void testScanPackageReportsMalformedClassFiles() throws IOException {
+        final Path root = Files.createTempDirectory( "scan" );
+        final Path truncated = Files.createDirectories( root.resolve( "broken" ) ).resolve( "Truncated.class" );
+        Files.write( truncated, new byte[] { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 55, 0 } );
+        final Path sibling = root.resolve( "broken" ).resolve( "Sibling.class" );
+        try( InputStream in = ScanIsWellDefined.class.getResourceAsStream( "UtilityClassScannerTest$ScanIsWellDefined.class" ) ) {
+            Files.write( sibling, in.readAllBytes() );
+        }
+
+        try( URLClassLoader loader = new URLClassLoader( new URL[] { root.toUri().toURL() }, null ) ) {
+            final UtilityClassScanResult result = UtilityClassScanner.scan( loader, "broken", Pattern.compile( ".*" ) );
+
+            assertThat( result.getResults() ).hasSize( 2 );
+            assertThat( result.getFailures() )
+                    .extracting( UtilityClassScanResult.ClassResult::getClassName )
+                    .contains( "broken.Truncated" );
+            assertThat( result.getFailures().stream()
+                    .filter( failure -> failure.getClassName().equals( "broken.Truncated" ) )
+                    .flatMap( failure -> failure.getViolations().stream() ) )
+                    .anySatisfy( violation -> assertThat( violation )
+                            .contains( truncated.toString() )
+                            .contains( "The class file is truncated" ) );
+        }
+    }
+
+    public static class ScanNotFinal {
+        private ScanNotFinal() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public static final class ScanHasNonStaticMethod {
+        private ScanHasNonStaticMethod() {
+            throw new UnsupportedOperationException();
+        }
+
+        public int multiplyNumber( int a, int b ) {
+            return a * b;
+        }
+    }
+
+    public static final class ScanNotThrowing {
+        private ScanNotThrowing() {
+        }
+    }
+
+    public static final class ScanIsWellDefined {
+        private ScanIsWellDefined() {
+            throw new UnsupportedOperationException();
+        }
+
+        public static int addNumber( int a, int b ) {
+            return a + b;
+        }
+    }
+}
@@ -57,6 +57,18 @@ public class UtilityClassTesterTest {
                 "The class <com.butschmajor.testutils.UtilityClassTesterTest$UtilHasNonStaticMethod> has a non-static method: 'multiplyNumber'" );
     }
 
+    @Test
+    public void testAssertThatClassHasSeveralNonStaticMethods() {
+        assertThatExceptionOfType( AssertionError.class )
+                .isThrownBy( () -> {
+                    UtilityClassTester.assertThatClassIsWellDefined( UtilHasTwoNonStaticMethods.class );
+                } )
+                .withMessageContaining(
+                        "The class <com.butschmajor.testutils.UtilityClassTesterTest$UtilHasTwoNonStaticMethods> has a non-static method: 'addNumber'" )
+                .withMessageContaining(
+                        "The class <com.butschmajor.testutils.UtilityClassTesterTest$UtilHasTwoNonStaticMethods> has a non-static method: 'multiplyNumber'" );
+    }
+
     @Test
     public void testAssertThatClassIsWellDefined() throws InstantiationException, IllegalAccessException, NoSuchMethodException {
         UtilityClassTester.assertThatClassIsWellDefined( UtilIsWellDefined.class );
@@ -65,6 +77,20 @@ public class UtilityClassTesterTest {
                 .isTrue();
     }
     
+    public static final class UtilHasTwoNonStaticMethods {
+        private UtilHasTwoNonStaticMethods() {
+            throw new UnsupportedOperationException();
+        }
+
+        public int addNumber( int a, int b ) {
+            return a + b;
+        }
+
+        public int multiplyNumber( int a, int b ) {
+            return a * b;
+        }
+    }
+
     public static class UtilNotFinal {
         public static int addNumber( int a, int b ) {
             return a + b;
@@ -0,0 +1,254 @@
+package com.butschmajor.testutils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class VerificationCacheTest {
+
+    @Test
+    public void testMarkVerifiedIsPersistent() throws IOException {
+        final Path file = Files.createTempDirectory( "verification-cache" ).resolve( "cache.bin" );
+
+        try( VerificationCache cache = VerificationCache.open( file ) ) {
+            assertThat( cache.isVerified( Value.class, "check", "x" ) ).isFalse();
+            cache.markVerified( Value.class, "check", "x" );
+            cache.markVerified( Value.class, "check", "x" );
+            assertThat( cache.isVerified( Value.class, "check", "x" ) ).isTrue();
+            assertThat( cache.size() ).isEqualTo( 1 );
+        }
+
+        try( VerificationCache cache = VerificationCache.open( file ) ) {
+            assertThat( cache.isVerified( Value.class, "check", "x" ) ).isTrue();
+            assertThat( cache.isVerified( Value.class, "check", "y" ) ).isFalse();
+            assertThat( cache.isVerified( Value.class, "other check", "x" ) ).isFalse();
+            assertThat( cache.isVerified( String.class, "check", "x" ) ).isFalse();
+        }
+    }
+
+    @Test
+    public void testOpenRebuildsFullTable() throws IOException {
+        final Path file = Files.createTempDirectory( "verification-cache" ).resolve( "cache.bin" );
+        final int entries;
+
+        try( VerificationCache cache = VerificationCache.open( file ) ) {
+            entries = cache.capacity() / 2 + 1;
+            for( int i = 0; i < entries; i++ ) {
+                cache.markVerified( Value.class, "check", i );
+            }
+        }
+
+        try( VerificationCache cache = VerificationCache.open( file ) ) {
+            assertThat( cache.size() ).isEqualTo( entries );
+            assertThat( cache.capacity() ).isEqualTo( 4 * ( entries - 1 ) );
+            assertThat( IntStream.range( 0, entries ).allMatch( i -> cache.isVerified( Value.class, "check", i ) ) ).isTrue();
+        }
+    }
+
+    @Test
+    public void testOpenDiscardsIncompatibleFile() throws IOException {
+        final Path file = Files.createTempDirectory( "verification-cache" ).resolve( "cache.bin" );
+        Files.write( file, "no cache".getBytes( StandardCharsets.UTF_8 ) );
+
+        try( VerificationCache cache = VerificationCache.open( file ) ) {
+            assertThat( cache.size() ).isZero();
+            assertThat( cache.capacity() ).isPositive();
+        }
+    }
+
+    @Test
+    public void testConcurrentWriters() throws Exception {
+        final Path file = Files.createTempDirectory( "verification-cache" ).resolve( "cache.bin" );
+        final ExecutorService executor = Executors.newFixedThreadPool( 4 );
+        try {
+            final List<Future<?>> writers = new ArrayList<>();
+            for( int writer = 0; writer < 4; writer++ ) {
+                final int offset = writer * 1_000;
+                writers.add( executor.submit( () -> {
+                    try( VerificationCache cache = VerificationCache.open( file ) ) {
+                        for( int i = 0; i < 1_000; i++ ) {
+                            cache.markVerified( Value.class, "check", offset + i );
+                        }
+                    }
+                    return null;
+                } ) );
+            }
+            for( Future<?> writer : writers ) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        try( VerificationCache cache = VerificationCache.open( file ) ) {
+            assertThat( cache.size() ).isEqualTo( 4_000 );
+            assertThat( IntStream.range( 0, 4_000 ).allMatch( i -> cache.isVerified( Value.class, "check", i ) ) ).isTrue();
+        }
+    }
+
+    @Test
+    public void testInputsAreIdentifiedByState() throws IOException {
+        final Path file = Files.createTempDirectory( "verification-cache" ).resolve( "cache.bin" );
+
+        try( VerificationCache cache = VerificationCache.open( file ) ) {
+            cache.markVerified( Value.class, "check", new Point( 1, 2 ) );
+            cache.markVerified( Value.class, "check", new Object() );
+
+            assertThat( cache.isVerified( Value.class, "check", new Point( 1, 2 ) ) ).isTrue();
+            assertThat( cache.isVerified( Value.class, "check", new Point( 1, 3 ) ) ).isFalse();
+            assertThat( cache.size() ).isEqualTo( 1 );
+        }
+    }
+
+    @Test
+    public void testRebuildEvictsUnusedEntries() throws IOException {
+        final Path file = Files.createTempDirectory( "verification-cache" ).resolve( "cache.bin" );
+        final int entries;
+
+        try( VerificationCache cache = VerificationCache.open( file, 0 ) ) {
+            entries = cache.capacity() / 2 + 1;
+            for( int i = 0; i < entries; i++ ) {
+                cache.markVerified( Value.class, "check", i );
+            }
+        }
+        try( VerificationCache cache = VerificationCache.open( file, 20 ) ) {
+            assertThat( cache.size() ).isEqualTo( entries );
+            final int capacity = cache.capacity();
+            assertThat( IntStream.range( 0, 10 ).allMatch( i -> cache.isVerified( Value.class, "check", i ) ) ).isTrue();
+            for( int i = entries; i < capacity / 2 + 1; i++ ) {
+                cache.markVerified( Value.class, "check", i );
+            }
+        }
+
+        try( VerificationCache cache = VerificationCache.open( file, 20 + VerificationCache.MAX_AGE_DAYS ) ) {
+            assertThat( cache.isVerified( Value.class, "check", 0 ) ).isTrue();
+            assertThat( cache.isVerified( Value.class, "check", 10 ) ).isFalse();
+            assertThat( cache.size() ).isEqualTo( 10 + cache.capacity() / 2 + 1 - entries );
+        }
+    }
+
+    @Test
+    public void testWritersInTwoProcesses() throws Exception {
+        final Path file = Files.createTempDirectory( "verification-cache" ).resolve( "cache.bin" );
+        final int entries;
+        try( VerificationCache cache = VerificationCache.open( file ) ) {
+            // Both writers together fill the table beyond three quarters, so one of them rebuilds it
+            entries = cache.capacity() / 2;
+        }
+
+        final List<Process> writers = new ArrayList<>();
+        final List<Path> logs = new ArrayList<>();
+        for( int writer = 0; writer < 2; writer++ ) {
+            final Path log = Files.createTempFile( "verification-cache", ".log" );
+            logs.add( log );
+            writers.add( new ProcessBuilder( Paths.get( System.getProperty( "java.home" ), "bin", "java" ).toString(), "-cp",
+                    System.getProperty( "java.class.path" ), Writer.class.getName(), file.toString(),
+                    String.valueOf( writer * entries ), String.valueOf( entries ) ).redirectErrorStream( true )
+                    .redirectOutput( log.toFile() ).start() );
+        }
+        for( int writer = 0; writer < 2; writer++ ) {
+            assertThat( writers.get( writer ).waitFor( 2, TimeUnit.MINUTES ) ).isTrue();
+            assertThat( writers.get( writer ).exitValue() )
+                    .as( new String( Files.readAllBytes( logs.get( writer ) ), StandardCharsets.UTF_8 ) ).isZero();
+        }
+
+        try( VerificationCache cache = VerificationCache.open( file ) ) {
+            assertThat( cache.size() ).isEqualTo( 2 * entries );
+            assertThat( IntStream.range( 0, 2 * entries ).allMatch( i -> cache.isVerified( Value.class, "check", i ) ) )
+                    .isTrue();
+        }
+    }
+
+    @Test
+    public void testUnopenableConfiguredCacheDisablesTheCache() throws Exception {
+        // A directory cannot be opened as cache file
+        final Path directory = Files.createTempDirectory( "verification-cache" );
+        final Path log = Files.createTempFile( "verification-cache", ".log" );
+        final Process process = new ProcessBuilder( Paths.get( System.getProperty( "java.home" ), "bin", "java" ).toString(),
+                "-D" + VerificationCache.PROPERTY + "=" + directory, "-cp", System.getProperty( "java.class.path" ),
+                ConfiguredChecks.class.getName() ).redirectErrorStream( true ).redirectOutput( log.toFile() ).start();
+
+        assertThat( process.waitFor( 2, TimeUnit.MINUTES ) ).isTrue();
+        final String output = new String( Files.readAllBytes( log ), StandardCharsets.UTF_8 );
+        assertThat( process.exitValue() ).as( output ).isZero();
+        assertThat( output ).containsOnlyOnce( "The verification cache <" + directory + "> cannot be opened" );
+    }
+
+    /**
+     * Runs checks using the configured cache, started as separate process by
+     * {@link #testUnopenableConfiguredCacheDisablesTheCache()}.
+     */
+    public static final class ConfiguredChecks {
+
+        public static void main( String[] args ) {
+            ContractTesters.assertContractEqualsAndHashCode( "value", new String( "value" ), new String( "value" ) );
+            ContractTesters.assertContractEqualsAndHashCode( "other", new String( "other" ), new String( "other" ) );
+            if( VerificationCache.configured() != null ) {
+                throw new IllegalStateException( "The cache is not disabled" );
+            }
+        }
+    }
+
+    /**
+     * Stores the verifications of a range of inputs, started as separate process by
+     * {@link #testWritersInTwoProcesses()}.
+     */
+    public static final class Writer {
+
+        public static void main( String[] args ) throws IOException {
+            final int offset = Integer.parseInt( args[1] );
+            final int count = Integer.parseInt( args[2] );
+            try( VerificationCache cache = VerificationCache.open( Paths.get( args[0] ) ) ) {
+                for( int i = 0; i < count; i++ ) {
+                    cache.markVerified( Value.class, "check", offset + i );
+                }
+            }
+        }
+    }
+
+    private static final class Value {
+        private Value() {
+        }
+    }
+
+    /**
+     * Neither serializable nor fully described by its string representation.
+     */
+    private static final class Point {
+        private final int x;
+        private final int y;
+
+        Point( int x, int y ) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            return obj instanceof Point && ( (Point) obj ).x == x && ( (Point) obj ).y == y;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * x + y;
+        }
+
+        @Override
+        public String toString() {
+            return "Point[" + x + "]";
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.butschmajor.testutils;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Value type the benchmarks verify. The cost of {@code equals}, {@code hashCode} and {@code compareTo} is controlled by the
+ * size of the payload and the depth of the chain of nested values.
+ */
+final class BenchmarkValue implements Comparable<BenchmarkValue> {
+
+	private final int id;
+	private final int[] payload;
+	private final BenchmarkValue next;
+
+	private BenchmarkValue(final int id, final int[] payload, final BenchmarkValue next) {
+		this.id = id;
+		this.payload = payload;
+		this.next = next;
+	}
+
+	/**
+	 * Creates a chain of nested values.
+	 *
+	 * @param id
+	 * 		the identifier of the value, values with different identifiers are different.
+	 * @param payloadSize
+	 * 		the number of integers compared by every nested value.
+	 * @param depth
+	 * 		the number of nested values, at least one.
+	 * @return the outermost value of the chain, never null.
+	 */
+	static BenchmarkValue create(final int id, final int payloadSize, final int depth) {
+		BenchmarkValue value = null;
+		for(int level = 0; level < depth; level++) {
+			final int[] payload = new int[payloadSize];
+			Arrays.fill(payload, level);
+			value = new BenchmarkValue(id, payload, value);
+		}
+		return value;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if(this == obj) {
+			return true;
+		}
+		if(!(obj instanceof BenchmarkValue)) {
+			return false;
+		}
+		final BenchmarkValue other = (BenchmarkValue) obj;
+		return id == other.id && Arrays.equals(payload, other.payload) && Objects.equals(next, other.next);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (31 * id + Arrays.hashCode(payload)) + Objects.hashCode(next);
+	}
+
+	@Override
+	public int compareTo(final BenchmarkValue other) {
+		Objects.requireNonNull(other);
+		int result = Integer.compare(id, other.id);
+		if(result == 0) {
+			result = Arrays.compare(payload, other.payload);
+		}
+		if(result == 0 && next != other.next) {
+			result = next == null ? -1 : other.next == null ? 1 : next.compareTo(other.next);
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "BenchmarkValue[" + id + "]";
+	}
+}
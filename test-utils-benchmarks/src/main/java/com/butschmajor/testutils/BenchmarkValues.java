@@ -0,0 +1,37 @@
+package com.butschmajor.testutils;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark state providing three equal instances and one different instance. The cost of {@code equals} is either cheap
+ * (a single integer) or expensive (a payload of 256 integers), the object graph is either small or a deep chain of 64
+ * nested values.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkValues {
+
+	@Param({ "cheap", "expensive" })
+	public String equalsCost;
+
+	@Param({ "small", "deep" })
+	public String graph;
+
+	BenchmarkValue x;
+	BenchmarkValue y;
+	BenchmarkValue z;
+	BenchmarkValue different;
+
+	@Setup
+	public void setUp() {
+		final int payloadSize = "cheap".equals(equalsCost) ? 1 : 256;
+		final int depth = "small".equals(graph) ? 1 : 64;
+
+		x = BenchmarkValue.create(1, payloadSize, depth);
+		y = BenchmarkValue.create(1, payloadSize, depth);
+		z = BenchmarkValue.create(1, payloadSize, depth);
+		different = BenchmarkValue.create(2, payloadSize, depth);
+	}
+}
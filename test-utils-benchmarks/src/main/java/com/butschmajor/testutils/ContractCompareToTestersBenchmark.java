@@ -0,0 +1,47 @@
+package com.butschmajor.testutils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of every check in {@link ContractCompareToTesters}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContractCompareToTestersBenchmark {
+
+	@Benchmark
+	public void assertComparisonReversal(final BenchmarkValues values) {
+		ContractCompareToTesters.assertComparisonReversal(values.x, values.different);
+	}
+
+	@Benchmark
+	public void assertConsistencyWithEqual(final BenchmarkValues values) {
+		ContractCompareToTesters.assertConsistencyWithEqual(values.x, values.y);
+	}
+
+	@Benchmark
+	public void assertNullPointerException(final BenchmarkValues values) {
+		ContractCompareToTesters.assertNullPointerException(values.x);
+	}
+
+	@Benchmark
+	public void assertTransitivity(final BenchmarkValues values) {
+		ContractCompareToTesters.assertTransitivity(values.x, values.y, values.z);
+	}
+
+	@Benchmark
+	public void assertConsistency(final BenchmarkValues values) {
+		ContractCompareToTesters.assertConsistency(values.x, values.y, values.different);
+	}
+}
@@ -0,0 +1,52 @@
+package com.butschmajor.testutils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of every check in {@link ContractEqualsTesters}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContractEqualsTestersBenchmark {
+
+	@Benchmark
+	public void assertParametersEquals(final BenchmarkValues values) {
+		ContractEqualsTesters.assertParametersEquals(values.x, values.y, values.z);
+	}
+
+	@Benchmark
+	public void assertEqualsIsReflexive(final BenchmarkValues values) {
+		ContractEqualsTesters.assertEqualsIsReflexive(values.x);
+	}
+
+	@Benchmark
+	public void assertEqualsIsSymmetric(final BenchmarkValues values) {
+		ContractEqualsTesters.assertEqualsIsSymmetric(values.x, values.y);
+	}
+
+	@Benchmark
+	public void assertEqualsIsTransitive(final BenchmarkValues values) {
+		ContractEqualsTesters.assertEqualsIsTransitive(values.x, values.y, values.z);
+	}
+
+	@Benchmark
+	public void assertEqualsNonNullity(final BenchmarkValues values) {
+		ContractEqualsTesters.assertEqualsNonNullity(values.x);
+	}
+
+	@Benchmark
+	public void assertEqualsIsDifferent(final BenchmarkValues values) {
+		ContractEqualsTesters.assertEqualsIsDifferent(values.x, values.different);
+	}
+}
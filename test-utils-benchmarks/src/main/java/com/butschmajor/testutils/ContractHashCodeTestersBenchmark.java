@@ -0,0 +1,32 @@
+package com.butschmajor.testutils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of every check in {@link ContractHashCodeTesters}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContractHashCodeTestersBenchmark {
+
+	@Benchmark
+	public void assertHashCodeConsistency(final BenchmarkValues values) {
+		ContractHashCodeTesters.assertHashCodeConsistency(values.x);
+	}
+
+	@Benchmark
+	public void assertHashCodeEquality(final BenchmarkValues values) {
+		ContractHashCodeTesters.assertHashCodeEquality(values.x, values.y);
+	}
+}
@@ -0,0 +1,42 @@
+package com.butschmajor.testutils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the public contract checks in {@link ContractTesters}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContractTestersBenchmark {
+
+	@Benchmark
+	public void assertContractEqualsHashCodeCompareTo(final BenchmarkValues values) {
+		ContractTesters.assertContractEqualsHashCodeCompareTo(values.x, values.y, values.z);
+	}
+
+	@Benchmark
+	public void assertContractEqualsAndHashCode(final BenchmarkValues values) {
+		ContractTesters.assertContractEqualsAndHashCode(values.x, values.y, values.z);
+	}
+
+	@Benchmark
+	public void assertContractCompareTo(final BenchmarkValues values) {
+		ContractTesters.assertContractCompareTo(values.x, values.y, values.z);
+	}
+
+	@Benchmark
+	public void assertEqualsIsDifferent(final BenchmarkValues values) {
+		ContractTesters.assertEqualsIsDifferent(values.x, values.different);
+	}
+}
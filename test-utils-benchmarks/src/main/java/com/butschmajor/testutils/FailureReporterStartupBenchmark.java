@@ -0,0 +1,48 @@
+package com.butschmajor.testutils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the first failing check in a fresh JVM with each {@link FailureReporter}, which includes loading and
+ * initializing the assertion library of the reporter. Every measurement runs in its own fork, since only the first
+ * failure of a JVM pays this cost.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class FailureReporterStartupBenchmark {
+
+	@Param({ "plain", "assertj", "junit" })
+	public String reporter;
+
+	@Setup
+	public void selectReporter() {
+		System.setProperty(FailureReporters.PROPERTY, reporter);
+	}
+
+	@Benchmark
+	public AssertionError firstFailure() {
+		try {
+			ContractTesters.assertContractEqualsAndHashCode(BenchmarkValue.create(1, 1, 1), BenchmarkValue.create(2, 1, 1),
+					BenchmarkValue.create(1, 1, 1));
+		} catch(final AssertionError e) {
+			return e;
+		}
+		throw new IllegalStateException("The check should have failed");
+	}
+}
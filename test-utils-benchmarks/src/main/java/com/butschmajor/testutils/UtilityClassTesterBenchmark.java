@@ -0,0 +1,36 @@
+package com.butschmajor.testutils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the checks in {@link UtilityClassTester}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilityClassTesterBenchmark {
+
+	private static final Pattern UTILITY_CLASSES = Pattern.compile("com\\.butschmajor\\.testutils\\.[A-Za-z]+Tester");
+
+	@Benchmark
+	public void assertThatClassIsWellDefined() throws ReflectiveOperationException {
+		UtilityClassTester.assertThatClassIsWellDefined(UtilityClassTester.class);
+	}
+
+	@Benchmark
+	public UtilityClassScanResult scanPackage() throws IOException {
+		return UtilityClassTester.scanPackage("com.butschmajor.testutils", UTILITY_CLASSES);
+	}
+}